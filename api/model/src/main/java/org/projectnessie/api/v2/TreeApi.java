@@ -34,6 +34,8 @@ import org.projectnessie.model.CommitResponse;
 import org.projectnessie.model.Content;
 import org.projectnessie.model.ContentKey;
 import org.projectnessie.model.ContentResponse;
+import org.projectnessie.model.CreateReferencesRequest;
+import org.projectnessie.model.CreateReferencesResponse;
 import org.projectnessie.model.DiffResponse;
 import org.projectnessie.model.EntriesResponse;
 import org.projectnessie.model.GetMultipleContentsRequest;
@@ -105,6 +107,23 @@ public interface TreeApi {
       @Valid @jakarta.validation.Valid @Nullable @jakarta.annotation.Nullable Reference sourceRef)
       throws NessieNotFoundException, NessieConflictException;
 
+  /**
+   * Create multiple branches and tags at once.
+   *
+   * <p>The type and {@link Reference#getName() name} of each reference in the request define the
+   * reference to be created, {@link Reference#getHash()} is the HEAD of the created reference. The
+   * hash is resolved on the {@linkplain CreateReferencesRequest.NewReference#getSourceRefName()
+   * source reference}, which defaults to the default branch. References without a hash are created
+   * at the current HEAD of their source reference.
+   *
+   * <p>All references are recorded together, which is cheaper than creating the references one by
+   * one. A reference that cannot be created, for example because it already exists or because its
+   * hash does not exist, is reported in the response and does not fail the other references.
+   */
+  CreateReferencesResponse createReferences(
+      @Valid @jakarta.validation.Valid @NotNull @jakarta.validation.constraints.NotNull
+          CreateReferencesRequest request);
+
   /** Get details of a particular ref, if it exists. */
   SingleReferenceResponse getReferenceByName(
       @Valid @jakarta.validation.Valid @NotNull @jakarta.validation.constraints.NotNull
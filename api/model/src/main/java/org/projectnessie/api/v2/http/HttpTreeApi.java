@@ -63,6 +63,8 @@ import org.projectnessie.error.NessieNotFoundException;
 import org.projectnessie.model.CommitResponse;
 import org.projectnessie.model.ContentKey;
 import org.projectnessie.model.ContentResponse;
+import org.projectnessie.model.CreateReferencesRequest;
+import org.projectnessie.model.CreateReferencesResponse;
 import org.projectnessie.model.DiffResponse;
 import org.projectnessie.model.EntriesResponse;
 import org.projectnessie.model.GetMultipleContentsRequest;
@@ -166,6 +168,48 @@ public interface HttpTreeApi extends TreeApi {
           Reference reference)
       throws NessieNotFoundException, NessieConflictException;
 
+  @Override
+  @POST
+  @jakarta.ws.rs.POST
+  @Produces(MediaType.APPLICATION_JSON)
+  @jakarta.ws.rs.Produces(jakarta.ws.rs.core.MediaType.APPLICATION_JSON)
+  // Not a valid reference name, so the path does not hide the paths of any reference.
+  @Path("~create-references")
+  @jakarta.ws.rs.Path("~create-references")
+  @Operation(
+      summary = "Create multiple branches and tags",
+      description =
+          "The type and name of each reference in the payload define the reference to be created, "
+              + "the hash of each reference defines the HEAD of the reference to be created. "
+              + "Hashes are resolved on the optional source reference of each entry, which "
+              + "defaults to the default branch. References without a hash are created at the "
+              + "current HEAD of their source reference."
+              + "\n"
+              + "All references are recorded together. A reference that cannot be created, for "
+              + "example because it already exists, is reported in the response and does not fail "
+              + "the other references.",
+      operationId = "createReferencesV2")
+  @APIResponses({
+    @APIResponse(
+        responseCode = "200",
+        description = "Outcome per requested reference.",
+        content = {
+          @Content(
+              mediaType = MediaType.APPLICATION_JSON,
+              schema = @Schema(implementation = CreateReferencesResponse.class))
+        }),
+    @APIResponse(responseCode = "400", description = "Invalid input, ref name not valid"),
+    @APIResponse(responseCode = "401", description = "Invalid credentials provided"),
+    @APIResponse(responseCode = "403", description = "Not allowed to create a reference"),
+  })
+  @JsonView(Views.V2.class)
+  CreateReferencesResponse createReferences(
+      @RequestBody(
+              required = true,
+              description = "References to be created.",
+              content = {@Content(mediaType = MediaType.APPLICATION_JSON)})
+          CreateReferencesRequest request);
+
   @Override
   @GET
   @jakarta.ws.rs.GET
@@ -0,0 +1,94 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import java.util.List;
+import javax.annotation.Nullable;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Pattern;
+import javax.validation.constraints.Size;
+import org.eclipse.microprofile.openapi.annotations.enums.SchemaType;
+import org.eclipse.microprofile.openapi.annotations.media.Schema;
+import org.immutables.value.Value;
+
+/**
+ * Branches and tags to be created at once. The type and name of each reference define the reference
+ * to be created, its hash defines the commit the new reference points to, resolved on the optional
+ * source reference, which defaults to the default branch. References without a hash are created at
+ * the current HEAD of their source reference.
+ */
+@Schema(type = SchemaType.OBJECT, title = "CreateReferencesRequest")
+@Value.Immutable
+@JsonSerialize(as = ImmutableCreateReferencesRequest.class)
+@JsonDeserialize(as = ImmutableCreateReferencesRequest.class)
+public interface CreateReferencesRequest {
+
+  @NotNull
+  @jakarta.validation.constraints.NotNull
+  @Size
+  @jakarta.validation.constraints.Size(min = 1)
+  List<NewReference> getReferences();
+
+  static ImmutableCreateReferencesRequest.Builder builder() {
+    return ImmutableCreateReferencesRequest.builder();
+  }
+
+  /** Creates the given references from the default branch. */
+  static CreateReferencesRequest of(Reference... references) {
+    ImmutableCreateReferencesRequest.Builder builder = builder();
+    for (Reference reference : references) {
+      builder.addReferences(NewReference.of(reference));
+    }
+    return builder.build();
+  }
+
+  @Value.Immutable
+  @JsonSerialize(as = ImmutableNewReference.class)
+  @JsonDeserialize(as = ImmutableNewReference.class)
+  interface NewReference {
+
+    /** Type and name of the reference to be created, the hash of its HEAD is optional. */
+    @NotNull
+    @jakarta.validation.constraints.NotNull
+    @Value.Parameter(order = 1)
+    Reference getReference();
+
+    /**
+     * Name of the reference on which the hash is resolved and whose HEAD is used if the hash is
+     * omitted, defaults to the default branch.
+     */
+    @Nullable
+    @jakarta.annotation.Nullable
+    @Pattern(regexp = Validation.REF_NAME_REGEX, message = Validation.REF_NAME_MESSAGE)
+    @jakarta.validation.constraints.Pattern(
+        regexp = Validation.REF_NAME_REGEX,
+        message = Validation.REF_NAME_MESSAGE)
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    @Value.Parameter(order = 2)
+    String getSourceRefName();
+
+    static NewReference of(Reference reference) {
+      return ImmutableNewReference.of(reference, null);
+    }
+
+    static NewReference of(Reference reference, String sourceRefName) {
+      return ImmutableNewReference.of(reference, sourceRefName);
+    }
+  }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import java.util.List;
+import javax.annotation.Nullable;
+import javax.validation.constraints.NotNull;
+import org.eclipse.microprofile.openapi.annotations.enums.SchemaType;
+import org.eclipse.microprofile.openapi.annotations.media.Schema;
+import org.immutables.value.Value;
+import org.projectnessie.error.ErrorCode;
+
+/**
+ * Outcome of a {@link CreateReferencesRequest}, one result per requested reference, in the order
+ * of the request. A failure to create one reference does not fail the other references.
+ */
+@Schema(type = SchemaType.OBJECT, title = "CreateReferencesResponse")
+@Value.Immutable
+@JsonSerialize(as = ImmutableCreateReferencesResponse.class)
+@JsonDeserialize(as = ImmutableCreateReferencesResponse.class)
+public interface CreateReferencesResponse {
+
+  @NotNull
+  @jakarta.validation.constraints.NotNull
+  List<CreateReferenceResult> getResults();
+
+  static ImmutableCreateReferencesResponse.Builder builder() {
+    return ImmutableCreateReferencesResponse.builder();
+  }
+
+  @Value.Immutable
+  @JsonSerialize(as = ImmutableCreateReferenceResult.class)
+  @JsonDeserialize(as = ImmutableCreateReferenceResult.class)
+  interface CreateReferenceResult {
+
+    /**
+     * The created reference, or the requested reference, if it could not be created, see {@link
+     * #getErrorCode()}.
+     */
+    @NotNull
+    @jakarta.validation.constraints.NotNull
+    @Value.Parameter(order = 1)
+    Reference getReference();
+
+    /** The reason why the reference could not be created, {@code null} if it was created. */
+    @Nullable
+    @jakarta.annotation.Nullable
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    @Value.Parameter(order = 2)
+    ErrorCode getErrorCode();
+
+    @Nullable
+    @jakarta.annotation.Nullable
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    @Value.Parameter(order = 3)
+    String getMessage();
+
+    static CreateReferenceResult created(Reference reference) {
+      return ImmutableCreateReferenceResult.of(reference, null, null);
+    }
+
+    static CreateReferenceResult failed(Reference reference, ErrorCode errorCode, String message) {
+      return ImmutableCreateReferenceResult.of(reference, errorCode, message);
+    }
+  }
+}
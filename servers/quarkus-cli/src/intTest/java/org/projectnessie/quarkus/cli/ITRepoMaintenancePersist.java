@@ -0,0 +1,102 @@
+/*
+ * Copyright (C) 2022 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.quarkus.cli;
+
+import static java.util.Collections.emptyList;
+import static java.util.Objects.requireNonNull;
+import static org.projectnessie.nessie.relocated.protobuf.ByteString.copyFromUtf8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.projectnessie.versioned.storage.common.logic.CreateCommit.newCommitBuilder;
+import static org.projectnessie.versioned.storage.common.logic.Logics.commitLogic;
+import static org.projectnessie.versioned.storage.common.logic.Logics.referenceLogic;
+import static org.projectnessie.versioned.storage.common.objtypes.CommitHeaders.EMPTY_COMMIT_HEADERS;
+import static org.projectnessie.versioned.storage.common.objtypes.ContentValueObj.contentValue;
+import static org.projectnessie.versioned.storage.common.persist.ObjId.EMPTY_OBJ_ID;
+
+import io.quarkus.test.junit.TestProfile;
+import io.quarkus.test.junit.main.LaunchResult;
+import io.quarkus.test.junit.main.QuarkusMainLauncher;
+import io.quarkus.test.junit.main.QuarkusMainTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.projectnessie.versioned.storage.common.persist.ObjId;
+import org.projectnessie.versioned.storage.common.persist.Persist;
+import org.projectnessie.versioned.storage.common.persist.Reference;
+
+@QuarkusMainTest
+@TestProfile(QuarkusCliTestProfilePersistMongo.class)
+@ExtendWith(NessieCliPersistTestExtension.class)
+class ITRepoMaintenancePersist {
+
+  @Test
+  public void commitAncestry(QuarkusMainLauncher launcher, Persist persist) throws Exception {
+    ObjId head = EMPTY_OBJ_ID;
+    for (int i = 0; i < 40; i++) {
+      head =
+          requireNonNull(
+                  commitLogic(persist)
+                      .doCommit(
+                          newCommitBuilder()
+                              .parentCommitId(head)
+                              .message("commit " + i)
+                              .headers(EMPTY_COMMIT_HEADERS)
+                              .build(),
+                          emptyList()))
+              .id();
+    }
+    Reference reference = persist.fetchReference("refs/heads/main");
+    referenceLogic(persist).assignReference(requireNonNull(reference), head);
+
+    LaunchResult result = launcher.launch("maintenance");
+    assertThat(result.exitCode()).isEqualTo(0);
+    // ancestry information for the commits with the sequence numbers 16 and 32
+    assertThat(result.getOutput())
+        .contains("Category 'commit-ancestry':")
+        .containsPattern("built +: 2");
+
+    result = launcher.launch("maintenance");
+    assertThat(result.getOutput()).containsPattern("built +: 0");
+  }
+
+  @Test
+  public void trainContentDictionary(QuarkusMainLauncher launcher, Persist persist)
+      throws Exception {
+    LaunchResult result = launcher.launch("maintenance", "--train-content-dictionary");
+    assertThat(result.exitCode()).isEqualTo(0);
+    assertThat(result.getOutput())
+        .contains("Category 'content-dictionary':")
+        .containsPattern("dictionary +: \\(no content values\\)");
+
+    for (int i = 0; i < 100; i++) {
+      persist.storeObj(
+          contentValue(
+              "cid-" + i,
+              1,
+              copyFromUtf8(
+                  "s3://bucket/warehouse/namespace/table-"
+                      + i
+                      + "/metadata/0000"
+                      + i
+                      + "-metadata.json")));
+    }
+
+    result = launcher.launch("maintenance", "--train-content-dictionary");
+    assertThat(result.exitCode()).isEqualTo(0);
+    assertThat(result.getOutput())
+        .contains("Category 'content-dictionary':")
+        .containsPattern("dictionary +: [0-9a-f]{64}");
+  }
+}
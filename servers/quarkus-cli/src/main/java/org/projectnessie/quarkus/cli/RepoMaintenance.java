@@ -16,19 +16,55 @@
 package org.projectnessie.quarkus.cli;
 
 import static java.util.Map.Entry.comparingByKey;
+import static org.projectnessie.versioned.storage.common.logic.Logics.referenceLogic;
+import static org.projectnessie.versioned.storage.common.logic.Logics.repositoryLogic;
+import static org.projectnessie.versioned.storage.common.logic.ReferencesQuery.referencesQuery;
 
 import java.io.PrintWriter;
 import java.time.Duration;
+import java.util.Iterator;
 import java.util.Map;
+import java.util.Optional;
 import org.projectnessie.versioned.persist.adapter.RepoMaintenanceParams;
+import org.projectnessie.versioned.storage.common.persist.ObjId;
+import org.projectnessie.versioned.storage.common.persist.Reference;
+import org.projectnessie.versioned.storage.versionstore.CommitAncestry;
+import org.projectnessie.versioned.storage.versionstore.ContentDictionaries;
+import picocli.CommandLine;
 import picocli.CommandLine.Command;
 
 @Command(
     name = "maintenance",
     mixinStandardHelpOptions = true,
-    description = "Database adapter maintenance")
+    description = "Repository maintenance")
 public class RepoMaintenance extends BaseCommand {
 
+  @CommandLine.Option(
+      names = {"--train-content-dictionary"},
+      description = {
+        "Train a new dictionary to compress content values, see the "
+            + "'content-dictionary-compression' store configuration option."
+      })
+  private boolean trainContentDictionary;
+
+  @CommandLine.Option(
+      names = {"--content-dictionary-samples"},
+      description =
+          "Number of content values to sample for the content dictionary, defaults to "
+              + ContentDictionaries.DEFAULT_MAX_SAMPLES
+              + ".")
+  private int contentDictionarySamples = ContentDictionaries.DEFAULT_MAX_SAMPLES;
+
+  @CommandLine.Option(
+      names = {"--content-dictionary-size"},
+      description =
+          "Maximum size of the content dictionary in bytes, defaults to "
+              + ContentDictionaries.DEFAULT_DICTIONARY_SIZE
+              + ", must not be greater than "
+              + ContentDictionaries.MAX_DICTIONARY_SIZE
+              + ".")
+  private int contentDictionarySize = ContentDictionaries.DEFAULT_DICTIONARY_SIZE;
+
   @Override
   protected Integer callWithDatabaseAdapter() {
     warnOnInMemory();
@@ -59,10 +95,52 @@ public class RepoMaintenance extends BaseCommand {
   }
 
   @Override
-  protected Integer callWithPersist() {
-    spec.commandLine()
-        .getOut()
-        .println("New Nessie storage does not need/provide any maintenance operations.");
+  protected Integer callWithPersist() throws Exception {
+    warnOnInMemory();
+
+    if (!repositoryLogic(persist).repositoryExists()) {
+      spec.commandLine().getErr().println("Nessie repository does not exist");
+      return EXIT_CODE_REPO_DOES_NOT_EXIST;
+    }
+
+    PrintWriter out = spec.commandLine().getOut();
+
+    out.println("Building missing commit ancestry information...");
+
+    long t0 = System.nanoTime();
+    CommitAncestry commitAncestry = new CommitAncestry(persist);
+    long references = 0L;
+    long built = 0L;
+    for (Iterator<Reference> refs = referenceLogic(persist).queryReferences(referencesQuery());
+        refs.hasNext(); ) {
+      Reference ref = refs.next();
+      built += commitAncestry.backfill(ref.pointer());
+      references++;
+    }
+    Duration duration = Duration.ofNanos(System.nanoTime() - t0);
+
+    out.printf("Finished after %s%n", duration);
+    out.printf(
+        "%nCategory 'commit-ancestry':%n    %-30s: %d%n    %-30s: %d%n",
+        "references",
+        references,
+        "built",
+        built);
+
+    if (trainContentDictionary) {
+      out.printf("%nTraining content dictionary...%n");
+      t0 = System.nanoTime();
+      Optional<ObjId> dictionary =
+          new ContentDictionaries(persist)
+              .trainAndStore(contentDictionarySamples, contentDictionarySize);
+      duration = Duration.ofNanos(System.nanoTime() - t0);
+
+      out.printf("Finished after %s%n", duration);
+      out.printf(
+          "%nCategory 'content-dictionary':%n    %-30s: %s%n",
+          "dictionary", dictionary.map(ObjId::toString).orElse("(no content values)"));
+    }
+
     return 0;
   }
 }
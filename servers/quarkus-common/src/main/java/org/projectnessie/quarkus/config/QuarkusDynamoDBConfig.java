@@ -15,12 +15,18 @@
  */
 package org.projectnessie.quarkus.config;
 
+import static org.projectnessie.versioned.storage.dynamodb.DynamoDBBackendConfig.DEFAULT_MAX_CONCURRENT_REQUESTS;
+
 import io.quarkus.runtime.annotations.StaticInitSafe;
 import io.smallrye.config.ConfigMapping;
+import io.smallrye.config.WithDefault;
 import java.util.Optional;
 
 @StaticInitSafe
 @ConfigMapping(prefix = "nessie.version.store.persist.dynamodb")
 public interface QuarkusDynamoDBConfig {
   Optional<String> tablePrefix();
+
+  @WithDefault("" + DEFAULT_MAX_CONCURRENT_REQUESTS)
+  int maxConcurrentRequests();
 }
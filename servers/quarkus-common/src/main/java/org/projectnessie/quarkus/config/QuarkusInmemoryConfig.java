@@ -0,0 +1,37 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.quarkus.config;
+
+import static org.projectnessie.versioned.storage.inmemory.InmemoryBackendConfig.DEFAULT_ARENA_CHUNK_SIZE;
+import static org.projectnessie.versioned.storage.inmemory.InmemoryBackendConfig.DEFAULT_ARENA_STORAGE;
+
+import io.quarkus.runtime.annotations.StaticInitSafe;
+import io.smallrye.config.ConfigMapping;
+import io.smallrye.config.WithDefault;
+import org.projectnessie.versioned.storage.inmemory.InmemoryBackendBaseConfig;
+
+@StaticInitSafe
+@ConfigMapping(prefix = "nessie.version.store.persist.inmemory")
+public interface QuarkusInmemoryConfig extends InmemoryBackendBaseConfig {
+
+  @WithDefault("" + DEFAULT_ARENA_STORAGE)
+  @Override
+  boolean arenaStorage();
+
+  @WithDefault("" + DEFAULT_ARENA_CHUNK_SIZE)
+  @Override
+  int arenaChunkSize();
+}
@@ -15,6 +15,15 @@
  */
 package org.projectnessie.quarkus.config;
 
+import static org.projectnessie.versioned.storage.rocksdb.RocksDBBackendConfig.DEFAULT_BLOCK_CACHE_SIZE_MB;
+import static org.projectnessie.versioned.storage.rocksdb.RocksDBBackendConfig.DEFAULT_BLOOM_FILTER_BITS_PER_KEY;
+import static org.projectnessie.versioned.storage.rocksdb.RocksDBBackendConfig.DEFAULT_COMPACTION_STYLE;
+import static org.projectnessie.versioned.storage.rocksdb.RocksDBBackendConfig.DEFAULT_MAX_TOTAL_WAL_SIZE_MB;
+import static org.projectnessie.versioned.storage.rocksdb.RocksDBBackendConfig.DEFAULT_MEMTABLE_MEMORY_BUDGET_MB;
+import static org.projectnessie.versioned.storage.rocksdb.RocksDBBackendConfig.DEFAULT_PREFIX_EXTRACTOR_LENGTH;
+import static org.projectnessie.versioned.storage.rocksdb.RocksDBBackendConfig.DEFAULT_STATISTICS_ENABLED;
+import static org.projectnessie.versioned.storage.rocksdb.RocksDBBackendConfig.DEFAULT_TRANSACTION_LOCK_TIMEOUT_MILLIS;
+
 import io.quarkus.runtime.annotations.StaticInitSafe;
 import io.smallrye.config.ConfigMapping;
 import io.smallrye.config.WithDefault;
@@ -30,4 +39,44 @@ public interface QuarkusRocksConfig extends RocksDBBackendBaseConfig {
   @WithDefault("/tmp/nessie-rocksdb-store")
   @Override
   Path databasePath();
+
+  @WithName("block-cache-size-mb")
+  @WithDefault("" + DEFAULT_BLOCK_CACHE_SIZE_MB)
+  @Override
+  int blockCacheSizeMb();
+
+  @WithName("bloom-filter-bits-per-key")
+  @WithDefault("" + DEFAULT_BLOOM_FILTER_BITS_PER_KEY)
+  @Override
+  int bloomFilterBitsPerKey();
+
+  @WithName("prefix-extractor-length")
+  @WithDefault("" + DEFAULT_PREFIX_EXTRACTOR_LENGTH)
+  @Override
+  int prefixExtractorLength();
+
+  @WithName("compaction-style")
+  @WithDefault(DEFAULT_COMPACTION_STYLE)
+  @Override
+  CompactionStyle compactionStyle();
+
+  @WithName("memtable-memory-budget-mb")
+  @WithDefault("" + DEFAULT_MEMTABLE_MEMORY_BUDGET_MB)
+  @Override
+  int memtableMemoryBudgetMb();
+
+  @WithName("max-total-wal-size-mb")
+  @WithDefault("" + DEFAULT_MAX_TOTAL_WAL_SIZE_MB)
+  @Override
+  int maxTotalWalSizeMb();
+
+  @WithName("statistics-enabled")
+  @WithDefault("" + DEFAULT_STATISTICS_ENABLED)
+  @Override
+  boolean statisticsEnabled();
+
+  @WithName("transaction-lock-timeout-millis")
+  @WithDefault("" + DEFAULT_TRANSACTION_LOCK_TIMEOUT_MILLIS)
+  @Override
+  int transactionLockTimeoutMillis();
 }
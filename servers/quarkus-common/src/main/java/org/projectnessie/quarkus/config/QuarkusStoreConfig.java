@@ -21,9 +21,12 @@ import io.smallrye.config.ConfigMapping;
 import io.smallrye.config.WithConverter;
 import io.smallrye.config.WithDefault;
 import io.smallrye.config.WithName;
+import java.time.Duration;
+import java.util.Optional;
 import java.util.OptionalDouble;
 import java.util.OptionalInt;
 import org.projectnessie.versioned.storage.common.config.StoreConfig;
+import org.projectnessie.versioned.storage.common.objtypes.Compression;
 
 @StaticInitSafe
 @ConfigMapping(prefix = "nessie.version.store.persist")
@@ -103,6 +106,71 @@ public interface QuarkusStoreConfig extends StoreConfig {
   @Override
   long referencePreviousHeadTimeSpanSeconds();
 
+  @WithName(CONFIG_COMMIT_INDEX_CACHE_CAPACITY_MB)
+  @WithDefault("" + DEFAULT_COMMIT_INDEX_CACHE_CAPACITY_MB)
+  @Override
+  int commitIndexCacheCapacityMb();
+
+  @WithName(CONFIG_COMMIT_LOG_READ_AHEAD)
+  @WithDefault("" + DEFAULT_COMMIT_LOG_READ_AHEAD)
+  @Override
+  int commitLogReadAhead();
+
+  @WithName(CONFIG_COMMIT_LOG_READ_AHEAD_MAX_OUTSTANDING)
+  @WithDefault("" + DEFAULT_COMMIT_LOG_READ_AHEAD_MAX_OUTSTANDING)
+  @Override
+  int commitLogReadAheadMaxOutstanding();
+
+  @WithName(CONFIG_COMMIT_TIME_INDEX)
+  @WithDefault("" + DEFAULT_COMMIT_TIME_INDEX)
+  @Override
+  boolean commitTimeIndex();
+
+  @WithName(CONFIG_COMMIT_ANCESTRY)
+  @WithDefault("" + DEFAULT_COMMIT_ANCESTRY)
+  @Override
+  boolean commitAncestry();
+
+  @WithName(CONFIG_MERGE_BASE_PREFETCH)
+  @WithDefault("" + DEFAULT_MERGE_BASE_PREFETCH)
+  @Override
+  int mergeBasePrefetch();
+
+  @WithName(CONFIG_INDEX_STRIPE_KEY_FILTER_FPP)
+  @WithDefault("" + DEFAULT_INDEX_STRIPE_KEY_FILTER_FPP)
+  @Override
+  double indexStripeKeyFilterFpp();
+
+  @WithName(CONFIG_INDEX_COMPRESSION)
+  @WithDefault(DEFAULT_INDEX_COMPRESSION_NAME)
+  @Override
+  Compression indexCompression();
+
+  @WithName(CONFIG_INDEX_COMPRESSION_MIN_SIZE)
+  @WithDefault("" + DEFAULT_INDEX_COMPRESSION_MIN_SIZE)
+  @Override
+  int indexCompressionMinSize();
+
+  @WithName(CONFIG_CONTENT_DICTIONARY_COMPRESSION)
+  @WithDefault("" + DEFAULT_CONTENT_DICTIONARY_COMPRESSION)
+  @Override
+  boolean contentDictionaryCompression();
+
+  @WithName(CONFIG_COMMIT_SEQUENCER_MAX_BATCH_SIZE)
+  @WithDefault("" + DEFAULT_COMMIT_SEQUENCER_MAX_BATCH_SIZE)
+  @Override
+  int commitSequencerMaxBatchSize();
+
+  @WithName(CONFIG_REFERENCE_CREATION_SEQUENCER_MAX_BATCH_SIZE)
+  @WithDefault("" + DEFAULT_REFERENCE_CREATION_SEQUENCER_MAX_BATCH_SIZE)
+  @Override
+  int referenceCreationSequencerMaxBatchSize();
+
+  @WithName(CONFIG_PIPELINED_TRANSPLANT)
+  @WithDefault("" + DEFAULT_PIPELINED_TRANSPLANT)
+  @Override
+  boolean pipelinedTransplant();
+
   String CONFIG_CACHE_CAPACITY_MB = "cache-capacity-mb";
 
   @WithName(CONFIG_CACHE_CAPACITY_MB)
@@ -122,4 +190,20 @@ public interface QuarkusStoreConfig extends StoreConfig {
 
   @WithName(CONFIG_CACHE_CAPACITY_FRACTION_ADJUST_MB)
   OptionalInt cacheCapacityFractionAdjustMB();
+
+  String CONFIG_CACHE_DECODED_CAPACITY_MB = "cache-decoded-capacity-mb";
+
+  @WithName(CONFIG_CACHE_DECODED_CAPACITY_MB)
+  @WithDefault("0")
+  int cacheDecodedCapacityMB();
+
+  String CONFIG_CACHE_REFERENCE_TTL = "cache-reference-ttl";
+
+  @WithName(CONFIG_CACHE_REFERENCE_TTL)
+  Optional<Duration> cacheReferenceTtl();
+
+  String CONFIG_CACHE_NEGATIVE_TTL = "cache-negative-ttl";
+
+  @WithName(CONFIG_CACHE_NEGATIVE_TTL)
+  Optional<Duration> cacheNegativeTtl();
 }
@@ -18,12 +18,15 @@ package org.projectnessie.quarkus.providers.storage;
 import static org.projectnessie.quarkus.config.VersionStoreConfig.VersionStoreType.DYNAMODB;
 
 import jakarta.enterprise.context.Dependent;
+import jakarta.enterprise.inject.Instance;
 import jakarta.inject.Inject;
 import org.projectnessie.quarkus.config.QuarkusDynamoDBConfig;
 import org.projectnessie.quarkus.providers.versionstore.StoreType;
 import org.projectnessie.versioned.storage.common.persist.Backend;
 import org.projectnessie.versioned.storage.dynamodb.DynamoDBBackendConfig;
 import org.projectnessie.versioned.storage.dynamodb.DynamoDBBackendFactory;
+import org.projectnessie.versioned.storage.dynamodb.ImmutableDynamoDBBackendConfig;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
 import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
 
 @StoreType(DYNAMODB)
@@ -32,16 +35,22 @@ public class DynamoDBBackendBuilder implements BackendBuilder {
 
   @Inject DynamoDbClient client;
 
+  @Inject Instance<DynamoDbAsyncClient> asyncClient;
+
   @Inject QuarkusDynamoDBConfig dynamoDBConfig;
 
   @Override
   public Backend buildBackend() {
     DynamoDBBackendFactory factory = new DynamoDBBackendFactory();
-    DynamoDBBackendConfig c =
+    ImmutableDynamoDBBackendConfig.Builder builder =
         DynamoDBBackendConfig.builder()
             .client(client)
             .tablePrefix(dynamoDBConfig.tablePrefix())
-            .build();
+            .maxConcurrentRequests(dynamoDBConfig.maxConcurrentRequests());
+    if (asyncClient.isResolvable()) {
+      builder.asyncClient(asyncClient.get());
+    }
+    DynamoDBBackendConfig c = builder.build();
     return factory.buildBackend(c);
   }
 }
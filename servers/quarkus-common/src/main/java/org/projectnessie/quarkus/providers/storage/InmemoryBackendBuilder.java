@@ -18,6 +18,8 @@ package org.projectnessie.quarkus.providers.storage;
 import static org.projectnessie.quarkus.config.VersionStoreConfig.VersionStoreType.IN_MEMORY;
 
 import jakarta.enterprise.context.Dependent;
+import jakarta.inject.Inject;
+import org.projectnessie.quarkus.config.QuarkusInmemoryConfig;
 import org.projectnessie.quarkus.providers.versionstore.StoreType;
 import org.projectnessie.versioned.storage.common.persist.Backend;
 import org.projectnessie.versioned.storage.inmemory.InmemoryBackendConfig;
@@ -27,9 +29,12 @@ import org.projectnessie.versioned.storage.inmemory.InmemoryBackendFactory;
 @StoreType(IN_MEMORY)
 @Dependent
 public class InmemoryBackendBuilder implements BackendBuilder {
+
+  @Inject QuarkusInmemoryConfig config;
+
   @Override
   public Backend buildBackend() {
-    InmemoryBackendConfig cfg = InmemoryBackendConfig.builder().build();
+    InmemoryBackendConfig cfg = InmemoryBackendConfig.builder().from(config).build();
     InmemoryBackendFactory factory = new InmemoryBackendFactory();
     return factory.buildBackend(cfg);
   }
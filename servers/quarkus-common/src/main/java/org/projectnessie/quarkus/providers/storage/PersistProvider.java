@@ -15,8 +15,10 @@
  */
 package org.projectnessie.quarkus.providers.storage;
 
+import static org.projectnessie.versioned.storage.common.config.StoreConfig.CONFIG_INDEX_COMPRESSION;
 import static org.projectnessie.versioned.storage.common.logic.Logics.repositoryLogic;
 
+import io.micrometer.core.instrument.FunctionCounter;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.quarkus.runtime.Startup;
 import io.quarkus.runtime.annotations.RegisterForReflection;
@@ -28,6 +30,7 @@ import jakarta.enterprise.inject.Instance;
 import jakarta.enterprise.inject.Produces;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
+import java.time.Duration;
 import org.projectnessie.quarkus.config.QuarkusStoreConfig;
 import org.projectnessie.quarkus.config.VersionStoreConfig;
 import org.projectnessie.quarkus.config.VersionStoreConfig.VersionStoreType;
@@ -36,8 +39,11 @@ import org.projectnessie.quarkus.providers.WIthInitializedRepository;
 import org.projectnessie.quarkus.providers.versionstore.StoreType.Literal;
 import org.projectnessie.services.config.ServerConfig;
 import org.projectnessie.versioned.storage.cache.CacheBackend;
+import org.projectnessie.versioned.storage.cache.CacheConfig;
 import org.projectnessie.versioned.storage.cache.CacheSizing;
 import org.projectnessie.versioned.storage.cache.PersistCaches;
+import org.projectnessie.versioned.storage.common.indexes.KeyBloomFilter;
+import org.projectnessie.versioned.storage.common.objtypes.Compression;
 import org.projectnessie.versioned.storage.common.persist.Backend;
 import org.projectnessie.versioned.storage.common.persist.Persist;
 import org.projectnessie.versioned.storage.common.persist.PersistFactory;
@@ -53,6 +59,8 @@ import org.slf4j.LoggerFactory;
 public class PersistProvider {
   private static final Logger LOGGER = LoggerFactory.getLogger(PersistProvider.class);
 
+  public static final String STRIPE_LOADS_AVOIDED_COUNTER_NAME = "index_stripe_loads_avoided";
+
   private final Instance<BackendBuilder> backendBuilder;
   private final Instance<Backend> backend;
   private final VersionStoreConfig versionStoreConfig;
@@ -126,6 +134,16 @@ public class PersistProvider {
       throw new IllegalStateException("No Quarkus backend for " + versionStoreType);
     }
 
+    Compression indexCompression = storeConfig.indexCompression();
+    if (!indexCompression.isAvailable()) {
+      throw new IllegalStateException(
+          "Index compression "
+              + indexCompression
+              + " configured via nessie.version.store.persist."
+              + CONFIG_INDEX_COMPRESSION
+              + " is not available");
+    }
+
     Backend b = backend.get();
     b.setupSchema();
 
@@ -134,6 +152,13 @@ public class PersistProvider {
     PersistFactory persistFactory = b.createFactory();
     Persist persist = persistFactory.newPersist(storeConfig);
 
+    FunctionCounter.builder(
+            STRIPE_LOADS_AVOIDED_COUNTER_NAME,
+            KeyBloomFilter.class,
+            x -> KeyBloomFilter.avoidedStripeLoads())
+        .description("Number of reference index stripe loads avoided by the stripes' key filters")
+        .register(meterRegistry);
+
     String info = b.configInfo();
     if (!info.isEmpty()) {
       info = " (" + info + ")";
@@ -150,9 +175,29 @@ public class PersistProvider {
 
     String cacheInfo;
     if (effectiveCacheSizeMB > 0) {
-      CacheBackend cacheBackend = PersistCaches.newBackend(effectiveCacheSizeMB, meterRegistry);
+      int decodedCacheSizeMB = storeConfig.cacheDecodedCapacityMB();
+      Duration referenceTtl = storeConfig.cacheReferenceTtl().orElse(Duration.ZERO);
+      Duration negativeTtl = storeConfig.cacheNegativeTtl().orElse(Duration.ZERO);
+      CacheBackend cacheBackend =
+          PersistCaches.newBackend(
+              CacheConfig.builder()
+                  .capacityMb(effectiveCacheSizeMB)
+                  .decodedCapacityMb(decodedCacheSizeMB)
+                  .referenceTtl(referenceTtl)
+                  .negativeTtl(negativeTtl)
+                  .meterRegistry(meterRegistry)
+                  .build());
       persist = cacheBackend.wrap(persist);
       cacheInfo = "with " + effectiveCacheSizeMB + " MB objects cache";
+      if (decodedCacheSizeMB > 0) {
+        cacheInfo += " and " + decodedCacheSizeMB + " MB deserialized objects cache";
+      }
+      if (!referenceTtl.isZero()) {
+        cacheInfo += ", references cached for " + referenceTtl;
+      }
+      if (!negativeTtl.isZero()) {
+        cacheInfo += ", non-existing objects cached for " + negativeTtl;
+      }
     } else {
       cacheInfo = "without objects cache";
     }
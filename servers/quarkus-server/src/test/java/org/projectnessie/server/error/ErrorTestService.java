@@ -146,6 +146,7 @@ public class ErrorTestService {
 
     Persist persist = Mockito.mock(Persist.class);
     Mockito.when(persist.fetchReference(any())).thenThrow(ex);
+    Mockito.when(persist.fetchReferenceForUpdate(any())).thenThrow(ex);
 
     VersionStoreImpl tvs = new VersionStoreImpl(persist);
     try (PaginationIterator<ReferenceInfo<CommitMeta>> refs =
@@ -41,6 +41,8 @@ import org.projectnessie.model.CommitMeta;
 import org.projectnessie.model.CommitResponse;
 import org.projectnessie.model.ContentKey;
 import org.projectnessie.model.ContentResponse;
+import org.projectnessie.model.CreateReferencesRequest;
+import org.projectnessie.model.CreateReferencesResponse;
 import org.projectnessie.model.DiffResponse;
 import org.projectnessie.model.DiffResponse.DiffEntry;
 import org.projectnessie.model.EntriesResponse;
@@ -166,6 +168,12 @@ public class RestV2TreeResource implements HttpTreeApi {
     return SingleReferenceResponse.builder().reference(created).build();
   }
 
+  @JsonView(Views.V2.class)
+  @Override
+  public CreateReferencesResponse createReferences(CreateReferencesRequest request) {
+    return tree().createReferences(request.getReferences());
+  }
+
   @JsonView(Views.V2.class)
   @Override
   public SingleReferenceResponse getReferenceByName(GetReferenceParams params)
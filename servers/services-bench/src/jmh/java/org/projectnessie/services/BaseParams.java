@@ -20,6 +20,7 @@ import static org.projectnessie.versioned.storage.common.logic.Logics.repository
 import java.util.HashSet;
 import java.util.ServiceLoader;
 import java.util.Set;
+import java.util.function.UnaryOperator;
 import org.projectnessie.versioned.VersionStore;
 import org.projectnessie.versioned.storage.common.config.StoreConfig;
 import org.projectnessie.versioned.storage.common.persist.Backend;
@@ -36,6 +37,16 @@ abstract class BaseParams {
   BackendTestFactory backendTestFactory;
 
   protected void init(String backendName) throws Exception {
+    init(backendName, StoreConfig.Adjustable.empty());
+  }
+
+  protected void init(String backendName, StoreConfig storeConfig) throws Exception {
+    init(backendName, storeConfig, UnaryOperator.identity());
+  }
+
+  protected void init(
+      String backendName, StoreConfig storeConfig, UnaryOperator<Persist> persistWrapper)
+      throws Exception {
     Set<String> known = new HashSet<>();
     for (BackendTestFactory candidate : ServiceLoader.load(BackendTestFactory.class)) {
       String name = candidate.getName();
@@ -55,9 +66,9 @@ abstract class BaseParams {
     backend = backendTestFactory.createNewBackend();
     backend.setupSchema();
     PersistFactory factory = backend.createFactory();
-    Persist persist = factory.newPersist(StoreConfig.Adjustable.empty());
+    Persist persist = factory.newPersist(storeConfig);
     repositoryLogic(persist).initialize(DEFAULT_BRANCH_NAME);
-    versionStore = new VersionStoreImpl(persist);
+    versionStore = new VersionStoreImpl(persistWrapper.apply(persist));
   }
 
   protected void tearDown() throws Exception {
@@ -69,7 +69,7 @@ public class ContentOpsBench {
     @Param({"100", "1000", "10000"})
     public int contents;
 
-    @Param({"In-Memory"})
+    @Param({"In-Memory", "In-Memory-Arena"})
     public String backendName;
 
     ReferenceCreatedResult ref;
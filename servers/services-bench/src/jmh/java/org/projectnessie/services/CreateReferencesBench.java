@@ -47,7 +47,7 @@ public class CreateReferencesBench {
   @State(Scope.Benchmark)
   public static class BenchmarkParam extends BaseParams {
 
-    @Param({"In-Memory"})
+    @Param({"In-Memory", "In-Memory-Arena"})
     public String backendName;
 
     @Setup
@@ -48,7 +48,7 @@ public class MiscRepositoryBench {
   @State(Scope.Benchmark)
   public static class BenchmarkParam extends BaseParams {
 
-    @Param({"In-Memory"})
+    @Param({"In-Memory", "In-Memory-Arena"})
     public String backendName;
 
     @Setup
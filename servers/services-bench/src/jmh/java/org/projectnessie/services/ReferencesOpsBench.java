@@ -57,7 +57,7 @@ public class ReferencesOpsBench {
     @Param({"10", "100", "1000"})
     public int references;
 
-    @Param({"In-Memory"})
+    @Param({"In-Memory", "In-Memory-Arena"})
     public String backendName;
 
     List<ReferenceCreatedResult> refs = new ArrayList<>();
@@ -0,0 +1,151 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.services;
+
+import static java.util.Collections.singletonList;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.projectnessie.model.CommitMeta.fromMessage;
+import static org.projectnessie.services.WriteLatencyPersist.withWriteLatency;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.projectnessie.model.ContentKey;
+import org.projectnessie.model.IcebergTable;
+import org.projectnessie.model.Namespace;
+import org.projectnessie.versioned.BranchName;
+import org.projectnessie.versioned.Commit;
+import org.projectnessie.versioned.Hash;
+import org.projectnessie.versioned.MergeResult;
+import org.projectnessie.versioned.Put;
+import org.projectnessie.versioned.VersionStore.TransplantOp;
+import org.projectnessie.versioned.storage.common.config.StoreConfig;
+
+@Warmup(iterations = 2, time = 2000, timeUnit = MILLISECONDS)
+@Measurement(iterations = 3, time = 1000, timeUnit = MILLISECONDS)
+@Fork(
+    value = 1,
+    jvmArgs = {"-Xms4g", "-Xmx4g"})
+@Threads(1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(MILLISECONDS)
+public class TransplantBench {
+
+  @State(Scope.Benchmark)
+  public static class BenchmarkParam extends BaseParams {
+
+    @Param({"1000"})
+    public int commits;
+
+    @Param({"false", "true"})
+    public boolean pipelined;
+
+    @Param({"In-Memory", "In-Memory-Arena"})
+    public String backendName;
+
+    /**
+     * Simulated round-trip time of object writes, pipelining only makes a difference if writes
+     * take time, see {@link WriteLatencyPersist}.
+     */
+    @Param({"0", "500"})
+    public int writeLatencyMicros;
+
+    /** The diverged head of the default branch, the transplant target branches start at. */
+    Hash targetHead;
+
+    List<Hash> sourceCommits = new ArrayList<>();
+
+    AtomicInteger targets = new AtomicInteger();
+
+    @Setup
+    public void setup() throws Exception {
+      super.init(
+          backendName,
+          StoreConfig.Adjustable.empty().withPipelinedTransplant(pipelined),
+          persist -> withWriteLatency(persist, writeLatencyMicros));
+
+      Namespace ns = Namespace.of("my-namespace");
+      BranchName main = BranchName.of(DEFAULT_BRANCH_NAME);
+      Hash initial =
+          versionStore
+              .commit(
+                  main,
+                  Optional.empty(),
+                  fromMessage("initial"),
+                  singletonList(Put.of(ns.toContentKey(), ns)))
+              .getCommitHash();
+
+      BranchName source = BranchName.of("source");
+      Hash sourceHead = versionStore.create(source, Optional.of(initial)).getHash();
+      for (int i = 0; i < commits; i++) {
+        ContentKey key = ContentKey.of(ns, "table-" + i);
+        sourceHead =
+            versionStore
+                .commit(
+                    source,
+                    Optional.of(sourceHead),
+                    fromMessage("commit " + i),
+                    singletonList(Put.of(key, IcebergTable.of("meta-" + i, i, i, i, i))))
+                .getCommitHash();
+        sourceCommits.add(sourceHead);
+      }
+
+      // Let the target diverge from the source, so that all commits have to be transplanted.
+      targetHead =
+          versionStore
+              .commit(
+                  main,
+                  Optional.empty(),
+                  fromMessage("diverge"),
+                  singletonList(
+                      Put.of(ContentKey.of(ns, "other"), IcebergTable.of("other", 1, 2, 3, 4))))
+              .getCommitHash();
+    }
+
+    @Override
+    @TearDown
+    public void tearDown() throws Exception {
+      super.tearDown();
+    }
+  }
+
+  @Benchmark
+  public MergeResult<Commit> transplant(BenchmarkParam param) throws Exception {
+    BranchName target = BranchName.of("target-" + param.targets.getAndIncrement());
+    param.versionStore.create(target, Optional.of(param.targetHead));
+    return param.versionStore.transplant(
+        TransplantOp.builder()
+            .fromRef(BranchName.of("source"))
+            .toBranch(target)
+            .expectedHash(Optional.of(param.targetHead))
+            .sequenceToTransplant(param.sourceCommits)
+            .build());
+  }
+}
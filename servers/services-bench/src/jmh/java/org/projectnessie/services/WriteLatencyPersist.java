@@ -0,0 +1,101 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.services;
+
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.locks.LockSupport;
+import org.projectnessie.versioned.storage.common.exceptions.ObjTooLargeException;
+import org.projectnessie.versioned.storage.common.persist.AsyncPersist;
+import org.projectnessie.versioned.storage.common.persist.Obj;
+import org.projectnessie.versioned.storage.common.persist.ObjId;
+import org.projectnessie.versioned.storage.common.persist.Persist;
+import org.projectnessie.versioned.storage.common.persist.Reference;
+
+/**
+ * Simulates the round-trip time of a remote database for object writes on top of a fast backend.
+ * Synchronous writes block the calling thread, asynchronous writes via {@link Persist#async()}
+ * complete after the round-trip time without blocking the calling thread, like the native
+ * asynchronous writes of the DynamoDB, Cassandra and Bigtable backends.
+ */
+final class WriteLatencyPersist {
+  private WriteLatencyPersist() {}
+
+  static Persist withWriteLatency(Persist persist, long latencyMicros) {
+    if (latencyMicros <= 0L) {
+      return persist;
+    }
+    Executor delayed = CompletableFuture.delayedExecutor(latencyMicros, MICROSECONDS);
+    AsyncPersist async = new DelayedAsyncPersist(persist, delayed);
+    return (Persist)
+        Proxy.newProxyInstance(
+            Persist.class.getClassLoader(),
+            new Class<?>[] {Persist.class},
+            (proxy, method, args) -> {
+              String name = method.getName();
+              if (name.equals("async")) {
+                return async;
+              }
+              if (name.startsWith("store") || name.startsWith("upsert")) {
+                LockSupport.parkNanos(MICROSECONDS.toNanos(latencyMicros));
+              }
+              try {
+                return method.invoke(persist, args);
+              } catch (InvocationTargetException e) {
+                throw e.getCause();
+              }
+            });
+  }
+
+  private static final class DelayedAsyncPersist implements AsyncPersist {
+    private final Persist persist;
+    private final Executor delayed;
+
+    DelayedAsyncPersist(Persist persist, Executor delayed) {
+      this.persist = persist;
+      this.delayed = delayed;
+    }
+
+    @Override
+    public CompletionStage<Reference[]> fetchReferencesAsync(String[] names) {
+      return persist.async().fetchReferencesAsync(names);
+    }
+
+    @Override
+    public CompletionStage<Obj[]> fetchObjsAsync(ObjId[] ids) {
+      return persist.async().fetchObjsAsync(ids);
+    }
+
+    @Override
+    public CompletionStage<boolean[]> storeObjsAsync(Obj[] objs) {
+      return CompletableFuture.supplyAsync(
+          () -> {
+            try {
+              return persist.storeObjs(objs);
+            } catch (ObjTooLargeException e) {
+              throw new CompletionException(e);
+            }
+          },
+          delayed);
+    }
+  }
+}
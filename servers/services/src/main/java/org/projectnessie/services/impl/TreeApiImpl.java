@@ -51,6 +51,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -66,6 +67,7 @@ import java.util.stream.Collectors;
 import javax.annotation.Nullable;
 import org.projectnessie.cel.tools.Script;
 import org.projectnessie.cel.tools.ScriptException;
+import org.projectnessie.error.ErrorCode;
 import org.projectnessie.error.NessieConflictException;
 import org.projectnessie.error.NessieNotFoundException;
 import org.projectnessie.error.NessieReferenceAlreadyExistsException;
@@ -76,6 +78,9 @@ import org.projectnessie.model.CommitMeta;
 import org.projectnessie.model.CommitResponse;
 import org.projectnessie.model.Content;
 import org.projectnessie.model.ContentKey;
+import org.projectnessie.model.CreateReferencesRequest.NewReference;
+import org.projectnessie.model.CreateReferencesResponse;
+import org.projectnessie.model.CreateReferencesResponse.CreateReferenceResult;
 import org.projectnessie.model.EntriesResponse.Entry;
 import org.projectnessie.model.FetchOption;
 import org.projectnessie.model.IdentifiedContentKey;
@@ -111,6 +116,7 @@ import org.projectnessie.services.hash.ResolvedHash;
 import org.projectnessie.services.spi.PagedResponseHandler;
 import org.projectnessie.services.spi.TreeService;
 import org.projectnessie.versioned.BranchName;
+import org.projectnessie.versioned.BulkReferenceResult;
 import org.projectnessie.versioned.Commit;
 import org.projectnessie.versioned.Delete;
 import org.projectnessie.versioned.GetNamedRefsParams;
@@ -123,6 +129,7 @@ import org.projectnessie.versioned.NamedRef;
 import org.projectnessie.versioned.Put;
 import org.projectnessie.versioned.ReferenceAlreadyExistsException;
 import org.projectnessie.versioned.ReferenceConflictException;
+import org.projectnessie.versioned.ReferenceCreatedResult;
 import org.projectnessie.versioned.ReferenceHistory;
 import org.projectnessie.versioned.ReferenceInfo;
 import org.projectnessie.versioned.ReferenceNotFoundException;
@@ -132,6 +139,7 @@ import org.projectnessie.versioned.VersionStore;
 import org.projectnessie.versioned.VersionStore.CommitValidator;
 import org.projectnessie.versioned.VersionStore.MergeOp;
 import org.projectnessie.versioned.VersionStore.TransplantOp;
+import org.projectnessie.versioned.VersionStoreException;
 import org.projectnessie.versioned.WithHash;
 import org.projectnessie.versioned.paging.PaginationIterator;
 
@@ -306,12 +314,7 @@ public class TreeApiImpl extends BaseApiImpl implements TreeService {
       check.canViewReference(targetRef.getNamedRef());
       targetHashObj = Optional.of(targetRef.getHash());
     } catch (ReferenceNotFoundException e) {
-      // If the default-branch does not exist and hashOnRef points to the "beginning of time",
-      // then do not throw a NessieNotFoundException, but re-create the default branch. In all
-      // cases, re-throw the exception.
-      if (!(ReferenceType.BRANCH.equals(type)
-          && refName.equals(getServerConfig().getDefaultBranch())
-          && (null == targetHash || getStore().noAncestorHash().asString().equals(targetHash)))) {
+      if (!recreatesDefaultBranch(type, refName, targetHash)) {
         throw new NessieReferenceNotFoundException(e.getMessage(), e);
       }
       targetHashObj = Optional.empty();
@@ -328,6 +331,97 @@ public class TreeApiImpl extends BaseApiImpl implements TreeService {
     }
   }
 
+  /**
+   * If the default-branch does not exist and the target hash points to the "beginning of time",
+   * then do not throw a NessieNotFoundException, but re-create the default branch. In all other
+   * cases, the exception must be re-thrown.
+   */
+  private boolean recreatesDefaultBranch(ReferenceType type, String refName, String targetHash) {
+    return ReferenceType.BRANCH.equals(type)
+        && refName.equals(getServerConfig().getDefaultBranch())
+        && (null == targetHash || getStore().noAncestorHash().asString().equals(targetHash));
+  }
+
+  @Override
+  public CreateReferencesResponse createReferences(List<NewReference> references) {
+    CreateReferenceResult[] results = new CreateReferenceResult[references.size()];
+    Map<NamedRef, Optional<Hash>> toCreate = new LinkedHashMap<>();
+    Map<NamedRef, Integer> indexes = new HashMap<>();
+    Set<String> names = new HashSet<>();
+
+    BatchAccessChecker check = startAccessCheck();
+    for (int i = 0; i < results.length; i++) {
+      Reference reference = references.get(i).getReference();
+      Validation.validateForbiddenReferenceName(reference.getName());
+      NamedRef namedReference = toNamedRef(reference.getType(), reference.getName());
+      check.canCreateReference(namedReference);
+
+      // A branch and a tag with the same name cannot be created at the same time either.
+      if (!names.add(reference.getName())) {
+        results[i] =
+            CreateReferenceResult.failed(
+                reference,
+                ErrorCode.REFERENCE_ALREADY_EXISTS,
+                String.format("Reference '%s' requested more than once", reference.getName()));
+        continue;
+      }
+
+      // Without a hash, the reference is created at the HEAD of the source reference.
+      HashValidator validator = new HashValidator("Target hash");
+      if (reference.getHash() != null) {
+        validator.hashMustBeUnambiguous();
+      }
+      Optional<Hash> targetHash;
+      try {
+        ResolvedHash target =
+            getHashResolver()
+                .resolveHashOnRef(
+                    references.get(i).getSourceRefName(), reference.getHash(), validator);
+        check.canViewReference(target.getNamedRef());
+        targetHash = Optional.of(target.getHash());
+      } catch (ReferenceNotFoundException e) {
+        if (!recreatesDefaultBranch(
+            reference.getType(), reference.getName(), reference.getHash())) {
+          results[i] =
+              CreateReferenceResult.failed(
+                  reference, ErrorCode.REFERENCE_NOT_FOUND, e.getMessage());
+          continue;
+        }
+        targetHash = Optional.empty();
+      }
+      toCreate.put(namedReference, targetHash);
+      indexes.put(namedReference, i);
+    }
+    check.checkAndThrow();
+
+    for (BulkReferenceResult<ReferenceCreatedResult> result :
+        getStore().createReferences(toCreate)) {
+      int i = indexes.get(result.getNamedRef());
+      VersionStoreException failure = result.getFailure();
+      if (failure == null) {
+        results[i] =
+            CreateReferenceResult.created(
+                RefUtil.toReference(result.getNamedRef(), result.getResult().getHash()));
+      } else if (failure instanceof ReferenceAlreadyExistsException) {
+        results[i] =
+            CreateReferenceResult.failed(
+                references.get(i).getReference(),
+                ErrorCode.REFERENCE_ALREADY_EXISTS,
+                failure.getMessage());
+      } else if (failure instanceof ReferenceNotFoundException) {
+        results[i] =
+            CreateReferenceResult.failed(
+                references.get(i).getReference(),
+                ErrorCode.REFERENCE_NOT_FOUND,
+                failure.getMessage());
+      } else {
+        throw new IllegalStateException("Unexpected failure", failure);
+      }
+    }
+
+    return CreateReferencesResponse.builder().addResults(results).build();
+  }
+
   @Override
   public Branch getDefaultBranch() throws NessieNotFoundException {
     Reference r = getReferenceByName(getServerConfig().getDefaultBranch(), FetchOption.MINIMAL);
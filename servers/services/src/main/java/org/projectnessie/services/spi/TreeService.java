@@ -34,6 +34,8 @@ import org.projectnessie.model.Branch;
 import org.projectnessie.model.CommitMeta;
 import org.projectnessie.model.CommitResponse;
 import org.projectnessie.model.ContentKey;
+import org.projectnessie.model.CreateReferencesRequest.NewReference;
+import org.projectnessie.model.CreateReferencesResponse;
 import org.projectnessie.model.EntriesResponse.Entry;
 import org.projectnessie.model.FetchOption;
 import org.projectnessie.model.LogResponse.LogEntry;
@@ -120,6 +122,10 @@ public interface TreeService {
           String sourceRefName)
       throws NessieNotFoundException, NessieConflictException;
 
+  CreateReferencesResponse createReferences(
+      @Valid @jakarta.validation.Valid @NotNull @jakarta.validation.constraints.NotNull
+          List<NewReference> references);
+
   Reference assignReference(
       ReferenceType referenceType,
       @Valid
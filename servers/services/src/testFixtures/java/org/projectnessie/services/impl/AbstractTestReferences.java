@@ -26,6 +26,7 @@ import static org.projectnessie.model.Reference.ReferenceType.BRANCH;
 import static org.projectnessie.model.Reference.ReferenceType.TAG;
 
 import com.google.common.collect.ImmutableMap;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -38,12 +39,15 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 import org.projectnessie.error.BaseNessieClientServerException;
+import org.projectnessie.error.ErrorCode;
 import org.projectnessie.error.NessieConflictException;
 import org.projectnessie.error.NessieNotFoundException;
 import org.projectnessie.error.NessieReferenceNotFoundException;
 import org.projectnessie.model.Branch;
 import org.projectnessie.model.CommitMeta;
 import org.projectnessie.model.ContentKey;
+import org.projectnessie.model.CreateReferencesRequest.NewReference;
+import org.projectnessie.model.CreateReferencesResponse.CreateReferenceResult;
 import org.projectnessie.model.IcebergTable;
 import org.projectnessie.model.IcebergView;
 import org.projectnessie.model.LogResponse.LogEntry;
@@ -192,6 +196,66 @@ public abstract class AbstractTestReferences extends BaseTestServiceImpl {
     soft.assertThat(refBranch2).isEqualTo(Branch.of(branchName2, main.getHash()));
   }
 
+  @Test
+  public void createReferencesInBulk() throws Exception {
+    Branch main = treeApi().getDefaultBranch();
+    Tag existing = createTag("bulk_existing", main);
+    Branch source =
+        commit(
+                createBranch("bulk_source", main),
+                fromMessage("bulk source"),
+                Put.of(ContentKey.of("bulk"), IcebergTable.of("meep", 42, 42, 42, 42)))
+            .getTargetBranch();
+
+    List<NewReference> requested =
+        Arrays.asList(
+            NewReference.of(Branch.of("bulk_branch", main.getHash())),
+            NewReference.of(Tag.of("bulk_tag", main.getHash())),
+            // HEAD of the default branch
+            NewReference.of(Branch.of("bulk_head", null)),
+            // HEAD of the source reference
+            NewReference.of(Branch.of("bulk_source_head", null), source.getName()),
+            NewReference.of(Tag.of(existing.getName(), main.getHash())),
+            // same name as the tag above
+            NewReference.of(Branch.of("bulk_tag", main.getHash())),
+            NewReference.of(Branch.of("bulk_unknown", "deadbeefdeadbeef")),
+            NewReference.of(Branch.of("bulk_no_source", null), "bulk_does_not_exist"));
+    List<CreateReferenceResult> results = treeApi().createReferences(requested).getResults();
+
+    soft.assertThat(results)
+        .extracting(CreateReferenceResult::getErrorCode)
+        .containsExactly(
+            null,
+            null,
+            null,
+            null,
+            ErrorCode.REFERENCE_ALREADY_EXISTS,
+            ErrorCode.REFERENCE_ALREADY_EXISTS,
+            ErrorCode.REFERENCE_NOT_FOUND,
+            ErrorCode.REFERENCE_NOT_FOUND);
+    soft.assertThat(results)
+        .extracting(CreateReferenceResult::getReference)
+        .containsExactly(
+            Branch.of("bulk_branch", main.getHash()),
+            Tag.of("bulk_tag", main.getHash()),
+            Branch.of("bulk_head", main.getHash()),
+            Branch.of("bulk_source_head", source.getHash()),
+            requested.get(4).getReference(),
+            requested.get(5).getReference(),
+            requested.get(6).getReference(),
+            requested.get(7).getReference());
+
+    soft.assertThat(treeApi().getReferenceByName("bulk_tag", MINIMAL))
+        .isEqualTo(Tag.of("bulk_tag", main.getHash()));
+    soft.assertThat(treeApi().getReferenceByName("bulk_source_head", MINIMAL))
+        .isEqualTo(Branch.of("bulk_source_head", source.getHash()));
+    soft.assertThat(treeApi().getReferenceByName(existing.getName(), MINIMAL)).isEqualTo(existing);
+    soft.assertThatThrownBy(() -> treeApi().getReferenceByName("bulk_unknown", MINIMAL))
+        .isInstanceOf(NessieReferenceNotFoundException.class);
+    soft.assertThatThrownBy(() -> treeApi().getReferenceByName("bulk_no_source", MINIMAL))
+        .isInstanceOf(NessieReferenceNotFoundException.class);
+  }
+
   @Test
   public void getAndDeleteBranch() throws Exception {
     Branch branch = createBranch("testBranch");
@@ -0,0 +1,59 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned;
+
+import static com.google.common.base.Preconditions.checkState;
+
+import javax.annotation.Nullable;
+import org.immutables.value.Value;
+
+/**
+ * Outcome of one reference of {@link VersionStore#createReferences(java.util.Map)} or {@link
+ * VersionStore#deleteReferences(java.util.Map)}, either the {@link #getResult() result} or the
+ * {@link #getFailure() failure}.
+ */
+@Value.Immutable
+public interface BulkReferenceResult<R extends Result> {
+
+  @Value.Parameter(order = 1)
+  NamedRef getNamedRef();
+
+  @Value.Parameter(order = 2)
+  @Nullable
+  @jakarta.annotation.Nullable
+  R getResult();
+
+  @Value.Parameter(order = 3)
+  @Nullable
+  @jakarta.annotation.Nullable
+  VersionStoreException getFailure();
+
+  @Value.Check
+  default void check() {
+    checkState(
+        (getResult() == null) != (getFailure() == null),
+        "Exactly one of result and failure must be present");
+  }
+
+  static <R extends Result> BulkReferenceResult<R> bulkReferenceResult(NamedRef ref, R result) {
+    return ImmutableBulkReferenceResult.of(ref, result, null);
+  }
+
+  static <R extends Result> BulkReferenceResult<R> bulkReferenceFailure(
+      NamedRef ref, VersionStoreException failure) {
+    return ImmutableBulkReferenceResult.of(ref, null, failure);
+  }
+}
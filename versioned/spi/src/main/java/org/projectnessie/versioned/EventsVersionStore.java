@@ -18,6 +18,7 @@ package org.projectnessie.versioned;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.function.BiConsumer;
@@ -109,6 +110,28 @@ public class EventsVersionStore implements VersionStore {
     return result;
   }
 
+  @Override
+  public List<BulkReferenceResult<ReferenceCreatedResult>> createReferences(
+      Map<NamedRef, Optional<Hash>> refs) {
+    List<BulkReferenceResult<ReferenceCreatedResult>> results = delegate.createReferences(refs);
+    results.stream()
+        .map(BulkReferenceResult::getResult)
+        .filter(Objects::nonNull)
+        .forEach(resultSink);
+    return results;
+  }
+
+  @Override
+  public List<BulkReferenceResult<ReferenceDeletedResult>> deleteReferences(
+      Map<NamedRef, Hash> refs) {
+    List<BulkReferenceResult<ReferenceDeletedResult>> results = delegate.deleteReferences(refs);
+    results.stream()
+        .map(BulkReferenceResult::getResult)
+        .filter(Objects::nonNull)
+        .forEach(resultSink);
+    return results;
+  }
+
   @Nonnull
   @jakarta.annotation.Nonnull
   @Override
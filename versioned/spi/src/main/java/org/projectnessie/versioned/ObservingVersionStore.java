@@ -142,6 +142,24 @@ public class ObservingVersionStore implements VersionStore {
     return delegate.delete(ref, hash);
   }
 
+  @WithSpan
+  @Override
+  @Counted(PREFIX)
+  @Timed(value = PREFIX, histogram = true)
+  public List<BulkReferenceResult<ReferenceCreatedResult>> createReferences(
+      Map<NamedRef, Optional<Hash>> refs) {
+    return delegate.createReferences(refs);
+  }
+
+  @WithSpan
+  @Override
+  @Counted(PREFIX)
+  @Timed(value = PREFIX, histogram = true)
+  public List<BulkReferenceResult<ReferenceDeletedResult>> deleteReferences(
+      Map<NamedRef, Hash> refs) {
+    return delegate.deleteReferences(refs);
+  }
+
   @WithSpan
   @Override
   @Counted(PREFIX)
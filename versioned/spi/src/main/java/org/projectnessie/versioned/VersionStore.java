@@ -15,8 +15,11 @@
  */
 package org.projectnessie.versioned;
 
+import static org.projectnessie.versioned.BulkReferenceResult.bulkReferenceFailure;
+import static org.projectnessie.versioned.BulkReferenceResult.bulkReferenceResult;
 import static org.projectnessie.versioned.DefaultMetadataRewriter.DEFAULT_METADATA_REWRITER;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
@@ -287,6 +290,52 @@ public interface VersionStore {
   ReferenceDeletedResult delete(NamedRef ref, Hash hash)
       throws ReferenceNotFoundException, ReferenceConflictException;
 
+  /**
+   * Creates multiple references, each pointing to the given hash or to the beginning of time, if
+   * the hash is empty. Implementations may record all references in a single internal operation.
+   *
+   * <p>Failures of individual references, which {@link #create(NamedRef, Optional)} would throw,
+   * are reported in the returned results and do not fail the other references.
+   *
+   * @param refs references to create with their target hashes
+   * @return the outcome per reference, in the iteration order of {@code refs}
+   */
+  default List<BulkReferenceResult<ReferenceCreatedResult>> createReferences(
+      Map<NamedRef, Optional<Hash>> refs) {
+    List<BulkReferenceResult<ReferenceCreatedResult>> results = new ArrayList<>(refs.size());
+    for (Map.Entry<NamedRef, Optional<Hash>> ref : refs.entrySet()) {
+      try {
+        results.add(bulkReferenceResult(ref.getKey(), create(ref.getKey(), ref.getValue())));
+      } catch (ReferenceNotFoundException | ReferenceAlreadyExistsException e) {
+        results.add(bulkReferenceFailure(ref.getKey(), e));
+      }
+    }
+    return results;
+  }
+
+  /**
+   * Deletes multiple references, each only if it points to the given hash. Implementations may
+   * record all deletions in a single internal operation.
+   *
+   * <p>Failures of individual references, which {@link #delete(NamedRef, Hash)} would throw, are
+   * reported in the returned results and do not fail the other references.
+   *
+   * @param refs references to delete with their expected hashes
+   * @return the outcome per reference, in the iteration order of {@code refs}
+   */
+  default List<BulkReferenceResult<ReferenceDeletedResult>> deleteReferences(
+      Map<NamedRef, Hash> refs) {
+    List<BulkReferenceResult<ReferenceDeletedResult>> results = new ArrayList<>(refs.size());
+    for (Map.Entry<NamedRef, Hash> ref : refs.entrySet()) {
+      try {
+        results.add(bulkReferenceResult(ref.getKey(), delete(ref.getKey(), ref.getValue())));
+      } catch (ReferenceNotFoundException | ReferenceConflictException e) {
+        results.add(bulkReferenceFailure(ref.getKey(), e));
+      }
+    }
+    return results;
+  }
+
   /**
    * Resolve the given {@link NamedRef} and return information about it, which at least contains the
    * current HEAD commit hash plus, optionally, additional information.
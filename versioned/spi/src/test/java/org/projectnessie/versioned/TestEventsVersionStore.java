@@ -455,6 +455,25 @@ class TestEventsVersionStore {
     verifyNoMoreInteractions(delegate, sink);
   }
 
+  @Test
+  void testCreateReferences() throws Exception {
+    ReferenceCreatedResult created =
+        ImmutableReferenceCreatedResult.builder().namedRef(branch1).hash(hash1).build();
+    Map<NamedRef, Optional<Hash>> refs =
+        ImmutableMap.of(branch1, Optional.of(hash1), branch2, Optional.of(hash2));
+    List<BulkReferenceResult<ReferenceCreatedResult>> expectedResults =
+        Arrays.asList(
+            BulkReferenceResult.bulkReferenceResult(branch1, created),
+            BulkReferenceResult.bulkReferenceFailure(
+                branch2, new ReferenceAlreadyExistsException("irrelevant")));
+    when(delegate.createReferences(refs)).thenReturn(expectedResults);
+    EventsVersionStore versionStore = new EventsVersionStore(delegate, sink);
+    assertThat(versionStore.createReferences(refs)).isEqualTo(expectedResults);
+    verify(delegate).createReferences(refs);
+    verify(sink).accept(created);
+    verifyNoMoreInteractions(delegate, sink);
+  }
+
   @Test
   void testDeleteSuccess() throws Exception {
     ReferenceDeletedResult expectedResult =
@@ -482,6 +501,24 @@ class TestEventsVersionStore {
     verifyNoMoreInteractions(delegate, sink);
   }
 
+  @Test
+  void testDeleteReferences() throws Exception {
+    ReferenceDeletedResult deleted =
+        ImmutableReferenceDeletedResult.builder().namedRef(branch2).hash(hash2).build();
+    Map<NamedRef, Hash> refs = ImmutableMap.of(branch1, hash1, branch2, hash2);
+    List<BulkReferenceResult<ReferenceDeletedResult>> expectedResults =
+        Arrays.asList(
+            BulkReferenceResult.bulkReferenceFailure(
+                branch1, new ReferenceConflictException("irrelevant")),
+            BulkReferenceResult.bulkReferenceResult(branch2, deleted));
+    when(delegate.deleteReferences(refs)).thenReturn(expectedResults);
+    EventsVersionStore versionStore = new EventsVersionStore(delegate, sink);
+    assertThat(versionStore.deleteReferences(refs)).isEqualTo(expectedResults);
+    verify(delegate).deleteReferences(refs);
+    verify(sink).accept(deleted);
+    verifyNoMoreInteractions(delegate, sink);
+  }
+
   @Test
   void testHashOnReferenceSuccess() throws ReferenceNotFoundException {
     when(delegate.hashOnReference(branch1, Optional.of(hash1), emptyList())).thenReturn(hash1);
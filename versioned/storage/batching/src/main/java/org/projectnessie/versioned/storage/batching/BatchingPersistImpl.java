@@ -406,4 +406,14 @@ final class BatchingPersistImpl implements BatchingPersist, ValidatingPersist {
       @Nonnull @javax.annotation.Nonnull Set<ObjType> returnedObjTypes) {
     throw new UnsupportedOperationException();
   }
+
+  @Override
+  @Nonnull
+  @javax.annotation.Nonnull
+  public CloseableIterator<Obj> scanObjectsPartition(
+      @Nonnull @javax.annotation.Nonnull Set<ObjType> returnedObjTypes,
+      int partition,
+      int numPartitions) {
+    throw new UnsupportedOperationException();
+  }
 }
@@ -17,6 +17,7 @@ package org.projectnessie.versioned.storage.bigtable;
 
 import static com.google.cloud.bigtable.data.v2.models.Filters.FILTERS;
 import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.util.concurrent.MoreExecutors.directExecutor;
 import static com.google.protobuf.ByteString.copyFromUtf8;
 import static com.google.protobuf.UnsafeByteOperations.unsafeWrap;
 import static java.util.Collections.singleton;
@@ -36,6 +37,8 @@ import static org.projectnessie.versioned.storage.serialize.ProtoSerialization.s
 import static org.projectnessie.versioned.storage.serialize.ProtoSerialization.serializeReference;
 
 import com.google.api.core.ApiFuture;
+import com.google.api.core.ApiFutureCallback;
+import com.google.api.core.ApiFutures;
 import com.google.api.gax.batching.Batcher;
 import com.google.api.gax.rpc.ApiException;
 import com.google.cloud.bigtable.data.v2.models.ConditionalRowMutation;
@@ -43,6 +46,7 @@ import com.google.cloud.bigtable.data.v2.models.Filters;
 import com.google.cloud.bigtable.data.v2.models.Filters.Filter;
 import com.google.cloud.bigtable.data.v2.models.Mutation;
 import com.google.cloud.bigtable.data.v2.models.Query;
+import com.google.cloud.bigtable.data.v2.models.Range.ByteStringRange;
 import com.google.cloud.bigtable.data.v2.models.Row;
 import com.google.cloud.bigtable.data.v2.models.RowCell;
 import com.google.cloud.bigtable.data.v2.models.RowMutation;
@@ -52,10 +56,13 @@ import com.google.common.collect.ImmutableMap;
 import com.google.protobuf.ByteString;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeoutException;
 import java.util.function.Consumer;
@@ -69,15 +76,17 @@ import org.projectnessie.versioned.storage.common.exceptions.ObjTooLargeExceptio
 import org.projectnessie.versioned.storage.common.exceptions.RefAlreadyExistsException;
 import org.projectnessie.versioned.storage.common.exceptions.RefConditionFailedException;
 import org.projectnessie.versioned.storage.common.exceptions.RefNotFoundException;
+import org.projectnessie.versioned.storage.common.persist.AsyncPersist;
 import org.projectnessie.versioned.storage.common.persist.CloseableIterator;
 import org.projectnessie.versioned.storage.common.persist.Obj;
 import org.projectnessie.versioned.storage.common.persist.ObjId;
+import org.projectnessie.versioned.storage.common.persist.ObjIdRange;
 import org.projectnessie.versioned.storage.common.persist.ObjType;
 import org.projectnessie.versioned.storage.common.persist.ObjTypes;
 import org.projectnessie.versioned.storage.common.persist.Persist;
 import org.projectnessie.versioned.storage.common.persist.Reference;
 
-public class BigTablePersist implements Persist {
+public class BigTablePersist implements Persist, AsyncPersist {
 
   private final BigTableBackend backend;
   private final StoreConfig config;
@@ -342,19 +351,7 @@ public class BigTablePersist implements Persist {
     try {
       Obj[] r = new Obj[ids.length];
       List<ObjId> notFound = new ArrayList<>();
-      bulkFetch(
-          backend.tableObjs,
-          ids,
-          r,
-          this::dbKey,
-          row -> {
-            ByteString key = row.getKey().substring(keyPrefix.size());
-            ObjId id = deserializeObjId(key);
-            ByteBuffer data =
-                row.getCells(FAMILY_OBJS, QUALIFIER_OBJS).get(0).getValue().asReadOnlyByteBuffer();
-            return deserializeObj(id, data);
-          },
-          notFound::add);
+      bulkFetch(backend.tableObjs, ids, r, this::dbKey, this::objFromRow, notFound::add);
 
       if (!notFound.isEmpty()) {
         throw new ObjNotFoundException(notFound);
@@ -371,6 +368,14 @@ public class BigTablePersist implements Persist {
     }
   }
 
+  private Obj objFromRow(Row row) {
+    ByteString key = row.getKey().substring(keyPrefix.size());
+    ObjId id = deserializeObjId(key);
+    ByteBuffer data =
+        row.getCells(FAMILY_OBJS, QUALIFIER_OBJS).get(0).getValue().asReadOnlyByteBuffer();
+    return deserializeObj(id, data);
+  }
+
   @Override
   public boolean storeObj(
       @Nonnull @jakarta.annotation.Nonnull Obj obj, boolean ignoreSoftSizeRestrictions)
@@ -573,7 +578,26 @@ public class BigTablePersist implements Persist {
   @Override
   public CloseableIterator<Obj> scanAllObjects(
       @Nonnull @jakarta.annotation.Nonnull Set<ObjType> returnedObjTypes) {
-    return new ScanAllObjectsIterator(returnedObjTypes::contains);
+    return new ScanAllObjectsIterator(
+        returnedObjTypes::contains, ByteStringRange.prefix(keyPrefix));
+  }
+
+  @Nonnull
+  @jakarta.annotation.Nonnull
+  @Override
+  public CloseableIterator<Obj> scanObjectsPartition(
+      @Nonnull @jakarta.annotation.Nonnull Set<ObjType> returnedObjTypes,
+      int partition,
+      int numPartitions) {
+    ObjIdRange range = ObjIdRange.forPartition(partition, numPartitions);
+    ByteStringRange rowRange = ByteStringRange.prefix(keyPrefix);
+    if (range.lower() != null) {
+      rowRange.startClosed(dbKey(range.lower()));
+    }
+    if (range.upper() != null) {
+      rowRange.endOpen(dbKey(range.upper()));
+    }
+    return new ScanAllObjectsIterator(returnedObjTypes::contains, rowRange);
   }
 
   private class ScanAllObjectsIterator extends AbstractIterator<Obj>
@@ -584,9 +608,9 @@ public class BigTablePersist implements Persist {
 
     private ByteString lastKey;
 
-    ScanAllObjectsIterator(Predicate<ObjType> filter) {
+    ScanAllObjectsIterator(Predicate<ObjType> filter, ByteStringRange rowRange) {
 
-      Query q = Query.create(backend.tableObjs).prefix(keyPrefix);
+      Query q = Query.create(backend.tableObjs).range(rowRange);
 
       Filters.ChainFilter filterChain =
           FILTERS.chain().filter(FILTERS.family().exactMatch(FAMILY_OBJS));
@@ -614,7 +638,7 @@ public class BigTablePersist implements Persist {
       if (!all) {
         // Condition filters are generally not recommended because they are slower, but
         // scanAllObjects is not meant to be particularly efficient. The fact that we are also
-        // limiting the query to a row prefix should alleviate the performance impact.
+        // limiting the query to a row range should alleviate the performance impact.
         filterChain.filter(
             FILTERS.condition(typeFilter).then(FILTERS.pass()).otherwise(FILTERS.block()));
       }
@@ -711,4 +735,132 @@ public class BigTablePersist implements Persist {
     }
     return handles;
   }
+
+  @Nonnull
+  @jakarta.annotation.Nonnull
+  @Override
+  public AsyncPersist async() {
+    return this;
+  }
+
+  @Nonnull
+  @jakarta.annotation.Nonnull
+  @Override
+  public CompletionStage<Reference[]> fetchReferencesAsync(
+      @Nonnull @jakarta.annotation.Nonnull String[] names) {
+    Reference[] r = new Reference[names.length];
+    return bulkFetchAsync(
+        backend.tableRefs, names, r, this::dbKey, BigTablePersist::referenceFromRow, name -> {});
+  }
+
+  @Nonnull
+  @jakarta.annotation.Nonnull
+  @Override
+  public CompletionStage<Obj[]> fetchObjsAsync(@Nonnull @jakarta.annotation.Nonnull ObjId[] ids) {
+    Obj[] r = new Obj[ids.length];
+    List<ObjId> notFound = new ArrayList<>();
+    return bulkFetchAsync(backend.tableObjs, ids, r, this::dbKey, this::objFromRow, notFound::add)
+        .thenCompose(
+            objs ->
+                notFound.isEmpty()
+                    ? CompletableFuture.completedFuture(objs)
+                    : CompletableFuture.failedFuture(new ObjNotFoundException(notFound)));
+  }
+
+  @Nonnull
+  @jakarta.annotation.Nonnull
+  @Override
+  public CompletionStage<boolean[]> storeObjsAsync(
+      @Nonnull @jakarta.annotation.Nonnull Obj[] objs) {
+    boolean[] r = new boolean[objs.length];
+    CompletableFuture<?>[] futures = new CompletableFuture[objs.length];
+    for (int i = 0; i < objs.length; i++) {
+      Obj obj = objs[i];
+      if (obj != null) {
+        ConditionalRowMutation conditionalRowMutation;
+        try {
+          conditionalRowMutation = mutationForStoreObj(obj, false);
+        } catch (ObjTooLargeException e) {
+          return CompletableFuture.failedFuture(e);
+        }
+        int idx = i;
+        futures[i] =
+            toCompletableFuture(backend.client().checkAndMutateRowAsync(conditionalRowMutation))
+                .thenAccept(success -> r[idx] = !success);
+      } else {
+        futures[i] = CompletableFuture.completedFuture(null);
+      }
+    }
+    return CompletableFuture.allOf(futures).thenApply(x -> r);
+  }
+
+  /**
+   * Non-blocking variant of {@link #bulkFetch(String, Object[], Object[], Function, Function,
+   * Consumer)}, reads all rows using a single read-rows request.
+   */
+  private <ID, R> CompletionStage<R[]> bulkFetchAsync(
+      String tableId,
+      ID[] ids,
+      R[] r,
+      Function<ID, ByteString> keyGen,
+      Function<Row, R> resultGen,
+      Consumer<ID> notFound) {
+    int num = ids.length;
+    Query query = Query.create(tableId);
+    ByteString[] keys = new ByteString[num];
+    boolean any = false;
+    for (int idx = 0; idx < num; idx++) {
+      ID id = ids[idx];
+      if (id != null) {
+        keys[idx] = keyGen.apply(id);
+        query.rowKey(keys[idx]);
+        any = true;
+      }
+    }
+    if (!any) {
+      return CompletableFuture.completedFuture(r);
+    }
+
+    return toCompletableFuture(backend.client().readRowsCallable().all().futureCall(query))
+        .thenApply(
+            rows -> {
+              Map<ByteString, Row> rowsByKey = new HashMap<>();
+              for (Row row : rows) {
+                rowsByKey.put(row.getKey(), row);
+              }
+              for (int idx = 0; idx < num; idx++) {
+                if (keys[idx] != null) {
+                  Row row = rowsByKey.get(keys[idx]);
+                  if (row != null) {
+                    r[idx] = resultGen.apply(row);
+                  } else {
+                    notFound.accept(ids[idx]);
+                  }
+                }
+              }
+              return r;
+            });
+  }
+
+  private static <T> CompletableFuture<T> toCompletableFuture(ApiFuture<T> future) {
+    CompletableFuture<T> r = new CompletableFuture<>();
+    ApiFutures.addCallback(
+        future,
+        new ApiFutureCallback<>() {
+          @Override
+          public void onFailure(Throwable t) {
+            r.completeExceptionally(
+                t instanceof ApiException
+                    ? new RuntimeException("Unhandled BigTable exception", t)
+                    : t);
+          }
+
+          @Override
+          public void onSuccess(T result) {
+            r.complete(result);
+          }
+        },
+        directExecutor());
+    return r;
+  }
 }
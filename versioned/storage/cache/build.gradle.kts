@@ -17,6 +17,7 @@
 plugins {
   id("nessie-conventions-server")
   id("nessie-jacoco")
+  alias(libs.plugins.jmh)
 }
 
 extra["maven.name"] = "Nessie - Storage - Cache"
@@ -46,8 +47,18 @@ dependencies {
   testImplementation(project(":nessie-versioned-storage-common-tests"))
   testImplementation(project(":nessie-versioned-storage-testextension"))
   testImplementation(project(":nessie-versioned-storage-inmemory"))
+  testImplementation(project(path = ":nessie-protobuf-relocated", configuration = "shadow"))
 
   testImplementation(platform(libs.junit.bom))
   testImplementation(libs.bundles.junit.testing)
+  testImplementation(libs.awaitility)
   testRuntimeOnly(libs.logback.classic)
+
+  jmhImplementation(libs.jmh.core)
+  jmhImplementation(project(path = ":nessie-protobuf-relocated", configuration = "shadow"))
+  jmhAnnotationProcessor(libs.jmh.generator.annprocess)
 }
+
+tasks.named("processJmhJandexIndex").configure { enabled = false }
+
+jmh { jmhVersion.set(libs.versions.jmh.get()) }
@@ -0,0 +1,129 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.cache;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static org.projectnessie.versioned.storage.common.indexes.StoreIndexElement.indexElement;
+import static org.projectnessie.versioned.storage.common.indexes.StoreIndexes.newStoreIndex;
+import static org.projectnessie.versioned.storage.common.indexes.StoreKey.key;
+import static org.projectnessie.versioned.storage.common.objtypes.CommitHeaders.newCommitHeaders;
+import static org.projectnessie.versioned.storage.common.objtypes.CommitObj.commitBuilder;
+import static org.projectnessie.versioned.storage.common.objtypes.CommitOp.COMMIT_OP_SERIALIZER;
+import static org.projectnessie.versioned.storage.common.objtypes.CommitOp.commitOp;
+import static org.projectnessie.versioned.storage.common.objtypes.IndexObj.index;
+import static org.projectnessie.versioned.storage.common.persist.ObjId.randomObjId;
+
+import java.util.concurrent.ThreadLocalRandom;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.projectnessie.versioned.storage.common.indexes.StoreIndex;
+import org.projectnessie.versioned.storage.common.objtypes.CommitObj;
+import org.projectnessie.versioned.storage.common.objtypes.CommitOp;
+import org.projectnessie.versioned.storage.common.persist.Obj;
+import org.projectnessie.versioned.storage.common.persist.ObjId;
+
+/**
+ * Compares cache hits against the serialized objects cache with cache hits against the
+ * deserialized objects tier.
+ */
+@Warmup(iterations = 2, time = 2000, timeUnit = MILLISECONDS)
+@Measurement(iterations = 3, time = 1000, timeUnit = MILLISECONDS)
+@Fork(1)
+@Threads(4)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(NANOSECONDS)
+public class CacheBackendBench {
+  static final String REPO = "repo";
+
+  @State(Scope.Benchmark)
+  public static class BenchmarkParam {
+
+    /** Capacity of the deserialized objects tier, {@code 0} means "serialized tier only". */
+    @Param({"0", "64"})
+    public int decodedCapacityMb;
+
+    @Param({"100", "1000"})
+    public int indexKeys;
+
+    @Param({"1000"})
+    public int numObjs;
+
+    CacheBackend backend;
+    ObjId[] commitIds;
+    ObjId[] indexIds;
+
+    @Setup
+    public void init() {
+      backend =
+          PersistCaches.newBackend(
+              CacheConfig.builder().capacityMb(256).decodedCapacityMb(decodedCapacityMb).build());
+
+      commitIds = new ObjId[numObjs];
+      indexIds = new ObjId[numObjs];
+      for (int i = 0; i < numObjs; i++) {
+        StoreIndex<CommitOp> index = newStoreIndex(COMMIT_OP_SERIALIZER);
+        for (int k = 0; k < indexKeys; k++) {
+          index.add(
+              indexElement(
+                  key("namespace" + (k % 10), "table-" + k),
+                  commitOp(CommitOp.Action.ADD, 1, randomObjId())));
+        }
+
+        CommitObj.Builder commit =
+            commitBuilder()
+                .id(randomObjId())
+                .created(System.currentTimeMillis() * 1000L)
+                .seq(i)
+                .headers(newCommitHeaders().add("Author", "Somebody").build())
+                .message("commit #" + i)
+                .incrementalIndex(index.serialize());
+        for (int p = 0; p < 20; p++) {
+          commit.addTail(randomObjId());
+        }
+        Obj commitObj = commit.build();
+        Obj indexObj = index(randomObjId(), index.serialize());
+
+        backend.put(REPO, commitObj);
+        backend.put(REPO, indexObj);
+        commitIds[i] = commitObj.id();
+        indexIds[i] = indexObj.id();
+      }
+    }
+  }
+
+  @Benchmark
+  public Obj getCommit(BenchmarkParam param) {
+    ObjId id = param.commitIds[ThreadLocalRandom.current().nextInt(param.numObjs)];
+    return param.backend.get(REPO, id);
+  }
+
+  @Benchmark
+  public Obj getIndex(BenchmarkParam param) {
+    ObjId id = param.indexIds[ThreadLocalRandom.current().nextInt(param.numObjs)];
+    return param.backend.get(REPO, id);
+  }
+}
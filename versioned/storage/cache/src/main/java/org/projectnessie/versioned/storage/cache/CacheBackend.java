@@ -20,6 +20,7 @@ import org.projectnessie.versioned.storage.common.persist.Backend;
 import org.projectnessie.versioned.storage.common.persist.Obj;
 import org.projectnessie.versioned.storage.common.persist.ObjId;
 import org.projectnessie.versioned.storage.common.persist.Persist;
+import org.projectnessie.versioned.storage.common.persist.Reference;
 
 /**
  * Provides the cache primitives for a caching {@link Persist} facade, suitable for multiple
@@ -38,6 +39,61 @@ public interface CacheBackend {
       @Nonnull @jakarta.annotation.Nonnull String repositoryId,
       @Nonnull @jakarta.annotation.Nonnull ObjId id);
 
+  /**
+   * Remembers that the object with the given ID does not exist. The entry is removed by {@link
+   * #put(String, Obj)} and {@link #remove(String, ObjId)} for the same ID, and expires after the
+   * configured time. No-op, if the negative cache is disabled.
+   */
+  void putNegative(
+      @Nonnull @jakarta.annotation.Nonnull String repositoryId,
+      @Nonnull @jakarta.annotation.Nonnull ObjId id);
+
+  /** Returns {@code true}, if the object with the given ID is known to not exist. */
+  boolean isNegative(
+      @Nonnull @jakarta.annotation.Nonnull String repositoryId,
+      @Nonnull @jakarta.annotation.Nonnull ObjId id);
+
+  /**
+   * Returns the cached reference, or {@code null}, if the reference is not cached, has expired or
+   * if the reference cache is disabled.
+   */
+  Reference getReference(
+      @Nonnull @jakarta.annotation.Nonnull String repositoryId,
+      @Nonnull @jakarta.annotation.Nonnull String name);
+
+  void putReference(
+      @Nonnull @jakarta.annotation.Nonnull String repositoryId,
+      @Nonnull @jakarta.annotation.Nonnull Reference reference);
+
+  /**
+   * Caches a reference that has been read from the backing database. A read may race with a
+   * concurrent update of the same reference, which caches the updated reference via {@link
+   * #putReference(String, Reference)}. To not replace the updated reference with the (then stale)
+   * result of the read, the given reference is only cached, if no reference with the same name is
+   * cached. If a different reference with the same name is cached, that entry is invalidated, so
+   * that the next read fetches the current state from the backing database.
+   */
+  void putLoadedReference(
+      @Nonnull @jakarta.annotation.Nonnull String repositoryId,
+      @Nonnull @jakarta.annotation.Nonnull Reference reference);
+
+  void removeReference(
+      @Nonnull @jakarta.annotation.Nonnull String repositoryId,
+      @Nonnull @jakarta.annotation.Nonnull String name);
+
+  /**
+   * Returns the number of object writes via all {@link Persist} instances using this cache backend,
+   * see {@link #objWritten()}.
+   */
+  long objWrites();
+
+  /**
+   * Must be called after every object write, before the cache entries for the written objects are
+   * updated or invalidated. Used to not remember an object as non-existing, if it has been written
+   * via any {@link Persist} instance using this cache backend while the object was being loaded.
+   */
+  void objWritten();
+
   void clear(@Nonnull @jakarta.annotation.Nonnull String repositoryId);
 
   Persist wrap(@Nonnull @jakarta.annotation.Nonnull Persist perist);
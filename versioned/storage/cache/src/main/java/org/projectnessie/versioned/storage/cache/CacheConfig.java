@@ -0,0 +1,113 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.cache;
+
+import static com.google.common.base.Preconditions.checkState;
+
+import com.google.errorprone.annotations.CanIgnoreReturnValue;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.Optional;
+import org.immutables.value.Value;
+
+/** Configuration for a {@link CacheBackend}, see {@link PersistCaches#newBackend(CacheConfig)}. */
+@Value.Immutable
+public interface CacheConfig {
+
+  /** Capacity of the serialized-objects cache in MB. */
+  long capacityMb();
+
+  /**
+   * Capacity in MB of the optional cache tier that holds already deserialized {@link
+   * org.projectnessie.versioned.storage.common.persist.Obj objects} in front of the serialized
+   * objects cache, {@code 0} disables the tier. The heap usage of this tier is estimated and comes
+   * in addition to {@link #capacityMb()}.
+   */
+  @Value.Default
+  default long decodedCapacityMb() {
+    return 0L;
+  }
+
+  /**
+   * Maximum time a {@link org.projectnessie.versioned.storage.common.persist.Reference reference}
+   * is served from the cache, which is also the maximum staleness of references returned by {@link
+   * org.projectnessie.versioned.storage.common.persist.Persist#fetchReference(String)} for changes
+   * made by other Nessie instances. Changes made via the same cache backend are written through.
+   * {@link Duration#ZERO} disables the reference cache.
+   */
+  @Value.Default
+  default Duration referenceTtl() {
+    return Duration.ZERO;
+  }
+
+  /**
+   * Maximum time the cache remembers that an object does not exist, {@link Duration#ZERO} disables
+   * the negative cache. Objects written via the same cache backend invalidate the corresponding
+   * entries, but objects written by other Nessie instances may be reported as not found for up to
+   * this duration.
+   */
+  @Value.Default
+  default Duration negativeTtl() {
+    return Duration.ZERO;
+  }
+
+  Optional<MeterRegistry> meterRegistry();
+
+  static Builder builder() {
+    return ImmutableCacheConfig.builder();
+  }
+
+  @SuppressWarnings("unused")
+  interface Builder {
+    @CanIgnoreReturnValue
+    Builder capacityMb(long capacityMb);
+
+    @CanIgnoreReturnValue
+    Builder decodedCapacityMb(long decodedCapacityMb);
+
+    @CanIgnoreReturnValue
+    Builder referenceTtl(Duration referenceTtl);
+
+    @CanIgnoreReturnValue
+    Builder negativeTtl(Duration negativeTtl);
+
+    @CanIgnoreReturnValue
+    Builder meterRegistry(MeterRegistry meterRegistry);
+
+    @CanIgnoreReturnValue
+    Builder meterRegistry(Optional<? extends MeterRegistry> meterRegistry);
+
+    CacheConfig build();
+  }
+
+  @Value.Check
+  default void check() {
+    checkState(
+        capacityMb() >= 0L, "Cache config: capacityMb must not be negative, but is %s", capacityMb());
+    checkState(
+        decodedCapacityMb() >= 0L,
+        "Cache config: decodedCapacityMb must not be negative, but is %s",
+        decodedCapacityMb());
+    checkState(
+        !referenceTtl().isNegative(),
+        "Cache config: referenceTtl must not be negative, but is %s",
+        referenceTtl());
+    checkState(
+        !negativeTtl().isNegative(),
+        "Cache config: negativeTtl must not be negative, but is %s",
+        negativeTtl());
+  }
+}
@@ -15,7 +15,12 @@
  */
 package org.projectnessie.versioned.storage.cache;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
 import javax.annotation.Nonnull;
 import org.projectnessie.versioned.storage.common.config.StoreConfig;
 import org.projectnessie.versioned.storage.common.exceptions.ObjNotFoundException;
@@ -23,6 +28,7 @@ import org.projectnessie.versioned.storage.common.exceptions.ObjTooLargeExceptio
 import org.projectnessie.versioned.storage.common.exceptions.RefAlreadyExistsException;
 import org.projectnessie.versioned.storage.common.exceptions.RefConditionFailedException;
 import org.projectnessie.versioned.storage.common.exceptions.RefNotFoundException;
+import org.projectnessie.versioned.storage.common.persist.AsyncPersist;
 import org.projectnessie.versioned.storage.common.persist.CloseableIterator;
 import org.projectnessie.versioned.storage.common.persist.Obj;
 import org.projectnessie.versioned.storage.common.persist.ObjId;
@@ -34,10 +40,18 @@ class CachingPersistImpl implements Persist {
 
   final Persist persist;
   final ObjCache cache;
+  final InFlightLoads inFlightLoads;
+
+  private final AsyncPersist asyncPersist = new CachingAsyncPersist();
 
   CachingPersistImpl(Persist persist, ObjCache cache) {
+    this(persist, cache, new InFlightLoads(null));
+  }
+
+  CachingPersistImpl(Persist persist, ObjCache cache, InFlightLoads inFlightLoads) {
     this.persist = persist;
     this.cache = cache;
+    this.inFlightLoads = inFlightLoads;
   }
 
   @Override
@@ -48,14 +62,63 @@ class CachingPersistImpl implements Persist {
     if (o != null) {
       return o;
     }
+    if (cache.isNegative(id)) {
+      throw new ObjNotFoundException(id);
+    }
+    return inFlightLoads.load(id, this::loadObj);
+  }
+
+  private Obj loadObj(ObjId id) throws ObjNotFoundException {
+    long writes = cache.objWrites();
     try {
-      o = persist.fetchObj(id);
+      Obj o = persist.fetchObj(id);
       cache.put(o);
       return o;
     } catch (ObjNotFoundException e) {
       cache.remove(id);
+      putNegative(id, writes);
+      throw e;
+    }
+  }
+
+  private Obj[] loadObjs(ObjId[] ids) throws ObjNotFoundException {
+    long writes = cache.objWrites();
+    Obj[] loaded;
+    try {
+      loaded = persist.fetchObjs(ids);
+    } catch (ObjNotFoundException e) {
+      for (ObjId id : e.objIds()) {
+        putNegative(id, writes);
+      }
       throw e;
     }
+    for (Obj o : loaded) {
+      if (o != null) {
+        cache.put(o);
+      }
+    }
+    return loaded;
+  }
+
+  /**
+   * Remembers the object as non-existing, unless an object has been written since {@code writes}
+   * has been captured. The check after adding the entry is necessary, because a concurrent write
+   * could have happened between the first check and adding the entry, and its invalidation would
+   * then not have seen the entry.
+   */
+  private void putNegative(ObjId id, long writes) {
+    if (cache.objWrites() != writes) {
+      return;
+    }
+    cache.putNegative(id);
+    if (cache.objWrites() != writes) {
+      cache.remove(id);
+    }
+  }
+
+  /** See {@link CacheBackend#objWritten()}. */
+  private void objWritten() {
+    cache.objWritten();
   }
 
   @Override
@@ -65,13 +128,16 @@ class CachingPersistImpl implements Persist {
       @Nonnull @jakarta.annotation.Nonnull ObjId id, ObjType type, Class<T> typeClass)
       throws ObjNotFoundException {
     Obj o = cache.get(id);
-    if (o != null) {
-      if (!o.type().equals(type)) {
+    if (o == null) {
+      if (cache.isNegative(id)) {
         throw new ObjNotFoundException(id);
       }
-    } else {
-      o = persist.fetchTypedObj(id, type, typeClass);
-      cache.put(o);
+      // Load the object regardless of its type, so concurrent loads for the same ID with different
+      // expected types can be coalesced.
+      o = inFlightLoads.load(id, this::loadObj);
+    }
+    if (!o.type().equals(type)) {
+      throw new ObjNotFoundException(id);
     }
     @SuppressWarnings("unchecked")
     T r = (T) o;
@@ -87,6 +153,9 @@ class CachingPersistImpl implements Persist {
     if (o != null) {
       return o.type();
     }
+    if (cache.isNegative(id)) {
+      throw new ObjNotFoundException(id);
+    }
     // 'fetchObjType' is used to validate the object-type for objects that are not available.
     // It's not worth to eagerly fetch the whole object and add it to the cache.
     return persist.fetchObjType(id);
@@ -97,8 +166,44 @@ class CachingPersistImpl implements Persist {
   @jakarta.annotation.Nonnull
   public Obj[] fetchObjs(@Nonnull @jakarta.annotation.Nonnull ObjId[] ids)
       throws ObjNotFoundException {
-    ObjId[] backendIds = null;
     Obj[] r = new Obj[ids.length];
+    List<ObjId> notFound = new ArrayList<>();
+    ObjId[] backendIds = fromCache(ids, r, notFound);
+
+    if (backendIds != null) {
+      try {
+        Obj[] backendResult = inFlightLoads.loadMany(backendIds, this::loadObjs);
+        merge(backendResult, r);
+      } catch (ObjNotFoundException e) {
+        notFound.addAll(e.objIds());
+      }
+    }
+
+    if (!notFound.isEmpty()) {
+      throw new ObjNotFoundException(notFound);
+    }
+    return r;
+  }
+
+  private static void merge(Obj[] backendResult, Obj[] r) {
+    for (int i = 0; i < backendResult.length; i++) {
+      Obj o = backendResult[i];
+      if (o != null) {
+        r[i] = o;
+      }
+    }
+  }
+
+  /**
+   * Populates {@code r} with the cached objects, adds the IDs of the objects that are known to not
+   * exist to {@code notFound} and returns the IDs of the objects that need to be fetched from the
+   * backend, or {@code null} if no object needs to be fetched from the backend.
+   *
+   * <p>Objects that are known to not exist do not short-cut the request, because {@link
+   * ObjNotFoundException} must contain the IDs of all non-existing objects.
+   */
+  private ObjId[] fromCache(ObjId[] ids, Obj[] r, List<ObjId> notFound) {
+    ObjId[] backendIds = null;
 
     for (int i = 0; i < ids.length; i++) {
       ObjId id = ids[i];
@@ -108,6 +213,8 @@ class CachingPersistImpl implements Persist {
       Obj o = cache.get(id);
       if (o != null) {
         r[i] = o;
+      } else if (cache.isNegative(id)) {
+        notFound.add(id);
       } else {
         if (backendIds == null) {
           backendIds = new ObjId[ids.length];
@@ -116,30 +223,26 @@ class CachingPersistImpl implements Persist {
       }
     }
 
-    if (backendIds == null) {
-      return r;
-    }
-
-    Obj[] backendResult = persist.fetchObjs(backendIds);
-    for (int i = 0; i < backendResult.length; i++) {
-      Obj o = backendResult[i];
-      if (o != null) {
-        r[i] = o;
-        cache.put(o);
-      }
-    }
-    return r;
+    return backendIds;
   }
 
   @Override
   public boolean storeObj(
       @jakarta.annotation.Nonnull @Nonnull Obj obj, boolean ignoreSoftSizeRestrictions)
       throws ObjTooLargeException {
-    if (persist.storeObj(obj, ignoreSoftSizeRestrictions)) {
+    boolean stored;
+    try {
+      stored = persist.storeObj(obj, ignoreSoftSizeRestrictions);
+    } finally {
+      objWritten();
+    }
+    if (stored) {
       cache.put(obj);
-      return true;
+    } else if (cache.isNegative(obj.id())) {
+      // The object already exists
+      cache.remove(obj.id());
     }
-    return false;
+    return stored;
   }
 
   @Override
@@ -147,10 +250,23 @@ class CachingPersistImpl implements Persist {
   @jakarta.annotation.Nonnull
   public boolean[] storeObjs(@jakarta.annotation.Nonnull @Nonnull Obj[] objs)
       throws ObjTooLargeException {
-    boolean[] stored = persist.storeObjs(objs);
+    boolean[] stored;
+    try {
+      stored = persist.storeObjs(objs);
+    } finally {
+      objWritten();
+    }
+    return objsStored(objs, stored);
+  }
+
+  private boolean[] objsStored(Obj[] objs, boolean[] stored) {
     for (int i = 0; i < stored.length; i++) {
+      Obj obj = objs[i];
       if (stored[i]) {
-        cache.put(objs[i]);
+        cache.put(obj);
+      } else if (obj != null && cache.isNegative(obj.id())) {
+        // The object already exists
+        cache.remove(obj.id());
       }
     }
     return stored;
@@ -161,6 +277,7 @@ class CachingPersistImpl implements Persist {
     try {
       persist.upsertObj(obj);
     } finally {
+      objWritten();
       cache.remove(obj.id());
     }
   }
@@ -171,6 +288,7 @@ class CachingPersistImpl implements Persist {
     try {
       persist.upsertObjs(objs);
     } finally {
+      objWritten();
       for (Obj obj : objs) {
         if (obj != null) {
           cache.remove(obj.id());
@@ -184,6 +302,7 @@ class CachingPersistImpl implements Persist {
     try {
       persist.deleteObj(id);
     } finally {
+      objWritten();
       cache.remove(id);
     }
   }
@@ -193,6 +312,7 @@ class CachingPersistImpl implements Persist {
     try {
       persist.deleteObjs(ids);
     } finally {
+      objWritten();
       for (ObjId id : ids) {
         if (id != null) {
           cache.remove(id);
@@ -206,6 +326,7 @@ class CachingPersistImpl implements Persist {
     try {
       persist.erase();
     } finally {
+      objWritten();
       cache.clear();
     }
   }
@@ -218,6 +339,16 @@ class CachingPersistImpl implements Persist {
     return persist.scanAllObjects(returnedObjTypes);
   }
 
+  @Override
+  @Nonnull
+  @jakarta.annotation.Nonnull
+  public CloseableIterator<Obj> scanObjectsPartition(
+      @Nonnull @jakarta.annotation.Nonnull Set<ObjType> returnedObjTypes,
+      int partition,
+      int numPartitions) {
+    return persist.scanObjectsPartition(returnedObjTypes, partition, numPartitions);
+  }
+
   // plain delegates...
 
   @Override
@@ -254,7 +385,14 @@ class CachingPersistImpl implements Persist {
   @jakarta.annotation.Nonnull
   public Reference addReference(@Nonnull @jakarta.annotation.Nonnull Reference reference)
       throws RefAlreadyExistsException {
-    return persist.addReference(reference);
+    try {
+      Reference r = persist.addReference(reference);
+      cache.putReference(r);
+      return r;
+    } catch (RefAlreadyExistsException e) {
+      cache.removeReference(reference.name());
+      throw e;
+    }
   }
 
   @Override
@@ -262,13 +400,24 @@ class CachingPersistImpl implements Persist {
   @jakarta.annotation.Nonnull
   public Reference markReferenceAsDeleted(@Nonnull @jakarta.annotation.Nonnull Reference reference)
       throws RefNotFoundException, RefConditionFailedException {
-    return persist.markReferenceAsDeleted(reference);
+    try {
+      Reference r = persist.markReferenceAsDeleted(reference);
+      cache.putReference(r);
+      return r;
+    } catch (RefNotFoundException | RefConditionFailedException e) {
+      cache.removeReference(reference.name());
+      throw e;
+    }
   }
 
   @Override
   public void purgeReference(@Nonnull @jakarta.annotation.Nonnull Reference reference)
       throws RefNotFoundException, RefConditionFailedException {
-    persist.purgeReference(reference);
+    try {
+      persist.purgeReference(reference);
+    } finally {
+      cache.removeReference(reference.name());
+    }
   }
 
   @Override
@@ -278,18 +427,213 @@ class CachingPersistImpl implements Persist {
       @Nonnull @jakarta.annotation.Nonnull Reference reference,
       @Nonnull @jakarta.annotation.Nonnull ObjId newPointer)
       throws RefNotFoundException, RefConditionFailedException {
-    return persist.updateReferencePointer(reference, newPointer);
+    try {
+      Reference r = persist.updateReferencePointer(reference, newPointer);
+      cache.putReference(r);
+      return r;
+    } catch (RefNotFoundException | RefConditionFailedException e) {
+      // The cached reference is likely outdated, do not serve it anymore.
+      cache.removeReference(reference.name());
+      throw e;
+    }
   }
 
   @Override
   public Reference fetchReference(@Nonnull @jakarta.annotation.Nonnull String name) {
-    return persist.fetchReference(name);
+    Reference r = cache.getReference(name);
+    if (r != null) {
+      return r;
+    }
+    return fetchReferenceForUpdate(name);
   }
 
   @Override
   @Nonnull
   @jakarta.annotation.Nonnull
   public Reference[] fetchReferences(@Nonnull @jakarta.annotation.Nonnull String[] names) {
-    return persist.fetchReferences(names);
+    String[] backendNames = null;
+    Reference[] r = new Reference[names.length];
+
+    for (int i = 0; i < names.length; i++) {
+      String name = names[i];
+      if (name == null) {
+        continue;
+      }
+      Reference ref = cache.getReference(name);
+      if (ref != null) {
+        r[i] = ref;
+      } else {
+        if (backendNames == null) {
+          backendNames = new String[names.length];
+        }
+        backendNames[i] = name;
+      }
+    }
+
+    if (backendNames == null) {
+      return r;
+    }
+
+    Reference[] backendResult = fetchReferencesForUpdate(backendNames);
+    for (int i = 0; i < backendResult.length; i++) {
+      Reference ref = backendResult[i];
+      if (ref != null) {
+        r[i] = ref;
+      }
+    }
+    return r;
+  }
+
+  @Override
+  public Reference fetchReferenceForUpdate(@Nonnull @jakarta.annotation.Nonnull String name) {
+    Reference r = persist.fetchReferenceForUpdate(name);
+    if (r != null) {
+      cache.putLoadedReference(r);
+    } else {
+      cache.removeReference(name);
+    }
+    return r;
+  }
+
+  @Override
+  @Nonnull
+  @jakarta.annotation.Nonnull
+  public Reference[] fetchReferencesForUpdate(
+      @Nonnull @jakarta.annotation.Nonnull String[] names) {
+    Reference[] r = persist.fetchReferencesForUpdate(names);
+    for (int i = 0; i < r.length; i++) {
+      Reference ref = r[i];
+      if (ref != null) {
+        cache.putLoadedReference(ref);
+      } else if (names[i] != null) {
+        cache.removeReference(names[i]);
+      }
+    }
+    return r;
+  }
+
+  @Override
+  @Nonnull
+  @jakarta.annotation.Nonnull
+  public AsyncPersist async() {
+    return asyncPersist;
+  }
+
+  /**
+   * Serves objects and references from the cache and delegates cache misses to the {@link
+   * AsyncPersist} of the backing {@link Persist}. Unlike the blocking functions, asynchronous loads
+   * are not coalesced with concurrent loads for the same objects.
+   */
+  private final class CachingAsyncPersist implements AsyncPersist {
+
+    @Override
+    public boolean isBlocking() {
+      return persist.async().isBlocking();
+    }
+
+    @Nonnull
+    @jakarta.annotation.Nonnull
+    @Override
+    public CompletionStage<Reference[]> fetchReferencesAsync(
+        @Nonnull @jakarta.annotation.Nonnull String[] names) {
+      String[] backendNames = null;
+      Reference[] r = new Reference[names.length];
+
+      for (int i = 0; i < names.length; i++) {
+        String name = names[i];
+        if (name == null) {
+          continue;
+        }
+        Reference ref = cache.getReference(name);
+        if (ref != null) {
+          r[i] = ref;
+        } else {
+          if (backendNames == null) {
+            backendNames = new String[names.length];
+          }
+          backendNames[i] = name;
+        }
+      }
+
+      if (backendNames == null) {
+        return CompletableFuture.completedFuture(r);
+      }
+
+      String[] fetchNames = backendNames;
+      return persist
+          .async()
+          .fetchReferencesAsync(fetchNames)
+          .thenApply(
+              backendResult -> {
+                for (int i = 0; i < backendResult.length; i++) {
+                  Reference ref = backendResult[i];
+                  if (ref != null) {
+                    cache.putLoadedReference(ref);
+                    r[i] = ref;
+                  } else if (fetchNames[i] != null) {
+                    cache.removeReference(fetchNames[i]);
+                  }
+                }
+                return r;
+              });
+    }
+
+    @Nonnull
+    @jakarta.annotation.Nonnull
+    @Override
+    public CompletionStage<Obj[]> fetchObjsAsync(
+        @Nonnull @jakarta.annotation.Nonnull ObjId[] ids) {
+      Obj[] r = new Obj[ids.length];
+      List<ObjId> notFound = new ArrayList<>();
+      ObjId[] backendIds = fromCache(ids, r, notFound);
+      if (backendIds == null) {
+        return notFound.isEmpty()
+            ? CompletableFuture.completedFuture(r)
+            : CompletableFuture.failedFuture(new ObjNotFoundException(notFound));
+      }
+
+      long writes = cache.objWrites();
+      return persist
+          .async()
+          .fetchObjsAsync(backendIds)
+          .handle(
+              (loaded, failure) -> {
+                if (failure != null) {
+                  Throwable cause =
+                      failure instanceof CompletionException ? failure.getCause() : failure;
+                  if (!(cause instanceof ObjNotFoundException)) {
+                    throw new CompletionException(cause);
+                  }
+                  for (ObjId id : ((ObjNotFoundException) cause).objIds()) {
+                    cache.remove(id);
+                    putNegative(id, writes);
+                    notFound.add(id);
+                  }
+                } else {
+                  for (Obj o : loaded) {
+                    if (o != null) {
+                      cache.put(o);
+                    }
+                  }
+                  merge(loaded, r);
+                }
+                if (!notFound.isEmpty()) {
+                  throw new CompletionException(new ObjNotFoundException(notFound));
+                }
+                return r;
+              });
+    }
+
+    @Nonnull
+    @jakarta.annotation.Nonnull
+    @Override
+    public CompletionStage<boolean[]> storeObjsAsync(
+        @Nonnull @jakarta.annotation.Nonnull Obj[] objs) {
+      return persist
+          .async()
+          .storeObjsAsync(objs)
+          .whenComplete((stored, failure) -> objWritten())
+          .thenApply(stored -> objsStored(objs, stored));
+    }
   }
 }
@@ -20,9 +20,13 @@ import static org.projectnessie.versioned.storage.serialize.ProtoSerialization.s
 
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Timer;
 import io.micrometer.core.instrument.binder.cache.CaffeineStatsCounter;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import org.immutables.value.Value;
@@ -30,6 +34,7 @@ import org.projectnessie.versioned.storage.common.exceptions.ObjTooLargeExceptio
 import org.projectnessie.versioned.storage.common.persist.Obj;
 import org.projectnessie.versioned.storage.common.persist.ObjId;
 import org.projectnessie.versioned.storage.common.persist.Persist;
+import org.projectnessie.versioned.storage.common.persist.Reference;
 import org.projectnessie.versioned.storage.serialize.ProtoSerialization;
 
 @Value.Immutable
@@ -37,6 +42,32 @@ abstract class CaffeineCacheBackend implements CacheBackend {
 
   public static final int JAVA_OBJ_HEADER = 32;
   public static final String CACHE_NAME = "nessie-objects";
+  public static final String DECODED_CACHE_NAME = "nessie-objects-decoded";
+  public static final String DESERIALIZE_TIMER_NAME = "cache_deserialize";
+  public static final String REFERENCE_CACHE_NAME = "nessie-references";
+  public static final String NEGATIVE_CACHE_NAME = "nessie-objects-negative";
+  public static final String COALESCED_LOADS_COUNTER_NAME = "cache_coalesced_loads";
+
+  /**
+   * References are small, the number of cached references is bounded to protect the heap against
+   * repositories with a huge number of references.
+   */
+  static final long REFERENCE_CACHE_MAX_SIZE = 100_000L;
+
+  /** Bounds the number of remembered non-existing object IDs. */
+  static final long NEGATIVE_CACHE_MAX_SIZE = 100_000L;
+
+  /**
+   * Deserialized objects usually need more heap than their serialized representation, because of
+   * object headers, references and {@code ObjId} instances. The factor is only an approximation.
+   */
+  static final int DECODED_HEAP_FACTOR = 2;
+
+  /**
+   * Incremented after every object write via any {@link Persist} instance using this cache backend,
+   * see {@link CacheBackend#objWritten()}.
+   */
+  private final AtomicLong objWrites = new AtomicLong();
 
   static ImmutableCaffeineCacheBackend.Builder builder() {
     return ImmutableCaffeineCacheBackend.builder();
@@ -45,6 +76,27 @@ abstract class CaffeineCacheBackend implements CacheBackend {
   /** Cache capacity in MB. */
   abstract long capacity();
 
+  /** Capacity of the deserialized objects tier in MB, {@code 0} disables that tier. */
+  @Value.Default
+  long decodedCapacity() {
+    return 0L;
+  }
+
+  /** Maximum time references are cached, {@link Duration#ZERO} disables the reference cache. */
+  @Value.Default
+  Duration referenceTtl() {
+    return Duration.ZERO;
+  }
+
+  /**
+   * Maximum time non-existing objects are remembered, {@link Duration#ZERO} disables the negative
+   * cache.
+   */
+  @Value.Default
+  Duration negativeTtl() {
+    return Duration.ZERO;
+  }
+
   @Nullable
   @jakarta.annotation.Nullable
   abstract MeterRegistry meterRegistry();
@@ -62,23 +114,136 @@ abstract class CaffeineCacheBackend implements CacheBackend {
     return cacheBuilder.build();
   }
 
+  @Value.Derived
+  @Nullable
+  @jakarta.annotation.Nullable
+  Cache<CacheKey, DecodedObj> decodedCache() {
+    if (decodedCapacity() <= 0L) {
+      return null;
+    }
+    Caffeine<CacheKey, DecodedObj> cacheBuilder =
+        Caffeine.newBuilder()
+            .maximumWeight(decodedCapacity() * 1024L * 1024L)
+            .weigher(this::decodedWeigher);
+    MeterRegistry meterRegistry = meterRegistry();
+    if (meterRegistry != null) {
+      cacheBuilder.recordStats(() -> new CaffeineStatsCounter(meterRegistry, DECODED_CACHE_NAME));
+      meterRegistry.gauge(
+          "cache_capacity_mb",
+          singletonList(Tag.of("cache", DECODED_CACHE_NAME)),
+          "",
+          x -> decodedCapacity());
+    }
+    return cacheBuilder.build();
+  }
+
+  @Value.Derived
+  @Nullable
+  @jakarta.annotation.Nullable
+  Cache<RefCacheKey, Reference> referenceCache() {
+    Duration ttl = referenceTtl();
+    if (ttl.isZero() || ttl.isNegative()) {
+      return null;
+    }
+    Caffeine<Object, Object> cacheBuilder =
+        Caffeine.newBuilder().maximumSize(REFERENCE_CACHE_MAX_SIZE).expireAfterWrite(ttl);
+    MeterRegistry meterRegistry = meterRegistry();
+    if (meterRegistry != null) {
+      cacheBuilder.recordStats(() -> new CaffeineStatsCounter(meterRegistry, REFERENCE_CACHE_NAME));
+    }
+    return cacheBuilder.build();
+  }
+
+  @Value.Derived
+  @Nullable
+  @jakarta.annotation.Nullable
+  Timer deserializeTimer() {
+    MeterRegistry meterRegistry = meterRegistry();
+    if (meterRegistry == null) {
+      return null;
+    }
+    return Timer.builder(DESERIALIZE_TIMER_NAME)
+        .description("Time spent deserializing cached objects")
+        .tag("cache", CACHE_NAME)
+        .register(meterRegistry);
+  }
+
+  @Value.Derived
+  @Nullable
+  @jakarta.annotation.Nullable
+  Cache<CacheKey, Boolean> negativeCache() {
+    Duration ttl = negativeTtl();
+    if (ttl.isZero() || ttl.isNegative()) {
+      return null;
+    }
+    Caffeine<Object, Object> cacheBuilder =
+        Caffeine.newBuilder().maximumSize(NEGATIVE_CACHE_MAX_SIZE).expireAfterWrite(ttl);
+    MeterRegistry meterRegistry = meterRegistry();
+    if (meterRegistry != null) {
+      cacheBuilder.recordStats(() -> new CaffeineStatsCounter(meterRegistry, NEGATIVE_CACHE_NAME));
+    }
+    return cacheBuilder.build();
+  }
+
+  @Value.Derived
+  @Nullable
+  @jakarta.annotation.Nullable
+  Counter coalescedLoadsCounter() {
+    MeterRegistry meterRegistry = meterRegistry();
+    if (meterRegistry == null) {
+      return null;
+    }
+    return Counter.builder(COALESCED_LOADS_COUNTER_NAME)
+        .description("Number of cache misses that waited for a concurrent load of the same object")
+        .tag("cache", CACHE_NAME)
+        .register(meterRegistry);
+  }
+
   @Override
   public Persist wrap(@Nonnull @jakarta.annotation.Nonnull Persist persist) {
     ObjCacheImpl cache = new ObjCacheImpl(this, persist.config().repositoryId());
-    return new CachingPersistImpl(persist, cache);
+    return new CachingPersistImpl(persist, cache, new InFlightLoads(coalescedLoadsCounter()));
   }
 
   private int weigher(CacheKey key, byte[] data) {
     return key.heapSize() + JAVA_OBJ_HEADER + data.length;
   }
 
+  private int decodedWeigher(CacheKey key, DecodedObj decoded) {
+    return key.heapSize() + JAVA_OBJ_HEADER + decoded.heapSize;
+  }
+
   @Override
   public Obj get(
       @Nonnull @jakarta.annotation.Nonnull String repositoryId,
       @Nonnull @jakarta.annotation.Nonnull ObjId id) {
     CacheKey key = cacheKey(repositoryId, id);
+
+    Cache<CacheKey, DecodedObj> decodedCache = decodedCache();
+    if (decodedCache != null) {
+      DecodedObj decoded = decodedCache.getIfPresent(key);
+      if (decoded != null) {
+        return decoded.obj;
+      }
+    }
+
     byte[] bytes = cache().getIfPresent(key);
-    return bytes != null ? ProtoSerialization.deserializeObj(id, bytes) : null;
+    if (bytes == null) {
+      return null;
+    }
+
+    Obj obj = deserialize(id, bytes);
+    if (decodedCache != null) {
+      decodedCache.put(key, new DecodedObj(obj, bytes.length));
+    }
+    return obj;
+  }
+
+  private Obj deserialize(ObjId id, byte[] bytes) {
+    Timer timer = deserializeTimer();
+    return timer != null
+        ? timer.record(() -> ProtoSerialization.deserializeObj(id, bytes))
+        : ProtoSerialization.deserializeObj(id, bytes);
   }
 
   @Override
@@ -86,12 +251,20 @@ abstract class CaffeineCacheBackend implements CacheBackend {
       @Nonnull @jakarta.annotation.Nonnull String repositoryId,
       @Nonnull @jakarta.annotation.Nonnull Obj obj) {
     CacheKey key = cacheKey(repositoryId, obj.id());
+    byte[] bytes;
     try {
-      cache().put(key, serializeObj(obj, Integer.MAX_VALUE, Integer.MAX_VALUE));
+      bytes = serializeObj(obj, Integer.MAX_VALUE, Integer.MAX_VALUE);
     } catch (ObjTooLargeException e) {
       // this should never happen
       throw new RuntimeException(e);
     }
+    cache().put(key, bytes);
+    removeNegative(key);
+
+    Cache<CacheKey, DecodedObj> decodedCache = decodedCache();
+    if (decodedCache != null) {
+      decodedCache.put(key, new DecodedObj(obj, bytes.length));
+    }
   }
 
   @Override
@@ -99,11 +272,109 @@ abstract class CaffeineCacheBackend implements CacheBackend {
       @Nonnull @jakarta.annotation.Nonnull String repositoryId,
       @Nonnull @jakarta.annotation.Nonnull ObjId id) {
     CacheKey key = cacheKey(repositoryId, id);
+    Cache<CacheKey, DecodedObj> decodedCache = decodedCache();
+    if (decodedCache != null) {
+      decodedCache.invalidate(key);
+    }
     cache().invalidate(key);
+    removeNegative(key);
+  }
+
+  private void removeNegative(CacheKey key) {
+    Cache<CacheKey, Boolean> negativeCache = negativeCache();
+    if (negativeCache != null) {
+      negativeCache.invalidate(key);
+    }
+  }
+
+  @Override
+  public void putNegative(
+      @Nonnull @jakarta.annotation.Nonnull String repositoryId,
+      @Nonnull @jakarta.annotation.Nonnull ObjId id) {
+    Cache<CacheKey, Boolean> negativeCache = negativeCache();
+    if (negativeCache != null) {
+      negativeCache.put(cacheKey(repositoryId, id), Boolean.TRUE);
+    }
+  }
+
+  @Override
+  public boolean isNegative(
+      @Nonnull @jakarta.annotation.Nonnull String repositoryId,
+      @Nonnull @jakarta.annotation.Nonnull ObjId id) {
+    Cache<CacheKey, Boolean> negativeCache = negativeCache();
+    return negativeCache != null && negativeCache.getIfPresent(cacheKey(repositoryId, id)) != null;
+  }
+
+  @Override
+  public Reference getReference(
+      @Nonnull @jakarta.annotation.Nonnull String repositoryId,
+      @Nonnull @jakarta.annotation.Nonnull String name) {
+    Cache<RefCacheKey, Reference> referenceCache = referenceCache();
+    if (referenceCache == null) {
+      return null;
+    }
+    return referenceCache.getIfPresent(new RefCacheKey(repositoryId, name));
+  }
+
+  @Override
+  public void putReference(
+      @Nonnull @jakarta.annotation.Nonnull String repositoryId,
+      @Nonnull @jakarta.annotation.Nonnull Reference reference) {
+    Cache<RefCacheKey, Reference> referenceCache = referenceCache();
+    if (referenceCache != null) {
+      referenceCache.put(new RefCacheKey(repositoryId, reference.name()), reference);
+    }
+  }
+
+  @Override
+  public void putLoadedReference(
+      @Nonnull @jakarta.annotation.Nonnull String repositoryId,
+      @Nonnull @jakarta.annotation.Nonnull Reference reference) {
+    Cache<RefCacheKey, Reference> referenceCache = referenceCache();
+    if (referenceCache != null) {
+      referenceCache
+          .asMap()
+          .compute(
+              new RefCacheKey(repositoryId, reference.name()),
+              (k, cached) ->
+                  cached == null ? reference : cached.equals(reference) ? cached : null);
+    }
+  }
+
+  @Override
+  public void removeReference(
+      @Nonnull @jakarta.annotation.Nonnull String repositoryId,
+      @Nonnull @jakarta.annotation.Nonnull String name) {
+    Cache<RefCacheKey, Reference> referenceCache = referenceCache();
+    if (referenceCache != null) {
+      referenceCache.invalidate(new RefCacheKey(repositoryId, name));
+    }
+  }
+
+  @Override
+  public long objWrites() {
+    return objWrites.get();
+  }
+
+  @Override
+  public void objWritten() {
+    objWrites.incrementAndGet();
   }
 
   @Override
   public void clear(@Nonnull @jakarta.annotation.Nonnull String repositoryId) {
+    Cache<RefCacheKey, Reference> referenceCache = referenceCache();
+    if (referenceCache != null) {
+      referenceCache.asMap().keySet().removeIf(k -> k.repositoryId.equals(repositoryId));
+    }
+    Cache<CacheKey, Boolean> negativeCache = negativeCache();
+    if (negativeCache != null) {
+      negativeCache.asMap().keySet().removeIf(k -> k.repositoryId.equals(repositoryId));
+    }
+    Cache<CacheKey, DecodedObj> decodedCache = decodedCache();
+    if (decodedCache != null) {
+      decodedCache.asMap().keySet().removeIf(k -> k.repositoryId.equals(repositoryId));
+    }
     cache().asMap().keySet().removeIf(k -> k.repositoryId.equals(repositoryId));
   }
 
@@ -111,6 +382,52 @@ abstract class CaffeineCacheBackend implements CacheBackend {
     return new CacheKey(repositoryId, id);
   }
 
+  /**
+   * Holds an immutable, deserialized {@link Obj} together with its estimated heap size, which is
+   * derived from the size of its serialized representation.
+   */
+  static final class DecodedObj {
+    final Obj obj;
+    final int heapSize;
+
+    DecodedObj(Obj obj, int serializedSize) {
+      this.obj = obj;
+      this.heapSize = JAVA_OBJ_HEADER + DECODED_HEAP_FACTOR * serializedSize;
+    }
+  }
+
+  static final class RefCacheKey {
+    final String repositoryId;
+    final String name;
+
+    RefCacheKey(String repositoryId, String name) {
+      this.repositoryId = repositoryId;
+      this.name = name;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof RefCacheKey)) {
+        return false;
+      }
+      RefCacheKey refCacheKey = (RefCacheKey) o;
+      return repositoryId.equals(refCacheKey.repositoryId) && name.equals(refCacheKey.name);
+    }
+
+    @Override
+    public int hashCode() {
+      return repositoryId.hashCode() * 31 + name.hashCode();
+    }
+
+    @Override
+    public String toString() {
+      return "RefCacheKey{" + repositoryId + ", " + name + '}';
+    }
+  }
+
   static final class CacheKey {
 
     static final int HEAP_OVERHEAD = 3 * JAVA_OBJ_HEADER;
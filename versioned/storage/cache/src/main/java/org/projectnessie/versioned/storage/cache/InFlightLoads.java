@@ -0,0 +1,214 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.cache;
+
+import io.micrometer.core.instrument.Counter;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import javax.annotation.Nullable;
+import org.projectnessie.versioned.storage.common.exceptions.ObjNotFoundException;
+import org.projectnessie.versioned.storage.common.persist.Obj;
+import org.projectnessie.versioned.storage.common.persist.ObjId;
+
+/**
+ * Coalesces concurrent loads of the same {@link ObjId}, so that concurrent cache misses for the
+ * same object wait for a single load from the database instead of issuing their own requests.
+ *
+ * <p>A load is only awaited by threads that do not own any pending load themselves, bulk loads
+ * first perform their own load before joining other pending loads, which prevents deadlocks.
+ */
+final class InFlightLoads {
+
+  @FunctionalInterface
+  interface ObjLoader {
+    Obj load(ObjId id) throws ObjNotFoundException;
+  }
+
+  @FunctionalInterface
+  interface ObjsLoader {
+    /** Same contract as {@code Persist.fetchObjs()}. */
+    Obj[] load(ObjId[] ids) throws ObjNotFoundException;
+  }
+
+  private final ConcurrentMap<ObjId, CompletableFuture<Obj>> loads = new ConcurrentHashMap<>();
+  private final Counter coalescedLoads;
+
+  InFlightLoads(@Nullable @jakarta.annotation.Nullable Counter coalescedLoads) {
+    this.coalescedLoads = coalescedLoads;
+  }
+
+  int pendingLoads() {
+    return loads.size();
+  }
+
+  Obj load(ObjId id, ObjLoader loader) throws ObjNotFoundException {
+    CompletableFuture<Obj> load = new CompletableFuture<>();
+    CompletableFuture<Obj> pending = loads.putIfAbsent(id, load);
+    if (pending != null) {
+      coalesced();
+      Obj obj = await(id, pending);
+      // 'null' means that the pending bulk load could not provide the object
+      return obj != null ? obj : loader.load(id);
+    }
+
+    try {
+      Obj obj = loader.load(id);
+      load.complete(obj);
+      return obj;
+    } catch (ObjNotFoundException | RuntimeException | Error e) {
+      load.completeExceptionally(e);
+      throw e;
+    } finally {
+      loads.remove(id, load);
+    }
+  }
+
+  /**
+   * Loads the objects for the non-{@code null} elements in {@code ids}, joining pending loads for
+   * the same IDs.
+   */
+  Obj[] loadMany(ObjId[] ids, ObjsLoader loader) throws ObjNotFoundException {
+    int num = ids.length;
+    Obj[] r = new Obj[num];
+
+    @SuppressWarnings("unchecked")
+    CompletableFuture<Obj>[] ownLoads = new CompletableFuture[num];
+    CompletableFuture<Obj>[] pendingLoads = null;
+    ObjId[] ownIds = null;
+
+    for (int i = 0; i < num; i++) {
+      ObjId id = ids[i];
+      if (id == null) {
+        continue;
+      }
+      CompletableFuture<Obj> load = new CompletableFuture<>();
+      CompletableFuture<Obj> pending = loads.putIfAbsent(id, load);
+      if (pending == null) {
+        if (ownIds == null) {
+          ownIds = new ObjId[num];
+        }
+        ownIds[i] = id;
+        ownLoads[i] = load;
+      } else {
+        if (pendingLoads == null) {
+          @SuppressWarnings("unchecked")
+          CompletableFuture<Obj>[] p = new CompletableFuture[num];
+          pendingLoads = p;
+        }
+        pendingLoads[i] = pending;
+        coalesced();
+      }
+    }
+
+    List<ObjId> notFound = null;
+
+    if (ownIds != null) {
+      try {
+        Obj[] loaded = loader.load(ownIds);
+        for (int i = 0; i < num; i++) {
+          if (ownLoads[i] != null) {
+            r[i] = loaded[i];
+            ownLoads[i].complete(loaded[i]);
+          }
+        }
+      } catch (ObjNotFoundException e) {
+        notFound = new ArrayList<>(e.objIds());
+        Set<ObjId> missing = new HashSet<>(notFound);
+        for (int i = 0; i < num; i++) {
+          if (ownLoads[i] != null) {
+            if (missing.contains(ids[i])) {
+              ownLoads[i].completeExceptionally(new ObjNotFoundException(ids[i]));
+            } else {
+              // The bulk load failed, let waiting threads load the object on their own.
+              ownLoads[i].complete(null);
+            }
+          }
+        }
+      } catch (RuntimeException | Error e) {
+        for (CompletableFuture<Obj> load : ownLoads) {
+          if (load != null) {
+            load.completeExceptionally(e);
+          }
+        }
+        throw e;
+      } finally {
+        for (int i = 0; i < num; i++) {
+          if (ownLoads[i] != null) {
+            loads.remove(ids[i], ownLoads[i]);
+          }
+        }
+      }
+    }
+
+    if (pendingLoads != null) {
+      for (int i = 0; i < num; i++) {
+        CompletableFuture<Obj> pending = pendingLoads[i];
+        if (pending == null) {
+          continue;
+        }
+        ObjId id = ids[i];
+        try {
+          Obj obj = await(id, pending);
+          if (obj == null) {
+            obj = loader.load(new ObjId[] {id})[0];
+          }
+          r[i] = obj;
+        } catch (ObjNotFoundException e) {
+          if (notFound == null) {
+            notFound = new ArrayList<>();
+          }
+          notFound.add(id);
+        }
+      }
+    }
+
+    if (notFound != null) {
+      throw new ObjNotFoundException(notFound);
+    }
+
+    return r;
+  }
+
+  private void coalesced() {
+    if (coalescedLoads != null) {
+      coalescedLoads.increment();
+    }
+  }
+
+  private static Obj await(ObjId id, CompletableFuture<Obj> load) throws ObjNotFoundException {
+    try {
+      return load.join();
+    } catch (CompletionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof ObjNotFoundException) {
+        throw new ObjNotFoundException(id);
+      }
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      if (cause instanceof Error) {
+        throw (Error) cause;
+      }
+      throw e;
+    }
+  }
+}
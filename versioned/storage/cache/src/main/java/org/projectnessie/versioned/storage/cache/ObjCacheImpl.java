@@ -18,6 +18,7 @@ package org.projectnessie.versioned.storage.cache;
 import javax.annotation.Nonnull;
 import org.projectnessie.versioned.storage.common.persist.Obj;
 import org.projectnessie.versioned.storage.common.persist.ObjId;
+import org.projectnessie.versioned.storage.common.persist.Reference;
 
 final class ObjCacheImpl implements ObjCache {
   private final CacheBackend backend;
@@ -43,6 +44,46 @@ final class ObjCacheImpl implements ObjCache {
     backend.remove(repositoryId, id);
   }
 
+  @Override
+  public void putNegative(@Nonnull @jakarta.annotation.Nonnull ObjId id) {
+    backend.putNegative(repositoryId, id);
+  }
+
+  @Override
+  public boolean isNegative(@Nonnull @jakarta.annotation.Nonnull ObjId id) {
+    return backend.isNegative(repositoryId, id);
+  }
+
+  @Override
+  public Reference getReference(@Nonnull @jakarta.annotation.Nonnull String name) {
+    return backend.getReference(repositoryId, name);
+  }
+
+  @Override
+  public void putReference(@Nonnull @jakarta.annotation.Nonnull Reference reference) {
+    backend.putReference(repositoryId, reference);
+  }
+
+  @Override
+  public void putLoadedReference(@Nonnull @jakarta.annotation.Nonnull Reference reference) {
+    backend.putLoadedReference(repositoryId, reference);
+  }
+
+  @Override
+  public void removeReference(@Nonnull @jakarta.annotation.Nonnull String name) {
+    backend.removeReference(repositoryId, name);
+  }
+
+  @Override
+  public long objWrites() {
+    return backend.objWrites();
+  }
+
+  @Override
+  public void objWritten() {
+    backend.objWritten();
+  }
+
   @Override
   public void clear() {
     backend.clear(repositoryId);
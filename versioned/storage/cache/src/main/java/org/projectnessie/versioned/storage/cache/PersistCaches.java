@@ -16,12 +16,28 @@
 package org.projectnessie.versioned.storage.cache;
 
 import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Optional;
 
 public final class PersistCaches {
   private PersistCaches() {}
 
   /** Produces a {@link CacheBackend} with the given maximum capacity. */
   public static CacheBackend newBackend(long capacityMb, MeterRegistry meterRegistry) {
-    return CaffeineCacheBackend.builder().capacity(capacityMb).meterRegistry(meterRegistry).build();
+    return newBackend(
+        CacheConfig.builder()
+            .capacityMb(capacityMb)
+            .meterRegistry(Optional.ofNullable(meterRegistry))
+            .build());
+  }
+
+  /** Produces a {@link CacheBackend} using the given configuration. */
+  public static CacheBackend newBackend(CacheConfig config) {
+    return CaffeineCacheBackend.builder()
+        .capacity(config.capacityMb())
+        .decodedCapacity(config.decodedCapacityMb())
+        .referenceTtl(config.referenceTtl())
+        .negativeTtl(config.negativeTtl())
+        .meterRegistry(config.meterRegistry().orElse(null))
+        .build();
   }
 }
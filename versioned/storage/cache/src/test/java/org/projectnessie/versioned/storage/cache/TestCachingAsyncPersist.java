@@ -0,0 +1,101 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.cache;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.projectnessie.versioned.storage.cache.TestCaffeineCacheBackend.newObj;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutionException;
+import org.assertj.core.api.SoftAssertions;
+import org.assertj.core.api.junit.jupiter.InjectSoftAssertions;
+import org.assertj.core.api.junit.jupiter.SoftAssertionsExtension;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.projectnessie.versioned.storage.common.exceptions.ObjNotFoundException;
+import org.projectnessie.versioned.storage.common.persist.AsyncPersist;
+import org.projectnessie.versioned.storage.common.persist.Obj;
+import org.projectnessie.versioned.storage.common.persist.ObjId;
+import org.projectnessie.versioned.storage.common.persist.Persist;
+import org.projectnessie.versioned.storage.testextension.NessiePersist;
+import org.projectnessie.versioned.storage.testextension.PersistExtension;
+
+@ExtendWith({PersistExtension.class, SoftAssertionsExtension.class})
+public class TestCachingAsyncPersist {
+  @InjectSoftAssertions protected SoftAssertions soft;
+
+  @NessiePersist protected Persist backing;
+
+  private Persist cached() {
+    return PersistCaches.newBackend(
+            CacheConfig.builder().capacityMb(1).negativeTtl(Duration.ofMinutes(10)).build())
+        .wrap(backing);
+  }
+
+  @Test
+  public void fetchPopulatesCache() throws Exception {
+    Persist cached = cached();
+    AsyncPersist async = cached.async();
+
+    Obj obj = newObj();
+    backing.storeObj(obj);
+
+    soft.assertThat(
+            async.fetchObjsAsync(new ObjId[] {obj.id()}).toCompletableFuture().get(30, SECONDS))
+        .containsExactly(obj);
+
+    // Object deleted via another instance, still served from the cache
+    backing.deleteObj(obj.id());
+    soft.assertThat(cached.fetchObj(obj.id())).isEqualTo(obj);
+    soft.assertThat(async.fetchObjAsync(obj.id()).toCompletableFuture().get(30, SECONDS))
+        .isEqualTo(obj);
+  }
+
+  @Test
+  public void storeWritesThrough() throws Exception {
+    Persist cached = cached();
+    AsyncPersist async = cached.async();
+
+    Obj obj = newObj();
+    soft.assertThatThrownBy(() -> cached.fetchObj(obj.id()))
+        .isInstanceOf(ObjNotFoundException.class);
+
+    soft.assertThat(
+            async.storeObjsAsync(new Obj[] {obj, null}).toCompletableFuture().get(30, SECONDS))
+        .containsExactly(true, false);
+
+    // Object deleted via another instance, still served from the cache
+    backing.deleteObj(obj.id());
+    soft.assertThat(cached.fetchObj(obj.id())).isEqualTo(obj);
+  }
+
+  @Test
+  public void notFoundRemembered() throws Exception {
+    Persist cached = cached();
+    AsyncPersist async = cached.async();
+
+    Obj obj = newObj();
+    soft.assertThat(async.fetchObjsAsync(new ObjId[] {obj.id()}).toCompletableFuture())
+        .failsWithin(30, SECONDS)
+        .withThrowableOfType(ExecutionException.class)
+        .withCauseInstanceOf(ObjNotFoundException.class);
+
+    // Object written via another instance, not visible to the cache
+    backing.storeObj(obj);
+    soft.assertThatThrownBy(() -> cached.fetchObj(obj.id()))
+        .isInstanceOf(ObjNotFoundException.class);
+  }
+}
@@ -0,0 +1,222 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.cache;
+
+import static org.assertj.core.api.InstanceOfAssertFactories.list;
+import static org.assertj.core.api.InstanceOfAssertFactories.type;
+import static org.mockito.AdditionalAnswers.delegatesTo;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.projectnessie.versioned.storage.cache.TestCaffeineCacheBackend.newObj;
+
+import java.time.Duration;
+import java.util.concurrent.CompletionException;
+import org.assertj.core.api.SoftAssertions;
+import org.assertj.core.api.junit.jupiter.InjectSoftAssertions;
+import org.assertj.core.api.junit.jupiter.SoftAssertionsExtension;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.projectnessie.versioned.storage.common.exceptions.ObjNotFoundException;
+import org.projectnessie.versioned.storage.common.persist.AsyncPersist;
+import org.projectnessie.versioned.storage.common.persist.Obj;
+import org.projectnessie.versioned.storage.common.persist.ObjId;
+import org.projectnessie.versioned.storage.common.persist.Persist;
+import org.projectnessie.versioned.storage.testextension.NessiePersist;
+import org.projectnessie.versioned.storage.testextension.PersistExtension;
+
+@ExtendWith({PersistExtension.class, SoftAssertionsExtension.class})
+public class TestCachingPersistNegative {
+  @InjectSoftAssertions protected SoftAssertions soft;
+
+  @NessiePersist protected Persist backing;
+
+  private static Persist cached(Persist persist, Duration negativeTtl) {
+    return cacheBackend(negativeTtl).wrap(persist);
+  }
+
+  private static CacheBackend cacheBackend(Duration negativeTtl) {
+    return PersistCaches.newBackend(
+        CacheConfig.builder().capacityMb(1).negativeTtl(negativeTtl).build());
+  }
+
+  /** Lets the cache remember the given objects as non-existing. */
+  private void fetchMissing(Persist cached, Obj... objs) {
+    for (Obj obj : objs) {
+      soft.assertThatThrownBy(() -> cached.fetchObj(obj.id()))
+          .isInstanceOf(ObjNotFoundException.class);
+    }
+  }
+
+  @Test
+  public void negativeLookups() throws Exception {
+    Persist cached = cached(backing, Duration.ofMinutes(10));
+
+    Obj obj = newObj();
+    fetchMissing(cached, obj);
+    // Object written via another instance, not visible to the cache
+    backing.storeObj(obj);
+
+    soft.assertThatThrownBy(() -> cached.fetchObj(obj.id()))
+        .isInstanceOf(ObjNotFoundException.class);
+    soft.assertThatThrownBy(() -> cached.fetchTypedObj(obj.id(), obj.type(), Obj.class))
+        .isInstanceOf(ObjNotFoundException.class);
+    soft.assertThatThrownBy(() -> cached.fetchObjType(obj.id()))
+        .isInstanceOf(ObjNotFoundException.class);
+    soft.assertThatThrownBy(() -> cached.fetchObjs(new ObjId[] {obj.id(), null}))
+        .isInstanceOf(ObjNotFoundException.class)
+        .hasMessageContaining(obj.id().toString());
+  }
+
+  @Test
+  public void bulkFetchRemembersMissing() throws Exception {
+    Persist cached = cached(backing, Duration.ofMinutes(10));
+
+    Obj existing = newObj();
+    Obj missing = newObj();
+    cached.storeObj(existing);
+
+    soft.assertThatThrownBy(() -> cached.fetchObjs(new ObjId[] {existing.id(), missing.id()}))
+        .isInstanceOf(ObjNotFoundException.class);
+    backing.storeObj(missing);
+
+    soft.assertThatThrownBy(() -> cached.fetchObj(missing.id()))
+        .isInstanceOf(ObjNotFoundException.class);
+    soft.assertThat(cached.fetchObj(existing.id())).isEqualTo(existing);
+  }
+
+  @Test
+  public void bulkFetchReportsAllMissing() throws Exception {
+    Persist cached = cached(backing, Duration.ofMinutes(10));
+
+    Obj existing = newObj();
+    Obj knownMissing = newObj();
+    Obj missing = newObj();
+    cached.storeObj(existing);
+    fetchMissing(cached, knownMissing);
+    AsyncPersist async = cached.async();
+
+    soft.assertThatThrownBy(
+            () -> cached.fetchObjs(new ObjId[] {existing.id(), knownMissing.id(), missing.id()}))
+        .asInstanceOf(type(ObjNotFoundException.class))
+        .extracting(ObjNotFoundException::objIds, list(ObjId.class))
+        .containsExactlyInAnyOrder(knownMissing.id(), missing.id());
+    soft.assertThatThrownBy(
+            () ->
+                async
+                    .fetchObjsAsync(new ObjId[] {existing.id(), missing.id()})
+                    .toCompletableFuture()
+                    .join())
+        .isInstanceOf(CompletionException.class)
+        .extracting(Throwable::getCause, type(ObjNotFoundException.class))
+        .extracting(ObjNotFoundException::objIds, list(ObjId.class))
+        .containsExactly(missing.id());
+    soft.assertThatThrownBy(
+            () ->
+                async
+                    .fetchObjsAsync(new ObjId[] {knownMissing.id(), missing.id()})
+                    .toCompletableFuture()
+                    .join())
+        .isInstanceOf(CompletionException.class)
+        .extracting(Throwable::getCause, type(ObjNotFoundException.class))
+        .extracting(ObjNotFoundException::objIds, list(ObjId.class))
+        .containsExactlyInAnyOrder(knownMissing.id(), missing.id());
+  }
+
+  @Test
+  public void localWritesInvalidate() throws Exception {
+    Persist cached = cached(backing, Duration.ofMinutes(10));
+
+    Obj stored = newObj();
+    Obj storedBulk = newObj();
+    Obj upserted = newObj();
+    Obj upsertedBulk = newObj();
+    Obj existing = newObj();
+    fetchMissing(cached, stored, storedBulk, upserted, upsertedBulk, existing);
+
+    soft.assertThat(cached.storeObj(stored)).isTrue();
+    soft.assertThat(cached.storeObjs(new Obj[] {storedBulk})).containsExactly(true);
+    cached.upsertObj(upserted);
+    cached.upsertObjs(new Obj[] {upsertedBulk});
+    // Object written via another instance, storing it again via the cache must invalidate
+    backing.storeObj(existing);
+    soft.assertThat(cached.storeObj(existing)).isFalse();
+
+    for (Obj obj : new Obj[] {stored, storedBulk, upserted, upsertedBulk, existing}) {
+      soft.assertThat(cached.fetchObj(obj.id())).isEqualTo(obj);
+    }
+    soft.assertThat(
+            cached.fetchObjs(
+                new ObjId[] {
+                  stored.id(), storedBulk.id(), upserted.id(), upsertedBulk.id(), existing.id()
+                }))
+        .containsExactly(stored, storedBulk, upserted, upsertedBulk, existing);
+  }
+
+  @Test
+  public void writeDuringLoad() throws Exception {
+    Persist persist = mock(Persist.class, delegatesTo(backing));
+    Persist cached = cached(persist, Duration.ofMinutes(10));
+
+    Obj obj = newObj();
+    // The object is written after the database reported it as non-existing, but before the
+    // negative lookup is remembered.
+    doAnswer(
+            invocation -> {
+              cached.storeObj(obj);
+              throw new ObjNotFoundException(obj.id());
+            })
+        .doAnswer(invocation -> backing.fetchObj(invocation.getArgument(0)))
+        .when(persist)
+        .fetchObj(obj.id());
+
+    fetchMissing(cached, obj);
+    soft.assertThat(cached.fetchObj(obj.id())).isEqualTo(obj);
+  }
+
+  @Test
+  public void writeViaOtherInstanceDuringLoad() throws Exception {
+    CacheBackend cacheBackend = cacheBackend(Duration.ofMinutes(10));
+    Persist persist = mock(Persist.class, delegatesTo(backing));
+    Persist cached = cacheBackend.wrap(persist);
+    Persist otherCached = cacheBackend.wrap(backing);
+
+    Obj obj = newObj();
+    // Same as 'writeDuringLoad', but the object is written via another Persist instance that uses
+    // the same cache backend.
+    doAnswer(
+            invocation -> {
+              otherCached.storeObj(obj);
+              throw new ObjNotFoundException(obj.id());
+            })
+        .doAnswer(invocation -> backing.fetchObj(invocation.getArgument(0)))
+        .when(persist)
+        .fetchObj(obj.id());
+
+    fetchMissing(cached, obj);
+    soft.assertThat(cached.fetchObj(obj.id())).isEqualTo(obj);
+  }
+
+  @Test
+  public void disabled() throws Exception {
+    Persist cached = cached(backing, Duration.ZERO);
+
+    Obj obj = newObj();
+    fetchMissing(cached, obj);
+    backing.storeObj(obj);
+
+    soft.assertThat(cached.fetchObj(obj.id())).isEqualTo(obj);
+  }
+}
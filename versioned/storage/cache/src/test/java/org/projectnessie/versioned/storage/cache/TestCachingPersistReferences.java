@@ -0,0 +1,108 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.cache;
+
+import static org.projectnessie.versioned.storage.common.persist.ObjId.randomObjId;
+import static org.projectnessie.versioned.storage.common.persist.Reference.reference;
+
+import java.time.Duration;
+import org.assertj.core.api.SoftAssertions;
+import org.assertj.core.api.junit.jupiter.InjectSoftAssertions;
+import org.assertj.core.api.junit.jupiter.SoftAssertionsExtension;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.projectnessie.versioned.storage.common.exceptions.RefConditionFailedException;
+import org.projectnessie.versioned.storage.common.persist.Persist;
+import org.projectnessie.versioned.storage.common.persist.Reference;
+import org.projectnessie.versioned.storage.testextension.NessiePersist;
+import org.projectnessie.versioned.storage.testextension.PersistExtension;
+
+@ExtendWith({PersistExtension.class, SoftAssertionsExtension.class})
+public class TestCachingPersistReferences {
+  @InjectSoftAssertions protected SoftAssertions soft;
+
+  @NessiePersist protected Persist backing;
+
+  private Persist cached(Duration referenceTtl) {
+    return PersistCaches.newBackend(
+            CacheConfig.builder().capacityMb(1).referenceTtl(referenceTtl).build())
+        .wrap(backing);
+  }
+
+  @Test
+  public void staleReadsAndReadsForUpdate() throws Exception {
+    Persist cached = cached(Duration.ofMinutes(10));
+
+    Reference ref =
+        cached.addReference(reference("refs/heads/stale", randomObjId(), false, 1L, null));
+    // Reference changed via another instance, not visible to the cache
+    Reference other = backing.updateReferencePointer(ref, randomObjId());
+
+    soft.assertThat(cached.fetchReference(ref.name())).isEqualTo(ref);
+    soft.assertThat(cached.fetchReferences(new String[] {ref.name(), "refs/heads/missing"}))
+        .containsExactly(ref, null);
+
+    soft.assertThat(cached.fetchReferenceForUpdate(ref.name())).isEqualTo(other);
+    soft.assertThat(cached.fetchReferencesForUpdate(new String[] {ref.name()}))
+        .containsExactly(other);
+    // reads for update invalidate a different cached reference, the next read refreshes the cache
+    soft.assertThat(cached.fetchReference(ref.name())).isEqualTo(other);
+  }
+
+  @Test
+  public void writeThrough() throws Exception {
+    Persist cached = cached(Duration.ofMinutes(10));
+
+    Reference ref =
+        cached.addReference(reference("refs/heads/write", randomObjId(), false, 1L, null));
+    soft.assertThat(cached.fetchReference(ref.name())).isEqualTo(ref);
+
+    Reference updated = cached.updateReferencePointer(ref, randomObjId());
+    soft.assertThat(cached.fetchReference(ref.name())).isEqualTo(updated);
+
+    Reference deleted = cached.markReferenceAsDeleted(updated);
+    soft.assertThat(cached.fetchReference(ref.name())).isEqualTo(deleted);
+
+    cached.purgeReference(deleted);
+    soft.assertThat(cached.fetchReference(ref.name())).isNull();
+    soft.assertThat(cached.fetchReferences(new String[] {ref.name()})).containsOnlyNulls();
+  }
+
+  @Test
+  public void failedConditionInvalidates() throws Exception {
+    Persist cached = cached(Duration.ofMinutes(10));
+
+    Reference ref =
+        cached.addReference(reference("refs/heads/cas", randomObjId(), false, 1L, null));
+    Reference other = backing.updateReferencePointer(ref, randomObjId());
+
+    soft.assertThatThrownBy(() -> cached.updateReferencePointer(ref, randomObjId()))
+        .isInstanceOf(RefConditionFailedException.class);
+    soft.assertThat(cached.fetchReference(ref.name())).isEqualTo(other);
+  }
+
+  @Test
+  public void disabled() throws Exception {
+    Persist cached = cached(Duration.ZERO);
+
+    Reference ref =
+        cached.addReference(reference("refs/heads/off", randomObjId(), false, 1L, null));
+    Reference other = backing.updateReferencePointer(ref, randomObjId());
+
+    soft.assertThat(cached.fetchReference(ref.name())).isEqualTo(other);
+    soft.assertThat(cached.fetchReferences(new String[] {ref.name()})).containsExactly(other);
+  }
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.cache;
+
+import static org.projectnessie.versioned.storage.cache.CaffeineCacheBackend.DESERIALIZE_TIMER_NAME;
+import static org.projectnessie.versioned.storage.common.objtypes.ContentValueObj.contentValue;
+import static org.projectnessie.versioned.storage.common.persist.ObjId.randomObjId;
+import static org.projectnessie.versioned.storage.common.persist.Reference.reference;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import org.assertj.core.api.SoftAssertions;
+import org.assertj.core.api.junit.jupiter.InjectSoftAssertions;
+import org.assertj.core.api.junit.jupiter.SoftAssertionsExtension;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.projectnessie.nessie.relocated.protobuf.ByteString;
+import org.projectnessie.versioned.storage.common.persist.Obj;
+import org.projectnessie.versioned.storage.common.persist.Reference;
+
+@ExtendWith(SoftAssertionsExtension.class)
+public class TestCaffeineCacheBackend {
+  @InjectSoftAssertions protected SoftAssertions soft;
+
+  static final String REPO = "repo";
+
+  static Obj newObj() {
+    return contentValue(randomObjId(), "cid", 42, ByteString.copyFromUtf8("hello world"));
+  }
+
+  @Test
+  void serializedOnly() {
+    CaffeineCacheBackend backend = CaffeineCacheBackend.builder().capacity(1).build();
+    soft.assertThat(backend.decodedCache()).isNull();
+
+    Obj obj = newObj();
+    backend.put(REPO, obj);
+
+    Obj cached = backend.get(REPO, obj.id());
+    soft.assertThat(cached).isEqualTo(obj).isNotSameAs(obj);
+    soft.assertThat(backend.get(REPO, obj.id())).isEqualTo(obj).isNotSameAs(cached);
+    soft.assertThat(backend.get("other-repo", obj.id())).isNull();
+  }
+
+  @Test
+  void decodedTier() {
+    CaffeineCacheBackend backend =
+        CaffeineCacheBackend.builder().capacity(1).decodedCapacity(1).build();
+    soft.assertThat(backend.decodedCache()).isNotNull();
+
+    Obj obj = newObj();
+    backend.put(REPO, obj);
+    soft.assertThat(backend.get(REPO, obj.id())).isSameAs(obj);
+
+    // decoded tier evicted, entry is re-populated from the serialized tier
+    backend.decodedCache().invalidateAll();
+    Obj decoded = backend.get(REPO, obj.id());
+    soft.assertThat(decoded).isEqualTo(obj).isNotSameAs(obj);
+    soft.assertThat(backend.get(REPO, obj.id())).isSameAs(decoded);
+
+    backend.remove(REPO, obj.id());
+    soft.assertThat(backend.get(REPO, obj.id())).isNull();
+
+    backend.put(REPO, obj);
+    backend.clear(REPO);
+    soft.assertThat(backend.get(REPO, obj.id())).isNull();
+  }
+
+  @Test
+  void negativeEntries() {
+    CaffeineCacheBackend backend =
+        CaffeineCacheBackend.builder().capacity(1).negativeTtl(Duration.ofMinutes(10)).build();
+
+    Obj obj = newObj();
+    backend.putNegative(REPO, obj.id());
+    soft.assertThat(backend.isNegative(REPO, obj.id())).isTrue();
+    soft.assertThat(backend.isNegative("other-repo", obj.id())).isFalse();
+
+    backend.put(REPO, obj);
+    soft.assertThat(backend.isNegative(REPO, obj.id())).isFalse();
+
+    backend.putNegative(REPO, obj.id());
+    backend.remove(REPO, obj.id());
+    soft.assertThat(backend.isNegative(REPO, obj.id())).isFalse();
+
+    backend.putNegative(REPO, obj.id());
+    backend.clear(REPO);
+    soft.assertThat(backend.isNegative(REPO, obj.id())).isFalse();
+
+    CaffeineCacheBackend disabled = CaffeineCacheBackend.builder().capacity(1).build();
+    soft.assertThat(disabled.negativeCache()).isNull();
+    disabled.putNegative(REPO, obj.id());
+    soft.assertThat(disabled.isNegative(REPO, obj.id())).isFalse();
+  }
+
+  @Test
+  void loadedReferencesDoNotReplaceUpdates() {
+    CaffeineCacheBackend backend =
+        CaffeineCacheBackend.builder().capacity(1).referenceTtl(Duration.ofMinutes(10)).build();
+
+    Reference loaded = reference("refs/heads/main", randomObjId(), false, 1L, null);
+    backend.putLoadedReference(REPO, loaded);
+    soft.assertThat(backend.getReference(REPO, loaded.name())).isEqualTo(loaded);
+    backend.putLoadedReference(REPO, loaded);
+    soft.assertThat(backend.getReference(REPO, loaded.name())).isEqualTo(loaded);
+
+    // A concurrent update caches the updated reference, a slow read must not replace it
+    Reference updated = reference(loaded.name(), randomObjId(), false, 1L, null);
+    backend.putReference(REPO, updated);
+    backend.putLoadedReference(REPO, loaded);
+    soft.assertThat(backend.getReference(REPO, loaded.name())).isNull();
+
+    backend.putLoadedReference(REPO, updated);
+    soft.assertThat(backend.getReference(REPO, loaded.name())).isEqualTo(updated);
+  }
+
+  @Test
+  void metrics() {
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    CaffeineCacheBackend backend =
+        CaffeineCacheBackend.builder()
+            .capacity(1)
+            .decodedCapacity(1)
+            .meterRegistry(meterRegistry)
+            .build();
+
+    Obj obj = newObj();
+    backend.put(REPO, obj);
+    backend.decodedCache().invalidateAll();
+
+    backend.get(REPO, obj.id());
+    backend.get(REPO, obj.id());
+    backend.get(REPO, obj.id());
+
+    soft.assertThat(meterRegistry.get(DESERIALIZE_TIMER_NAME).timer().count()).isEqualTo(1L);
+    soft.assertThat(backend.decodedCache().stats().hitCount()).isEqualTo(2L);
+    soft.assertThat(backend.decodedCache().stats().missCount()).isEqualTo(1L);
+  }
+}
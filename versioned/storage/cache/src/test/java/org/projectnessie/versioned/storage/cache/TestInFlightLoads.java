@@ -0,0 +1,206 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.cache;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.awaitility.Awaitility.await;
+import static org.projectnessie.versioned.storage.cache.TestCaffeineCacheBackend.newObj;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.assertj.core.api.SoftAssertions;
+import org.assertj.core.api.junit.jupiter.InjectSoftAssertions;
+import org.assertj.core.api.junit.jupiter.SoftAssertionsExtension;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.projectnessie.versioned.storage.common.exceptions.ObjNotFoundException;
+import org.projectnessie.versioned.storage.common.persist.Obj;
+import org.projectnessie.versioned.storage.common.persist.ObjId;
+
+@ExtendWith(SoftAssertionsExtension.class)
+public class TestInFlightLoads {
+  @InjectSoftAssertions protected SoftAssertions soft;
+
+  static final int THREADS = 8;
+
+  private ExecutorService executor;
+  private Counter coalesced;
+  private InFlightLoads inFlightLoads;
+
+  @BeforeEach
+  void setup() {
+    executor = Executors.newFixedThreadPool(THREADS);
+    coalesced = new SimpleMeterRegistry().counter("coalesced");
+    inFlightLoads = new InFlightLoads(coalesced);
+  }
+
+  @AfterEach
+  void tearDown() throws Exception {
+    executor.shutdownNow();
+    executor.awaitTermination(30, SECONDS);
+  }
+
+  static void awaitRelease(CountDownLatch release) {
+    try {
+      release.await();
+    } catch (InterruptedException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  @Test
+  void concurrentLoadsCoalesce() throws Exception {
+    Obj obj = newObj();
+    AtomicInteger backendLoads = new AtomicInteger();
+    CountDownLatch release = new CountDownLatch(1);
+
+    List<Future<Obj>> loads = new ArrayList<>();
+    for (int i = 0; i < THREADS; i++) {
+      loads.add(
+          executor.submit(
+              () ->
+                  inFlightLoads.load(
+                      obj.id(),
+                      id -> {
+                        backendLoads.incrementAndGet();
+                        awaitRelease(release);
+                        return obj;
+                      })));
+    }
+
+    await().atMost(30, SECONDS).until(() -> coalesced.count() == THREADS - 1);
+    release.countDown();
+
+    for (Future<Obj> load : loads) {
+      soft.assertThat(load.get(30, SECONDS)).isSameAs(obj);
+    }
+    soft.assertThat(backendLoads).hasValue(1);
+    soft.assertThat(inFlightLoads.pendingLoads()).isEqualTo(0);
+  }
+
+  @Test
+  void notFoundPropagatesToWaiters() throws Exception {
+    ObjId id = newObj().id();
+    CountDownLatch release = new CountDownLatch(1);
+
+    Future<Obj> leader =
+        executor.submit(
+            () ->
+                inFlightLoads.load(
+                    id,
+                    i -> {
+                      awaitRelease(release);
+                      throw new ObjNotFoundException(i);
+                    }));
+    await().atMost(30, SECONDS).until(() -> inFlightLoads.pendingLoads() == 1);
+
+    Future<Obj> waiter =
+        executor.submit(
+            () ->
+                inFlightLoads.load(
+                    id,
+                    i -> {
+                      throw new IllegalStateException("must not load");
+                    }));
+    await().atMost(30, SECONDS).until(() -> coalesced.count() == 1);
+    release.countDown();
+
+    soft.assertThatThrownBy(() -> leader.get(30, SECONDS))
+        .hasCauseInstanceOf(ObjNotFoundException.class);
+    soft.assertThatThrownBy(() -> waiter.get(30, SECONDS))
+        .hasCauseInstanceOf(ObjNotFoundException.class);
+    soft.assertThat(inFlightLoads.pendingLoads()).isEqualTo(0);
+  }
+
+  @Test
+  void bulkLoadJoinsPendingLoads() throws Exception {
+    Obj pendingObj = newObj();
+    Obj otherObj = newObj();
+    CountDownLatch release = new CountDownLatch(1);
+
+    Future<Obj> single =
+        executor.submit(
+            () ->
+                inFlightLoads.load(
+                    pendingObj.id(),
+                    id -> {
+                      awaitRelease(release);
+                      return pendingObj;
+                    }));
+    await().atMost(30, SECONDS).until(() -> inFlightLoads.pendingLoads() == 1);
+
+    List<ObjId> bulkLoaded = new ArrayList<>();
+    Future<Obj[]> bulk =
+        executor.submit(
+            () ->
+                inFlightLoads.loadMany(
+                    new ObjId[] {pendingObj.id(), null, otherObj.id()},
+                    ids -> {
+                      Obj[] r = new Obj[ids.length];
+                      for (int i = 0; i < ids.length; i++) {
+                        if (ids[i] != null) {
+                          bulkLoaded.add(ids[i]);
+                          r[i] = otherObj;
+                        }
+                      }
+                      return r;
+                    }));
+    await().atMost(30, SECONDS).until(() -> coalesced.count() == 1);
+    release.countDown();
+
+    soft.assertThat(bulk.get(30, SECONDS)).containsExactly(pendingObj, null, otherObj);
+    soft.assertThat(single.get(30, SECONDS)).isSameAs(pendingObj);
+    soft.assertThat(bulkLoaded).containsExactly(otherObj.id());
+    soft.assertThat(inFlightLoads.pendingLoads()).isEqualTo(0);
+  }
+
+  @Test
+  void failedBulkLoadLetsWaitersLoad() throws Exception {
+    Obj existing = newObj();
+    ObjId missing = newObj().id();
+    CountDownLatch release = new CountDownLatch(1);
+
+    Future<Obj[]> bulk =
+        executor.submit(
+            () ->
+                inFlightLoads.loadMany(
+                    new ObjId[] {existing.id(), missing},
+                    ids -> {
+                      awaitRelease(release);
+                      throw new ObjNotFoundException(missing);
+                    }));
+    await().atMost(30, SECONDS).until(() -> inFlightLoads.pendingLoads() == 2);
+
+    Future<Obj> single = executor.submit(() -> inFlightLoads.load(existing.id(), id -> existing));
+    await().atMost(30, SECONDS).until(() -> coalesced.count() == 1);
+    release.countDown();
+
+    soft.assertThatThrownBy(() -> bulk.get(30, SECONDS))
+        .hasCauseInstanceOf(ObjNotFoundException.class)
+        .hasMessageContaining(missing.toString());
+    soft.assertThat(single.get(30, SECONDS)).isSameAs(existing);
+    soft.assertThat(inFlightLoads.pendingLoads()).isEqualTo(0);
+  }
+}
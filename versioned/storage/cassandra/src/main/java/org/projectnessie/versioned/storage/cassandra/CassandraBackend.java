@@ -66,6 +66,7 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Semaphore;
@@ -74,6 +75,7 @@ import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Stream;
 import javax.annotation.Nonnull;
 import org.agrona.collections.Hashing;
@@ -109,6 +111,97 @@ final class CassandraBackend implements Backend {
     return new BatchedQueryImpl<>(queryBuilder, rowToResult, idExtractor, results, elementType);
   }
 
+  /**
+   * Non-blocking variant of {@link #newBatchedQuery(Function, Function, Function, int, Class)},
+   * queries the non-{@code null} {@code keys} in batches of {@value
+   * CassandraConstants#SELECT_BATCH_SIZE} keys, with at most {@value
+   * CassandraConstants#MAX_CONCURRENT_BATCH_READS} concurrent queries.
+   */
+  <K, R> CompletionStage<R[]> batchedQueryAsync(
+      Function<List<K>, CompletionStage<AsyncResultSet>> queryBuilder,
+      Function<Row, R> rowToResult,
+      Function<R, K> idExtractor,
+      K[] keys,
+      Class<? extends R> elementType) {
+    int num = keys.length;
+    Object2IntHashMap<K> idToIndex =
+        new Object2IntHashMap<>(num * 2, Hashing.DEFAULT_LOAD_FACTOR, -1);
+    AtomicReferenceArray<R> result = new AtomicReferenceArray<>(num);
+    Consumer<Row> rowConsumer =
+        row -> {
+          R resultItem = rowToResult.apply(row);
+          int idx = idToIndex.getValue(idExtractor.apply(resultItem));
+          if (idx != -1) {
+            result.set(idx, resultItem);
+          }
+        };
+
+    // The queries are started after all keys have been added to 'idToIndex'
+    List<Supplier<CompletionStage<?>>> queries = new ArrayList<>();
+    List<K> batch = new ArrayList<>();
+    for (int i = 0; i < num; i++) {
+      K key = keys[i];
+      if (key == null) {
+        continue;
+      }
+      idToIndex.put(key, i);
+      batch.add(key);
+      if (batch.size() == SELECT_BATCH_SIZE) {
+        List<K> batchKeys = batch;
+        batch = new ArrayList<>();
+        queries.add(() -> consumePages(queryBuilder.apply(batchKeys), rowConsumer));
+      }
+    }
+    if (!batch.isEmpty()) {
+      List<K> batchKeys = batch;
+      queries.add(() -> consumePages(queryBuilder.apply(batchKeys), rowConsumer));
+    }
+
+    return runConcurrently(queries, MAX_CONCURRENT_BATCH_READS)
+        .thenApply(
+            x -> {
+              @SuppressWarnings("unchecked")
+              R[] r = (R[]) Array.newInstance(elementType, num);
+              for (int i = 0; i < num; i++) {
+                r[i] = result.get(i);
+              }
+              return r;
+            });
+  }
+
+  private static CompletionStage<Void> consumePages(
+      CompletionStage<AsyncResultSet> page, Consumer<Row> rowConsumer) {
+    return page.thenCompose(
+        rs -> {
+          for (Row row : rs.currentPage()) {
+            rowConsumer.accept(row);
+          }
+          return rs.hasMorePages()
+              ? consumePages(rs.fetchNextPage(), rowConsumer)
+              : CompletableFuture.completedFuture(null);
+        });
+  }
+
+  /**
+   * Runs the given asynchronous operations without blocking, at most {@code maxConcurrent}
+   * operations at a time. The returned {@link CompletionStage} completes when all operations have
+   * completed, it completes exceptionally, if any operation failed.
+   */
+  static CompletionStage<Void> runConcurrently(
+      List<Supplier<CompletionStage<?>>> operations, int maxConcurrent) {
+    int lanes = Math.min(maxConcurrent, operations.size());
+    CompletableFuture<?>[] laneResults = new CompletableFuture[lanes];
+    for (int lane = 0; lane < lanes; lane++) {
+      CompletionStage<?> laneResult = CompletableFuture.completedFuture(null);
+      for (int i = lane; i < operations.size(); i += lanes) {
+        Supplier<CompletionStage<?>> operation = operations.get(i);
+        laneResult = laneResult.thenCompose(x -> operation.get());
+      }
+      laneResults[lane] = laneResult.toCompletableFuture();
+    }
+    return CompletableFuture.allOf(laneResults);
+  }
+
   interface BatchedQuery<K, R> extends AutoCloseable {
     void add(K key, int index);
 
@@ -250,6 +250,28 @@ public final class CassandraConstants {
           + COL_REPO_ID
           + "=? ALLOW FILTERING";
 
+  /**
+   * Scans a range of partition key tokens, exclusive lower and inclusive upper token. Token
+   * restrictions cannot be combined with a restriction on the repository ID, so the repository ID
+   * is selected as the last column and filtered by the client.
+   */
+  static final String SCAN_OBJS_TOKEN_RANGE =
+      "SELECT "
+          + COLS_OBJS_ALL.stream().map(CqlColumn::name).collect(Collectors.joining(", "))
+          + ", "
+          + COL_REPO_ID
+          + " FROM %s."
+          + TABLE_OBJS
+          + " WHERE token("
+          + COL_REPO_ID
+          + ", "
+          + COL_OBJ_ID
+          + ")>? AND token("
+          + COL_REPO_ID
+          + ", "
+          + COL_OBJ_ID
+          + ")<=?";
+
   static final String ERASE_OBJS_SCAN =
       "SELECT "
           + COL_REPO_ID
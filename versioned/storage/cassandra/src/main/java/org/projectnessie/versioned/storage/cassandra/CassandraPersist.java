@@ -31,6 +31,7 @@ import static org.projectnessie.versioned.storage.cassandra.CassandraConstants.M
 import static org.projectnessie.versioned.storage.cassandra.CassandraConstants.MAX_CONCURRENT_STORES;
 import static org.projectnessie.versioned.storage.cassandra.CassandraConstants.PURGE_REFERENCE;
 import static org.projectnessie.versioned.storage.cassandra.CassandraConstants.SCAN_OBJS;
+import static org.projectnessie.versioned.storage.cassandra.CassandraConstants.SCAN_OBJS_TOKEN_RANGE;
 import static org.projectnessie.versioned.storage.cassandra.CassandraConstants.UPDATE_REFERENCE_POINTER;
 import static org.projectnessie.versioned.storage.cassandra.CassandraSerde.deserializeObjId;
 import static org.projectnessie.versioned.storage.cassandra.CassandraSerde.serializeObjId;
@@ -41,15 +42,18 @@ import com.datastax.oss.driver.api.core.cql.AsyncResultSet;
 import com.datastax.oss.driver.api.core.cql.BoundStatement;
 import com.datastax.oss.driver.api.core.cql.BoundStatementBuilder;
 import com.datastax.oss.driver.api.core.cql.Row;
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.AbstractIterator;
+import java.math.BigInteger;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.atomic.AtomicIntegerArray;
-import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -62,6 +66,7 @@ import org.projectnessie.versioned.storage.common.exceptions.ObjTooLargeExceptio
 import org.projectnessie.versioned.storage.common.exceptions.RefAlreadyExistsException;
 import org.projectnessie.versioned.storage.common.exceptions.RefConditionFailedException;
 import org.projectnessie.versioned.storage.common.exceptions.RefNotFoundException;
+import org.projectnessie.versioned.storage.common.persist.AsyncPersist;
 import org.projectnessie.versioned.storage.common.persist.CloseableIterator;
 import org.projectnessie.versioned.storage.common.persist.Obj;
 import org.projectnessie.versioned.storage.common.persist.ObjId;
@@ -70,7 +75,7 @@ import org.projectnessie.versioned.storage.common.persist.ObjTypes;
 import org.projectnessie.versioned.storage.common.persist.Persist;
 import org.projectnessie.versioned.storage.common.persist.Reference;
 
-public class CassandraPersist implements Persist {
+public class CassandraPersist implements Persist, AsyncPersist {
 
   private final CassandraBackend backend;
   private final StoreConfig config;
@@ -105,9 +110,7 @@ public class CassandraPersist implements Persist {
   public Reference[] fetchReferences(@Nonnull @jakarta.annotation.Nonnull String[] names) {
     try (BatchedQuery<String, Reference> batchedQuery =
         backend.newBatchedQuery(
-            keys ->
-                backend.executeAsync(
-                    backend.buildStatement(FIND_REFERENCES, config.repositoryId(), keys)),
+            this::findReferences,
             CassandraSerde::deserializeReference,
             Reference::name,
             names.length,
@@ -124,6 +127,11 @@ public class CassandraPersist implements Persist {
     }
   }
 
+  private CompletionStage<AsyncResultSet> findReferences(List<String> keys) {
+    return backend.executeAsync(
+        backend.buildStatement(FIND_REFERENCES, config.repositoryId(), keys));
+  }
+
   @Nonnull
   @jakarta.annotation.Nonnull
   @Override
@@ -281,24 +289,10 @@ public class CassandraPersist implements Persist {
       @Nonnull @jakarta.annotation.Nonnull ObjId[] ids,
       @Nullable @jakarta.annotation.Nullable ObjType type)
       throws ObjNotFoundException {
-    Function<List<ObjId>, List<String>> idsToStrings =
-        queryIds -> queryIds.stream().map(ObjId::toString).collect(Collectors.toList());
-
-    Function<List<ObjId>, CompletionStage<AsyncResultSet>> queryFunc =
-        keys ->
-            backend.executeAsync(
-                backend.buildStatement(FIND_OBJS, config.repositoryId(), idsToStrings.apply(keys)));
-
-    Function<Row, Obj> rowMapper =
-        row -> {
-          ObjType objType = ObjTypes.forName(requireNonNull(row.getString(COL_OBJ_TYPE.name())));
-          ObjId id = deserializeObjId(row.getString(COL_OBJ_ID.name()));
-          return ObjSerializers.forType(objType).deserialize(row, id);
-        };
-
     Obj[] r;
     try (BatchedQuery<ObjId, Obj> batchedQuery =
-        backend.newBatchedQuery(queryFunc, rowMapper, Obj::id, ids.length, Obj.class)) {
+        backend.newBatchedQuery(
+            this::findObjs, CassandraPersist::objFromRow, Obj::id, ids.length, Obj.class)) {
 
       for (int i = 0; i < ids.length; i++) {
         ObjId id = ids[i];
@@ -310,6 +304,26 @@ public class CassandraPersist implements Persist {
       r = batchedQuery.finish();
     }
 
+    List<ObjId> notFound = notFound(ids, r, type);
+    if (notFound != null) {
+      throw new ObjNotFoundException(notFound);
+    }
+
+    return r;
+  }
+
+  private CompletionStage<AsyncResultSet> findObjs(List<ObjId> keys) {
+    List<String> ids = keys.stream().map(ObjId::toString).collect(Collectors.toList());
+    return backend.executeAsync(backend.buildStatement(FIND_OBJS, config.repositoryId(), ids));
+  }
+
+  private static Obj objFromRow(Row row) {
+    ObjType objType = ObjTypes.forName(requireNonNull(row.getString(COL_OBJ_TYPE.name())));
+    ObjId id = deserializeObjId(row.getString(COL_OBJ_ID.name()));
+    return ObjSerializers.forType(objType).deserialize(row, id);
+  }
+
+  private static List<ObjId> notFound(ObjId[] ids, Obj[] r, ObjType type) {
     List<ObjId> notFound = null;
     for (int i = 0; i < ids.length; i++) {
       ObjId id = ids[i];
@@ -320,11 +334,7 @@ public class CassandraPersist implements Persist {
         notFound.add(id);
       }
     }
-    if (notFound != null) {
-      throw new ObjNotFoundException(notFound);
-    }
-
-    return r;
+    return notFound;
   }
 
   @Override
@@ -470,7 +480,44 @@ public class CassandraPersist implements Persist {
   @jakarta.annotation.Nonnull
   public CloseableIterator<Obj> scanAllObjects(
       @Nonnull @jakarta.annotation.Nonnull Set<ObjType> returnedObjTypes) {
-    return new ScanAllObjectsIterator(returnedObjTypes);
+    BoundStatement stmt = backend.buildStatement(SCAN_OBJS, config.repositoryId());
+    return new ScanAllObjectsIterator(stmt, returnedObjTypes, false);
+  }
+
+  /**
+   * Scans one range of partition key tokens, assuming the default {@code Murmur3Partitioner},
+   * which yields tokens from {@link Long#MIN_VALUE} (exclusive) to {@link Long#MAX_VALUE}.
+   */
+  @Override
+  @Nonnull
+  @jakarta.annotation.Nonnull
+  public CloseableIterator<Obj> scanObjectsPartition(
+      @Nonnull @jakarta.annotation.Nonnull Set<ObjType> returnedObjTypes,
+      int partition,
+      int numPartitions) {
+    checkArgument(numPartitions > 0, "numPartitions must be positive");
+    checkArgument(
+        partition >= 0 && partition < numPartitions,
+        "partition must be between 0 and %s",
+        numPartitions - 1);
+    BoundStatement stmt =
+        backend.buildStatement(
+            SCAN_OBJS_TOKEN_RANGE,
+            tokenRangeBound(partition, numPartitions),
+            tokenRangeBound(partition + 1, numPartitions));
+    return new ScanAllObjectsIterator(stmt, returnedObjTypes, true);
+  }
+
+  @VisibleForTesting
+  static long tokenRangeBound(int partition, int numPartitions) {
+    if (partition == numPartitions) {
+      return Long.MAX_VALUE;
+    }
+    return BigInteger.valueOf(partition)
+        .shiftLeft(64)
+        .divide(BigInteger.valueOf(numPartitions))
+        .add(BigInteger.valueOf(Long.MIN_VALUE))
+        .longValueExact();
   }
 
   private class ScanAllObjectsIterator extends AbstractIterator<Obj>
@@ -478,10 +525,12 @@ public class CassandraPersist implements Persist {
 
     private final Iterator<Row> rs;
     private final Set<ObjType> returnedObjTypes;
+    private final boolean filterRepositoryId;
 
-    ScanAllObjectsIterator(Set<ObjType> returnedObjTypes) {
+    ScanAllObjectsIterator(
+        BoundStatement stmt, Set<ObjType> returnedObjTypes, boolean filterRepositoryId) {
       this.returnedObjTypes = returnedObjTypes;
-      BoundStatement stmt = backend.buildStatement(SCAN_OBJS, config.repositoryId());
+      this.filterRepositoryId = filterRepositoryId;
       rs = backend.execute(stmt).iterator();
     }
 
@@ -498,6 +547,10 @@ public class CassandraPersist implements Persist {
         }
 
         Row row = rs.next();
+        if (filterRepositoryId
+            && !config.repositoryId().equals(row.getString(COL_REPO_ID.name()))) {
+          continue;
+        }
         ObjType type = ObjTypes.forName(requireNonNull(row.getString(1)));
         if (!returnedObjTypes.contains(type)) {
           continue;
@@ -508,4 +561,83 @@ public class CassandraPersist implements Persist {
       }
     }
   }
+
+  @Nonnull
+  @jakarta.annotation.Nonnull
+  @Override
+  public AsyncPersist async() {
+    return this;
+  }
+
+  @Nonnull
+  @jakarta.annotation.Nonnull
+  @Override
+  public CompletionStage<Reference[]> fetchReferencesAsync(
+      @Nonnull @jakarta.annotation.Nonnull String[] names) {
+    return backend.batchedQueryAsync(
+        this::findReferences,
+        CassandraSerde::deserializeReference,
+        Reference::name,
+        names,
+        Reference.class);
+  }
+
+  @Nonnull
+  @jakarta.annotation.Nonnull
+  @Override
+  public CompletionStage<Obj[]> fetchObjsAsync(@Nonnull @jakarta.annotation.Nonnull ObjId[] ids) {
+    return backend
+        .batchedQueryAsync(this::findObjs, CassandraPersist::objFromRow, Obj::id, ids, Obj.class)
+        .thenCompose(
+            r -> {
+              List<ObjId> notFound = notFound(ids, r, null);
+              return notFound != null
+                  ? CompletableFuture.failedFuture(new ObjNotFoundException(notFound))
+                  : CompletableFuture.completedFuture(r);
+            });
+  }
+
+  @Nonnull
+  @jakarta.annotation.Nonnull
+  @Override
+  public CompletionStage<boolean[]> storeObjsAsync(
+      @Nonnull @jakarta.annotation.Nonnull Obj[] objs) {
+    boolean[] results = new boolean[objs.length];
+    List<Supplier<CompletionStage<?>>> stores = new ArrayList<>(objs.length);
+    try {
+      for (int i = 0; i < objs.length; i++) {
+        Obj o = objs[i];
+        if (o != null) {
+          int idx = i;
+          BoundStatement stmt = writeSingleObj(o, false, false, (serializer, s) -> s);
+          stores.add(
+              () ->
+                  backend
+                      .executeAsync(stmt)
+                      .handle(
+                          (resultSet, e) -> {
+                            if (e != null) {
+                              if (e instanceof DriverException) {
+                                backend.handleDriverException((DriverException) e);
+                                return null;
+                              }
+                              if (e instanceof RuntimeException) {
+                                throw (RuntimeException) e;
+                              }
+                              throw new RuntimeException(e);
+                            }
+                            // Each index is only written by a single query, all queries
+                            // happen-before the completion of 'runConcurrently'
+                            results[idx] = resultSet.wasApplied();
+                            return null;
+                          }));
+        }
+      }
+    } catch (ObjTooLargeException e) {
+      return CompletableFuture.failedFuture(e);
+    }
+
+    return CassandraBackend.runConcurrently(stores, MAX_CONCURRENT_STORES)
+        .thenApply(x -> results);
+  }
 }
@@ -18,9 +18,6 @@ package org.projectnessie.versioned.storage.cassandra.serializers;
 import static org.projectnessie.versioned.storage.cassandra.CassandraConstants.INSERT_OBJ_PREFIX;
 import static org.projectnessie.versioned.storage.cassandra.CassandraConstants.INSERT_OBJ_VALUES;
 import static org.projectnessie.versioned.storage.cassandra.CassandraConstants.STORE_OBJ_SUFFIX;
-import static org.projectnessie.versioned.storage.common.indexes.StoreKey.keyFromString;
-import static org.projectnessie.versioned.storage.common.objtypes.IndexStripe.indexStripe;
-import static org.projectnessie.versioned.storage.common.persist.ObjId.objIdFromByteBuffer;
 
 import com.datastax.oss.driver.api.core.cql.BoundStatementBuilder;
 import com.datastax.oss.driver.api.core.cql.Row;
@@ -40,8 +37,8 @@ import org.projectnessie.versioned.storage.common.objtypes.CommitType;
 import org.projectnessie.versioned.storage.common.persist.ObjId;
 import org.projectnessie.versioned.storage.common.proto.StorageTypes.HeaderEntry;
 import org.projectnessie.versioned.storage.common.proto.StorageTypes.Headers;
-import org.projectnessie.versioned.storage.common.proto.StorageTypes.Stripe;
 import org.projectnessie.versioned.storage.common.proto.StorageTypes.Stripes;
+import org.projectnessie.versioned.storage.serialize.ProtoSerialization;
 
 public class CommitObjSerializer implements ObjSerializer<CommitObj> {
 
@@ -128,12 +125,7 @@ public class CommitObjSerializer implements ObjSerializer<CommitObj> {
 
     Stripes.Builder b = Stripes.newBuilder();
     obj.referenceIndexStripes().stream()
-        .map(
-            s ->
-                Stripe.newBuilder()
-                    .setFirstKey(s.firstKey().rawString())
-                    .setLastKey(s.lastKey().rawString())
-                    .setSegment(s.segment().asBytes()))
+        .map(ProtoSerialization::serializeStripe)
         .forEach(b::addStripes);
     stmt.setByteBuffer(
         COL_COMMIT_REFERENCE_INDEX_STRIPES.name(), b.build().toByteString().asReadOnlyByteBuffer());
@@ -188,12 +180,7 @@ public class CommitObjSerializer implements ObjSerializer<CommitObj> {
     try {
       Stripes stripes = Stripes.parseFrom(row.getByteBuffer("c_reference_index_stripes"));
       stripes.getStripesList().stream()
-          .map(
-              s ->
-                  indexStripe(
-                      keyFromString(s.getFirstKey()),
-                      keyFromString(s.getLastKey()),
-                      objIdFromByteBuffer(s.getSegment().asReadOnlyByteBuffer())))
+          .map(ProtoSerialization::deserializeStripe)
           .forEach(b::addReferenceIndexStripes);
     } catch (IOException e) {
       throw new RuntimeException(e);
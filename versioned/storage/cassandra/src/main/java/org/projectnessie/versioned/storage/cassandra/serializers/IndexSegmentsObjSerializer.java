@@ -18,10 +18,7 @@ package org.projectnessie.versioned.storage.cassandra.serializers;
 import static org.projectnessie.versioned.storage.cassandra.CassandraConstants.INSERT_OBJ_PREFIX;
 import static org.projectnessie.versioned.storage.cassandra.CassandraConstants.INSERT_OBJ_VALUES;
 import static org.projectnessie.versioned.storage.cassandra.CassandraConstants.STORE_OBJ_SUFFIX;
-import static org.projectnessie.versioned.storage.common.indexes.StoreKey.keyFromString;
 import static org.projectnessie.versioned.storage.common.objtypes.IndexSegmentsObj.indexSegments;
-import static org.projectnessie.versioned.storage.common.objtypes.IndexStripe.indexStripe;
-import static org.projectnessie.versioned.storage.common.persist.ObjId.objIdFromByteBuffer;
 
 import com.datastax.oss.driver.api.core.cql.BoundStatementBuilder;
 import com.datastax.oss.driver.api.core.cql.Row;
@@ -36,8 +33,8 @@ import org.projectnessie.versioned.storage.common.exceptions.ObjTooLargeExceptio
 import org.projectnessie.versioned.storage.common.objtypes.IndexSegmentsObj;
 import org.projectnessie.versioned.storage.common.objtypes.IndexStripe;
 import org.projectnessie.versioned.storage.common.persist.ObjId;
-import org.projectnessie.versioned.storage.common.proto.StorageTypes.Stripe;
 import org.projectnessie.versioned.storage.common.proto.StorageTypes.Stripes;
+import org.projectnessie.versioned.storage.serialize.ProtoSerialization;
 
 public class IndexSegmentsObjSerializer implements ObjSerializer<IndexSegmentsObj> {
 
@@ -79,12 +76,7 @@ public class IndexSegmentsObjSerializer implements ObjSerializer<IndexSegmentsOb
       throws ObjTooLargeException {
     Stripes.Builder b = Stripes.newBuilder();
     obj.stripes().stream()
-        .map(
-            s ->
-                Stripe.newBuilder()
-                    .setFirstKey(s.firstKey().rawString())
-                    .setLastKey(s.lastKey().rawString())
-                    .setSegment(s.segment().asBytes()))
+        .map(ProtoSerialization::serializeStripe)
         .forEach(b::addStripes);
     stmt.setByteBuffer(
         COL_SEGMENTS_STRIPES.name(), b.build().toByteString().asReadOnlyByteBuffer());
@@ -96,12 +88,7 @@ public class IndexSegmentsObjSerializer implements ObjSerializer<IndexSegmentsOb
       Stripes stripes = Stripes.parseFrom(row.getByteBuffer(COL_SEGMENTS_STRIPES.name()));
       List<IndexStripe> stripeList =
           stripes.getStripesList().stream()
-              .map(
-                  s ->
-                      indexStripe(
-                          keyFromString(s.getFirstKey()),
-                          keyFromString(s.getLastKey()),
-                          objIdFromByteBuffer(s.getSegment().asReadOnlyByteBuffer())))
+              .map(ProtoSerialization::deserializeStripe)
               .collect(Collectors.toList());
       return indexSegments(id, stripeList);
     } catch (IOException e) {
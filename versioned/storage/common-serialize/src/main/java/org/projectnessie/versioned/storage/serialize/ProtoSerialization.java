@@ -196,6 +196,27 @@ public final class ProtoSerialization {
     }
   }
 
+  public static Stripe.Builder serializeStripe(IndexStripe indexStripe) {
+    Stripe.Builder b =
+        Stripe.newBuilder()
+            .setFirstKey(indexStripe.firstKey().rawString())
+            .setLastKey(indexStripe.lastKey().rawString())
+            .setSegment(serializeObjId(indexStripe.segment()));
+    ByteString keyFilter = indexStripe.keyFilter();
+    if (keyFilter != null) {
+      b.setKeyFilter(keyFilter);
+    }
+    return b;
+  }
+
+  public static IndexStripe deserializeStripe(Stripe stripe) {
+    return indexStripe(
+        keyFromString(stripe.getFirstKey()),
+        keyFromString(stripe.getLastKey()),
+        deserializeObjId(stripe.getSegment()),
+        stripe.hasKeyFilter() ? stripe.getKeyFilter() : null);
+  }
+
   public static List<ObjId> deserializeObjIds(List<ByteString> predecessorsList) {
     List<ObjId> result = new ArrayList<>(predecessorsList.size());
     deserializeObjIds(predecessorsList, result::add);
@@ -313,11 +334,7 @@ public final class ProtoSerialization {
       b.referenceIndex(deserializeObjId(commit.getReferenceIndex()));
     }
     for (Stripe s : commit.getReferenceIndexStripesList()) {
-      b.addReferenceIndexStripes(
-          indexStripe(
-              keyFromString(s.getFirstKey()),
-              keyFromString(s.getLastKey()),
-              deserializeObjId(s.getSegment())));
+      b.addReferenceIndexStripes(deserializeStripe(s));
     }
     return b.build();
   }
@@ -342,11 +359,7 @@ public final class ProtoSerialization {
       b.setReferenceIndex(serializeObjId(referenceIndexId));
     }
     for (IndexStripe indexStripe : obj.referenceIndexStripes()) {
-      b.addReferenceIndexStripes(
-          Stripe.newBuilder()
-              .setFirstKey(indexStripe.firstKey().rawString())
-              .setLastKey(indexStripe.lastKey().rawString())
-              .setSegment(serializeObjId(indexStripe.segment())));
+      b.addReferenceIndexStripes(serializeStripe(indexStripe));
     }
     return b;
   }
@@ -407,11 +420,7 @@ public final class ProtoSerialization {
       ObjId id, IndexSegmentsProto indexSegments) {
     List<IndexStripe> stripes = new ArrayList<>(indexSegments.getStripesCount());
     for (Stripe s : indexSegments.getStripesList()) {
-      stripes.add(
-          indexStripe(
-              keyFromString(s.getFirstKey()),
-              keyFromString(s.getLastKey()),
-              deserializeObjId(s.getSegment())));
+      stripes.add(deserializeStripe(s));
     }
     return indexSegments(id, stripes);
   }
@@ -419,11 +428,7 @@ public final class ProtoSerialization {
   private static IndexSegmentsProto.Builder serializeIndexSegments(IndexSegmentsObj obj) {
     IndexSegmentsProto.Builder b = IndexSegmentsProto.newBuilder();
     for (IndexStripe indexStripe : obj.stripes()) {
-      b.addStripes(
-          Stripe.newBuilder()
-              .setFirstKey(indexStripe.firstKey().rawString())
-              .setLastKey(indexStripe.lastKey().rawString())
-              .setSegment(serializeObjId(indexStripe.segment())));
+      b.addStripes(serializeStripe(indexStripe));
     }
     return b;
   }
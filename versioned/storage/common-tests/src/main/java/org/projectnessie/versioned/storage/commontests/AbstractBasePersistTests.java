@@ -24,6 +24,7 @@ import static java.util.Collections.emptyList;
 import static java.util.Collections.singletonList;
 import static java.util.Objects.requireNonNull;
 import static java.util.UUID.randomUUID;
+import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.assertj.core.api.Assumptions.assumeThat;
 import static org.assertj.core.api.InstanceOfAssertFactories.list;
 import static org.assertj.core.api.InstanceOfAssertFactories.type;
@@ -70,6 +71,7 @@ import java.util.EnumSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.function.IntFunction;
 import java.util.function.Supplier;
@@ -100,6 +102,7 @@ import org.projectnessie.versioned.storage.common.objtypes.ContentValueObj;
 import org.projectnessie.versioned.storage.common.objtypes.StandardObjType;
 import org.projectnessie.versioned.storage.common.objtypes.StringObj;
 import org.projectnessie.versioned.storage.common.objtypes.TagObj;
+import org.projectnessie.versioned.storage.common.persist.AsyncPersist;
 import org.projectnessie.versioned.storage.common.persist.CloseableIterator;
 import org.projectnessie.versioned.storage.common.persist.ImmutableReference;
 import org.projectnessie.versioned.storage.common.persist.Obj;
@@ -385,7 +388,12 @@ public class AbstractBasePersistTests {
             randomObjId(),
             asList(
                 indexStripe(key(nonAscii), key(nonAscii), randomObjId()),
-                indexStripe(key("moo", "woof"), key("zoo", "woof"), randomObjId()))),
+                indexStripe(key("moo", "woof"), key("zoo", "woof"), randomObjId()),
+                indexStripe(
+                    key("zoo", "woof2"),
+                    key("zzz"),
+                    randomObjId(),
+                    ByteString.copyFrom(new byte[] {3, 1, 2, 3, 4, 5, 6, 7, 8})))),
         index(randomObjId(), emptyIndex.serialize()),
         index(randomObjId(), index.serialize()),
         // 10
@@ -410,7 +418,12 @@ public class AbstractBasePersistTests {
             .addSecondaryParents(objIdFromString("cc00000000000000"))
             .addReferenceIndexStripes(indexStripe(key("abc"), key("def"), randomObjId()))
             .addReferenceIndexStripes(indexStripe(key("def"), key("ghi"), randomObjId()))
-            .addReferenceIndexStripes(indexStripe(key("ghi"), key("jkl"), randomObjId()))
+            .addReferenceIndexStripes(
+                indexStripe(
+                    key("ghi"),
+                    key("jkl"),
+                    randomObjId(),
+                    ByteString.copyFrom(new byte[] {3, 1, 2, 3, 4, 5, 6, 7, 8})))
             .incrementalIndex(index.serialize())
             .commitType(CommitType.INTERNAL)
             .seq(42L)
@@ -603,6 +616,57 @@ public class AbstractBasePersistTests {
         .containsExactly(obj1, obj2, obj3, obj4, obj5);
   }
 
+  @Test
+  public void asyncStoreAndFetch() throws Exception {
+    AsyncPersist async = persist.async();
+
+    List<TagObj> objects =
+        IntStream.range(0, 57)
+            .mapToObj(i -> tag(randomObjId(), null, null, ByteString.copyFrom(new byte[42])))
+            .collect(Collectors.toList());
+    // last element is null
+    Obj[] objs = objects.toArray(new Obj[objects.size() + 1]);
+    ObjId[] ids = stream(objs).map(o -> o != null ? o.id() : null).toArray(ObjId[]::new);
+    boolean[] expectStored = new boolean[objs.length];
+    Arrays.fill(expectStored, 0, objects.size(), true);
+
+    soft.assertThat(async.storeObjsAsync(objs).toCompletableFuture().get(30, SECONDS))
+        .containsExactly(expectStored);
+    soft.assertThat(async.storeObjsAsync(objs).toCompletableFuture().get(30, SECONDS))
+        .containsOnly(false);
+
+    soft.assertThat(async.fetchObjsAsync(ids).toCompletableFuture().get(30, SECONDS))
+        .containsExactlyElementsOf(asList(objs));
+    soft.assertThat(async.fetchObjAsync(objs[0].id()).toCompletableFuture().get(30, SECONDS))
+        .isEqualTo(objs[0]);
+    soft.assertThat(async.fetchObjsAsync(new ObjId[0]).toCompletableFuture().get(30, SECONDS))
+        .isEmpty();
+
+    ObjId missing = randomObjId();
+    soft.assertThat(async.fetchObjsAsync(new ObjId[] {ids[0], missing}).toCompletableFuture())
+        .failsWithin(30, SECONDS)
+        .withThrowableOfType(ExecutionException.class)
+        .havingCause()
+        .isInstanceOf(ObjNotFoundException.class)
+        .asInstanceOf(type(ObjNotFoundException.class))
+        .extracting(ObjNotFoundException::objIds, list(ObjId.class))
+        .containsExactly(missing);
+  }
+
+  @Test
+  public void asyncFetchReferences() throws Exception {
+    Reference ref1 = persist.addReference(reference("async-1", randomObjId(), false, 1L, null));
+    Reference ref2 = persist.addReference(reference("async-2", randomObjId(), false, 2L, null));
+
+    soft.assertThat(
+            persist
+                .async()
+                .fetchReferencesAsync(new String[] {ref1.name(), null, "missing", ref2.name()})
+                .toCompletableFuture()
+                .get(30, SECONDS))
+        .containsExactly(ref1, null, null, ref2);
+  }
+
   @Test
   public void fetchEmptyObjId() {
     soft.assertThatThrownBy(() -> persist.fetchObj(EMPTY_OBJ_ID))
@@ -977,6 +1041,35 @@ public class AbstractBasePersistTests {
     }
   }
 
+  @ParameterizedTest
+  @ValueSource(ints = {1, 2, 7, 64})
+  public void scanObjectsPartitions(int numPartitions) throws Exception {
+    Obj[] values =
+        IntStream.range(0, 100)
+            .mapToObj(i -> contentValue("content-id-" + i, i, copyFromUtf8("value-" + i)))
+            .toArray(Obj[]::new);
+
+    // Clear the already initialized repo...
+    persist.erase();
+    soft.assertThat(persist.storeObjs(values)).containsOnly(true);
+
+    List<Obj> scanned = new ArrayList<>();
+    for (int partition = 0; partition < numPartitions; partition++) {
+      try (CloseableIterator<Obj> scan =
+          persist.scanObjectsPartition(ObjTypes.allObjTypes(), partition, numPartitions)) {
+        scanned.addAll(Lists.newArrayList(scan));
+      }
+    }
+    soft.assertThat(scanned).containsExactlyInAnyOrder(values);
+
+    for (int partition = 0; partition < numPartitions; partition++) {
+      try (CloseableIterator<Obj> scan =
+          persist.scanObjectsPartition(Set.of(COMMIT), partition, numPartitions)) {
+        soft.assertThat(Lists.newArrayList(scan)).isEmpty();
+      }
+    }
+  }
+
   /**
    * Make sure that objects <em>inserted</em> with {@link Persist#upsertObj(Obj)} and {@link
    * Persist#upsertObjs(Obj[])} can be retrieved with {@link Persist#fetchObjs(ObjId[])} and {@link
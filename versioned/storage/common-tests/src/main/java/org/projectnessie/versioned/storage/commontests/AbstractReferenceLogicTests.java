@@ -38,6 +38,7 @@ import static org.projectnessie.versioned.storage.common.logic.Logics.commitLogi
 import static org.projectnessie.versioned.storage.common.logic.Logics.referenceLogic;
 import static org.projectnessie.versioned.storage.common.logic.PagingToken.emptyPagingToken;
 import static org.projectnessie.versioned.storage.common.logic.PagingToken.pagingToken;
+import static org.projectnessie.versioned.storage.common.logic.ReferenceSpec.referenceSpec;
 import static org.projectnessie.versioned.storage.common.logic.ReferencesQuery.referencesQuery;
 import static org.projectnessie.versioned.storage.common.persist.ObjId.EMPTY_OBJ_ID;
 import static org.projectnessie.versioned.storage.common.persist.ObjId.objIdFromString;
@@ -73,6 +74,7 @@ import org.projectnessie.versioned.storage.common.logic.InternalRef;
 import org.projectnessie.versioned.storage.common.logic.PagedResult;
 import org.projectnessie.versioned.storage.common.logic.PagingToken;
 import org.projectnessie.versioned.storage.common.logic.ReferenceLogic;
+import org.projectnessie.versioned.storage.common.logic.ReferenceResult;
 import org.projectnessie.versioned.storage.common.objtypes.CommitType;
 import org.projectnessie.versioned.storage.common.persist.ObjId;
 import org.projectnessie.versioned.storage.common.persist.Persist;
@@ -258,6 +260,63 @@ public abstract class AbstractReferenceLogicTests {
         .allMatch(c -> c.commitType() == CommitType.INTERNAL);
   }
 
+  @Test
+  public void createDeleteMultiple() throws Exception {
+    ReferenceLogic refLogic = referenceLogic(persist);
+    ObjId pointerA = randomObjId();
+    ObjId pointerB = randomObjId();
+    ObjId extendedInfoObj = randomObjId();
+    refLogic.createReference("refs/foo/existing", randomObjId(), null);
+
+    long refsCommits = refsIndexCommitCount();
+    List<ReferenceResult> created =
+        refLogic.createReferences(
+            asList(
+                referenceSpec("refs/foo/a", pointerA, extendedInfoObj),
+                referenceSpec("refs/foo/existing", randomObjId()),
+                referenceSpec("refs/foo/b", pointerB)));
+    soft.assertThat(refsIndexCommitCount()).isEqualTo(refsCommits + 1);
+    soft.assertThat(created)
+        .extracting(r -> r.reference() != null ? r.reference().pointer() : null)
+        .containsExactly(pointerA, null, pointerB);
+    soft.assertThat(created.get(0).reference())
+        .extracting(Reference::extendedInfoObj)
+        .isEqualTo(extendedInfoObj);
+    soft.assertThat(created.get(1).failure()).isInstanceOf(RefAlreadyExistsException.class);
+    soft.assertThat(refLogic.getReferences(asList("refs/foo/a", "refs/foo/b")))
+        .containsExactly(created.get(0).reference(), created.get(2).reference());
+
+    soft.assertThatIllegalArgumentException()
+        .isThrownBy(
+            () ->
+                refLogic.createReferences(
+                    asList(
+                        referenceSpec("refs/foo/c", randomObjId()),
+                        referenceSpec("refs/foo/c", randomObjId()))));
+
+    refsCommits = refsIndexCommitCount();
+    List<ReferenceResult> deleted =
+        refLogic.deleteReferences(
+            asList(
+                referenceSpec("refs/foo/a", pointerA),
+                referenceSpec("refs/foo/b", randomObjId()),
+                referenceSpec("refs/foo/not-there", randomObjId())));
+    soft.assertThat(refsIndexCommitCount()).isEqualTo(refsCommits + 1);
+    soft.assertThat(deleted.get(0).reference()).extracting(Reference::name).isEqualTo("refs/foo/a");
+    soft.assertThat(deleted.get(1).failure()).isInstanceOf(RefConditionFailedException.class);
+    soft.assertThat(deleted.get(2).failure()).isInstanceOf(RefNotFoundException.class);
+    soft.assertThat(refLogic.getReferences(asList("refs/foo/a", "refs/foo/b")))
+        .containsExactly(null, created.get(2).reference());
+  }
+
+  private long refsIndexCommitCount() throws Exception {
+    return newArrayList(
+            commitLogic(persist)
+                .commitLog(
+                    commitLogQuery(persist.fetchReference(InternalRef.REF_REFS.name()).pointer())))
+        .size();
+  }
+
   @Test
   public void assign() throws Exception {
     ReferenceLogic refLogic = referenceLogic(persist);
@@ -0,0 +1,104 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.common.indexes;
+
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.projectnessie.versioned.storage.common.indexes.StoreIndexElement.indexElement;
+import static org.projectnessie.versioned.storage.common.indexes.StoreIndexes.deserializeStoreIndex;
+import static org.projectnessie.versioned.storage.common.objtypes.CommitOp.commitOp;
+import static org.projectnessie.versioned.storage.common.objtypes.PayloadCompression.compressPayload;
+import static org.projectnessie.versioned.storage.common.persist.ObjId.randomObjId;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.projectnessie.nessie.relocated.protobuf.ByteString;
+import org.projectnessie.versioned.storage.common.objtypes.CommitOp;
+import org.projectnessie.versioned.storage.common.objtypes.CommitOp.Action;
+import org.projectnessie.versioned.storage.common.objtypes.Compression;
+import org.projectnessie.versioned.storage.commontests.ImmutableRealisticKeySet;
+import org.projectnessie.versioned.storage.commontests.KeyIndexTestSet;
+import org.projectnessie.versioned.storage.commontests.KeyIndexTestSet.IndexTestSetGenerator;
+
+/**
+ * Benchmark comparing the CPU cost of compressing and decompressing serialized indexes, the
+ * serialized sizes are printed during setup.
+ */
+@Warmup(iterations = 2, time = 2000, timeUnit = MILLISECONDS)
+@Measurement(iterations = 3, time = 1000, timeUnit = MILLISECONDS)
+@Fork(1)
+@Threads(4)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(MICROSECONDS)
+public class IndexCompressionBench {
+  @State(Scope.Benchmark)
+  public static class BenchmarkParam {
+
+    @Param({"NONE", "DEFLATE", "GZIP"})
+    public Compression compression;
+
+    @Param({"25", "250"})
+    public int tablesPerNamespace;
+
+    private ByteString serialized;
+    private ByteString compressed;
+
+    @Setup
+    public void init() {
+      IndexTestSetGenerator<CommitOp> builder =
+          KeyIndexTestSet.<CommitOp>newGenerator()
+              .keySet(
+                  ImmutableRealisticKeySet.builder()
+                      .namespaceLevels(3)
+                      .foldersPerLevel(3)
+                      .tablesPerNamespace(tablesPerNamespace)
+                      .deterministic(true)
+                      .build())
+              .elementSupplier(key -> indexElement(key, commitOp(Action.ADD, 1, randomObjId())))
+              .elementSerializer(CommitOp.COMMIT_OP_SERIALIZER)
+              .build();
+
+      KeyIndexTestSet<CommitOp> keyIndexTestSet = builder.generateIndexTestSet();
+      this.serialized = keyIndexTestSet.serialized();
+      this.compressed = compressPayload(serialized, compression, 0);
+
+      System.err.printf(
+          "%nNumber of tables: %d%nSerialized size: %d%nStored size: %d%n",
+          keyIndexTestSet.keys().size(), serialized.size(), compressed.size());
+    }
+  }
+
+  @Benchmark
+  public void compress(BenchmarkParam param, Blackhole bh) {
+    bh.consume(compressPayload(param.serialized, param.compression, 0));
+  }
+
+  @Benchmark
+  public void decompressDeserialize(BenchmarkParam param, Blackhole bh) {
+    bh.consume(deserializeStoreIndex(param.compressed, CommitOp.COMMIT_OP_SERIALIZER));
+  }
+}
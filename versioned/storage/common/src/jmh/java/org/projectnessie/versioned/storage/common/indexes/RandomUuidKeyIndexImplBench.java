@@ -84,6 +84,12 @@ public class RandomUuidKeyIndexImplBench {
     bh.consume(param.keyIndexTestSet.deserialize());
   }
 
+  @Benchmark
+  public void deserializeGetRandomKey(BenchmarkParam param, Blackhole bh) {
+    StoreIndex<CommitOp> deserialized = param.keyIndexTestSet.deserialize();
+    bh.consume(deserialized.get(param.keyIndexTestSet.randomKey()));
+  }
+
   @Benchmark
   public void randomGetKey(BenchmarkParam param, Blackhole bh) {
     bh.consume(param.keyIndexTestSet.randomGetKey());
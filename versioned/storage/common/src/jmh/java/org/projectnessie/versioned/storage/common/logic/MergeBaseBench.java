@@ -0,0 +1,133 @@
+/*
+ * Copyright (C) 2022 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.common.logic;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.projectnessie.versioned.storage.common.config.StoreConfig.DEFAULT_PARENTS_PER_COMMIT;
+import static org.projectnessie.versioned.storage.common.objtypes.CommitHeaders.EMPTY_COMMIT_HEADERS;
+import static org.projectnessie.versioned.storage.common.objtypes.CommitObj.commitBuilder;
+import static org.projectnessie.versioned.storage.common.persist.ObjId.EMPTY_OBJ_ID;
+import static org.projectnessie.versioned.storage.common.persist.ObjId.randomObjId;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.LockSupport;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.projectnessie.nessie.relocated.protobuf.ByteString;
+import org.projectnessie.versioned.storage.common.objtypes.CommitObj;
+import org.projectnessie.versioned.storage.common.persist.ObjId;
+
+/**
+ * Benchmark for {@link MergeBase} with two branches that diverged {@link BenchmarkParam#commits}
+ * commits ago. Each (bulk) load of commits simulates a database round-trip of {@link
+ * BenchmarkParam#roundTripMicros} microseconds.
+ */
+@Warmup(iterations = 2, time = 2000, timeUnit = MILLISECONDS)
+@Measurement(iterations = 3, time = 1000, timeUnit = MILLISECONDS)
+@Fork(1)
+@Threads(1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(MILLISECONDS)
+public class MergeBaseBench {
+  @State(Scope.Benchmark)
+  public static class BenchmarkParam {
+
+    @Param({"10000"})
+    public int commits;
+
+    @Param({"0", "20"})
+    public int prefetchDepth;
+
+    @Param({"0", "100"})
+    public int roundTripMicros;
+
+    private final Map<ObjId, CommitObj> repo = new HashMap<>();
+    private ObjId branchA;
+    private ObjId branchB;
+
+    @Setup
+    public void init() {
+      CommitObj base = add(null);
+      CommitObj a = base;
+      CommitObj b = base;
+      for (int i = 0; i < commits; i++) {
+        a = add(a);
+        b = add(b);
+      }
+      branchA = a.id();
+      branchB = b.id();
+    }
+
+    private CommitObj add(CommitObj parent) {
+      CommitObj.Builder commit =
+          commitBuilder()
+              .id(randomObjId())
+              .created(repo.size())
+              .headers(EMPTY_COMMIT_HEADERS)
+              .message("commit " + repo.size())
+              .incrementalIndex(ByteString.empty());
+      if (parent != null) {
+        commit.seq(parent.seq() + 1).addTail(parent.id());
+        parent.tail().stream().limit(DEFAULT_PARENTS_PER_COMMIT - 1).forEach(commit::addTail);
+      } else {
+        commit.seq(0).addTail(EMPTY_OBJ_ID);
+      }
+      CommitObj c = commit.build();
+      repo.put(c.id(), c);
+      return c;
+    }
+
+    private void roundTrip() {
+      if (roundTripMicros > 0) {
+        LockSupport.parkNanos(roundTripMicros * 1000L);
+      }
+    }
+
+    CommitObj loadCommit(ObjId id) {
+      roundTrip();
+      return repo.get(id);
+    }
+
+    CommitObj[] loadCommits(ObjId[] ids) {
+      roundTrip();
+      return Arrays.stream(ids).map(repo::get).toArray(CommitObj[]::new);
+    }
+  }
+
+  @Benchmark
+  public ObjId mergeBase(BenchmarkParam param) {
+    return MergeBase.builder()
+        .loadCommit(param::loadCommit)
+        .loadCommits(param::loadCommits)
+        .prefetchDepth(param.prefetchDepth)
+        .targetCommitId(param.branchA)
+        .fromCommitId(param.branchB)
+        .build()
+        .identifyMergeBase();
+  }
+}
@@ -15,16 +15,20 @@
  */
 package org.projectnessie.versioned.storage.common.config;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static java.util.concurrent.TimeUnit.NANOSECONDS;
 import static java.util.concurrent.TimeUnit.SECONDS;
 
 import java.time.Clock;
 import java.time.Instant;
+import java.util.Locale;
 import java.util.function.Function;
 import org.immutables.value.Value;
 import org.projectnessie.versioned.storage.common.objtypes.CommitObj;
+import org.projectnessie.versioned.storage.common.objtypes.Compression;
 import org.projectnessie.versioned.storage.common.objtypes.IndexObj;
 import org.projectnessie.versioned.storage.common.objtypes.IndexSegmentsObj;
+import org.projectnessie.versioned.storage.common.persist.AsyncPersist;
 import org.projectnessie.versioned.storage.common.persist.Persist;
 
 public interface StoreConfig {
@@ -71,6 +75,47 @@ public interface StoreConfig {
   String CONFIG_PREVIOUS_HEAD_TIME_SPAN_SECONDS = "ref-previous-head-time-span-seconds";
   long DEFAULT_PREVIOUS_HEAD_TIME_SPAN_SECONDS = 5 * 60;
 
+  String CONFIG_COMMIT_INDEX_CACHE_CAPACITY_MB = "commit-index-cache-capacity-mb";
+  int DEFAULT_COMMIT_INDEX_CACHE_CAPACITY_MB = 0;
+
+  String CONFIG_COMMIT_LOG_READ_AHEAD = "commit-log-read-ahead";
+  int DEFAULT_COMMIT_LOG_READ_AHEAD = 0;
+
+  String CONFIG_COMMIT_LOG_READ_AHEAD_MAX_OUTSTANDING = "commit-log-read-ahead-max-outstanding";
+  int DEFAULT_COMMIT_LOG_READ_AHEAD_MAX_OUTSTANDING = 64;
+
+  String CONFIG_COMMIT_TIME_INDEX = "commit-time-index";
+  boolean DEFAULT_COMMIT_TIME_INDEX = false;
+
+  String CONFIG_COMMIT_ANCESTRY = "commit-ancestry";
+  boolean DEFAULT_COMMIT_ANCESTRY = false;
+
+  String CONFIG_MERGE_BASE_PREFETCH = "merge-base-prefetch";
+  int DEFAULT_MERGE_BASE_PREFETCH = 0;
+
+  String CONFIG_INDEX_STRIPE_KEY_FILTER_FPP = "index-stripe-key-filter-fpp";
+  double DEFAULT_INDEX_STRIPE_KEY_FILTER_FPP = 0d;
+
+  String CONFIG_INDEX_COMPRESSION = "index-compression";
+  String DEFAULT_INDEX_COMPRESSION_NAME = "NONE";
+  Compression DEFAULT_INDEX_COMPRESSION = Compression.valueOf(DEFAULT_INDEX_COMPRESSION_NAME);
+
+  String CONFIG_INDEX_COMPRESSION_MIN_SIZE = "index-compression-min-size";
+  int DEFAULT_INDEX_COMPRESSION_MIN_SIZE = 4096;
+
+  String CONFIG_CONTENT_DICTIONARY_COMPRESSION = "content-dictionary-compression";
+  boolean DEFAULT_CONTENT_DICTIONARY_COMPRESSION = false;
+
+  String CONFIG_COMMIT_SEQUENCER_MAX_BATCH_SIZE = "commit-sequencer-max-batch-size";
+  int DEFAULT_COMMIT_SEQUENCER_MAX_BATCH_SIZE = 0;
+
+  String CONFIG_REFERENCE_CREATION_SEQUENCER_MAX_BATCH_SIZE =
+      "reference-creation-sequencer-max-batch-size";
+  int DEFAULT_REFERENCE_CREATION_SEQUENCER_MAX_BATCH_SIZE = 0;
+
+  String CONFIG_PIPELINED_TRANSPLANT = "pipelined-transplant";
+  boolean DEFAULT_PIPELINED_TRANSPLANT = false;
+
   /**
    * Committing operations by default enforce that all (parent) namespaces exist.
    *
@@ -253,6 +298,155 @@ public interface StoreConfig {
     return DEFAULT_PREVIOUS_HEAD_TIME_SPAN_SECONDS;
   }
 
+  /**
+   * The capacity in MB, measured by the estimated serialized sizes of the completely loaded indexes,
+   * of the complete, read-only commit key indexes that are kept in memory, keyed by commit ID, to
+   * serve read requests like "get content" or "get entries" for the same commit. Stripes of the
+   * cached indexes are loaded on demand. Since commits are immutable, cached indexes never need to
+   * be invalidated. Defaults to {@value #DEFAULT_COMMIT_INDEX_CACHE_CAPACITY_MB}, which disables
+   * the cache.
+   */
+  @Value.Default
+  default int commitIndexCacheCapacityMb() {
+    return DEFAULT_COMMIT_INDEX_CACHE_CAPACITY_MB;
+  }
+
+  /**
+   * The number of batches of parent commits, each batch being the {@link CommitObj#tail()} of the
+   * last commit of the previous batch, that are fetched ahead while walking the commit log. Read
+   * ahead uses {@link Persist#async()} and is only performed for databases with a native
+   * asynchronous implementation, see {@link AsyncPersist#isBlocking()}. Defaults to {@value
+   * #DEFAULT_COMMIT_LOG_READ_AHEAD}, which disables read-ahead.
+   */
+  @Value.Default
+  default int commitLogReadAhead() {
+    return DEFAULT_COMMIT_LOG_READ_AHEAD;
+  }
+
+  /**
+   * The maximum number of read-ahead fetches for commit logs that can be outstanding at the same
+   * time, across all commit logs being walked in this process. When the limit is reached, commit
+   * logs fetch the next batch of commits when it is needed. Defaults to {@value
+   * #DEFAULT_COMMIT_LOG_READ_AHEAD_MAX_OUTSTANDING}.
+   */
+  @Value.Default
+  default int commitLogReadAheadMaxOutstanding() {
+    return DEFAULT_COMMIT_LOG_READ_AHEAD_MAX_OUTSTANDING;
+  }
+
+  /**
+   * Whether lookups of commits by timestamp, for example {@code main*2023-01-01T00:00:00Z}, use and
+   * maintain persisted checkpoints of the commit timestamps. The checkpoints are built on demand by
+   * the lookups, which then only walk the commits near the requested timestamp. Defaults to
+   * {@value #DEFAULT_COMMIT_TIME_INDEX}.
+   */
+  @Value.Default
+  default boolean commitTimeIndex() {
+    return DEFAULT_COMMIT_TIME_INDEX;
+  }
+
+  /**
+   * Whether checks that a commit is an ancestor of another commit and lookups of the n-th
+   * predecessor of a commit use and maintain persisted, exponentially spaced ancestor pointers,
+   * requiring a logarithmic number of object fetches instead of walking the commit log. Existing
+   * repositories should build the ancestor pointers using the {@code maintenance} command of the
+   * Nessie CLI before enabling this option. Defaults to {@value #DEFAULT_COMMIT_ANCESTRY}.
+   */
+  @Value.Default
+  default boolean commitAncestry() {
+    return DEFAULT_COMMIT_ANCESTRY;
+  }
+
+  /**
+   * Number of parent commits per commit, taken from the commit's tail, to load ahead when
+   * identifying merge-bases. Commits of both the source and the target branch are then loaded
+   * together using bulk fetches, which reduces the number of database round-trips for long
+   * diverged branches. Defaults to {@value #DEFAULT_MERGE_BASE_PREFETCH}, which loads one commit at
+   * a time.
+   */
+  @Value.Default
+  default int mergeBasePrefetch() {
+    return DEFAULT_MERGE_BASE_PREFETCH;
+  }
+
+  /**
+   * False-positive-probability of the Bloom filters that are persisted for each stripe of a
+   * striped reference index. Lookups for keys that are definitely not contained in a stripe do not
+   * need to fetch the stripe, which helps for example namespace validation and existence checks
+   * for new tables. The value must be less than {@code 1}, a value of {@code 0}, the default,
+   * disables the Bloom filters.
+   */
+  @Value.Default
+  default double indexStripeKeyFilterFpp() {
+    return DEFAULT_INDEX_STRIPE_KEY_FILTER_FPP;
+  }
+
+  /**
+   * Compression algorithm for serialized indexes, which are persisted in {@link
+   * IndexObj#index()} and {@link CommitObj#incrementalIndex()}. Compressed indexes reduce the
+   * size of the persisted objects, for example to stay below the item size limit of DynamoDB, at
+   * the cost of CPU time when reading and writing indexes. Supported values are {@code NONE}, the
+   * default, {@code DEFLATE} and {@code GZIP}. Indexes are always readable, regardless of this
+   * setting.
+   */
+  @Value.Default
+  default Compression indexCompression() {
+    return DEFAULT_INDEX_COMPRESSION;
+  }
+
+  /**
+   * Minimum size in bytes of a serialized index to be compressed, see {@link
+   * #indexCompression()}. Defaults to {@value #DEFAULT_INDEX_COMPRESSION_MIN_SIZE}.
+   */
+  @Value.Default
+  default int indexCompressionMinSize() {
+    return DEFAULT_INDEX_COMPRESSION_MIN_SIZE;
+  }
+
+  /**
+   * Whether new content values are compressed using the repository's content dictionary, which is
+   * trained from existing content values by the {@code maintenance} command of the Nessie CLI.
+   * Content values are small, so generic compression barely helps, but a dictionary of common
+   * storage locations and property names does. Content values are always readable, regardless of
+   * this setting. Defaults to {@code false}.
+   */
+  @Value.Default
+  default boolean contentDictionaryCompression() {
+    return DEFAULT_CONTENT_DICTIONARY_COMPRESSION;
+  }
+
+  /**
+   * The maximum number of concurrent commits to the same branch that are written as one chain of
+   * commits with a single reference update. Commits are only coalesced within the same Nessie
+   * instance. Defaults to {@value #DEFAULT_COMMIT_SEQUENCER_MAX_BATCH_SIZE}, which disables the
+   * commit sequencer.
+   */
+  @Value.Default
+  default int commitSequencerMaxBatchSize() {
+    return DEFAULT_COMMIT_SEQUENCER_MAX_BATCH_SIZE;
+  }
+
+  /**
+   * The maximum number of concurrent reference creations that are recorded with a single commit to
+   * the internal references index. Reference creations are only coalesced within the same Nessie
+   * instance. Defaults to {@value #DEFAULT_REFERENCE_CREATION_SEQUENCER_MAX_BATCH_SIZE}, which
+   * disables the reference creation sequencer.
+   */
+  @Value.Default
+  default int referenceCreationSequencerMaxBatchSize() {
+    return DEFAULT_REFERENCE_CREATION_SEQUENCER_MAX_BATCH_SIZE;
+  }
+
+  /**
+   * Whether transplants of multiple commits store each transplanted commit asynchronously, while
+   * the next commit is being prepared. Only effective for backends that support asynchronous
+   * writes. Defaults to {@value #DEFAULT_PIPELINED_TRANSPLANT}.
+   */
+  @Value.Default
+  default boolean pipelinedTransplant() {
+    return DEFAULT_PIPELINED_TRANSPLANT;
+  }
+
   /**
    * Retrieves the current timestamp in microseconds since epoch, using the configured {@link
    * #clock()}.
@@ -337,6 +531,61 @@ public interface StoreConfig {
       if (v != null) {
         a = a.withReferencePreviousHeadTimeSpanSeconds(Long.parseLong(v.trim()));
       }
+      v = configFunction.apply(CONFIG_COMMIT_INDEX_CACHE_CAPACITY_MB);
+      if (v != null) {
+        a = a.withCommitIndexCacheCapacityMb(Integer.parseInt(v.trim()));
+      }
+      v = configFunction.apply(CONFIG_COMMIT_LOG_READ_AHEAD);
+      if (v != null) {
+        a = a.withCommitLogReadAhead(Integer.parseInt(v.trim()));
+      }
+      v = configFunction.apply(CONFIG_COMMIT_LOG_READ_AHEAD_MAX_OUTSTANDING);
+      if (v != null) {
+        a = a.withCommitLogReadAheadMaxOutstanding(Integer.parseInt(v.trim()));
+      }
+      v = configFunction.apply(CONFIG_COMMIT_TIME_INDEX);
+      if (v != null) {
+        a = a.withCommitTimeIndex(Boolean.parseBoolean(v.trim()));
+      }
+      v = configFunction.apply(CONFIG_COMMIT_ANCESTRY);
+      if (v != null) {
+        a = a.withCommitAncestry(Boolean.parseBoolean(v.trim()));
+      }
+      v = configFunction.apply(CONFIG_MERGE_BASE_PREFETCH);
+      if (v != null) {
+        a = a.withMergeBasePrefetch(Integer.parseInt(v.trim()));
+      }
+      v = configFunction.apply(CONFIG_INDEX_STRIPE_KEY_FILTER_FPP);
+      if (v != null) {
+        a = a.withIndexStripeKeyFilterFpp(Double.parseDouble(v.trim()));
+      }
+      v = configFunction.apply(CONFIG_INDEX_COMPRESSION);
+      if (v != null) {
+        Compression compression = Compression.valueOf(v.trim().toUpperCase(Locale.ROOT));
+        checkArgument(
+            compression.isAvailable(), "Index compression %s is not available", compression);
+        a = a.withIndexCompression(compression);
+      }
+      v = configFunction.apply(CONFIG_INDEX_COMPRESSION_MIN_SIZE);
+      if (v != null) {
+        a = a.withIndexCompressionMinSize(Integer.parseInt(v.trim()));
+      }
+      v = configFunction.apply(CONFIG_CONTENT_DICTIONARY_COMPRESSION);
+      if (v != null) {
+        a = a.withContentDictionaryCompression(Boolean.parseBoolean(v.trim()));
+      }
+      v = configFunction.apply(CONFIG_COMMIT_SEQUENCER_MAX_BATCH_SIZE);
+      if (v != null) {
+        a = a.withCommitSequencerMaxBatchSize(Integer.parseInt(v.trim()));
+      }
+      v = configFunction.apply(CONFIG_REFERENCE_CREATION_SEQUENCER_MAX_BATCH_SIZE);
+      if (v != null) {
+        a = a.withReferenceCreationSequencerMaxBatchSize(Integer.parseInt(v.trim()));
+      }
+      v = configFunction.apply(CONFIG_PIPELINED_TRANSPLANT);
+      if (v != null) {
+        a = a.withPipelinedTransplant(Boolean.parseBoolean(v.trim()));
+      }
       return a;
     }
 
@@ -382,5 +631,45 @@ public interface StoreConfig {
     Adjustable withReferencePreviousHeadCount(int referencePreviousHeadCount);
 
     Adjustable withReferencePreviousHeadTimeSpanSeconds(long referencePreviousHeadTimeSpanSeconds);
+
+    /** See {@link StoreConfig#commitIndexCacheCapacityMb()}. */
+    Adjustable withCommitIndexCacheCapacityMb(int commitIndexCacheCapacityMb);
+
+    /** See {@link StoreConfig#commitLogReadAhead()}. */
+    Adjustable withCommitLogReadAhead(int commitLogReadAhead);
+
+    /** See {@link StoreConfig#commitLogReadAheadMaxOutstanding()}. */
+    Adjustable withCommitLogReadAheadMaxOutstanding(int commitLogReadAheadMaxOutstanding);
+
+    /** See {@link StoreConfig#commitTimeIndex()}. */
+    Adjustable withCommitTimeIndex(boolean commitTimeIndex);
+
+    /** See {@link StoreConfig#commitAncestry()}. */
+    Adjustable withCommitAncestry(boolean commitAncestry);
+
+    /** See {@link StoreConfig#mergeBasePrefetch()}. */
+    Adjustable withMergeBasePrefetch(int mergeBasePrefetch);
+
+    /** See {@link StoreConfig#indexStripeKeyFilterFpp()}. */
+    Adjustable withIndexStripeKeyFilterFpp(double indexStripeKeyFilterFpp);
+
+    /** See {@link StoreConfig#indexCompression()}. */
+    Adjustable withIndexCompression(Compression indexCompression);
+
+    /** See {@link StoreConfig#indexCompressionMinSize()}. */
+    Adjustable withIndexCompressionMinSize(int indexCompressionMinSize);
+
+    /** See {@link StoreConfig#contentDictionaryCompression()}. */
+    Adjustable withContentDictionaryCompression(boolean contentDictionaryCompression);
+
+    /** See {@link StoreConfig#commitSequencerMaxBatchSize()}. */
+    Adjustable withCommitSequencerMaxBatchSize(int commitSequencerMaxBatchSize);
+
+    /** See {@link StoreConfig#referenceCreationSequencerMaxBatchSize()}. */
+    Adjustable withReferenceCreationSequencerMaxBatchSize(
+        int referenceCreationSequencerMaxBatchSize);
+
+    /** See {@link StoreConfig#pipelinedTransplant()}. */
+    Adjustable withPipelinedTransplant(boolean pipelinedTransplant);
   }
 }
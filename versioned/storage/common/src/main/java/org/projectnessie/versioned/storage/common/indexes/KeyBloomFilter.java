@@ -0,0 +1,144 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.common.indexes;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.google.common.hash.HashCode;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+import com.google.common.primitives.Longs;
+import java.util.concurrent.atomic.LongAdder;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.projectnessie.nessie.relocated.protobuf.ByteString;
+import org.projectnessie.nessie.relocated.protobuf.UnsafeByteOperations;
+
+/**
+ * Compact Bloom filter over the {@link StoreKey}s of an index stripe, used to answer lookups for
+ * non-existing keys without loading the stripe.
+ *
+ * <p>Serialized form: one byte holding the number of hash functions, followed by the bit array.
+ * Bit positions are computed using enhanced double hashing over the 128-bit murmur3 hash of
+ * {@link StoreKey#rawString()}.
+ */
+public final class KeyBloomFilter {
+
+  private static final HashFunction HASH_FUNCTION = Hashing.murmur3_128();
+  private static final int MAX_HASH_FUNCTIONS = 30;
+  private static final int MIN_FILTER_BYTES = 8;
+
+  private static final LongAdder AVOIDED_STRIPE_LOADS = new LongAdder();
+
+  private KeyBloomFilter() {}
+
+  /**
+   * Builds the serialized Bloom filter for all keys in the given, loaded index.
+   *
+   * @param index the index to build the filter for
+   * @param falsePositiveProbability the desired false-positive-probability, must be in the range
+   *     {@code (0, 1)}
+   * @return the serialized filter or {@code null}, if the index is empty
+   */
+  @Nullable
+  @jakarta.annotation.Nullable
+  public static ByteString buildKeyBloomFilter(
+      @Nonnull @jakarta.annotation.Nonnull StoreIndex<?> index, double falsePositiveProbability) {
+    checkArgument(
+        falsePositiveProbability > 0d && falsePositiveProbability < 1d,
+        "False positive probability must be greater than 0 and less than 1, but is %s",
+        falsePositiveProbability);
+    int count = index.elementCount();
+    if (count == 0) {
+      return null;
+    }
+
+    double ln2 = Math.log(2d);
+    long bits = (long) Math.ceil(-count * Math.log(falsePositiveProbability) / (ln2 * ln2));
+    int bytes = (int) Math.max(MIN_FILTER_BYTES, Math.min((bits + 7) / 8, Integer.MAX_VALUE - 8));
+    int numBits = bytes * 8;
+    int hashFunctions =
+        Math.max(1, Math.min(MAX_HASH_FUNCTIONS, (int) Math.round((double) numBits / count * ln2)));
+
+    byte[] filter = new byte[1 + bytes];
+    filter[0] = (byte) hashFunctions;
+    for (StoreIndexElement<?> el : index) {
+      HashCode hash = hash(el.key());
+      long combined = hash.asLong();
+      long h2 = secondHash(hash);
+      for (int i = 0; i < hashFunctions; i++) {
+        int bit = bitIndex(combined, numBits);
+        filter[1 + (bit >>> 3)] |= (byte) (1 << (bit & 7));
+        combined += h2;
+        h2 += i;
+      }
+    }
+    return UnsafeByteOperations.unsafeWrap(filter);
+  }
+
+  /**
+   * Checks whether the given key might be contained in the set of keys represented by the
+   * serialized Bloom filter.
+   *
+   * @return {@code false}, if the key is definitely not contained, {@code true} otherwise
+   */
+  public static boolean mightContain(
+      @Nonnull @jakarta.annotation.Nonnull ByteString filter,
+      @Nonnull @jakarta.annotation.Nonnull StoreKey key) {
+    int size = filter.size();
+    if (size < 2) {
+      return true;
+    }
+    int hashFunctions = filter.byteAt(0) & 0xff;
+    int numBits = (size - 1) * 8;
+    HashCode hash = hash(key);
+    long combined = hash.asLong();
+    long h2 = secondHash(hash);
+    for (int i = 0; i < hashFunctions; i++) {
+      int bit = bitIndex(combined, numBits);
+      if ((filter.byteAt(1 + (bit >>> 3)) & (1 << (bit & 7))) == 0) {
+        return false;
+      }
+      combined += h2;
+      h2 += i;
+    }
+    return true;
+  }
+
+  /** Number of index stripe loads that were avoided, because a Bloom filter ruled out a key. */
+  public static long avoidedStripeLoads() {
+    return AVOIDED_STRIPE_LOADS.sum();
+  }
+
+  static void stripeLoadAvoided() {
+    AVOIDED_STRIPE_LOADS.increment();
+  }
+
+  private static HashCode hash(StoreKey key) {
+    return HASH_FUNCTION.hashString(key.rawString(), UTF_8);
+  }
+
+  private static long secondHash(HashCode hash) {
+    byte[] b = hash.asBytes();
+    // An odd increment visits distinct bit positions for power-of-two sized filters.
+    return Longs.fromBytes(b[15], b[14], b[13], b[12], b[11], b[10], b[9], b[8]) | 1L;
+  }
+
+  private static int bitIndex(long combinedHash, int numBits) {
+    return (int) ((combinedHash & Long.MAX_VALUE) % numBits);
+  }
+}
@@ -44,6 +44,14 @@ final class LayeredIndexImpl<V> implements StoreIndex<V> {
     this.updates = updates;
   }
 
+  StoreIndex<V> reference() {
+    return reference;
+  }
+
+  StoreIndex<V> updates() {
+    return updates;
+  }
+
   @Override
   public boolean isModified() {
     return updates.isModified() || reference.isModified();
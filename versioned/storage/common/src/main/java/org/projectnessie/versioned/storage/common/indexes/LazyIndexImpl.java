@@ -29,15 +29,23 @@ import org.projectnessie.versioned.storage.common.persist.ObjId;
 
 final class LazyIndexImpl<V> implements StoreIndex<V> {
 
+  private final Supplier<StoreIndex<V>> supplier;
   private final Supplier<StoreIndex<V>> loader;
   private boolean loaded;
   private ObjId objId;
   private final StoreKey firstKey;
   private final StoreKey lastKey;
+  private final ByteString keyFilter;
 
-  LazyIndexImpl(Supplier<StoreIndex<V>> supplier, StoreKey firstKey, StoreKey lastKey) {
+  LazyIndexImpl(
+      Supplier<StoreIndex<V>> supplier,
+      StoreKey firstKey,
+      StoreKey lastKey,
+      ByteString keyFilter) {
     this.firstKey = firstKey;
     this.lastKey = lastKey;
+    this.keyFilter = keyFilter;
+    this.supplier = supplier;
     this.loader =
         memoize(
             () -> {
@@ -49,10 +57,23 @@ final class LazyIndexImpl<V> implements StoreIndex<V> {
             });
   }
 
-  private StoreIndex<V> loaded() {
+  StoreIndex<V> loaded() {
     return loader.get();
   }
 
+  /** The non-memoizing supplier of the index. */
+  Supplier<StoreIndex<V>> supplier() {
+    return supplier;
+  }
+
+  StoreKey firstKey() {
+    return firstKey;
+  }
+
+  StoreKey lastKey() {
+    return lastKey;
+  }
+
   @Override
   public ObjId getObjId() {
     return objId;
@@ -64,6 +85,11 @@ final class LazyIndexImpl<V> implements StoreIndex<V> {
     return this;
   }
 
+  @Override
+  public ByteString keyFilter() {
+    return keyFilter;
+  }
+
   @Override
   public boolean isModified() {
     if (!loaded) {
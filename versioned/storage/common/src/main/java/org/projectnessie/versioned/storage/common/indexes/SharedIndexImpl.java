@@ -0,0 +1,205 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.common.indexes;
+
+import static java.util.Arrays.asList;
+import static java.util.Arrays.binarySearch;
+import static java.util.Collections.unmodifiableList;
+import static org.projectnessie.versioned.storage.common.indexes.StoreIndexElement.indexElement;
+
+import com.google.common.collect.AbstractIterator;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.projectnessie.nessie.relocated.protobuf.ByteString;
+import org.projectnessie.versioned.storage.common.persist.ObjId;
+
+/**
+ * Read-only, immutable copy of a loaded store index that can be shared by multiple threads.
+ *
+ * <p>Deserialized indexes lazily materialize keys and values from a shared buffer and are not
+ * thread-safe. This implementation materializes all elements once, when it is constructed, into
+ * immutable arrays, so reads do not need any locking.
+ *
+ * @see StoreIndexes#sharedReadOnlyIndex(StoreIndex)
+ */
+final class SharedIndexImpl<V> implements StoreIndex<V> {
+
+  private final StoreKey[] keys;
+  private final StoreIndexElement<V>[] elements;
+  private final int estimatedSerializedSize;
+
+  @SuppressWarnings("unchecked")
+  SharedIndexImpl(StoreIndex<V> index) {
+    List<StoreIndexElement<V>> materialized = new ArrayList<>(index.elementCount());
+    for (StoreIndexElement<V> el : index) {
+      materialized.add(indexElement(el.key(), el.content()));
+    }
+    this.elements = materialized.toArray(new StoreIndexElement[0]);
+    this.keys = new StoreKey[elements.length];
+    for (int i = 0; i < elements.length; i++) {
+      keys[i] = elements[i].key();
+    }
+    this.estimatedSerializedSize = index.estimatedSerializedSize();
+  }
+
+  @Override
+  public boolean isModified() {
+    return false;
+  }
+
+  @Override
+  public StoreIndex<V> setObjId(ObjId objId) {
+    throw unsupported();
+  }
+
+  @Override
+  public StoreIndex<V> loadIfNecessary(Set<StoreKey> keys) {
+    return this;
+  }
+
+  @Override
+  public boolean isLoaded() {
+    return true;
+  }
+
+  @Override
+  public StoreIndex<V> asMutableIndex() {
+    throw unsupported();
+  }
+
+  @Override
+  public boolean isMutable() {
+    return false;
+  }
+
+  @Override
+  public List<StoreIndex<V>> divide(int parts) {
+    throw unsupported();
+  }
+
+  @Override
+  public List<StoreIndex<V>> stripes() {
+    throw unsupported();
+  }
+
+  @Override
+  public int elementCount() {
+    return elements.length;
+  }
+
+  @Override
+  public int estimatedSerializedSize() {
+    return estimatedSerializedSize;
+  }
+
+  @Override
+  public boolean add(@Nonnull @jakarta.annotation.Nonnull StoreIndexElement<V> element) {
+    throw unsupported();
+  }
+
+  @Override
+  public void updateAll(Function<StoreIndexElement<V>, V> updater) {
+    throw unsupported();
+  }
+
+  @Override
+  public boolean remove(@Nonnull @jakarta.annotation.Nonnull StoreKey key) {
+    throw unsupported();
+  }
+
+  @Override
+  public boolean contains(@Nonnull @jakarta.annotation.Nonnull StoreKey key) {
+    return binarySearch(keys, key) >= 0;
+  }
+
+  @Nullable
+  @jakarta.annotation.Nullable
+  @Override
+  public StoreIndexElement<V> get(@Nonnull @jakarta.annotation.Nonnull StoreKey key) {
+    int i = binarySearch(keys, key);
+    return i >= 0 ? elements[i] : null;
+  }
+
+  @Nullable
+  @jakarta.annotation.Nullable
+  @Override
+  public StoreKey first() {
+    return keys.length > 0 ? keys[0] : null;
+  }
+
+  @Nullable
+  @jakarta.annotation.Nullable
+  @Override
+  public StoreKey last() {
+    return keys.length > 0 ? keys[keys.length - 1] : null;
+  }
+
+  @Override
+  public List<StoreKey> asKeyList() {
+    return unmodifiableList(asList(keys));
+  }
+
+  @Nonnull
+  @jakarta.annotation.Nonnull
+  @Override
+  public Iterator<StoreIndexElement<V>> iterator(
+      @Nullable @jakarta.annotation.Nullable StoreKey begin,
+      @Nullable @jakarta.annotation.Nullable StoreKey end,
+      boolean prefetch) {
+    boolean prefix = begin != null && begin.equals(end);
+    int start = begin == null ? 0 : binarySearch(keys, begin);
+    if (start < 0) {
+      start = -start - 1;
+    }
+
+    Predicate<StoreKey> endCheck =
+        prefix ? k -> !k.startsWith(begin) : (end != null ? k -> end.compareTo(k) < 0 : k -> false);
+
+    int first = start;
+    return new AbstractIterator<>() {
+      int index = first;
+
+      @Override
+      protected StoreIndexElement<V> computeNext() {
+        if (index == elements.length) {
+          return endOfData();
+        }
+        StoreIndexElement<V> el = elements[index++];
+        if (endCheck.test(el.key())) {
+          return endOfData();
+        }
+        return el;
+      }
+    };
+  }
+
+  @Nonnull
+  @jakarta.annotation.Nonnull
+  @Override
+  public ByteString serialize() {
+    throw unsupported();
+  }
+
+  static UnsupportedOperationException unsupported() {
+    return new UnsupportedOperationException("Operation not supported for shared indexes");
+  }
+}
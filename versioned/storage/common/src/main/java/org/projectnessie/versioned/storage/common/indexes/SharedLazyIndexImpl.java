@@ -0,0 +1,268 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.common.indexes;
+
+import static com.google.common.base.Throwables.throwIfUnchecked;
+import static org.projectnessie.versioned.storage.common.indexes.SharedIndexImpl.unsupported;
+import static org.projectnessie.versioned.storage.common.indexes.StoreIndexes.sharedReadOnlyIndex;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.projectnessie.nessie.relocated.protobuf.ByteString;
+import org.projectnessie.versioned.storage.common.persist.ObjId;
+
+/**
+ * Read-only view of a {@link LazyIndexImpl lazy index} that can be shared by multiple threads.
+ *
+ * <p>The index is loaded at most once, upon the first use. Concurrent readers wait for the same
+ * load, a failed load is retried by the next reader. Once loaded, reads are served from the shared
+ * view of the loaded index without any locking.
+ *
+ * <p>{@link SharedStripedIndexImpl} can also load a bunch of lazy stripes in bulk, using {@link
+ * #claim()}, {@link #complete(CompletableFuture, StoreIndex)} and {@link
+ * #fail(CompletableFuture, Throwable)}.
+ */
+final class SharedLazyIndexImpl<V> implements StoreIndex<V> {
+
+  private final LazyIndexImpl<V> lazy;
+  private final Supplier<StoreIndex<V>> supplier;
+  private final ObjId objId;
+  private final StoreKey firstKey;
+  private final StoreKey lastKey;
+  private final ByteString keyFilter;
+  private final AtomicReference<CompletableFuture<StoreIndex<V>>> loading =
+      new AtomicReference<>();
+
+  SharedLazyIndexImpl(LazyIndexImpl<V> lazy) {
+    this.lazy = lazy;
+    this.supplier = lazy.supplier();
+    this.objId = lazy.getObjId();
+    this.firstKey = lazy.firstKey();
+    this.lastKey = lazy.lastKey();
+    this.keyFilter = lazy.keyFilter();
+  }
+
+  /** The lazy index this view was created for, used as the input for bulk loads. */
+  LazyIndexImpl<V> lazy() {
+    return lazy;
+  }
+
+  /**
+   * Claims loading this index, returns {@code null}, if this index is already loaded or being
+   * loaded by another thread. The caller must either {@link #complete(CompletableFuture,
+   * StoreIndex) complete} or {@link #fail(CompletableFuture, Throwable) fail} the returned future.
+   */
+  CompletableFuture<StoreIndex<V>> claim() {
+    CompletableFuture<StoreIndex<V>> load = new CompletableFuture<>();
+    return loading.compareAndSet(null, load) ? load : null;
+  }
+
+  /** Loads this index using its supplier, for a {@link #claim() claimed} load. */
+  void load(CompletableFuture<StoreIndex<V>> load) {
+    StoreIndex<V> index;
+    try {
+      index = supplier.get();
+    } catch (RuntimeException | Error e) {
+      fail(load, e);
+      return;
+    }
+    complete(load, index);
+  }
+
+  /** Publishes the shared view of the given, loaded index, for a {@link #claim() claimed} load. */
+  void complete(CompletableFuture<StoreIndex<V>> load, StoreIndex<V> index) {
+    StoreIndex<V> shared;
+    try {
+      shared = sharedReadOnlyIndex(index);
+    } catch (RuntimeException | Error e) {
+      fail(load, e);
+      return;
+    }
+    load.complete(shared);
+  }
+
+  /**
+   * Fails a {@link #claim() claimed} load, threads waiting for it receive the failure, the next
+   * reader retries.
+   */
+  void fail(CompletableFuture<StoreIndex<V>> load, Throwable failure) {
+    loading.compareAndSet(load, null);
+    load.completeExceptionally(failure);
+  }
+
+  private StoreIndex<V> loaded() {
+    while (true) {
+      CompletableFuture<StoreIndex<V>> current = loading.get();
+      if (current == null) {
+        current = claim();
+        if (current == null) {
+          // Another thread claimed the load in the meantime.
+          continue;
+        }
+        load(current);
+      }
+      try {
+        return current.join();
+      } catch (CompletionException e) {
+        Throwable cause = e.getCause();
+        throwIfUnchecked(cause);
+        throw new RuntimeException(cause);
+      }
+    }
+  }
+
+  @Override
+  public ObjId getObjId() {
+    return objId;
+  }
+
+  @Override
+  public StoreIndex<V> setObjId(ObjId objId) {
+    throw unsupported();
+  }
+
+  @Override
+  public ByteString keyFilter() {
+    return keyFilter;
+  }
+
+  @Override
+  public boolean isModified() {
+    return false;
+  }
+
+  @Override
+  public StoreIndex<V> loadIfNecessary(Set<StoreKey> keys) {
+    loaded().loadIfNecessary(keys);
+    return this;
+  }
+
+  @Override
+  public boolean isLoaded() {
+    CompletableFuture<StoreIndex<V>> current = loading.get();
+    return current != null && current.isDone() && !current.isCompletedExceptionally();
+  }
+
+  @Override
+  public StoreIndex<V> asMutableIndex() {
+    throw unsupported();
+  }
+
+  @Override
+  public boolean isMutable() {
+    return false;
+  }
+
+  @Override
+  public List<StoreIndex<V>> divide(int parts) {
+    throw unsupported();
+  }
+
+  @Override
+  public List<StoreIndex<V>> stripes() {
+    throw unsupported();
+  }
+
+  @Override
+  public int elementCount() {
+    return loaded().elementCount();
+  }
+
+  @Override
+  public int estimatedSerializedSize() {
+    return loaded().estimatedSerializedSize();
+  }
+
+  @Override
+  public boolean add(@Nonnull @jakarta.annotation.Nonnull StoreIndexElement<V> element) {
+    throw unsupported();
+  }
+
+  @Override
+  public void updateAll(Function<StoreIndexElement<V>, V> updater) {
+    throw unsupported();
+  }
+
+  @Override
+  public boolean remove(@Nonnull @jakarta.annotation.Nonnull StoreKey key) {
+    throw unsupported();
+  }
+
+  @Override
+  public boolean contains(@Nonnull @jakarta.annotation.Nonnull StoreKey key) {
+    if (!isLoaded() && (key.equals(firstKey) || key.equals(lastKey))) {
+      return true;
+    }
+    return loaded().contains(key);
+  }
+
+  @Nullable
+  @jakarta.annotation.Nullable
+  @Override
+  public StoreIndexElement<V> get(@Nonnull @jakarta.annotation.Nonnull StoreKey key) {
+    return loaded().get(key);
+  }
+
+  @Nullable
+  @jakarta.annotation.Nullable
+  @Override
+  public StoreKey first() {
+    if (firstKey == null || isLoaded()) {
+      return loaded().first();
+    }
+    return firstKey;
+  }
+
+  @Nullable
+  @jakarta.annotation.Nullable
+  @Override
+  public StoreKey last() {
+    if (lastKey == null || isLoaded()) {
+      return loaded().last();
+    }
+    return lastKey;
+  }
+
+  @Override
+  public List<StoreKey> asKeyList() {
+    return loaded().asKeyList();
+  }
+
+  @Nonnull
+  @jakarta.annotation.Nonnull
+  @Override
+  public Iterator<StoreIndexElement<V>> iterator(
+      @Nullable @jakarta.annotation.Nullable StoreKey begin,
+      @Nullable @jakarta.annotation.Nullable StoreKey end,
+      boolean prefetch) {
+    return loaded().iterator(begin, end, prefetch);
+  }
+
+  @Nonnull
+  @jakarta.annotation.Nonnull
+  @Override
+  public ByteString serialize() {
+    throw unsupported();
+  }
+}
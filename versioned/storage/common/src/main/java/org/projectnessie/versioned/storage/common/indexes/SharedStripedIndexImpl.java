@@ -0,0 +1,329 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.common.indexes;
+
+import static org.projectnessie.versioned.storage.common.indexes.SharedIndexImpl.unsupported;
+import static org.projectnessie.versioned.storage.common.indexes.StoreIndexes.sharedReadOnlyIndex;
+import static org.projectnessie.versioned.storage.common.indexes.StripedIndexImpl.definitelyMissing;
+import static org.projectnessie.versioned.storage.common.indexes.StripedIndexImpl.indexForKey;
+import static org.projectnessie.versioned.storage.common.indexes.StripedIndexImpl.stripeForExistingKey;
+
+import com.google.common.collect.AbstractIterator;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.projectnessie.nessie.relocated.protobuf.ByteString;
+import org.projectnessie.versioned.storage.common.persist.ObjId;
+
+/**
+ * Read-only view of a {@link StripedIndexImpl striped index} that can be shared by multiple
+ * threads.
+ *
+ * <p>Lazy stripes stay lazy, each is loaded at most once, see {@link SharedLazyIndexImpl}. Bulk
+ * loads via the {@link IndexLoader} only load the stripes that are neither loaded nor being loaded
+ * by another thread.
+ */
+final class SharedStripedIndexImpl<V> implements StoreIndex<V> {
+
+  private final StoreIndex<V>[] stripes;
+  private final StoreKey[] firstLastKeys;
+  private final IndexLoader<V> indexLoader;
+
+  @SuppressWarnings("unchecked")
+  SharedStripedIndexImpl(StripedIndexImpl<V> striped) {
+    List<StoreIndex<V>> source = striped.stripes();
+    StoreIndex<V>[] stripes = new StoreIndex[source.size()];
+    for (int i = 0; i < stripes.length; i++) {
+      stripes[i] = sharedReadOnlyIndex(source.get(i));
+    }
+    this.stripes = stripes;
+    this.firstLastKeys = striped.firstLastKeys().clone();
+    this.indexLoader = striped.indexLoader();
+  }
+
+  @Override
+  public boolean isModified() {
+    return false;
+  }
+
+  @Override
+  public StoreIndex<V> setObjId(ObjId objId) {
+    throw unsupported();
+  }
+
+  @Override
+  public StoreIndex<V> loadIfNecessary(Set<StoreKey> keys) {
+    StoreIndex<V>[] stripes = this.stripes;
+    @SuppressWarnings("unchecked")
+    StoreIndex<V>[] indexesToLoad = new StoreIndex[stripes.length];
+
+    for (StoreKey key : keys) {
+      int idx = stripeForExistingKey(firstLastKeys, key);
+      if (idx == -1) {
+        continue;
+      }
+      StoreIndex<V> index = stripes[idx];
+      if (!definitelyMissing(index, key)) {
+        indexesToLoad[idx] = index;
+      }
+    }
+
+    loadStripes(indexesToLoad);
+
+    return this;
+  }
+
+  private void loadStripes(int firstIndex, int lastIndex) {
+    StoreIndex<V>[] stripes = this.stripes;
+    @SuppressWarnings("unchecked")
+    StoreIndex<V>[] indexesToLoad = new StoreIndex[stripes.length];
+    System.arraycopy(stripes, firstIndex, indexesToLoad, firstIndex, lastIndex - firstIndex + 1);
+    loadStripes(indexesToLoad);
+  }
+
+  /**
+   * Loads the given lazy stripes in bulk. Stripes that are already loaded or are being loaded by
+   * another thread are skipped, readers of those stripes wait for the other thread's load.
+   */
+  private void loadStripes(StoreIndex<V>[] candidates) {
+    @SuppressWarnings("unchecked")
+    StoreIndex<V>[] indexesToLoad = new StoreIndex[candidates.length];
+    @SuppressWarnings("unchecked")
+    SharedLazyIndexImpl<V>[] claimed = new SharedLazyIndexImpl[candidates.length];
+    @SuppressWarnings("unchecked")
+    CompletableFuture<StoreIndex<V>>[] loads = new CompletableFuture[candidates.length];
+
+    int cnt = 0;
+    for (int i = 0; i < candidates.length; i++) {
+      StoreIndex<V> candidate = candidates[i];
+      if (candidate instanceof SharedLazyIndexImpl) {
+        SharedLazyIndexImpl<V> lazy = (SharedLazyIndexImpl<V>) candidate;
+        CompletableFuture<StoreIndex<V>> load = lazy.claim();
+        if (load != null) {
+          indexesToLoad[i] = lazy.lazy();
+          claimed[i] = lazy;
+          loads[i] = load;
+          cnt++;
+        }
+      }
+    }
+
+    if (cnt == 0) {
+      return;
+    }
+
+    StoreIndex<V>[] loadedIndexes;
+    try {
+      loadedIndexes = indexLoader.loadIndexes(indexesToLoad);
+    } catch (RuntimeException | Error e) {
+      for (int i = 0; i < loads.length; i++) {
+        if (loads[i] != null) {
+          claimed[i].fail(loads[i], e);
+        }
+      }
+      throw e;
+    }
+
+    for (int i = 0; i < loads.length; i++) {
+      if (loads[i] != null) {
+        SharedLazyIndexImpl<V> stripe = claimed[i];
+        StoreIndex<V> loaded = loadedIndexes[i];
+        if (loaded != null) {
+          stripe.complete(loads[i], loaded);
+        } else {
+          // Not returned by the bulk load, fall back to loading the individual stripe.
+          stripe.load(loads[i]);
+        }
+      }
+    }
+  }
+
+  @Override
+  public boolean isLoaded() {
+    for (StoreIndex<V> stripe : stripes) {
+      if (stripe.isLoaded()) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Override
+  public StoreIndex<V> asMutableIndex() {
+    throw unsupported();
+  }
+
+  @Override
+  public boolean isMutable() {
+    return false;
+  }
+
+  @Override
+  public List<StoreIndex<V>> divide(int parts) {
+    throw unsupported();
+  }
+
+  @Override
+  public List<StoreIndex<V>> stripes() {
+    throw unsupported();
+  }
+
+  @Override
+  public int elementCount() {
+    loadStripes(0, stripes.length - 1);
+    int sum = 0;
+    for (StoreIndex<V> stripe : stripes) {
+      sum += stripe.elementCount();
+    }
+    return sum;
+  }
+
+  @Override
+  public int estimatedSerializedSize() {
+    loadStripes(0, stripes.length - 1);
+    int sum = 0;
+    for (StoreIndex<V> stripe : stripes) {
+      sum += stripe.estimatedSerializedSize();
+    }
+    return sum;
+  }
+
+  @Override
+  public boolean add(@Nonnull @jakarta.annotation.Nonnull StoreIndexElement<V> element) {
+    throw unsupported();
+  }
+
+  @Override
+  public void updateAll(Function<StoreIndexElement<V>, V> updater) {
+    throw unsupported();
+  }
+
+  @Override
+  public boolean remove(@Nonnull @jakarta.annotation.Nonnull StoreKey key) {
+    throw unsupported();
+  }
+
+  @Override
+  public boolean contains(@Nonnull @jakarta.annotation.Nonnull StoreKey key) {
+    int i = stripeForExistingKey(firstLastKeys, key);
+    if (i == -1) {
+      return false;
+    }
+    StoreIndex<V> stripe = stripes[i];
+    if (definitelyMissing(stripe, key)) {
+      return false;
+    }
+    return stripe.contains(key);
+  }
+
+  @Nullable
+  @jakarta.annotation.Nullable
+  @Override
+  public StoreIndexElement<V> get(@Nonnull @jakarta.annotation.Nonnull StoreKey key) {
+    int i = stripeForExistingKey(firstLastKeys, key);
+    if (i == -1) {
+      return null;
+    }
+    StoreIndex<V> stripe = stripes[i];
+    if (definitelyMissing(stripe, key)) {
+      return null;
+    }
+    return stripe.get(key);
+  }
+
+  @Nullable
+  @jakarta.annotation.Nullable
+  @Override
+  public StoreKey first() {
+    return stripes[0].first();
+  }
+
+  @Nullable
+  @jakarta.annotation.Nullable
+  @Override
+  public StoreKey last() {
+    return stripes[stripes.length - 1].last();
+  }
+
+  @Override
+  public List<StoreKey> asKeyList() {
+    List<StoreKey> r = new ArrayList<>(elementCount());
+    for (StoreIndexElement<V> el : this) {
+      r.add(el.key());
+    }
+    return r;
+  }
+
+  @Nonnull
+  @jakarta.annotation.Nonnull
+  @Override
+  public Iterator<StoreIndexElement<V>> iterator(
+      @Nullable @jakarta.annotation.Nullable StoreKey begin,
+      @Nullable @jakarta.annotation.Nullable StoreKey end,
+      boolean prefetch) {
+    StoreIndex<V>[] s = stripes;
+
+    boolean prefix = begin != null && begin.equals(end);
+    int start = begin == null ? 0 : indexForKey(firstLastKeys, begin);
+    int stop = prefix || end == null ? s.length - 1 : indexForKey(firstLastKeys, end);
+
+    if (prefetch) {
+      loadStripes(start, stop);
+    }
+
+    Predicate<StoreKey> endCheck =
+        prefix ? k -> !k.startsWith(begin) : (end != null ? k -> end.compareTo(k) < 0 : k -> false);
+
+    return new AbstractIterator<>() {
+      int stripe = start;
+      Iterator<StoreIndexElement<V>> current = s[start].iterator(begin, null, prefetch);
+
+      @Override
+      protected StoreIndexElement<V> computeNext() {
+
+        while (true) {
+          boolean has = current.hasNext();
+          if (has) {
+            StoreIndexElement<V> v = current.next();
+            if (endCheck.test(v.key())) {
+              return endOfData();
+            }
+            return v;
+          }
+
+          stripe++;
+          if (stripe > stop) {
+            return endOfData();
+          }
+          current = s[stripe].iterator();
+        }
+      }
+    };
+  }
+
+  @Nonnull
+  @jakarta.annotation.Nonnull
+  @Override
+  public ByteString serialize() {
+    throw unsupported();
+  }
+}
@@ -43,6 +43,16 @@ public interface StoreIndex<V> extends Iterable<StoreIndexElement<V>> {
     throw new UnsupportedOperationException();
   }
 
+  /**
+   * The serialized {@link KeyBloomFilter} over the keys of this index, if available without
+   * loading the index.
+   */
+  @Nullable
+  @jakarta.annotation.Nullable
+  default ByteString keyFilter() {
+    return null;
+  }
+
   /**
    * Load the index, if this instance represents a lazily loaded index instance.
    *
@@ -44,7 +44,7 @@ import org.projectnessie.nessie.relocated.protobuf.ByteString;
 import org.projectnessie.versioned.storage.common.persist.ObjId;
 
 /**
- * Implementation of {@link StoreIndex} that implements "version 1 + 2 serialization" of
+ * Implementation of {@link StoreIndex} that implements "version 1, 2 + 3 serialization" of
  * key-index-segments.
  *
  * <p>"Version 1" uses a diff-like encoding to compress keys and a custom var-int encoding. {@link
@@ -73,6 +73,18 @@ import org.projectnessie.versioned.storage.common.persist.ObjId;
  * <p>The serialized key-index does not write any length information of the individual elements or
  * parts (like the {@link StoreKey} or value) to reduce the space required for serialization.
  *
+ * <p>"Version 2" adds the number of elements as a var-int after the version byte.
+ *
+ * <p>"Version 3" adds <em>restart points</em>, similar to the blocks of SSTables: every {@value
+ * #RESTART_INTERVAL}th element is serialized with its full key (the var-int to "strip" contains the
+ * length of the previous key), and the positions of those elements are written as a table of 4-byte
+ * integers after the last element, followed by the number of restart points as a 4-byte integer.
+ * The restart interval is written as a var-int after the number of elements. This allows {@link
+ * #get(StoreKey)}, {@link #contains(StoreKey)} and {@link #iterator(StoreKey, StoreKey, boolean)}
+ * to binary-search the restart points in the serialized representation and to decode only the
+ * elements of a single restart interval, instead of materializing all elements up front. Elements
+ * are only materialized, when the index is modified or when all elements are needed.
+ *
  * <h2>This implementation</h2>
  *
  * <p>This implementation is just an idea, not an actual proposal.
@@ -115,7 +127,10 @@ final class StoreIndexImpl<V> implements StoreIndex<V> {
    */
   private static final int ASSUMED_PER_ENTRY_OVERHEAD = 2 + 2;
 
-  private static final int CURRENT_STORE_INDEX_VERSION = 2;
+  private static final int CURRENT_STORE_INDEX_VERSION = 3;
+
+  /** Number of elements between two restart points in the "version 3" serialization. */
+  static final int RESTART_INTERVAL = 16;
 
   private static final int SERIALIZE_VERSION =
       Integer.getInteger("nessie.internal.store-index-format-version", CURRENT_STORE_INDEX_VERSION);
@@ -133,9 +148,36 @@ final class StoreIndexImpl<V> implements StoreIndex<V> {
   private final int originalSerializedSize;
 
   private int estimatedSerializedSizeDiff;
-  private final List<StoreIndexElement<V>> elements;
+
+  /**
+   * The elements of this index, {@code null} if this index has been deserialized from a "version
+   * 3" representation and no operation required all elements yet, see {@link #elements()}.
+   */
+  private List<StoreIndexElement<V>> elements;
+
   private final ElementSerializer<V> serializer;
 
+  /** Number of elements, if {@link #elements} is {@code null}. */
+  private final int serializedElementCount;
+
+  /** Restart interval of the "version 3" serialized representation. */
+  private final int restartInterval;
+
+  /** Number of restart points of the "version 3" serialized representation. */
+  private final int restartCount;
+
+  /** Position of the first element in {@link #serialized}. */
+  private final int entriesOffset;
+
+  /** Position of the restart points table in {@link #serialized}. */
+  private final int restartsOffset;
+
+  /** Cursor used for {@link #get(StoreKey)} and {@link #contains(StoreKey)}. */
+  private RestartPointCursor lookupCursor;
+
+  /** Number of lookups performed via {@link #lookupCursor}. */
+  private int serializedLookups;
+
   /**
    * Buffer that holds the raw serialized value of a store index. This buffer's {@link
    * ByteBuffer#position()} and {@link ByteBuffer#limit()} are updated by the users of this buffer
@@ -171,6 +213,24 @@ final class StoreIndexImpl<V> implements StoreIndex<V> {
     this.serializer = serializer;
     this.modified = modified;
     this.serialized = null;
+    this.serializedElementCount = 0;
+    this.restartInterval = 0;
+    this.restartCount = 0;
+    this.entriesOffset = 0;
+    this.restartsOffset = 0;
+  }
+
+  private List<StoreIndexElement<V>> elements() {
+    List<StoreIndexElement<V>> e = elements;
+    if (e == null) {
+      // Materialize all elements of a "version 3" serialized index.
+      ByteBuffer buffer = requireNonNull(serialized).duplicate();
+      e = new ArrayList<>(serializedElementCount);
+      deserializeElements(buffer.limit(restartsOffset).position(entriesOffset), e);
+      elements = e;
+      lookupCursor = null;
+    }
+    return e;
   }
 
   @Override
@@ -217,7 +277,7 @@ final class StoreIndexImpl<V> implements StoreIndex<V> {
 
   @Override
   public List<StoreIndex<V>> divide(int parts) {
-    List<StoreIndexElement<V>> elems = elements;
+    List<StoreIndexElement<V>> elems = elements();
     int size = elems.size();
     checkArgument(
         parts > 0 && parts <= size,
@@ -231,7 +291,7 @@ final class StoreIndexImpl<V> implements StoreIndex<V> {
     int index = 0;
     for (int i = 0; i < parts; i++) {
       int end = i < parts - 1 ? index + partSize : elems.size();
-      List<StoreIndexElement<V>> partElements = new ArrayList<>(elements.subList(index, end));
+      List<StoreIndexElement<V>> partElements = new ArrayList<>(elems.subList(index, end));
       StoreIndexImpl<V> part = new StoreIndexImpl<>(partElements, serializedMax, serializer, true);
       result.add(part);
       index = end;
@@ -246,12 +306,13 @@ final class StoreIndexImpl<V> implements StoreIndex<V> {
 
   @Override
   public int elementCount() {
-    return elements.size();
+    List<StoreIndexElement<V>> e = elements;
+    return e != null ? e.size() : serializedElementCount;
   }
 
   @Override
   public void updateAll(Function<StoreIndexElement<V>, V> updater) {
-    List<StoreIndexElement<V>> e = elements;
+    List<StoreIndexElement<V>> e = elements();
     ElementSerializer<V> serializer = this.serializer;
     int size = e.size();
     for (int i = 0; i < size; i++) {
@@ -276,7 +337,7 @@ final class StoreIndexImpl<V> implements StoreIndex<V> {
   @Override
   public boolean add(@Nonnull @jakarta.annotation.Nonnull StoreIndexElement<V> element) {
     modified = true;
-    List<StoreIndexElement<V>> e = elements;
+    List<StoreIndexElement<V>> e = elements();
     ElementSerializer<V> serializer = this.serializer;
     int idx = search(e, element);
     int elementSerializedSize = element.contentSerializedSize(serializer);
@@ -308,7 +369,7 @@ final class StoreIndexImpl<V> implements StoreIndex<V> {
 
   @Override
   public boolean remove(@Nonnull @jakarta.annotation.Nonnull StoreKey key) {
-    List<StoreIndexElement<V>> e = elements;
+    List<StoreIndexElement<V>> e = elements();
     int idx = search(e, key);
     if (idx < 0) {
       return false;
@@ -329,13 +390,17 @@ final class StoreIndexImpl<V> implements StoreIndex<V> {
 
   @Override
   public boolean contains(@Nonnull @jakarta.annotation.Nonnull StoreKey key) {
-    int idx = search(elements, key);
+    int idx = search(key);
     return idx >= 0;
   }
 
   @Override
   public @Nullable @jakarta.annotation.Nullable StoreIndexElement<V> get(
       @Nonnull @jakarta.annotation.Nonnull StoreKey key) {
+    if (lookupSerialized()) {
+      RestartPointCursor cursor = lookupCursor();
+      return cursor.search(key) >= 0 ? cursor.element() : null;
+    }
     List<StoreIndexElement<V>> e = elements;
     int idx = search(e, key);
     if (idx < 0) {
@@ -349,6 +414,9 @@ final class StoreIndexImpl<V> implements StoreIndex<V> {
   @Override
   public StoreKey first() {
     List<StoreIndexElement<V>> e = elements;
+    if (e == null) {
+      return serializedElementCount == 0 ? null : lookupCursor().seek(0).key();
+    }
     return e.isEmpty() ? null : e.get(0).key();
   }
 
@@ -357,9 +425,37 @@ final class StoreIndexImpl<V> implements StoreIndex<V> {
   @Override
   public StoreKey last() {
     List<StoreIndexElement<V>> e = elements;
+    if (e == null) {
+      int count = serializedElementCount;
+      return count == 0 ? null : lookupCursor().seek(count - 1).key();
+    }
     return e.isEmpty() ? null : e.get(e.size() - 1).key();
   }
 
+  /**
+   * Whether a lookup shall use the restart points of the serialized representation. Each of those
+   * lookups decodes up to {@value #RESTART_INTERVAL} elements, so all elements are materialized
+   * once the number of lookups exceeds a fraction of the number of restart points, which bounds the
+   * total cost for indexes that are used for many lookups.
+   */
+  private boolean lookupSerialized() {
+    if (elements == null) {
+      if (++serializedLookups <= 1 + restartCount / 4) {
+        return true;
+      }
+      elements();
+    }
+    return false;
+  }
+
+  private RestartPointCursor lookupCursor() {
+    RestartPointCursor cursor = lookupCursor;
+    if (cursor == null) {
+      cursor = lookupCursor = new RestartPointCursor(scratchKeyBuffer);
+    }
+    return cursor;
+  }
+
   @Override
   public @Nonnull @jakarta.annotation.Nonnull Iterator<StoreIndexElement<V>> iterator(
       @Nullable @jakarta.annotation.Nullable StoreKey begin,
@@ -368,17 +464,18 @@ final class StoreIndexImpl<V> implements StoreIndex<V> {
     List<StoreIndexElement<V>> e = elements;
 
     if (begin == null && end == null) {
-      return e.iterator();
+      return e != null ? e.iterator() : serializedIterator(0, serializedElementCount);
     }
 
     boolean prefix = begin != null && begin.equals(end);
     int fromIdx = begin != null ? iteratorIndex(begin, 0) : 0;
-    int toIdx = !prefix && end != null ? iteratorIndex(end, 1) : e.size();
+    int toIdx = !prefix && end != null ? iteratorIndex(end, 1) : elementCount();
 
     checkArgument(toIdx >= fromIdx, "'to' must be greater than 'from'");
 
-    e = e.subList(fromIdx, toIdx);
-    Iterator<StoreIndexElement<V>> base = e.iterator();
+    e = elements;
+    Iterator<StoreIndexElement<V>> base =
+        e != null ? e.subList(fromIdx, toIdx).iterator() : serializedIterator(fromIdx, toIdx);
     return prefix
         ? new AbstractIterator<>() {
 
@@ -398,7 +495,7 @@ final class StoreIndexImpl<V> implements StoreIndex<V> {
   }
 
   private int iteratorIndex(StoreKey from, int exactAdd) {
-    int fromIdx = search(elements, from);
+    int fromIdx = search(from);
     if (fromIdx < 0) {
       fromIdx = -fromIdx - 1;
     } else {
@@ -418,13 +515,13 @@ final class StoreIndexImpl<V> implements StoreIndex<V> {
     }
     @SuppressWarnings("unchecked")
     StoreIndexImpl<V> that = (StoreIndexImpl<V>) o;
-    return elements.equals(that.elements);
+    return elements().equals(that.elements());
   }
 
   @Override
   @VisibleForTesting
   public int hashCode() {
-    return elements.hashCode();
+    return elements().hashCode();
   }
 
   @Override
@@ -441,32 +538,83 @@ final class StoreIndexImpl<V> implements StoreIndex<V> {
     return new AbstractList<>() {
       @Override
       public StoreKey get(int index) {
-        return elements.get(index).key();
+        return elements().get(index).key();
       }
 
       @Override
       public int size() {
-        return elements.size();
+        return elementCount();
       }
     };
   }
 
   @Override
   public int estimatedSerializedSize() {
-    return originalSerializedSize + estimatedSerializedSizeDiff;
+    int estimated = originalSerializedSize + estimatedSerializedSizeDiff;
+    if ((serialized == null || modified) && SERIALIZE_VERSION >= 3) {
+      estimated += restartPointsOverhead();
+    }
+    return estimated;
+  }
+
+  /**
+   * Upper bound of the bytes needed for the restart points of the "version 3" serialization, which
+   * are not covered by the per-element estimates: the restart points table including its size, the
+   * growth of the var-ints in the header and, for a deserialized index, the full keys of the
+   * elements at the restart points. Elements of a deserialized index are accounted with their
+   * prefix-compressed keys, but the restart points may have shifted or the index may have been
+   * deserialized from a representation without restart points. Added elements are always accounted
+   * with their full keys.
+   */
+  private int restartPointsOverhead() {
+    List<StoreIndexElement<V>> e = elements();
+    int size = e.size();
+    int restarts = (size + RESTART_INTERVAL - 1) / RESTART_INTERVAL;
+    int overhead = 5 + 4 * restarts + 4;
+    if (serialized != null) {
+      for (int i = 0; i < size; i += RESTART_INTERVAL) {
+        overhead += keySerializedSize(e.get(i));
+      }
+    }
+    return overhead;
+  }
+
+  private int keySerializedSize(StoreIndexElement<V> el) {
+    if (el.getClass() == LazyStoreIndexElement.class) {
+      // Prefix plus suffix, without materializing the key
+      LazyStoreIndexElement lazyEl = (LazyStoreIndexElement) el;
+      return lazyEl.prefixLen + lazyEl.valueOffset - lazyEl.keyOffset;
+    }
+    return serializedSize(el.key());
   }
 
   @Override
   public @Nonnull @jakarta.annotation.Nonnull ByteString serialize() {
+    return serialize(SERIALIZE_VERSION);
+  }
+
+  @VisibleForTesting
+  ByteString serialize(int version) {
     ByteBuffer target;
 
     if (serialized == null || modified) {
+      List<StoreIndexElement<V>> elements = elements();
+
+      // The estimated serialized size is an upper bound for the "version 3" serialization, the
+      // target buffer is grown if necessary.
       target = ByteBuffer.allocate(estimatedSerializedSize());
 
       // Serialized segment index version
-      if (SERIALIZE_VERSION >= CURRENT_STORE_INDEX_VERSION) {
+      int[] restarts = null;
+      if (version >= 3) {
+        target = ensureCapacity(target, 11);
+        target.put((byte) 3);
+        putVarInt(target, elements.size());
+        putVarInt(target, RESTART_INTERVAL);
+        restarts = new int[(elements.size() + RESTART_INTERVAL - 1) / RESTART_INTERVAL];
+      } else if (version == 2) {
         target.put((byte) 2);
-        putVarInt(target, elementCount());
+        putVarInt(target, elements.size());
       } else {
         target.put((byte) 1);
       }
@@ -476,7 +624,6 @@ final class StoreIndexImpl<V> implements StoreIndex<V> {
       @SuppressWarnings("UnnecessaryLocalVariable")
       ElementSerializer<V> ser = serializer;
 
-      List<StoreIndexElement<V>> elements = this.elements;
       boolean onlyLazy;
       StoreIndexElement<V> previous = null;
       for (int i = 0; i < elements.size(); i++) {
@@ -514,11 +661,27 @@ final class StoreIndexImpl<V> implements StoreIndex<V> {
           keyBuf = el.key().serialize(scratchKeyBuffer);
         }
 
-        previousKey = serializeKey(keyBuf, previousKey, target);
+        boolean restart = restarts != null && i % RESTART_INTERVAL == 0;
+        if (restarts != null) {
+          target = ensureCapacity(target, 5 + keyBuf.remaining() + el.contentSerializedSize(ser));
+          if (restart) {
+            restarts[i / RESTART_INTERVAL] = target.position();
+          }
+        }
+
+        previousKey = serializeKey(keyBuf, previousKey, target, restart);
         el.serializeContent(ser, target);
         previous = el;
       }
 
+      if (restarts != null) {
+        target = ensureCapacity(target, 4 * restarts.length + 4);
+        for (int restart : restarts) {
+          target.putInt(restart);
+        }
+        target.putInt(restarts.length);
+      }
+
       target.flip();
     } else {
       target = serialized.position(0).limit(originalSerializedSize);
@@ -527,11 +690,25 @@ final class StoreIndexImpl<V> implements StoreIndex<V> {
     return unsafeWrap(target);
   }
 
-  private ByteBuffer serializeKey(ByteBuffer keyBuf, ByteBuffer previousKey, ByteBuffer target) {
+  private static ByteBuffer ensureCapacity(ByteBuffer target, int required) {
+    if (target.remaining() >= required) {
+      return target;
+    }
+    ByteBuffer grown =
+        ByteBuffer.allocate(Math.max(2 * target.capacity(), target.position() + required));
+    return grown.put(target.flip());
+  }
+
+  private ByteBuffer serializeKey(
+      ByteBuffer keyBuf, ByteBuffer previousKey, ByteBuffer target, boolean restart) {
     int keyPos = keyBuf.position();
     if (previousKey != null) {
       int mismatch = previousKey.mismatch(keyBuf);
       checkState(mismatch != -1, "Previous and current keys must not be equal");
+      if (restart) {
+        // Restart points contain the full key
+        mismatch = 0;
+      }
       int strip = previousKey.remaining() - mismatch;
       putVarInt(target, strip);
       keyBuf.position(keyPos + mismatch);
@@ -558,11 +735,46 @@ final class StoreIndexImpl<V> implements StoreIndex<V> {
   private StoreIndexImpl(ByteBuffer serialized, ElementSerializer<V> ser) {
     byte version = serialized.get();
     checkArgument(
-        version == 1 || version == 2, "Unsupported serialized representation of KeyIndexSegment");
+        version >= 1 && version <= 3, "Unsupported serialized representation of KeyIndexSegment");
+
+    this.serializer = ser;
+
+    if (version == 3) {
+      // Elements are materialized lazily, see 'elements()'
+      int end = serialized.limit();
+      this.serializedElementCount = readVarInt(serialized);
+      this.restartInterval = readVarInt(serialized);
+      this.restartCount = serialized.getInt(end - 4);
+      this.entriesOffset = serialized.position();
+      this.restartsOffset = end - 4 - 4 * restartCount;
+      this.elements = null;
+      this.serialized = serialized.duplicate().clear();
+      this.originalSerializedSize = end;
+      return;
+    }
 
     List<StoreIndexElement<V>> elements =
         version >= 2 ? new ArrayList<>(readVarInt(serialized)) : new ArrayList<>();
 
+    this.serializedElementCount = 0;
+    this.restartInterval = 0;
+    this.restartCount = 0;
+    this.entriesOffset = 0;
+    this.restartsOffset = 0;
+    this.serialized = serialized.duplicate().clear();
+
+    deserializeElements(serialized, elements);
+
+    this.elements = elements;
+    this.originalSerializedSize = serialized.position();
+  }
+
+  /**
+   * Deserializes all elements from the current position of the given buffer up to its limit as
+   * {@link LazyStoreIndexElement}s.
+   */
+  private void deserializeElements(ByteBuffer serialized, List<StoreIndexElement<V>> elements) {
+    ElementSerializer<V> ser = serializer;
     boolean first = true;
     int previousKeyLen = 0;
     LazyStoreIndexElement predecessor = null;
@@ -600,11 +812,6 @@ final class StoreIndexImpl<V> implements StoreIndex<V> {
       previous = element;
       previousKeyLen = totalKeyLen;
     }
-
-    this.elements = elements;
-    this.serializer = ser;
-    this.serialized = serialized.duplicate().clear();
-    this.originalSerializedSize = serialized.position();
   }
 
   /**
@@ -634,6 +841,154 @@ final class StoreIndexImpl<V> implements StoreIndex<V> {
     return predecessor;
   }
 
+  private Iterator<StoreIndexElement<V>> serializedIterator(int fromIdx, int toIdx) {
+    return new AbstractIterator<>() {
+      private final RestartPointCursor cursor = new RestartPointCursor(newKeyBuffer());
+      private int index = fromIdx;
+
+      @Override
+      protected StoreIndexElement<V> computeNext() {
+        if (index >= toIdx) {
+          return endOfData();
+        }
+        RestartPointCursor c = cursor;
+        if (index == fromIdx) {
+          c.seek(index);
+        } else {
+          c.next();
+        }
+        index++;
+        return c.element();
+      }
+    };
+  }
+
+  /**
+   * Reads elements from a "version 3" serialized representation, starting at a restart point,
+   * without materializing the other elements of the index.
+   */
+  private final class RestartPointCursor {
+    private final ByteBuffer buffer = requireNonNull(serialized).duplicate();
+    private final ByteBuffer keyBuffer;
+
+    /** Index of the next element to decode. */
+    private int nextIndex;
+
+    /** Length of the key of the current element in {@link #keyBuffer}. */
+    private int keyLen;
+
+    private int valueOffset;
+    private int endOffset;
+    private StoreKey key;
+
+    RestartPointCursor(ByteBuffer keyBuffer) {
+      this.keyBuffer = keyBuffer;
+    }
+
+    /**
+     * Searches for the given key, the result has the same semantics as {@link
+     * java.util.Collections#binarySearch(List, Object, Comparator)}. If the key has been found, the
+     * cursor is positioned on the found element.
+     */
+    int search(StoreKey searchKey) {
+      // Find the last restart point whose key is less than or equal to 'searchKey'
+      int restart = -1;
+      int low = 0;
+      int high = restartCount - 1;
+      while (low <= high) {
+        int mid = (low + high) >>> 1;
+        int cmp = seekRestart(mid).next().key().compareTo(searchKey);
+        if (cmp == 0) {
+          return mid * restartInterval;
+        }
+        if (cmp < 0) {
+          restart = mid;
+          low = mid + 1;
+        } else {
+          high = mid - 1;
+        }
+      }
+      if (restart < 0) {
+        return -1;
+      }
+
+      int idx = restart * restartInterval;
+      int end = Math.min(serializedElementCount, idx + restartInterval);
+      seekRestart(restart).next();
+      // The element at the restart point is less than 'searchKey', see above.
+      for (idx++; idx < end; idx++) {
+        int cmp = next().key().compareTo(searchKey);
+        if (cmp == 0) {
+          return idx;
+        }
+        if (cmp > 0) {
+          return -idx - 1;
+        }
+      }
+      return -end - 1;
+    }
+
+    /** Positions the cursor on the element with the given index. */
+    RestartPointCursor seek(int index) {
+      seekRestart(index / restartInterval);
+      while (nextIndex <= index) {
+        next();
+      }
+      return this;
+    }
+
+    private RestartPointCursor seekRestart(int restart) {
+      ByteBuffer buf = buffer.limit(buffer.capacity());
+      int offset = buf.getInt(restartsOffset + 4 * restart);
+      buf.limit(restartsOffset).position(offset);
+      nextIndex = restart * restartInterval;
+      return this;
+    }
+
+    /** Decodes the next element and positions the cursor on it. */
+    RestartPointCursor next() {
+      ByteBuffer buf = buffer;
+      int index = nextIndex++;
+      int prefixLen = 0;
+      if (index > 0) {
+        int strip = readVarInt(buf);
+        if (index % restartInterval != 0) {
+          prefixLen = keyLen - strip;
+        }
+      }
+
+      int keyOffset = buf.position();
+      skipKey(buf);
+      valueOffset = buf.position();
+      serializer.skip(buf);
+      endOffset = buf.position();
+
+      ByteBuffer keyBuf = keyBuffer.clear();
+      for (int src = keyOffset, dst = prefixLen; src < valueOffset; src++, dst++) {
+        keyBuf.put(dst, buf.get(src));
+      }
+      keyLen = prefixLen + valueOffset - keyOffset;
+      key = null;
+      return this;
+    }
+
+    StoreKey key() {
+      StoreKey k = key;
+      if (k == null) {
+        k = key = deserializeKey(keyBuffer.clear().limit(keyLen));
+      }
+      return k;
+    }
+
+    StoreIndexElement<V> element() {
+      ByteBuffer buf = buffer;
+      int position = buf.position();
+      V content = serializer.deserialize(buf.limit(endOffset).position(valueOffset));
+      buf.limit(restartsOffset).position(position);
+      return indexElement(key(), content);
+    }
+  }
+
   private final class LazyStoreIndexElement extends AbstractStoreIndexElement<V> {
     /**
      * Points to the predecessor (in index order) that has a required part of the store-key needed
@@ -743,6 +1098,11 @@ final class StoreIndexImpl<V> implements StoreIndex<V> {
             // Call 'putString' with the parameter 'shortened==true' to instruct the function to
             // expect buffer overruns and handle those gracefully.
             StoreKey.putString(keyBuffer.limit(remaining).position(0), e.key.rawString(), true);
+            // The prefix can include the terminating zero-bytes of the predecessor's key, which
+            // are not part of the raw string.
+            while (keyBuffer.position() < remaining) {
+              keyBuffer.put((byte) 0);
+            }
           } finally {
             keyBuffer.limit(limitSave);
           }
@@ -839,6 +1199,10 @@ final class StoreIndexImpl<V> implements StoreIndex<V> {
     return ByteBuffer.allocate(MAX_KEY_BYTES);
   }
 
+  private int search(StoreKey key) {
+    return lookupSerialized() ? lookupCursor().search(key) : search(elements, key);
+  }
+
   private static <V> int search(
       List<StoreIndexElement<V>> e, @Nonnull @jakarta.annotation.Nonnull StoreKey key) {
     // Need a StoreIndexElement for the sake of 'binarySearch()' (the content value isn't used)
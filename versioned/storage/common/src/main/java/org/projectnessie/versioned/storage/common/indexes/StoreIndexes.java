@@ -17,12 +17,16 @@ package org.projectnessie.versioned.storage.common.indexes;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static org.projectnessie.versioned.storage.common.indexes.IndexLoader.notLoading;
+import static org.projectnessie.versioned.storage.common.objtypes.PayloadCompression.decompressPayload;
 
 import java.util.List;
 import java.util.function.Supplier;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import org.projectnessie.nessie.relocated.protobuf.ByteString;
 import org.projectnessie.versioned.storage.common.objtypes.CommitObj;
+import org.projectnessie.versioned.storage.common.objtypes.Compression;
+import org.projectnessie.versioned.storage.common.objtypes.PayloadCompression;
 
 /** Factory methods for store indexes. */
 public final class StoreIndexes {
@@ -36,8 +40,13 @@ public final class StoreIndexes {
     return new StoreIndexImpl<>(serializer);
   }
 
+  /**
+   * Deserializes a {@link StoreIndex}, the serialized representation may have been compressed
+   * using {@link PayloadCompression#compressPayload(ByteString, Compression, int)}.
+   */
   public static <V> StoreIndex<V> deserializeStoreIndex(
       ByteString serialized, ElementSerializer<V> ser) {
+    serialized = decompressPayload(serialized);
     return StoreIndexImpl.deserializeStoreIndex(serialized.asReadOnlyByteBuffer(), ser);
   }
 
@@ -49,11 +58,23 @@ public final class StoreIndexes {
    */
   public static <V> StoreIndex<V> lazyStoreIndex(
       Supplier<StoreIndex<V>> supplier, StoreKey firstKey, StoreKey lastKey) {
-    return new LazyIndexImpl<>(supplier, firstKey, lastKey);
+    return new LazyIndexImpl<>(supplier, firstKey, lastKey, null);
+  }
+
+  /**
+   * Lazily loaded index with known first and last keys and an optional {@link KeyBloomFilter}, see
+   * {@link StoreIndex#keyFilter()}.
+   */
+  public static <V> StoreIndex<V> lazyStoreIndex(
+      Supplier<StoreIndex<V>> supplier,
+      StoreKey firstKey,
+      StoreKey lastKey,
+      @Nullable @jakarta.annotation.Nullable ByteString keyFilter) {
+    return new LazyIndexImpl<>(supplier, firstKey, lastKey, keyFilter);
   }
 
   public static <V> StoreIndex<V> lazyStoreIndex(Supplier<StoreIndex<V>> supplier) {
-    return new LazyIndexImpl<>(supplier, null, null);
+    return new LazyIndexImpl<>(supplier, null, null, null);
   }
 
   /**
@@ -66,6 +87,39 @@ public final class StoreIndexes {
     return new LayeredIndexImpl<>(reference, updates);
   }
 
+  /**
+   * Returns a read-only view of the given index that can be safely shared by multiple threads.
+   *
+   * <p>Lazy indexes and stripes of the given index stay lazy, each is loaded at most once on
+   * demand, concurrent readers of the same stripe wait for the same load. Loaded elements are
+   * materialized into immutable arrays, which are read without any locking.
+   *
+   * <p>Used to share a complete commit index across concurrent read requests.
+   */
+  public static <V> StoreIndex<V> sharedReadOnlyIndex(StoreIndex<V> index) {
+    if (index instanceof SharedIndexImpl
+        || index instanceof SharedLazyIndexImpl
+        || index instanceof SharedStripedIndexImpl
+        || index instanceof ImmutableEmptyIndexImpl) {
+      return index;
+    }
+    if (index instanceof LayeredIndexImpl) {
+      LayeredIndexImpl<V> layered = (LayeredIndexImpl<V>) index;
+      return new LayeredIndexImpl<>(
+          sharedReadOnlyIndex(layered.reference()), sharedReadOnlyIndex(layered.updates()));
+    }
+    if (index instanceof StripedIndexImpl) {
+      return new SharedStripedIndexImpl<>((StripedIndexImpl<V>) index);
+    }
+    if (index instanceof LazyIndexImpl) {
+      LazyIndexImpl<V> lazy = (LazyIndexImpl<V>) index;
+      return lazy.isLoaded()
+          ? sharedReadOnlyIndex(lazy.loaded())
+          : new SharedLazyIndexImpl<>(lazy);
+    }
+    return new SharedIndexImpl<>(index);
+  }
+
   /**
    * Produces a new, striped index from the given segments.
    *
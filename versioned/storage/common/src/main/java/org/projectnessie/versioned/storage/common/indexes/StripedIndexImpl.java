@@ -54,6 +54,14 @@ final class StripedIndexImpl<V> implements StoreIndex<V> {
     this.indexLoader = indexLoader;
   }
 
+  StoreKey[] firstLastKeys() {
+    return firstLastKeys;
+  }
+
+  IndexLoader<V> indexLoader() {
+    return indexLoader;
+  }
+
   @Override
   public boolean isModified() {
     for (StoreIndex<V> stripe : stripes) {
@@ -72,12 +80,12 @@ final class StripedIndexImpl<V> implements StoreIndex<V> {
 
     int cnt = 0;
     for (StoreKey key : keys) {
-      int idx = stripeForExistingKey(key);
+      int idx = stripeForExistingKey(firstLastKeys, key);
       if (idx == -1) {
         continue;
       }
       StoreIndex<V> index = stripes[idx];
-      if (!index.isLoaded()) {
+      if (indexesToLoad[idx] == null && !index.isLoaded() && !definitelyMissing(index, key)) {
         indexesToLoad[idx] = index;
         cnt++;
       }
@@ -174,22 +182,30 @@ final class StripedIndexImpl<V> implements StoreIndex<V> {
 
   @Override
   public boolean contains(@Nonnull @jakarta.annotation.Nonnull StoreKey key) {
-    int i = stripeForExistingKey(key);
+    int i = stripeForExistingKey(firstLastKeys, key);
     if (i == -1) {
       return false;
     }
-    return stripes[i].contains(key);
+    StoreIndex<V> stripe = stripes[i];
+    if (definitelyMissing(stripe, key)) {
+      return false;
+    }
+    return stripe.contains(key);
   }
 
   @Nullable
   @jakarta.annotation.Nullable
   @Override
   public StoreIndexElement<V> get(@Nonnull @jakarta.annotation.Nonnull StoreKey key) {
-    int i = stripeForExistingKey(key);
+    int i = stripeForExistingKey(firstLastKeys, key);
     if (i == -1) {
       return null;
     }
-    return stripes[i].get(key);
+    StoreIndex<V> stripe = stripes[i];
+    if (definitelyMissing(stripe, key)) {
+      return null;
+    }
+    return stripe.get(key);
   }
 
   @Nullable
@@ -226,8 +242,8 @@ final class StripedIndexImpl<V> implements StoreIndex<V> {
     StoreIndex<V>[] s = stripes;
 
     boolean prefix = begin != null && begin.equals(end);
-    int start = begin == null ? 0 : indexForKey(begin);
-    int stop = prefix || end == null ? s.length - 1 : indexForKey(end);
+    int start = begin == null ? 0 : indexForKey(firstLastKeys, begin);
+    int stop = prefix || end == null ? s.length - 1 : indexForKey(firstLastKeys, end);
 
     if (prefetch) {
       loadStripes(start, stop);
@@ -281,7 +297,7 @@ final class StripedIndexImpl<V> implements StoreIndex<V> {
   }
 
   private StoreIndex<V> mutableStripe(StoreKey key) {
-    int i = indexForKey(key);
+    int i = indexForKey(firstLastKeys, key);
     StoreIndex<V> stripe = stripes[i];
     if (!stripe.isMutable()) {
       stripes[i] = stripe = stripe.asMutableIndex();
@@ -294,8 +310,24 @@ final class StripedIndexImpl<V> implements StoreIndex<V> {
     throw unsupported();
   }
 
-  private int stripeForExistingKey(StoreKey key) {
-    StoreKey[] firstLast = firstLastKeys;
+  /**
+   * Checks the {@link StoreIndex#keyFilter() key filter} of a not yet loaded stripe, returns {@code
+   * true}, if the stripe definitely does not contain the key and therefore does not need to be
+   * loaded.
+   */
+  static boolean definitelyMissing(StoreIndex<?> stripe, StoreKey key) {
+    if (stripe.isLoaded()) {
+      return false;
+    }
+    ByteString keyFilter = stripe.keyFilter();
+    if (keyFilter == null || KeyBloomFilter.mightContain(keyFilter, key)) {
+      return false;
+    }
+    KeyBloomFilter.stripeLoadAvoided();
+    return true;
+  }
+
+  static int stripeForExistingKey(StoreKey[] firstLast, StoreKey key) {
     int i = binarySearch(firstLast, key);
     if (i < 0) {
       i = -i - 1;
@@ -310,8 +342,7 @@ final class StripedIndexImpl<V> implements StoreIndex<V> {
     return i;
   }
 
-  private int indexForKey(StoreKey key) {
-    StoreKey[] firstLast = firstLastKeys;
+  static int indexForKey(StoreKey[] firstLast, StoreKey key) {
     int i = binarySearch(firstLast, key);
     if (i < 0) {
       i = -i - 1;
@@ -40,6 +40,7 @@ import static org.projectnessie.versioned.storage.common.logic.ConflictHandler.C
 import static org.projectnessie.versioned.storage.common.logic.CreateCommit.Add.commitAdd;
 import static org.projectnessie.versioned.storage.common.logic.CreateCommit.Remove.commitRemove;
 import static org.projectnessie.versioned.storage.common.logic.DiffEntry.diffEntry;
+import static org.projectnessie.versioned.storage.common.logic.IndexesLogicImpl.serializeIndex;
 import static org.projectnessie.versioned.storage.common.logic.Logics.indexesLogic;
 import static org.projectnessie.versioned.storage.common.logic.PagingToken.emptyPagingToken;
 import static org.projectnessie.versioned.storage.common.logic.PagingToken.pagingToken;
@@ -54,11 +55,14 @@ import static org.projectnessie.versioned.storage.common.objtypes.Hashes.newHash
 import static org.projectnessie.versioned.storage.common.objtypes.StandardObjType.COMMIT;
 import static org.projectnessie.versioned.storage.common.persist.ObjId.EMPTY_OBJ_ID;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.AbstractIterator;
 import com.google.common.hash.Hasher;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
@@ -68,6 +72,8 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
@@ -124,9 +130,26 @@ final class CommitLogicImpl implements CommitLogic {
     return new CommitLogIter(startCommitId, commitLogQuery.endCommitId().orElse(null));
   }
 
+  /** Number of commit log read-ahead fetches currently outstanding in this process. */
+  private static final AtomicInteger OUTSTANDING_READ_AHEADS = new AtomicInteger();
+
+  /** Result of a commit log read-ahead, {@code objs} is the result for {@code ids}. */
+  private static final class ReadAheadBatch {
+    final List<ObjId> ids;
+    final Obj[] objs;
+
+    ReadAheadBatch(List<ObjId> ids, Obj[] objs) {
+      this.ids = ids;
+      this.objs = objs;
+    }
+  }
+
   private final class CommitLogIter extends AbstractIterator<CommitObj>
       implements PagedResult<CommitObj, ObjId> {
     private final ObjId endCommitId;
+    private final int readAheadDepth;
+    private final int readAheadMaxOutstanding;
+    private final Deque<CompletableFuture<ReadAheadBatch>> readAheads = new ArrayDeque<>();
 
     private Iterator<Obj> batch;
     private List<ObjId> next;
@@ -134,6 +157,10 @@ final class CommitLogicImpl implements CommitLogic {
     CommitLogIter(ObjId startCommitId, ObjId endCommitId) {
       this.next = singletonList(startCommitId);
       this.endCommitId = endCommitId;
+      StoreConfig config = persist.config();
+      // Read-ahead is pointless, if the asynchronous fetches would run on the calling thread.
+      this.readAheadDepth = persist.async().isBlocking() ? 0 : config.commitLogReadAhead();
+      this.readAheadMaxOutstanding = config.commitLogReadAheadMaxOutstanding();
     }
 
     @Override
@@ -155,17 +182,22 @@ final class CommitLogicImpl implements CommitLogic {
             return endOfData();
           }
 
-          try {
-            b = batch = Arrays.asList(persist.fetchObjs(n.toArray(new ObjId[0]))).iterator();
-          } catch (ObjNotFoundException e) {
-            List<ObjId> ids = e.objIds();
-            throw new NoSuchElementException(
-                ids.size() == 1
-                    ? "Commit '" + ids.get(0) + "' not found"
-                    : "Commit(s) "
-                        + ids.stream().map(ObjId::toString).collect(Collectors.joining(", "))
-                        + " not found");
+          Obj[] objs = readAheadResult(n);
+          if (objs == null) {
+            try {
+              objs = persist.fetchObjs(n.toArray(new ObjId[0]));
+            } catch (ObjNotFoundException e) {
+              List<ObjId> ids = e.objIds();
+              throw new NoSuchElementException(
+                  ids.size() == 1
+                      ? "Commit '" + ids.get(0) + "' not found"
+                      : "Commit(s) "
+                          + ids.stream().map(ObjId::toString).collect(Collectors.joining(", "))
+                          + " not found");
+            }
           }
+          b = batch = Arrays.asList(objs).iterator();
+          scheduleReadAheads(n, objs);
         }
 
         if (b.hasNext()) {
@@ -188,6 +220,88 @@ final class CommitLogicImpl implements CommitLogic {
       }
     }
 
+    /**
+     * Returns the objects for {@code ids} from the oldest read-ahead, or {@code null} if there is
+     * no usable read-ahead, in which case all pending read-aheads are discarded.
+     */
+    private Obj[] readAheadResult(List<ObjId> ids) {
+      CompletableFuture<ReadAheadBatch> readAhead = readAheads.poll();
+      if (readAhead == null) {
+        return null;
+      }
+      ReadAheadBatch result = readAhead.join();
+      if (result == null || !result.ids.equals(ids)) {
+        readAheads.clear();
+        return null;
+      }
+      return result.objs;
+    }
+
+    /**
+     * Chains read-aheads for the batches following the given batch, until {@link
+     * StoreConfig#commitLogReadAhead()} batches are being read ahead.
+     */
+    private void scheduleReadAheads(List<ObjId> ids, Obj[] objs) {
+      if (readAheadDepth <= 0) {
+        return;
+      }
+      CompletableFuture<ReadAheadBatch> last = readAheads.peekLast();
+      if (last == null) {
+        last = CompletableFuture.completedFuture(new ReadAheadBatch(ids, objs));
+      }
+      while (readAheads.size() < readAheadDepth) {
+        last = last.thenCompose(this::readAheadAfter);
+        readAheads.add(last);
+      }
+    }
+
+    private CompletableFuture<ReadAheadBatch> readAheadAfter(ReadAheadBatch previous) {
+      List<ObjId> ids = previous != null ? idsAfter(previous.objs) : null;
+      if (ids == null) {
+        return CompletableFuture.completedFuture(null);
+      }
+      if (OUTSTANDING_READ_AHEADS.incrementAndGet() > readAheadMaxOutstanding) {
+        OUTSTANDING_READ_AHEADS.decrementAndGet();
+        return CompletableFuture.completedFuture(null);
+      }
+      try {
+        return persist
+            .async()
+            .fetchObjsAsync(ids.toArray(new ObjId[0]))
+            .toCompletableFuture()
+            .handle(
+                (fetched, failure) -> {
+                  OUTSTANDING_READ_AHEADS.decrementAndGet();
+                  // Failures are reported by the synchronous fetch of the same batch.
+                  return failure == null ? new ReadAheadBatch(ids, fetched) : null;
+                });
+      } catch (RuntimeException e) {
+        OUTSTANDING_READ_AHEADS.decrementAndGet();
+        return CompletableFuture.completedFuture(null);
+      }
+    }
+
+    /**
+     * Returns the IDs of the batch of commits that {@link #computeNext()} fetches after having
+     * consumed the given batch, or {@code null} if the commit log ends with the given batch.
+     */
+    private List<ObjId> idsAfter(Obj[] objs) {
+      if (objs.length == 0) {
+        return null;
+      }
+      for (Obj obj : objs) {
+        if (!(obj instanceof CommitObj) || obj.id().equals(endCommitId)) {
+          return null;
+        }
+      }
+      List<ObjId> tail = ((CommitObj) objs[objs.length - 1]).tail();
+      int i = tail.indexOf(EMPTY_OBJ_ID);
+      if (i != -1) {
+        tail = tail.subList(0, i);
+      }
+      return tail.isEmpty() ? null : tail;
+    }
+
     @Nonnull
     @jakarta.annotation.Nonnull
     @Override
@@ -371,7 +485,7 @@ final class CommitLogicImpl implements CommitLogic {
     commit =
         CommitObj.commitBuilder()
             .from(commit)
-            .incrementalIndex(newIncremental.serialize())
+            .incrementalIndex(serializeIndex(newIncremental, persist.config()))
             .referenceIndex(referenceIndexId)
             .referenceIndexStripes(referenceIndexStripes)
             .build();
@@ -711,7 +825,9 @@ final class CommitLogicImpl implements CommitLogic {
       throw new CommitConflictException(conflicts);
     }
 
-    return c.incrementalIndex(index.serialize()).id(hashAsObjId(hasher)).build();
+    return c.incrementalIndex(serializeIndex(index, persist.config()))
+        .id(hashAsObjId(hasher))
+        .build();
   }
 
   private static void preprocessCommitActions(
@@ -851,6 +967,8 @@ final class CommitLogicImpl implements CommitLogic {
                 return null;
               }
             })
+        .loadCommits(this::fetchCommitsForMergeBase)
+        .prefetchDepth(persist.config().mergeBasePrefetch())
         .targetCommitId(targetId)
         .fromCommitId(sourceId)
         .respectMergeParents(respectMergeParents)
@@ -858,6 +976,37 @@ final class CommitLogicImpl implements CommitLogic {
         .identifyMergeBase();
   }
 
+  @VisibleForTesting
+  CommitObj[] fetchCommitsForMergeBase(ObjId[] commitIds) {
+    Obj[] objs;
+    Set<ObjId> missing = new HashSet<>();
+    ObjId[] ids = commitIds;
+    while (true) {
+      try {
+        objs = persist.fetchObjs(ids);
+        break;
+      } catch (ObjNotFoundException e) {
+        // Not all commits exist, load only the existing ones, 'MergeBase' handles the missing ones.
+        // Repeat, if the database did not report all missing commits at once.
+        if (!missing.addAll(e.objIds())) {
+          throw new IllegalStateException(
+              "Database reported already excluded commits as not found: " + e.objIds(), e);
+        }
+        ids =
+            Arrays.stream(commitIds)
+                .map(id -> missing.contains(id) ? null : id)
+                .toArray(ObjId[]::new);
+      }
+    }
+    CommitObj[] commits = new CommitObj[objs.length];
+    for (int i = 0; i < objs.length; i++) {
+      if (objs[i] instanceof CommitObj) {
+        commits[i] = (CommitObj) objs[i];
+      }
+    }
+    return commits;
+  }
+
   @Nullable
   @jakarta.annotation.Nullable
   @Override
@@ -918,13 +1067,21 @@ final class CommitLogicImpl implements CommitLogic {
             .orElse(diffQuery.start());
     StoreKey end = diffQuery.end();
 
-    StoreIndex<CommitOp> fromIndex = indexesLogic.buildCompleteIndexOrEmpty(diffQuery.fromCommit());
-    StoreIndex<CommitOp> toIndex = indexesLogic.buildCompleteIndexOrEmpty(diffQuery.toCommit());
+    CommitObj fromCommit = diffQuery.fromCommit();
+    CommitObj toCommit = diffQuery.toCommit();
+    StoreIndex<CommitOp> fromIndex = indexesLogic.buildCompleteIndexOrEmpty(fromCommit);
+    StoreIndex<CommitOp> toIndex = indexesLogic.buildCompleteIndexOrEmpty(toCommit);
 
+    // Iterate the diff indexes, which omit the reference index stripes that are identical in both
+    // commits, the complete indexes are only used for lookups by the callers.
     Iterator<StoreIndexElement<CommitOp>> fromIter =
-        fromIndex.iterator(start, end, diffQuery.prefetch());
+        indexesLogic
+            .buildDiffIndex(fromCommit, toCommit)
+            .iterator(start, end, diffQuery.prefetch());
     Iterator<StoreIndexElement<CommitOp>> toIter =
-        toIndex.iterator(start, end, diffQuery.prefetch());
+        indexesLogic
+            .buildDiffIndex(toCommit, fromCommit)
+            .iterator(start, end, diffQuery.prefetch());
 
     return new DiffEntryIter(fromIndex, toIndex, fromIter, toIter, diffQuery.filter());
   }
@@ -71,6 +71,24 @@ public interface IndexesLogic {
       @Nonnull @jakarta.annotation.Nonnull ObjId indexId,
       @Nonnull @jakarta.annotation.Nonnull ObjId commitId);
 
+  /**
+   * Builds an index of {@code commit} to compute the differences against {@code other}, both
+   * indexes are built using this function with swapped arguments.
+   *
+   * <p>Reference index stripes with the same {@link IndexStripe#segment() ID} in both commits are
+   * identical and are omitted, only the elements of these stripes whose keys are present in one of
+   * the incremental indexes are included. Iterating both indexes side by side yields the same
+   * differences as iterating both complete indexes, but does not load the identical stripes.
+   *
+   * <p>The returned index must only be used to compute differences, use {@link
+   * #buildCompleteIndexOrEmpty(CommitObj)} for lookups.
+   */
+  @Nonnull
+  @jakarta.annotation.Nonnull
+  StoreIndex<CommitOp> buildDiffIndex(
+      @Nullable @jakarta.annotation.Nullable CommitObj commit,
+      @Nullable @jakarta.annotation.Nullable CommitObj other);
+
   @Nonnull
   @jakarta.annotation.Nonnull
   StoreIndex<CommitOp> incrementalIndexForUpdate(
@@ -19,7 +19,9 @@ import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkState;
 import static java.lang.String.format;
 import static java.util.Objects.requireNonNull;
+import static org.projectnessie.versioned.storage.common.indexes.KeyBloomFilter.buildKeyBloomFilter;
 import static org.projectnessie.versioned.storage.common.indexes.StoreIndexes.deserializeStoreIndex;
+import static org.projectnessie.versioned.storage.common.indexes.StoreIndexes.emptyImmutableIndex;
 import static org.projectnessie.versioned.storage.common.indexes.StoreIndexes.indexFromSplits;
 import static org.projectnessie.versioned.storage.common.indexes.StoreIndexes.layeredIndex;
 import static org.projectnessie.versioned.storage.common.indexes.StoreIndexes.lazyStoreIndex;
@@ -35,6 +37,7 @@ import static org.projectnessie.versioned.storage.common.objtypes.CommitOp.commi
 import static org.projectnessie.versioned.storage.common.objtypes.IndexObj.index;
 import static org.projectnessie.versioned.storage.common.objtypes.IndexSegmentsObj.indexSegments;
 import static org.projectnessie.versioned.storage.common.objtypes.IndexStripe.indexStripe;
+import static org.projectnessie.versioned.storage.common.objtypes.PayloadCompression.compressPayload;
 import static org.projectnessie.versioned.storage.common.objtypes.StandardObjType.COMMIT;
 import static org.projectnessie.versioned.storage.common.objtypes.StandardObjType.INDEX;
 import static org.projectnessie.versioned.storage.common.persist.ObjId.EMPTY_OBJ_ID;
@@ -46,14 +49,18 @@ import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Deque;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.IntFunction;
 import java.util.function.Supplier;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import org.projectnessie.nessie.relocated.protobuf.ByteString;
+import org.projectnessie.versioned.storage.common.config.StoreConfig;
 import org.projectnessie.versioned.storage.common.exceptions.ObjNotFoundException;
 import org.projectnessie.versioned.storage.common.exceptions.ObjTooLargeException;
 import org.projectnessie.versioned.storage.common.indexes.IndexLoader;
@@ -241,6 +248,122 @@ final class IndexesLogicImpl implements IndexesLogic {
     return lazyStoreIndex(() -> loadReferenceIndex(indexId, commitId));
   }
 
+  @Override
+  @Nonnull
+  @jakarta.annotation.Nonnull
+  public StoreIndex<CommitOp> buildDiffIndex(
+      @Nullable @jakarta.annotation.Nullable CommitObj commit,
+      @Nullable @jakarta.annotation.Nullable CommitObj other) {
+    if (commit == null || other == null) {
+      return buildCompleteIndexOrEmpty(commit);
+    }
+    checkArgument(!commit.incompleteIndex(), "Commit %s has no complete key index", commit.id());
+    StoreIndex<CommitOp> referenceIndex = buildReferenceIndexOnly(commit);
+    if (referenceIndex == null || other.incompleteIndex()) {
+      return buildCompleteIndex(commit, Optional.empty());
+    }
+
+    // The part of the reference index that is not identical in both commits.
+    StoreIndex<CommitOp> differing;
+    List<IndexStripe> identical;
+    ObjId referenceIndexId = commit.referenceIndex();
+    if (referenceIndexId != null && referenceIndexId.equals(other.referenceIndex())) {
+      differing = emptyImmutableIndex(COMMIT_OP_SERIALIZER);
+      identical = null;
+    } else {
+      List<IndexStripe> stripes = referenceIndexStripes(commit);
+      List<IndexStripe> otherStripes = referenceIndexStripes(other);
+      if (stripes == null || otherStripes == null) {
+        return buildCompleteIndex(commit, Optional.empty());
+      }
+      Set<ObjId> otherSegments = new HashSet<>();
+      for (IndexStripe stripe : otherStripes) {
+        otherSegments.add(stripe.segment());
+      }
+      List<IndexStripe> differingStripes = new ArrayList<>(stripes.size());
+      identical = new ArrayList<>(stripes.size());
+      for (IndexStripe stripe : stripes) {
+        if (otherSegments.contains(stripe.segment())) {
+          identical.add(stripe);
+        } else {
+          differingStripes.add(stripe);
+        }
+      }
+      if (identical.isEmpty()) {
+        return buildCompleteIndex(commit, Optional.empty());
+      }
+      LOGGER.debug(
+          "Diff of commit {} against {} skips {} of {} reference index stripes",
+          commit.id(),
+          other.id(),
+          identical.size(),
+          stripes.size());
+      differing =
+          differingStripes.isEmpty()
+              ? emptyImmutableIndex(COMMIT_OP_SERIALIZER)
+              : referenceIndexFromStripes(differingStripes, commit.id());
+    }
+
+    // Keys changed by the other commit's incremental index, which are in an identical part of the
+    // reference index, must be present in both diff indexes.
+    StoreIndex<CommitOp> incremental = incrementalIndexFromCommit(commit);
+    StoreIndex<CommitOp> identicalChanged = newStoreIndex(COMMIT_OP_SERIALIZER);
+    for (StoreIndexElement<CommitOp> el : incrementalIndexFromCommit(other)) {
+      StoreKey key = el.key();
+      if (!incremental.contains(key) && (identical == null || containsKey(identical, key))) {
+        StoreIndexElement<CommitOp> referenceElement = referenceIndex.get(key);
+        if (referenceElement != null) {
+          identicalChanged.add(referenceElement);
+        }
+      }
+    }
+
+    return layeredIndex(layeredIndex(differing, identicalChanged), incremental);
+  }
+
+  /**
+   * Returns the stripes of the reference index of the given commit without loading the stripes,
+   * or {@code null}, if the commit has no striped reference index.
+   */
+  @Nullable
+  @jakarta.annotation.Nullable
+  private List<IndexStripe> referenceIndexStripes(CommitObj commit) {
+    List<IndexStripe> commitStripes = commit.referenceIndexStripes();
+    if (!commitStripes.isEmpty()) {
+      return commitStripes;
+    }
+    ObjId referenceIndexId = commit.referenceIndex();
+    if (referenceIndexId == null) {
+      return null;
+    }
+    Obj keyIndex;
+    try {
+      keyIndex = persist.fetchObj(referenceIndexId);
+    } catch (ObjNotFoundException e) {
+      throw new IllegalStateException(
+          format("Commit %s references a reference index, which does not exist", referenceIndexId));
+    }
+    return keyIndex instanceof IndexSegmentsObj ? ((IndexSegmentsObj) keyIndex).stripes() : null;
+  }
+
+  /** Checks whether {@code key} is within one of the given, ordered stripes. */
+  private static boolean containsKey(List<IndexStripe> stripes, StoreKey key) {
+    int low = 0;
+    int high = stripes.size() - 1;
+    while (low <= high) {
+      int mid = (low + high) >>> 1;
+      IndexStripe stripe = stripes.get(mid);
+      if (key.compareTo(stripe.firstKey()) < 0) {
+        high = mid - 1;
+      } else if (key.compareTo(stripe.lastKey()) > 0) {
+        low = mid + 1;
+      } else {
+        return true;
+      }
+    }
+    return false;
+  }
+
   private StoreIndex<CommitOp> loadReferenceIndex(
       @Nonnull @jakarta.annotation.Nonnull ObjId indexId,
       @Nonnull @jakarta.annotation.Nonnull ObjId commitId) {
@@ -273,6 +396,14 @@ final class IndexesLogicImpl implements IndexesLogic {
     return deserializeStoreIndex(serialized, COMMIT_OP_SERIALIZER);
   }
 
+  /**
+   * Serializes the given index, compressed according to {@link StoreConfig#indexCompression()}.
+   */
+  static ByteString serializeIndex(StoreIndex<CommitOp> index, StoreConfig config) {
+    return compressPayload(
+        index.serialize(), config.indexCompression(), config.indexCompressionMinSize());
+  }
+
   private StoreIndex<CommitOp> loadIndexSegment(
       @Nonnull @jakarta.annotation.Nonnull ObjId indexId) {
     IndexObj index;
@@ -331,7 +462,8 @@ final class IndexesLogicImpl implements IndexesLogic {
                     return l;
                   },
                   s.firstKey(),
-                  s.lastKey())
+                  s.lastKey(),
+                  s.keyFilter())
               .setObjId(s.segment()));
       firstLastKeys.add(s.firstKey());
       firstLastKeys.add(s.lastKey());
@@ -418,6 +550,7 @@ final class IndexesLogicImpl implements IndexesLogic {
   private List<IndexStripe> buildIndexStripes(
       List<StoreIndex<CommitOp>> stripes, List<Obj> toStore) {
     List<IndexStripe> indexStripes = new ArrayList<>(stripes.size());
+    double keyFilterFpp = persist.config().indexStripeKeyFilterFpp();
     for (StoreIndex<CommitOp> indexSegment : stripes) {
       ObjId segId;
       if (!indexSegment.isModified()) {
@@ -425,7 +558,7 @@ final class IndexesLogicImpl implements IndexesLogic {
             requireNonNull(
                 indexSegment.getObjId(), "Loaded index segment does not contain its ObjId");
       } else {
-        IndexObj segment = index(indexSegment.serialize());
+        IndexObj segment = index(serializeIndex(indexSegment, persist.config()));
         toStore.add(segment);
         segId = segment.id();
       }
@@ -434,7 +567,16 @@ final class IndexesLogicImpl implements IndexesLogic {
       StoreKey last = indexSegment.last();
       checkState(first != null && last != null);
 
-      indexStripes.add(indexStripe(first, last, segId));
+      ByteString keyFilter = null;
+      if (keyFilterFpp > 0d) {
+        // Not loaded stripes are not modified, reuse the key filter of the existing stripe.
+        keyFilter =
+            indexSegment.isLoaded()
+                ? buildKeyBloomFilter(indexSegment, keyFilterFpp)
+                : indexSegment.keyFilter();
+      }
+
+      indexStripes.add(indexStripe(first, last, segId, keyFilter));
     }
 
     return indexStripes;
@@ -445,7 +587,7 @@ final class IndexesLogicImpl implements IndexesLogic {
       return requireNonNull(
           indexSegment.getObjId(), "Loaded index segment does not contain its ObjId");
     }
-    IndexObj segment = index(indexSegment.serialize());
+    IndexObj segment = index(serializeIndex(indexSegment, persist.config()));
     persist.storeObj(segment);
     return segment.id();
   }
@@ -501,6 +643,8 @@ final class IndexesLogicImpl implements IndexesLogic {
 
     // perform a bulk-load against the database, populates the cache
     persist.fetchObjs(prefetchIds.apply(0));
+    // read-ahead the next batch of commits, while the current batch is being processed
+    CompletableFuture<?> readAhead = readAhead(prefetchIds, 100, totalCommits);
 
     CommitObj current = persist.fetchTypedObj(oldestCommitId, COMMIT, CommitObj.class);
     CommitObj parent =
@@ -512,8 +656,9 @@ final class IndexesLogicImpl implements IndexesLogic {
 
     for (int i = 0; i < totalCommits; i++) {
       if (i > 0 && (i % 100) == 0) {
-        // perform a bulk-load against the database, populates the cache
-        persist.fetchObjs(prefetchIds.apply(i));
+        // wait for the read-ahead of the current batch, which populates the cache
+        readAhead.join();
+        readAhead = readAhead(prefetchIds, i + 100, totalCommits);
       }
 
       ObjId currentId = commitsToUpdate.get(i);
@@ -558,7 +703,7 @@ final class IndexesLogicImpl implements IndexesLogic {
               .incompleteIndex(false)
               .referenceIndex(referenceIndex)
               .referenceIndexStripes(indexStripes)
-              .incrementalIndex(newIndex.serialize());
+              .incrementalIndex(serializeIndex(newIndex, persist.config()));
 
       if (parent != null) {
         int parents = Math.min(parentsPerCommit - 1, parent.tail().size());
@@ -573,6 +718,22 @@ final class IndexesLogicImpl implements IndexesLogic {
     }
   }
 
+  /**
+   * Asynchronously fetches the commits starting at {@code offset}, the returned future never
+   * completes exceptionally, failures surface when the commits are actually fetched.
+   */
+  private CompletableFuture<?> readAhead(
+      IntFunction<ObjId[]> prefetchIds, int offset, int totalCommits) {
+    if (offset >= totalCommits) {
+      return CompletableFuture.completedFuture(null);
+    }
+    return persist
+        .async()
+        .fetchObjsAsync(prefetchIds.apply(offset))
+        .toCompletableFuture()
+        .handle((objs, failure) -> null);
+  }
+
   @VisibleForTesting
   List<ObjId> findCommitsWithIncompleteIndex(@Nonnull @jakarta.annotation.Nonnull ObjId commitId) {
     ArrayList<ObjId> commitsToUpdate = new ArrayList<>();
@@ -26,10 +26,13 @@ import static org.projectnessie.versioned.storage.common.persist.ObjId.EMPTY_OBJ
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.PriorityQueue;
+import java.util.Set;
 import java.util.function.Function;
 import java.util.stream.Stream;
 import org.agrona.collections.Object2ObjectHashMap;
@@ -43,11 +46,37 @@ import org.projectnessie.versioned.storage.common.persist.ObjId;
  *
  * <p>This class also supports finding the base commit for N-way merges, although N-way merges are
  * not implemented for Nessie (yet).
+ *
+ * <p>If {@link #prefetchDepth()} is greater than {@code 0}, commits are loaded in batches via
+ * {@link #loadCommits()}: a batch contains the requested commit plus the not yet loaded {@link
+ * CommitObj#tail() tail entries} of the commits on <em>all</em> frontiers, so that the frontiers
+ * of both the from- and the target-commit advance with a single bulk load. Tail entries that are
+ * older than an already identified merge-base candidate are not prefetched.
  */
 @Value.Immutable
 public abstract class MergeBase {
   public abstract Function<ObjId, CommitObj> loadCommit();
 
+  /**
+   * Loads multiple commits at once, the returned array has the same length as the given array and
+   * contains {@code null} elements for commits that do not exist. Defaults to using {@link
+   * #loadCommit()} for each element.
+   */
+  @Value.Default
+  public Function<ObjId[], CommitObj[]> loadCommits() {
+    Function<ObjId, CommitObj> loadCommit = loadCommit();
+    return ids -> Arrays.stream(ids).map(loadCommit).toArray(CommitObj[]::new);
+  }
+
+  /**
+   * Maximum number of {@link CommitObj#tail() tail entries} per commit to load ahead via {@link
+   * #loadCommits()}, defaults to {@code 0}, which disables batched loading.
+   */
+  @Value.Default
+  public int prefetchDepth() {
+    return 0;
+  }
+
   public abstract ObjId targetCommitId();
 
   public abstract ObjId fromCommitId();
@@ -135,6 +164,7 @@ public abstract class MergeBase {
         if (commit.setResult()) {
           // A new result commit
           result.add(commit);
+          prefetchMinSeq = Math.max(prefetchMinSeq, commit.seq());
         }
         // Populate the CANDIDATE flag "down".
         reachabilityFlags |= CANDIDATE;
@@ -146,6 +176,9 @@ public abstract class MergeBase {
       parentCommits(commit)
           .filter(parent -> parent.setAllFlagsIfAnyMissing(reachabilityFlagsFinal))
           .forEach(queue::add);
+
+      // The parents of 'commit' are loaded, no need to keep its tail entries as prefetch hints.
+      tailHints.remove(commit.id());
     }
 
     return result;
@@ -300,35 +333,114 @@ public abstract class MergeBase {
   }
 
   private Stream<ShallowCommit> parentCommits(ShallowCommit commit) {
-    return Arrays.stream(commit.parents()).map(this::shallowCommit).filter(Objects::nonNull);
+    return Arrays.stream(commit.parents())
+        .map(parent -> shallowCommit(parent, commit))
+        .filter(Objects::nonNull);
   }
 
   private ShallowCommit shallowCommit(ObjId objId) {
+    return shallowCommit(objId, null);
+  }
+
+  private ShallowCommit shallowCommit(ObjId objId, ShallowCommit child) {
     if (EMPTY_OBJ_ID.equals(objId)) {
       return null;
     }
-    return commits.computeIfAbsent(
-        objId,
-        id -> {
-          CommitObj commit = loadCommit().apply(id);
-          if (commit == null) {
-            throw new NoSuchElementException("Commit '" + id + "' not found");
-          }
-          ObjId[] parents;
-          if (respectMergeParents()) {
-            List<ObjId> secondary = commit.secondaryParents();
-            parents = new ObjId[1 + secondary.size()];
-            int end = parents.length - 1;
-            for (int i = 0; i < end; i++) {
-              parents[i] = secondary.get(i);
-            }
-            parents[end] = commit.directParent();
-          } else {
-            parents = new ObjId[] {commit.directParent()};
-          }
-          return new ShallowCommit(commit.id(), parents, commit.seq());
-        });
+    ShallowCommit shallowCommit = commits.get(objId);
+    if (shallowCommit == null) {
+      if (prefetchDepth() > 0) {
+        prefetch(objId, child);
+        shallowCommit = commits.get(objId);
+      } else {
+        CommitObj commit = loadCommit().apply(objId);
+        shallowCommit = commit != null ? addCommit(commit) : null;
+      }
+      if (shallowCommit == null) {
+        throw new NoSuchElementException("Commit '" + objId + "' not found");
+      }
+    }
+    return shallowCommit;
+  }
+
+  /**
+   * Loads the commit with the given ID, the tail entries of its child commit and the tail entries
+   * of all other loaded commits whose parents have not been loaded yet, via a single bulk load.
+   */
+  private void prefetch(ObjId objId, ShallowCommit child) {
+    int maxBatchSize = 2 * prefetchDepth() + 1;
+    Set<ObjId> ids = new LinkedHashSet<>();
+    ids.add(objId);
+    if (child != null) {
+      collectTailHints(ids, child.id(), child.seq(), maxBatchSize);
+    }
+    for (Map.Entry<ObjId, ObjId[]> hints : tailHints.entrySet()) {
+      if (ids.size() >= maxBatchSize) {
+        break;
+      }
+      ShallowCommit commit = commits.get(hints.getKey());
+      collectTailHints(ids, commit.id(), commit.seq(), maxBatchSize);
+    }
+
+    CommitObj[] loaded = loadCommits().apply(ids.toArray(new ObjId[0]));
+    for (CommitObj commit : loaded) {
+      if (commit != null && !commits.containsKey(commit.id())) {
+        addCommit(commit);
+      }
+    }
+  }
+
+  private void collectTailHints(Set<ObjId> ids, ObjId commitId, long seq, int maxBatchSize) {
+    ObjId[] tail = tailHints.get(commitId);
+    if (tail == null) {
+      return;
+    }
+    for (int i = 0; i < tail.length && ids.size() < maxBatchSize; i++) {
+      // 'tail[i]' is the (i+1)th direct predecessor of the commit, so its 'seq' is known without
+      // loading it. No need to prefetch commits that are older than a merge-base candidate.
+      if (seq - 1 - i < prefetchMinSeq) {
+        break;
+      }
+      ObjId id = tail[i];
+      if (!EMPTY_OBJ_ID.equals(id) && !commits.containsKey(id)) {
+        ids.add(id);
+      }
+    }
+  }
+
+  private ShallowCommit addCommit(CommitObj commit) {
+    ObjId[] parents;
+    if (respectMergeParents()) {
+      List<ObjId> secondary = commit.secondaryParents();
+      parents = new ObjId[1 + secondary.size()];
+      int end = parents.length - 1;
+      for (int i = 0; i < end; i++) {
+        parents[i] = secondary.get(i);
+      }
+      parents[end] = commit.directParent();
+    } else {
+      parents = new ObjId[] {commit.directParent()};
+    }
+    ShallowCommit shallowCommit = new ShallowCommit(commit.id(), parents, commit.seq());
+    commits.put(commit.id(), shallowCommit);
+
+    int prefetchDepth = prefetchDepth();
+    if (prefetchDepth > 0) {
+      List<ObjId> tail = commit.tail();
+      tailHints.put(
+          commit.id(), tail.subList(0, Math.min(prefetchDepth, tail.size())).toArray(new ObjId[0]));
+    }
+
+    return shallowCommit;
   }
 
   private final Object2ObjectHashMap<ObjId, ShallowCommit> commits = new Object2ObjectHashMap<>();
+
+  /**
+   * Tail entries of the loaded commits whose parents have not been loaded yet, only maintained if
+   * {@link #prefetchDepth()} is greater than {@code 0}.
+   */
+  private final Object2ObjectHashMap<ObjId, ObjId[]> tailHints = new Object2ObjectHashMap<>();
+
+  /** Highest {@code seq} of the merge-base candidates found so far. */
+  private long prefetchMinSeq = Long.MIN_VALUE;
 }
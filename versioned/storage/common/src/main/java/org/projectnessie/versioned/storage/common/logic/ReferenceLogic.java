@@ -53,6 +53,29 @@ public interface ReferenceLogic {
     return ref;
   }
 
+  /**
+   * Like {@link #getReferences(List)}, but always returns the current state of the references,
+   * bypassing a reference cache. Use this function when the returned references are used to update
+   * the references or for checks that require strong consistency.
+   */
+  @Nonnull
+  @jakarta.annotation.Nonnull
+  List<Reference> getReferencesForUpdate(
+      @Nonnull @jakarta.annotation.Nonnull List<String> references);
+
+  /** Like {@link #getReference(String)}, but see {@link #getReferencesForUpdate(List)}. */
+  @Nonnull
+  @jakarta.annotation.Nonnull
+  default Reference getReferenceForUpdate(@Nonnull @jakarta.annotation.Nonnull String name)
+      throws RefNotFoundException {
+    List<Reference> refs = getReferencesForUpdate(Collections.singletonList(name));
+    Reference ref = refs.get(0);
+    if (ref == null) {
+      throw new RefNotFoundException(name);
+    }
+    return ref;
+  }
+
   /**
    * Performs the query against existing references according to the given {@link ReferencesQuery},
    * which should really depend on the serialized result of the query result in a "public API".
@@ -77,6 +100,21 @@ public interface ReferenceLogic {
       @Nullable @jakarta.annotation.Nullable ObjId extendedInfoObj)
       throws RefAlreadyExistsException, RetryTimeoutException;
 
+  /**
+   * Creates multiple references like {@link #createReference(String, ObjId, ObjId)}, but records
+   * all new references using a single commit to the internal references index.
+   *
+   * @param references names, pointers and extended information objects of the references to
+   *     create, names must be unique
+   * @return for each element in {@code references}, in the same order, either the created
+   *     reference or a {@link RefAlreadyExistsException}
+   */
+  @Nonnull
+  @jakarta.annotation.Nonnull
+  List<ReferenceResult> createReferences(
+      @Nonnull @jakarta.annotation.Nonnull List<ReferenceSpec> references)
+      throws RetryTimeoutException;
+
   /**
    * Deletes a reference.
    *
@@ -88,6 +126,21 @@ public interface ReferenceLogic {
       @Nonnull @jakarta.annotation.Nonnull ObjId expectedPointer)
       throws RefNotFoundException, RefConditionFailedException, RetryTimeoutException;
 
+  /**
+   * Deletes multiple references like {@link #deleteReference(String, ObjId)}, but records all
+   * reference deletions using a single commit to the internal references index.
+   *
+   * @param references names and expected pointers of the references to delete, names must be
+   *     unique
+   * @return for each element in {@code references}, in the same order, either the deleted
+   *     reference or a {@link RefNotFoundException} or {@link RefConditionFailedException}
+   */
+  @Nonnull
+  @jakarta.annotation.Nonnull
+  List<ReferenceResult> deleteReferences(
+      @Nonnull @jakarta.annotation.Nonnull List<ReferenceSpec> references)
+      throws RetryTimeoutException;
+
   /**
    * Atomically updates the given reference's {@link Reference#pointer()} to the new value, if and
    * only if the current persisted reference is not marked as {@link Reference#deleted()} and {@link
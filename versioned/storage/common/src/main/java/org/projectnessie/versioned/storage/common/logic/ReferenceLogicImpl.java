@@ -18,7 +18,9 @@ package org.projectnessie.versioned.storage.common.logic;
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 import static com.google.common.base.Preconditions.checkState;
+import static com.google.common.collect.Sets.newHashSetWithExpectedSize;
 import static java.lang.String.format;
+import static java.util.Arrays.asList;
 import static java.util.Collections.emptyIterator;
 import static java.util.Collections.emptyList;
 import static java.util.Objects.requireNonNull;
@@ -54,6 +56,7 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.function.Supplier;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -70,11 +73,13 @@ import org.projectnessie.versioned.storage.common.indexes.StoreIndex;
 import org.projectnessie.versioned.storage.common.indexes.StoreIndexElement;
 import org.projectnessie.versioned.storage.common.indexes.StoreKey;
 import org.projectnessie.versioned.storage.common.logic.CommitRetry.RetryException;
+import org.projectnessie.versioned.storage.common.objtypes.CommitHeaders;
 import org.projectnessie.versioned.storage.common.objtypes.CommitObj;
 import org.projectnessie.versioned.storage.common.objtypes.CommitOp;
 import org.projectnessie.versioned.storage.common.objtypes.CommitOp.Action;
 import org.projectnessie.versioned.storage.common.objtypes.CommitType;
 import org.projectnessie.versioned.storage.common.objtypes.RefObj;
+import org.projectnessie.versioned.storage.common.persist.Obj;
 import org.projectnessie.versioned.storage.common.persist.ObjId;
 import org.projectnessie.versioned.storage.common.persist.Persist;
 import org.projectnessie.versioned.storage.common.persist.Reference;
@@ -143,6 +148,11 @@ import org.slf4j.LoggerFactory;
  * (or {@link Persist#fetchReferences(String[])}) and follows the resume/recovery process described
  * below.
  *
+ * <p>Those functions may return slightly stale references, if a reference cache is configured.
+ * Operations that update references, perform consistency checks or resume/recover a reference use
+ * {@link Persist#fetchReferenceForUpdate(String)} (or {@link
+ * Persist#fetchReferencesForUpdate(String[])}), which always return the current state.
+ *
  * <h3>Listing references</h3>
  *
  * Listing/querying references is performed via the tip of {@link InternalRef#REF_REFS} and then
@@ -188,6 +198,18 @@ final class ReferenceLogicImpl implements ReferenceLogic {
   @jakarta.annotation.Nonnull
   public List<Reference> getReferences(
       @Nonnull @jakarta.annotation.Nonnull List<String> references) {
+    return getReferences(references, false);
+  }
+
+  @Override
+  @Nonnull
+  @jakarta.annotation.Nonnull
+  public List<Reference> getReferencesForUpdate(
+      @Nonnull @jakarta.annotation.Nonnull List<String> references) {
+    return getReferences(references, true);
+  }
+
+  private List<Reference> getReferences(List<String> references, boolean forUpdate) {
     int refCount = references.size();
     String[] refsArray;
     int refRefsIndex = references.indexOf(REF_REFS.name());
@@ -198,7 +220,10 @@ final class ReferenceLogicImpl implements ReferenceLogic {
       refRefsIndex = references.size();
       refsArray[refRefsIndex] = REF_REFS.name();
     }
-    Reference[] refs = persist.fetchReferences(refsArray);
+    Reference[] refs =
+        forUpdate
+            ? persist.fetchReferencesForUpdate(refsArray)
+            : persist.fetchReferences(refsArray);
 
     Supplier<SuppliedCommitIndex> refsIndexSupplier = createRefsIndexSupplier(refs[refRefsIndex]);
 
@@ -206,7 +231,13 @@ final class ReferenceLogicImpl implements ReferenceLogic {
     for (int i = 0; i < refCount; i++) {
       Reference ref = refs[i];
 
-      ref = maybeRecover(references.get(i), ref, refsIndexSupplier);
+      if (!forUpdate && ref != null && ref.deleted()) {
+        // Recovery must not act on a possibly stale, cached state of a reference.
+        ref = persist.fetchReferenceForUpdate(ref.name());
+        ref = maybeRecover(references.get(i), ref, createRefsIndexSupplier());
+      } else {
+        ref = maybeRecover(references.get(i), ref, refsIndexSupplier);
+      }
 
       if (ref != null && ref.name().startsWith(INTERNAL_PREFIX)) {
         // do not expose internal references
@@ -290,6 +321,10 @@ final class ReferenceLogicImpl implements ReferenceLogic {
       List<Reference> refsList = new ArrayList<>(refs.length);
       for (int i = 0; i < refs.length; i++) {
         Reference ref = refs[i];
+        if (ref != null && ref.deleted()) {
+          // Recovery must not act on a possibly stale, cached state of a reference.
+          ref = persist.fetchReferenceForUpdate(ref.name());
+        }
         ref = maybeRecover(referencesBatch.get(i), ref, () -> index);
         if (ref != null) {
           refsList.add(ref);
@@ -324,52 +359,119 @@ final class ReferenceLogicImpl implements ReferenceLogic {
     while (true) {
       CommitReferenceResult commitToIndex =
           commitCreateReference(name, pointer, extendedInfoObj, refCreatedTimestamp);
-      Reference created = commitToIndex.created;
-      Reference existing;
-
-      LOGGER.debug(
-          "Committed create reference {} with outcome {}, existing is {}",
-          created,
-          commitToIndex.kind,
-          commitToIndex.existing);
-
-      switch (commitToIndex.kind) {
-        case ADDED_TO_INDEX:
-          checkState(!created.deleted(), "internal error");
-          try {
-            return persist.addReference(created);
-          } catch (RefAlreadyExistsException e) {
-            // Reference recovery logic might have kicked in and added the reference. It that's the
-            // case, just return it.
-            existing = e.reference();
-            if (Objects.equals(created, existing)) {
-              break;
-            }
-            // Might happen in a rare race
-            throw e;
+      Reference reference = addCommittedReference(name, commitToIndex);
+      if (reference != null) {
+        return reference;
+      }
+    }
+  }
+
+  @Override
+  @Nonnull
+  @jakarta.annotation.Nonnull
+  public List<ReferenceResult> createReferences(
+      @Nonnull @jakarta.annotation.Nonnull List<ReferenceSpec> references)
+      throws RetryTimeoutException {
+    checkUniqueNames(references);
+
+    ReferenceResult[] results = new ReferenceResult[references.size()];
+    List<Integer> pending = new ArrayList<>(references.size());
+    for (int i = 0; i < references.size(); i++) {
+      pending.add(i);
+    }
+
+    long refCreatedTimestamp = persist.config().currentTimeMicros();
+    while (!pending.isEmpty()) {
+      List<ReferenceSpec> specs = new ArrayList<>(pending.size());
+      for (Integer i : pending) {
+        specs.add(references.get(i));
+      }
+      List<CommitReferenceResult> commitResults =
+          commitCreateReferences(specs, refCreatedTimestamp);
+
+      List<Integer> retry = new ArrayList<>();
+      for (int i = 0; i < specs.size(); i++) {
+        int index = pending.get(i);
+        try {
+          Reference reference = addCommittedReference(specs.get(i).name(), commitResults.get(i));
+          if (reference != null) {
+            results[index] = ReferenceResult.referenceResult(reference);
+          } else {
+            retry.add(index);
           }
-        case REF_ROW_MISSING:
-          existing = commitToIndex.existing;
-          checkState(!existing.deleted(), "internal error");
-          // Note: addReference() may or may not throw a ReferenceAlreadyExistsException
-          existing = persist.addReference(existing);
-          throw new RefAlreadyExistsException(existing);
-        case REF_ROW_EXISTS:
+        } catch (RefAlreadyExistsException e) {
+          results[index] = ReferenceResult.referenceFailure(e);
+        }
+      }
+      pending = retry;
+    }
+
+    return asList(results);
+  }
+
+  /**
+   * Adds the reference row for a reference that has been committed to {@link
+   * InternalRef#REF_REFS}, or resolves the outcome for a reference that is already present in
+   * {@link InternalRef#REF_REFS}.
+   *
+   * @return the created reference or {@code null}, if the reference creation must be retried
+   */
+  private Reference addCommittedReference(String name, CommitReferenceResult commitToIndex)
+      throws RefAlreadyExistsException {
+    Reference created = commitToIndex.created;
+    Reference existing;
+
+    LOGGER.debug(
+        "Committed create reference {} with outcome {}, existing is {}",
+        created,
+        commitToIndex.kind,
+        commitToIndex.existing);
+
+    switch (commitToIndex.kind) {
+      case ADDED_TO_INDEX:
+        checkState(!created.deleted(), "internal error");
+        try {
+          return persist.addReference(created);
+        } catch (RefAlreadyExistsException e) {
           // Reference recovery logic might have kicked in and added the reference. It that's the
           // case, just return it.
-          existing = commitToIndex.existing;
-          if (created.equals(existing)) {
-            return existing;
-          }
-          if (!existing.deleted()) {
-            throw new RefAlreadyExistsException(existing);
+          existing = e.reference();
+          if (Objects.equals(created, existing)) {
+            return null;
           }
-          maybeRecover(name, existing, createRefsIndexSupplier());
-          // try again
-          break;
-        default:
-          throw new IllegalStateException();
-      }
+          // Might happen in a rare race
+          throw e;
+        }
+      case REF_ROW_MISSING:
+        existing = commitToIndex.existing;
+        checkState(!existing.deleted(), "internal error");
+        // Note: addReference() may or may not throw a ReferenceAlreadyExistsException
+        existing = persist.addReference(existing);
+        throw new RefAlreadyExistsException(existing);
+      case REF_ROW_EXISTS:
+        // Reference recovery logic might have kicked in and added the reference. It that's the
+        // case, just return it.
+        existing = commitToIndex.existing;
+        if (created.equals(existing)) {
+          return existing;
+        }
+        if (!existing.deleted()) {
+          throw new RefAlreadyExistsException(existing);
+        }
+        maybeRecover(name, existing, createRefsIndexSupplier());
+        // try again
+        return null;
+      default:
+        throw new IllegalStateException();
+    }
+  }
+
+  private static void checkUniqueNames(List<ReferenceSpec> references) {
+    Set<String> names = newHashSetWithExpectedSize(references.size());
+    for (ReferenceSpec reference : references) {
+      checkArgument(!isInternalReferenceName(reference.name()));
+      checkArgument(
+          names.add(reference.name()), "Duplicate reference name %s", reference.name());
     }
   }
 
@@ -380,7 +482,67 @@ final class ReferenceLogicImpl implements ReferenceLogic {
       throws RefNotFoundException, RefConditionFailedException, RetryTimeoutException {
     checkArgument(!isInternalReferenceName(name));
 
-    Reference reference = persist.fetchReference(name);
+    Reference reference = markReferenceAsDeleted(name, expectedPointer);
+
+    LOGGER.debug("Commit deleted reference {}", reference);
+    commitDeleteReference(reference, null);
+    LOGGER.debug("Committed deleted reference {}", reference);
+
+    purgeDeletedReference(reference, expectedPointer);
+  }
+
+  @Override
+  @Nonnull
+  @jakarta.annotation.Nonnull
+  public List<ReferenceResult> deleteReferences(
+      @Nonnull @jakarta.annotation.Nonnull List<ReferenceSpec> references)
+      throws RetryTimeoutException {
+    checkUniqueNames(references);
+
+    ReferenceResult[] results = new ReferenceResult[references.size()];
+    Reference[] marked = new Reference[references.size()];
+    List<Reference> toCommit = new ArrayList<>(references.size());
+    for (int i = 0; i < references.size(); i++) {
+      ReferenceSpec spec = references.get(i);
+      try {
+        marked[i] = markReferenceAsDeleted(spec.name(), spec.pointer());
+        toCommit.add(marked[i]);
+      } catch (RefNotFoundException | RefConditionFailedException e) {
+        results[i] = ReferenceResult.referenceFailure(e);
+      }
+    }
+
+    if (!toCommit.isEmpty()) {
+      LOGGER.debug("Commit deleted references {}", toCommit);
+      commitDeleteReferences(toCommit);
+      LOGGER.debug("Committed deleted references {}", toCommit);
+    }
+
+    for (int i = 0; i < references.size(); i++) {
+      Reference reference = marked[i];
+      if (reference != null) {
+        try {
+          purgeDeletedReference(reference, references.get(i).pointer());
+          results[i] = ReferenceResult.referenceResult(reference);
+        } catch (RefNotFoundException | RefConditionFailedException e) {
+          results[i] = ReferenceResult.referenceFailure(e);
+        }
+      }
+    }
+
+    return asList(results);
+  }
+
+  /**
+   * First step of deleting a reference: checks the expected pointer, performs recovery if
+   * necessary and marks the reference as deleted.
+   *
+   * @return the reference as fetched from the database, {@link Reference#deleted()} is {@code
+   *     true}, if a previous delete-reference operation failed
+   */
+  private Reference markReferenceAsDeleted(String name, ObjId expectedPointer)
+      throws RefNotFoundException, RefConditionFailedException {
+    Reference reference = persist.fetchReferenceForUpdate(name);
     Supplier<SuppliedCommitIndex> indexSupplier = null;
     if (reference == null) {
       StoreKey nameKey = key(name);
@@ -417,10 +579,15 @@ final class ReferenceLogicImpl implements ReferenceLogic {
       LOGGER.debug("Reference {} marked as deleted", reference);
     }
 
-    LOGGER.debug("Commit deleted reference {}", reference);
-    commitDeleteReference(reference, null);
-    LOGGER.debug("Committed deleted reference {}", reference);
+    return reference;
+  }
 
+  /**
+   * Last step of deleting a reference, after the deletion has been committed to {@link
+   * InternalRef#REF_REFS}: purges the reference row.
+   */
+  private void purgeDeletedReference(Reference reference, ObjId expectedPointer)
+      throws RefNotFoundException, RefConditionFailedException {
     try {
       persist.purgeReference(reference);
       LOGGER.debug("Reference {} purged", reference);
@@ -428,12 +595,12 @@ final class ReferenceLogicImpl implements ReferenceLogic {
       // deleted via "deletion recovery" - from another thread/process
     }
 
-    if (actAsAlreadyDeleted) {
+    if (reference.deleted()) {
       // A previous deleteReference failed, act as if the first one succeeded, therefore this
       // one would have not found the reference.
       throw new RefNotFoundException(
           reference(
-              name,
+              reference.name(),
               expectedPointer,
               false,
               reference.createdAtMicros(),
@@ -481,7 +648,7 @@ final class ReferenceLogicImpl implements ReferenceLogic {
       return commitRetry(
           persist,
           (p, retryState) -> {
-            Reference refRefs = requireNonNull(p.fetchReference(REF_REFS.name()));
+            Reference refRefs = requireNonNull(p.fetchReferenceForUpdate(REF_REFS.name()));
             RefObj ref = ref(name, pointer, refCreatedTimestamp, extendedInfoObj);
             try {
               p.storeObj(ref);
@@ -522,27 +689,7 @@ final class ReferenceLogicImpl implements ReferenceLogic {
       StoreIndexElement<CommitOp> el = indexSupplier.get().index().get(key(name));
       checkNotNull(el, "Key %s missing in index", name);
 
-      Reference existing = persist.fetchReference(name);
-
-      if (existing != null) {
-        return new CommitReferenceResult(reference, existing, REF_ROW_EXISTS);
-      }
-
-      RefObj ref;
-      try {
-        ref =
-            persist.fetchTypedObj(
-                requireNonNull(el.content().value(), "Reference commit operation has no value"),
-                REF,
-                RefObj.class);
-      } catch (ObjNotFoundException ex) {
-        throw new RuntimeException("Internal error getting reference creation object", e);
-      }
-      return new CommitReferenceResult(
-          reference,
-          reference(
-              name, ref.initialPointer(), false, ref.createdAtMicros(), ref.extendedInfoObj()),
-          REF_ROW_MISSING);
+      return existingReferenceResult(reference, el);
     } catch (CommitWrappedException e) {
       throw new RuntimeException(
           format(
@@ -552,6 +699,117 @@ final class ReferenceLogicImpl implements ReferenceLogic {
     }
   }
 
+  /**
+   * Bulk version of {@link #commitCreateReference(String, ObjId, ObjId, long)}, adds all
+   * references that are not present in {@link InternalRef#REF_REFS} using a single commit.
+   */
+  private List<CommitReferenceResult> commitCreateReferences(
+      List<ReferenceSpec> specs, long refCreatedTimestamp) throws RetryTimeoutException {
+    try {
+      return commitRetry(
+          persist,
+          (p, retryState) -> {
+            Reference refRefs = requireNonNull(p.fetchReferenceForUpdate(REF_REFS.name()));
+            StoreIndex<CommitOp> index = refRefsIndex(p, refRefs);
+
+            Instant now = persist.config().clock().instant();
+            CreateCommit.Builder c =
+                newCommitBuilder()
+                    .parentCommitId(refRefs.pointer())
+                    .commitType(CommitType.INTERNAL);
+            CommitHeaders.Builder headers = newCommitHeaders().add("operation", "create");
+            List<RefObj> refObjs = new ArrayList<>(specs.size());
+            @SuppressWarnings("unchecked")
+            StoreIndexElement<CommitOp>[] existing = new StoreIndexElement[specs.size()];
+
+            for (int i = 0; i < specs.size(); i++) {
+              ReferenceSpec spec = specs.get(i);
+              StoreKey k = key(spec.name());
+              StoreIndexElement<CommitOp> el = index.get(k);
+              if (el != null && el.content().action().exists()) {
+                existing[i] = el;
+                continue;
+              }
+
+              RefObj ref =
+                  ref(spec.name(), spec.pointer(), refCreatedTimestamp, spec.extendedInfoObj());
+              refObjs.add(ref);
+              c.addAdds(commitAdd(k, 0, requireNonNull(ref.id()), null, null));
+              headers.add("name", spec.name()).add("head", spec.pointer().toString());
+            }
+
+            if (!refObjs.isEmpty()) {
+              try {
+                p.storeObjs(refObjs.toArray(new Obj[0]));
+              } catch (ObjTooLargeException e) {
+                throw new RuntimeException(e);
+              }
+
+              c.message("Create " + refObjs.size() + " references")
+                  .headers(
+                      headers
+                          .add("timestamp", now.toString())
+                          .add("timestamp.millis", Long.toString(now.toEpochMilli()))
+                          .build());
+              commitReferenceChange(p, refRefs, c.build());
+            }
+
+            List<CommitReferenceResult> results = new ArrayList<>(specs.size());
+            for (int i = 0; i < specs.size(); i++) {
+              ReferenceSpec spec = specs.get(i);
+              Reference reference =
+                  reference(
+                      spec.name(),
+                      spec.pointer(),
+                      false,
+                      refCreatedTimestamp,
+                      spec.extendedInfoObj());
+              results.add(
+                  existing[i] != null
+                      ? existingReferenceResult(reference, existing[i])
+                      : new CommitReferenceResult(reference, null, ADDED_TO_INDEX));
+            }
+            return results;
+          });
+    } catch (CommitConflictException | CommitWrappedException e) {
+      throw new RuntimeException(
+          "An unexpected internal error happened while committing the creation of references", e);
+    }
+  }
+
+  /**
+   * Resolves the outcome of a reference creation for a reference name that is already present in
+   * {@link InternalRef#REF_REFS}.
+   */
+  private CommitReferenceResult existingReferenceResult(
+      Reference reference, StoreIndexElement<CommitOp> el) {
+    Reference existing = persist.fetchReferenceForUpdate(reference.name());
+
+    if (existing != null) {
+      return new CommitReferenceResult(reference, existing, REF_ROW_EXISTS);
+    }
+
+    RefObj ref;
+    try {
+      ref =
+          persist.fetchTypedObj(
+              requireNonNull(el.content().value(), "Reference commit operation has no value"),
+              REF,
+              RefObj.class);
+    } catch (ObjNotFoundException e) {
+      throw new RuntimeException("Internal error getting reference creation object", e);
+    }
+    return new CommitReferenceResult(
+        reference,
+        reference(
+            reference.name(),
+            ref.initialPointer(),
+            false,
+            ref.createdAtMicros(),
+            ref.extendedInfoObj()),
+        REF_ROW_MISSING);
+  }
+
   @VisibleForTesting // needed to simulate recovery scenarios
   // Note: commitForReference is for testing, to test race conditions
   void commitDeleteReference(Reference reference, ObjId expectedRefRefsHead)
@@ -560,7 +818,7 @@ final class ReferenceLogicImpl implements ReferenceLogic {
       commitRetry(
           persist,
           (p, retryState) -> {
-            Reference refRefs = requireNonNull(p.fetchReference(REF_REFS.name()));
+            Reference refRefs = requireNonNull(p.fetchReferenceForUpdate(REF_REFS.name()));
             if (expectedRefRefsHead != null && !refRefs.pointer().equals(expectedRefRefsHead)) {
               throw new RuntimeException(REF_REFS_ADVANCED);
             }
@@ -626,6 +884,71 @@ final class ReferenceLogicImpl implements ReferenceLogic {
     }
   }
 
+  /**
+   * Bulk version of {@link #commitDeleteReference(Reference, ObjId)}, removes all references that
+   * are present in {@link InternalRef#REF_REFS} using a single commit.
+   */
+  private void commitDeleteReferences(List<Reference> references) throws RetryTimeoutException {
+    try {
+      commitRetry(
+          persist,
+          (p, retryState) -> {
+            Reference refRefs = requireNonNull(p.fetchReferenceForUpdate(REF_REFS.name()));
+            StoreIndex<CommitOp> index = refRefsIndex(p, refRefs);
+
+            CreateCommit.Builder c =
+                newCommitBuilder()
+                    .parentCommitId(refRefs.pointer())
+                    .commitType(CommitType.INTERNAL);
+            CommitHeaders.Builder headers = newCommitHeaders().add("operation", "delete");
+            int removes = 0;
+
+            for (Reference reference : references) {
+              StoreKey key = key(reference.name());
+              StoreIndexElement<CommitOp> indexElement = index.get(key);
+              if (indexElement != null) {
+                CommitOp indexElementContent = indexElement.content();
+                if (indexElementContent.action().exists()) {
+                  c.addRemoves(
+                      commitRemove(
+                          key,
+                          0,
+                          requireNonNull(indexElementContent.value()),
+                          indexElementContent.contentId()));
+                  headers.add("name", reference.name()).add("head", reference.pointer().toString());
+                  removes++;
+                }
+              }
+            }
+
+            if (removes > 0) {
+              Instant now = persist.config().clock().instant();
+              c.message("Drop " + removes + " references")
+                  .headers(
+                      headers
+                          .add("timestamp", now.toString())
+                          .add("timestamp.millis", Long.toString(now.toEpochMilli()))
+                          .build());
+              commitReferenceChange(p, refRefs, c.build());
+            }
+
+            return null;
+          });
+    } catch (CommitConflictException | CommitWrappedException e) {
+      throw new RuntimeException(
+          "An unexpected internal error happened while committing the deletion of references", e);
+    }
+  }
+
+  private StoreIndex<CommitOp> refRefsIndex(Persist p, Reference refRefs) {
+    try {
+      CommitObj head = commitLogic(p).headCommit(refRefs);
+      return indexesLogic(p).buildCompleteIndexOrEmpty(head);
+    } catch (ObjNotFoundException e) {
+      throw new RuntimeException("Internal error getting reference creation log commit", e);
+    }
+  }
+
   private static void commitReferenceChange(Persist p, Reference refRefs, CreateCommit c)
       throws CommitConflictException, RetryException {
     CommitObj commit;
@@ -787,7 +1110,7 @@ final class ReferenceLogicImpl implements ReferenceLogic {
   }
 
   private boolean refRefsOutOfDate(SuppliedCommitIndex index) {
-    Reference refRefs = persist.fetchReference(REF_REFS.name());
+    Reference refRefs = persist.fetchReferenceForUpdate(REF_REFS.name());
     return !index.pointer().equals(requireNonNull(refRefs).pointer());
   }
 
@@ -796,7 +1119,7 @@ final class ReferenceLogicImpl implements ReferenceLogic {
     return indexesLogic(persist)
         .createIndexSupplier(
             () -> {
-              Reference ref = persist.fetchReference(REF_REFS.name());
+              Reference ref = persist.fetchReferenceForUpdate(REF_REFS.name());
               return ref != null ? ref.pointer() : EMPTY_OBJ_ID;
             });
   }
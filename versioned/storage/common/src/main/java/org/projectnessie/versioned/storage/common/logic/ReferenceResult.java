@@ -0,0 +1,56 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.common.logic;
+
+import static com.google.common.base.Preconditions.checkState;
+
+import javax.annotation.Nullable;
+import org.immutables.value.Value;
+import org.projectnessie.versioned.storage.common.exceptions.RefException;
+import org.projectnessie.versioned.storage.common.persist.Reference;
+
+/**
+ * Outcome for a single reference of a bulk operation of {@link ReferenceLogic}, either the
+ * successfully created or deleted {@link #reference()} or the {@link #failure()}, which is the
+ * exception that the corresponding single-reference operation would have thrown.
+ */
+@Value.Immutable
+public interface ReferenceResult {
+  @Value.Parameter(order = 1)
+  @Nullable
+  @jakarta.annotation.Nullable
+  Reference reference();
+
+  @Value.Parameter(order = 2)
+  @Nullable
+  @jakarta.annotation.Nullable
+  RefException failure();
+
+  @Value.Check
+  default void check() {
+    checkState(
+        (reference() == null) != (failure() == null),
+        "Exactly one of reference and failure must be present");
+  }
+
+  static ReferenceResult referenceResult(Reference reference) {
+    return ImmutableReferenceResult.of(reference, null);
+  }
+
+  static ReferenceResult referenceFailure(RefException failure) {
+    return ImmutableReferenceResult.of(null, failure);
+  }
+}
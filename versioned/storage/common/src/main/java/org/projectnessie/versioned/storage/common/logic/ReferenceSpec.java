@@ -0,0 +1,50 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.common.logic;
+
+import javax.annotation.Nullable;
+import org.immutables.value.Value;
+import org.projectnessie.versioned.storage.common.persist.ObjId;
+
+/**
+ * Name and pointer of a reference for the bulk operations of {@link ReferenceLogic}. For {@link
+ * ReferenceLogic#createReferences(java.util.List) reference creation} the pointer is the initial
+ * pointer, for {@link ReferenceLogic#deleteReferences(java.util.List) reference deletion} the
+ * expected pointer.
+ */
+@Value.Immutable
+public interface ReferenceSpec {
+  @Value.Parameter(order = 1)
+  String name();
+
+  @Value.Parameter(order = 2)
+  ObjId pointer();
+
+  /** Optional extended information object, only used when creating a reference. */
+  @Value.Parameter(order = 3)
+  @Nullable
+  @jakarta.annotation.Nullable
+  ObjId extendedInfoObj();
+
+  static ReferenceSpec referenceSpec(String name, ObjId pointer) {
+    return referenceSpec(name, pointer, null);
+  }
+
+  static ReferenceSpec referenceSpec(
+      String name, ObjId pointer, @Nullable @jakarta.annotation.Nullable ObjId extendedInfoObj) {
+    return ImmutableReferenceSpec.of(name, pointer, extendedInfoObj);
+  }
+}
@@ -62,7 +62,7 @@ final class StringLogicImpl implements StringLogic {
   @Override
   public StringValue fetchString(StringObj stringObj) {
     checkState(
-        stringObj.compression() == Compression.NONE,
+        stringObj.compression().isAvailable(),
         "Unsupported compression %s",
         stringObj.compression());
     checkState(
@@ -148,7 +148,12 @@ final class StringLogicImpl implements StringLogic {
 
     @Override
     public String completeValue() throws ObjNotFoundException {
-      return obj.text().toStringUtf8();
+      Compression compression = obj.compression();
+      if (compression == Compression.NONE) {
+        return obj.text().toStringUtf8();
+      }
+      return new String(
+          compression.decompress(obj.text().toByteArray()), StandardCharsets.UTF_8);
     }
 
     @Override
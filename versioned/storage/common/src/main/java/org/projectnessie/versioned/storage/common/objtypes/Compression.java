@@ -15,6 +15,25 @@
  */
 package org.projectnessie.versioned.storage.common.objtypes;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+import javax.annotation.Nullable;
+
+/**
+ * Compression algorithms for persisted data.
+ *
+ * <p>{@link #DEFLATE} uses the fastest compression level and is meant for latency sensitive data,
+ * {@link #GZIP} uses the default compression level. {@link #ZSTD} and {@link #LZ4} are recognized
+ * in persisted data, but not available, because no codec implementation is bundled.
+ */
 public enum Compression {
   NONE('N'),
   GZIP('G'),
@@ -48,4 +67,169 @@ public enum Compression {
   public char value() {
     return value;
   }
+
+  /** Whether data can be compressed and decompressed using this compression algorithm. */
+  public boolean isAvailable() {
+    return this == NONE || this == DEFLATE || this == GZIP;
+  }
+
+  /**
+   * Compresses the given data.
+   *
+   * @throws UnsupportedOperationException if the compression algorithm is not {@link
+   *     #isAvailable() available}
+   */
+  public byte[] compress(byte[] data) {
+    return compress(data, null);
+  }
+
+  /**
+   * Compresses the given data using a preset dictionary, which is only supported by {@link
+   * #DEFLATE}. The same dictionary must be passed to {@link #decompress(byte[], int, byte[])}.
+   *
+   * @param dictionary preset dictionary or {@code null}
+   * @throws UnsupportedOperationException if the compression algorithm is not {@link
+   *     #isAvailable() available}
+   */
+  public byte[] compress(byte[] data, @Nullable @jakarta.annotation.Nullable byte[] dictionary) {
+    checkDictionary(dictionary);
+    switch (this) {
+      case NONE:
+        return data;
+      case DEFLATE:
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED, true);
+        try {
+          if (dictionary != null) {
+            deflater.setDictionary(dictionary);
+          }
+          deflater.setInput(data);
+          deflater.finish();
+          ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 2 + 16);
+          byte[] buffer = new byte[8192];
+          while (!deflater.finished()) {
+            int n = deflater.deflate(buffer);
+            out.write(buffer, 0, n);
+          }
+          return out.toByteArray();
+        } finally {
+          deflater.end();
+        }
+      case GZIP:
+        try {
+          ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 2 + 32);
+          try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(data);
+          }
+          return out.toByteArray();
+        } catch (IOException e) {
+          throw new UncheckedIOException(e);
+        }
+      default:
+        throw unavailable();
+    }
+  }
+
+  /**
+   * Decompresses the given data, which must have been compressed using {@link #compress(byte[])}.
+   *
+   * @param data compressed data
+   * @param uncompressedSize size of the uncompressed data
+   * @throws IllegalArgumentException if the compressed data is corrupt
+   * @throws UnsupportedOperationException if the compression algorithm is not {@link
+   *     #isAvailable() available}
+   */
+  public byte[] decompress(byte[] data, int uncompressedSize) {
+    return decompress(data, uncompressedSize, null);
+  }
+
+  /**
+   * Decompresses the given data, which must have been compressed using {@link #compress(byte[],
+   * byte[])} with the same preset dictionary.
+   *
+   * @param data compressed data
+   * @param uncompressedSize size of the uncompressed data
+   * @param dictionary preset dictionary or {@code null}
+   * @throws IllegalArgumentException if the compressed data is corrupt
+   * @throws UnsupportedOperationException if the compression algorithm is not {@link
+   *     #isAvailable() available}
+   */
+  public byte[] decompress(
+      byte[] data,
+      int uncompressedSize,
+      @Nullable @jakarta.annotation.Nullable byte[] dictionary) {
+    checkDictionary(dictionary);
+    if (this == NONE) {
+      return data;
+    }
+    try (InputStream in = decompressingStream(data, dictionary)) {
+      byte[] out = in.readNBytes(uncompressedSize);
+      checkUncompressedSize(out.length, uncompressedSize);
+      return out;
+    } catch (IOException e) {
+      throw new IllegalArgumentException("Corrupt " + this + " compressed data", e);
+    }
+  }
+
+  /**
+   * Decompresses the given data of unknown uncompressed size, which must have been compressed
+   * using {@link #compress(byte[])}.
+   *
+   * @throws IllegalArgumentException if the compressed data is corrupt
+   * @throws UnsupportedOperationException if the compression algorithm is not {@link
+   *     #isAvailable() available}
+   */
+  public byte[] decompress(byte[] data) {
+    if (this == NONE) {
+      return data;
+    }
+    try (InputStream in = decompressingStream(data, null)) {
+      return in.readAllBytes();
+    } catch (IOException e) {
+      throw new IllegalArgumentException("Corrupt " + this + " compressed data", e);
+    }
+  }
+
+  private InputStream decompressingStream(byte[] data, byte[] dictionary) throws IOException {
+    switch (this) {
+      case DEFLATE:
+        Inflater inflater = new Inflater(true);
+        if (dictionary != null) {
+          inflater.setDictionary(dictionary);
+        }
+        return new InflaterInputStream(new ByteArrayInputStream(data), inflater) {
+          @Override
+          public void close() throws IOException {
+            super.close();
+            // The inflater is not owned by the stream, release its native resources.
+            inf.end();
+          }
+        };
+      case GZIP:
+        return new GZIPInputStream(new ByteArrayInputStream(data));
+      default:
+        throw unavailable();
+    }
+  }
+
+  private void checkDictionary(byte[] dictionary) {
+    if (dictionary != null && this != DEFLATE) {
+      throw new IllegalArgumentException("Compression " + this + " does not support dictionaries");
+    }
+  }
+
+  private void checkUncompressedSize(int actual, int expected) {
+    if (actual != expected) {
+      throw new IllegalArgumentException(
+          "Corrupt "
+              + this
+              + " compressed data, expected "
+              + expected
+              + " uncompressed bytes, got "
+              + actual);
+    }
+  }
+
+  private UnsupportedOperationException unavailable() {
+    return new UnsupportedOperationException("Compression " + this + " is not available");
+  }
 }
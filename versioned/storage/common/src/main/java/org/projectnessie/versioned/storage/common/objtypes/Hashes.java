@@ -60,7 +60,7 @@ public final class Hashes {
     return hasher.putBytes(idx.asReadOnlyByteBuffer());
   }
 
-  static ObjId contentValueHash(String contentId, int payload, ByteString data) {
+  public static ObjId contentValueHash(String contentId, int payload, ByteString data) {
     Hasher hasher =
         newHasher()
             .putString(VALUE.name(), UTF_8)
@@ -15,7 +15,10 @@
  */
 package org.projectnessie.versioned.storage.common.objtypes;
 
+import javax.annotation.Nullable;
 import org.immutables.value.Value;
+import org.projectnessie.nessie.relocated.protobuf.ByteString;
+import org.projectnessie.versioned.storage.common.indexes.KeyBloomFilter;
 import org.projectnessie.versioned.storage.common.indexes.StoreKey;
 import org.projectnessie.versioned.storage.common.persist.ObjId;
 
@@ -31,7 +34,23 @@ public interface IndexStripe {
   @Value.Parameter(order = 3)
   ObjId segment();
 
+  /**
+   * Optional, serialized {@link KeyBloomFilter} over the keys in the {@link #segment()}, used to
+   * answer lookups for non-existing keys without fetching the segment.
+   */
+  @Nullable
+  @jakarta.annotation.Nullable
+  ByteString keyFilter();
+
   static IndexStripe indexStripe(StoreKey firstKey, StoreKey lastKey, ObjId segment) {
     return ImmutableIndexStripe.of(firstKey, lastKey, segment);
   }
+
+  static IndexStripe indexStripe(
+      StoreKey firstKey,
+      StoreKey lastKey,
+      ObjId segment,
+      @Nullable @jakarta.annotation.Nullable ByteString keyFilter) {
+    return ImmutableIndexStripe.of(firstKey, lastKey, segment).withKeyFilter(keyFilter);
+  }
 }
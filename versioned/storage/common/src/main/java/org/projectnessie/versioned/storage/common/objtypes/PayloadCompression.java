@@ -0,0 +1,106 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.common.objtypes;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static org.projectnessie.nessie.relocated.protobuf.UnsafeByteOperations.unsafeWrap;
+import static org.projectnessie.versioned.storage.common.util.Ser.putVarInt;
+import static org.projectnessie.versioned.storage.common.util.Ser.readVarInt;
+import static org.projectnessie.versioned.storage.common.util.Ser.varIntLen;
+
+import java.nio.ByteBuffer;
+import javax.annotation.Nonnull;
+import org.projectnessie.nessie.relocated.protobuf.ByteString;
+
+/**
+ * Transparent compression of serialized payloads that start with a format version byte, like
+ * serialized indexes.
+ *
+ * <p>Compressed payloads start with the {@link #COMPRESSED_PAYLOAD_MARKER marker byte}, which is
+ * never a valid format version, followed by the {@link Compression#value() compression} byte, the
+ * var-int encoded size of the uncompressed payload and the compressed payload. Payloads that do
+ * not start with the marker byte are returned as is by {@link #decompressPayload(ByteString)},
+ * which keeps existing, uncompressed payloads readable.
+ */
+public final class PayloadCompression {
+
+  static final byte COMPRESSED_PAYLOAD_MARKER = (byte) 0xfe;
+
+  private PayloadCompression() {}
+
+  /**
+   * Compresses the given payload, if it is at least {@code minSize} bytes big and compression
+   * actually reduces its size.
+   *
+   * @param payload the serialized payload, must not start with the marker byte
+   * @param compression compression algorithm to use, {@link Compression#NONE} returns the payload
+   *     as is
+   * @param minSize minimum size of the payload in bytes to attempt compression
+   */
+  @Nonnull
+  @jakarta.annotation.Nonnull
+  public static ByteString compressPayload(
+      @Nonnull @jakarta.annotation.Nonnull ByteString payload,
+      @Nonnull @jakarta.annotation.Nonnull Compression compression,
+      int minSize) {
+    int size = payload.size();
+    if (compression == Compression.NONE || size == 0 || size < minSize) {
+      return payload;
+    }
+    checkArgument(
+        payload.byteAt(0) != COMPRESSED_PAYLOAD_MARKER, "Payload must not start with marker byte");
+
+    byte[] compressed = compression.compress(payload.toByteArray());
+    int headerSize = 2 + varIntLen(size);
+    if (headerSize + compressed.length >= size) {
+      return payload;
+    }
+
+    ByteBuffer target = ByteBuffer.allocate(headerSize + compressed.length);
+    target.put(COMPRESSED_PAYLOAD_MARKER);
+    target.put((byte) compression.value());
+    putVarInt(target, size);
+    target.put(compressed);
+    return unsafeWrap(target.array());
+  }
+
+  /**
+   * Decompresses the given payload, if it has been compressed via {@link
+   * #compressPayload(ByteString, Compression, int)}, otherwise returns the payload as is.
+   */
+  @Nonnull
+  @jakarta.annotation.Nonnull
+  public static ByteString decompressPayload(
+      @Nonnull @jakarta.annotation.Nonnull ByteString payload) {
+    if (!isCompressedPayload(payload)) {
+      return payload;
+    }
+
+    ByteBuffer buffer = payload.asReadOnlyByteBuffer();
+    buffer.get();
+    Compression compression = Compression.fromValue((char) buffer.get());
+    int size = readVarInt(buffer);
+    byte[] compressed = new byte[buffer.remaining()];
+    buffer.get(compressed);
+    return unsafeWrap(compression.decompress(compressed, size));
+  }
+
+  /** Checks whether the given payload has been compressed. */
+  public static boolean isCompressedPayload(
+      @Nonnull @jakarta.annotation.Nonnull ByteString payload) {
+    return !payload.isEmpty() && payload.byteAt(0) == COMPRESSED_PAYLOAD_MARKER;
+  }
+}
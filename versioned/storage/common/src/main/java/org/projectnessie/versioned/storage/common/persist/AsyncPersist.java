@@ -0,0 +1,98 @@
+/*
+ * Copyright (C) 2022 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.common.persist;
+
+import java.util.concurrent.CompletionStage;
+import javax.annotation.Nonnull;
+import org.projectnessie.versioned.storage.common.exceptions.ObjNotFoundException;
+import org.projectnessie.versioned.storage.common.exceptions.ObjTooLargeException;
+
+/**
+ * Asynchronous variants of the bulk functions of {@link Persist}, available via {@link
+ * Persist#async()}.
+ *
+ * <p>The semantics of the functions are the same as those of the corresponding {@link Persist}
+ * functions. Exceptions like {@link ObjNotFoundException} or {@link ObjTooLargeException} are not
+ * thrown, but complete the returned {@link CompletionStage} exceptionally.
+ *
+ * <p>Database specific implementations that have a native asynchronous driver implement this
+ * interface without blocking the calling thread, which allows callers to overlap multiple database
+ * round-trips. {@link #blocking(Persist)} adapts any {@link Persist} implementation by performing
+ * the blocking calls on the calling thread.
+ */
+public interface AsyncPersist {
+
+  /**
+   * Asynchronous variant of {@link Persist#fetchReferences(String[])}.
+   *
+   * @see Persist#fetchReferences(String[])
+   */
+  @Nonnull
+  @jakarta.annotation.Nonnull
+  CompletionStage<Reference[]> fetchReferencesAsync(
+      @Nonnull @jakarta.annotation.Nonnull String[] names);
+
+  /**
+   * Asynchronous variant of {@link Persist#fetchObjs(ObjId[])}, the returned {@link
+   * CompletionStage} completes exceptionally with an {@link ObjNotFoundException}, if any of the
+   * requested objects does not exist.
+   *
+   * @see Persist#fetchObjs(ObjId[])
+   */
+  @Nonnull
+  @jakarta.annotation.Nonnull
+  CompletionStage<Obj[]> fetchObjsAsync(@Nonnull @jakarta.annotation.Nonnull ObjId[] ids);
+
+  /**
+   * Asynchronous variant of {@link Persist#fetchObj(ObjId)}.
+   *
+   * @see #fetchObjsAsync(ObjId[])
+   */
+  @Nonnull
+  @jakarta.annotation.Nonnull
+  default CompletionStage<Obj> fetchObjAsync(@Nonnull @jakarta.annotation.Nonnull ObjId id) {
+    return fetchObjsAsync(new ObjId[] {id}).thenApply(objs -> objs[0]);
+  }
+
+  /**
+   * Asynchronous variant of {@link Persist#storeObjs(Obj[])}, the returned {@link CompletionStage}
+   * completes exceptionally with an {@link ObjTooLargeException}, if any of the objects is too
+   * large.
+   *
+   * @see Persist#storeObjs(Obj[])
+   */
+  @Nonnull
+  @jakarta.annotation.Nonnull
+  CompletionStage<boolean[]> storeObjsAsync(@Nonnull @jakarta.annotation.Nonnull Obj[] objs);
+
+  /**
+   * Returns {@code true}, if this implementation performs the database requests on the calling
+   * thread, like {@link #blocking(Persist)}. Callers should not issue requests ahead of time in
+   * that case, because doing so would not overlap database round-trips, but only delay the calling
+   * thread and potentially fetch data that is never used.
+   */
+  default boolean isBlocking() {
+    return false;
+  }
+
+  /**
+   * Returns an {@link AsyncPersist} that performs the blocking calls of the given {@link Persist}
+   * on the calling thread, the returned {@link CompletionStage}s are always completed.
+   */
+  static AsyncPersist blocking(@Nonnull @jakarta.annotation.Nonnull Persist persist) {
+    return new BlockingAsyncPersist(persist);
+  }
+}
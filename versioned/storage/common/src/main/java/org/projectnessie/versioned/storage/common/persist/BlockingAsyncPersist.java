@@ -0,0 +1,77 @@
+/*
+ * Copyright (C) 2022 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.common.persist;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import javax.annotation.Nonnull;
+
+/** Adapts the blocking functions of a {@link Persist} to {@link AsyncPersist}. */
+final class BlockingAsyncPersist implements AsyncPersist {
+  private final Persist persist;
+
+  BlockingAsyncPersist(Persist persist) {
+    this.persist = persist;
+  }
+
+  @Override
+  public boolean isBlocking() {
+    return true;
+  }
+
+  @FunctionalInterface
+  private interface BlockingCall<R> {
+    R call() throws Exception;
+  }
+
+  private static <R> CompletionStage<R> complete(BlockingCall<R> call) {
+    try {
+      return CompletableFuture.completedFuture(call.call());
+    } catch (Exception e) {
+      return CompletableFuture.failedFuture(e);
+    }
+  }
+
+  @Nonnull
+  @jakarta.annotation.Nonnull
+  @Override
+  public CompletionStage<Reference[]> fetchReferencesAsync(
+      @Nonnull @jakarta.annotation.Nonnull String[] names) {
+    return complete(() -> persist.fetchReferences(names));
+  }
+
+  @Nonnull
+  @jakarta.annotation.Nonnull
+  @Override
+  public CompletionStage<Obj[]> fetchObjsAsync(@Nonnull @jakarta.annotation.Nonnull ObjId[] ids) {
+    return complete(() -> persist.fetchObjs(ids));
+  }
+
+  @Nonnull
+  @jakarta.annotation.Nonnull
+  @Override
+  public CompletionStage<Obj> fetchObjAsync(@Nonnull @jakarta.annotation.Nonnull ObjId id) {
+    return complete(() -> persist.fetchObj(id));
+  }
+
+  @Nonnull
+  @jakarta.annotation.Nonnull
+  @Override
+  public CompletionStage<boolean[]> storeObjsAsync(
+      @Nonnull @jakarta.annotation.Nonnull Obj[] objs) {
+    return complete(() -> persist.storeObjs(objs));
+  }
+}
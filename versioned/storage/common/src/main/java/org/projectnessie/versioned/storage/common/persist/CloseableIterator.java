@@ -15,8 +15,10 @@
  */
 package org.projectnessie.versioned.storage.common.persist;
 
+import com.google.common.collect.AbstractIterator;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
+import java.util.function.Predicate;
 
 public interface CloseableIterator<T> extends Iterator<T>, AutoCloseable {
 
@@ -39,4 +41,40 @@ public interface CloseableIterator<T> extends Iterator<T>, AutoCloseable {
       }
     };
   }
+
+  /**
+   * Returns an iterator over the elements of {@code source} that match the given predicate, closing
+   * the returned iterator closes {@code source}.
+   */
+  static <T> CloseableIterator<T> filteringCloseableIterator(
+      CloseableIterator<T> source, Predicate<T> predicate) {
+    return new FilteringCloseableIterator<>(source, predicate);
+  }
+
+  final class FilteringCloseableIterator<T> extends AbstractIterator<T>
+      implements CloseableIterator<T> {
+    private final CloseableIterator<T> source;
+    private final Predicate<T> predicate;
+
+    private FilteringCloseableIterator(CloseableIterator<T> source, Predicate<T> predicate) {
+      this.source = source;
+      this.predicate = predicate;
+    }
+
+    @Override
+    protected T computeNext() {
+      while (source.hasNext()) {
+        T next = source.next();
+        if (predicate.test(next)) {
+          return next;
+        }
+      }
+      return endOfData();
+    }
+
+    @Override
+    public void close() {
+      source.close();
+    }
+  }
 }
@@ -0,0 +1,92 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.common.persist;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static org.projectnessie.versioned.storage.common.persist.ObjId.objIdFromByteArray;
+
+import java.util.Arrays;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.immutables.value.Value;
+
+/**
+ * A range of {@link ObjId}s from the inclusive {@link #lower()} to the exclusive {@link #upper()}
+ * bound, both compared using the unsigned lexicographical order of the object ID bytes.
+ *
+ * <p>{@link #forPartition(int, int)} splits the whole object ID keyspace into equally sized
+ * ranges, which works, because object IDs are uniformly distributed hashes.
+ */
+@Value.Immutable
+public interface ObjIdRange {
+
+  /** Number of leading object ID bytes used by the bounds of {@link #forPartition(int, int)}. */
+  int PARTITION_BOUND_BYTES = 4;
+
+  /** Inclusive lower bound, {@code null} for no lower bound. */
+  @Value.Parameter(order = 1)
+  @Nullable
+  @jakarta.annotation.Nullable
+  ObjId lower();
+
+  /** Exclusive upper bound, {@code null} for no upper bound. */
+  @Value.Parameter(order = 2)
+  @Nullable
+  @jakarta.annotation.Nullable
+  ObjId upper();
+
+  static ObjIdRange objIdRange(ObjId lower, ObjId upper) {
+    return ImmutableObjIdRange.of(lower, upper);
+  }
+
+  /**
+   * Returns the range of the given partition, when splitting the object ID keyspace into {@code
+   * numPartitions} ranges. The first range has no lower bound, the last range has no upper bound,
+   * so every object ID is contained in exactly one of the ranges.
+   */
+  static ObjIdRange forPartition(int partition, int numPartitions) {
+    checkArgument(numPartitions > 0, "numPartitions must be positive");
+    checkArgument(
+        partition >= 0 && partition < numPartitions,
+        "partition must be between 0 and %s",
+        numPartitions - 1);
+    ObjId lower = partition == 0 ? null : partitionBound(partition, numPartitions);
+    ObjId upper =
+        partition == numPartitions - 1 ? null : partitionBound(partition + 1, numPartitions);
+    return objIdRange(lower, upper);
+  }
+
+  private static ObjId partitionBound(int partition, int numPartitions) {
+    long bound = ((long) partition << (8 * PARTITION_BOUND_BYTES)) / numPartitions;
+    byte[] bytes = new byte[PARTITION_BOUND_BYTES];
+    for (int i = PARTITION_BOUND_BYTES - 1; i >= 0; i--, bound >>>= 8) {
+      bytes[i] = (byte) bound;
+    }
+    return objIdFromByteArray(bytes);
+  }
+
+  default boolean contains(@Nonnull @jakarta.annotation.Nonnull ObjId id) {
+    ObjId l = lower();
+    ObjId u = upper();
+    return (l == null || compareUnsigned(id, l) >= 0) && (u == null || compareUnsigned(id, u) < 0);
+  }
+
+  /** Compares two object IDs using the unsigned lexicographical order of their bytes. */
+  static int compareUnsigned(
+      @Nonnull @jakarta.annotation.Nonnull ObjId a, @Nonnull @jakarta.annotation.Nonnull ObjId b) {
+    return Arrays.compareUnsigned(a.asByteArray(), b.asByteArray());
+  }
+}
@@ -120,6 +120,24 @@ public class ObservingPersist implements Persist {
     return delegate.fetchReferences(names);
   }
 
+  @WithSpan
+  @Override
+  @Counted(PREFIX)
+  @Timed(value = PREFIX, histogram = true)
+  @Nullable
+  public Reference fetchReferenceForUpdate(@Nonnull String name) {
+    return delegate.fetchReferenceForUpdate(name);
+  }
+
+  @WithSpan
+  @Override
+  @Counted(PREFIX)
+  @Timed(value = PREFIX, histogram = true)
+  @Nonnull
+  public Reference[] fetchReferencesForUpdate(@Nonnull String[] names) {
+    return delegate.fetchReferencesForUpdate(names);
+  }
+
   @WithSpan
   @Override
   @Counted(PREFIX)
@@ -224,6 +242,16 @@ public class ObservingPersist implements Persist {
     return delegate.scanAllObjects(returnedObjTypes);
   }
 
+  @WithSpan
+  @Override
+  @Counted(PREFIX)
+  @Timed(value = PREFIX, histogram = true)
+  @Nonnull
+  public CloseableIterator<Obj> scanObjectsPartition(
+      @Nonnull Set<ObjType> returnedObjTypes, int partition, int numPartitions) {
+    return delegate.scanObjectsPartition(returnedObjTypes, partition, numPartitions);
+  }
+
   @WithSpan
   @Override
   @Counted(PREFIX)
@@ -231,4 +259,10 @@ public class ObservingPersist implements Persist {
   public void erase() {
     delegate.erase();
   }
+
+  @Override
+  @Nonnull
+  public AsyncPersist async() {
+    return delegate.async();
+  }
 }
@@ -15,6 +15,8 @@
  */
 package org.projectnessie.versioned.storage.common.persist;
 
+import static org.projectnessie.versioned.storage.common.persist.CloseableIterator.filteringCloseableIterator;
+
 import java.util.Set;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -147,6 +149,37 @@ public interface Persist {
   @jakarta.annotation.Nonnull
   Reference[] fetchReferences(@Nonnull @jakarta.annotation.Nonnull String[] names);
 
+  /**
+   * Like {@link #fetchReference(String)}, but always returns the current state of the reference
+   * from the database, bypassing any reference cache. Use this function if the returned reference
+   * is used to update the reference or to make decisions that require strong consistency, like
+   * commit conflict checks.
+   *
+   * <p><em>Do not use this function from service implementations, use {@link ReferenceLogic}
+   * instead!</em>
+   *
+   * @return the reference or {@code null}, if it does not exist
+   */
+  @Nullable
+  @jakarta.annotation.Nullable
+  default Reference fetchReferenceForUpdate(@Nonnull @jakarta.annotation.Nonnull String name) {
+    return fetchReference(name);
+  }
+
+  /**
+   * Like {@link #fetchReferences(String[])}, but always returns the current state of the references
+   * from the database, bypassing any reference cache, see {@link #fetchReferenceForUpdate(String)}.
+   *
+   * <p><em>Do not use this function from service implementations, use {@link ReferenceLogic}
+   * instead!</em>
+   */
+  @Nonnull
+  @jakarta.annotation.Nonnull
+  default Reference[] fetchReferencesForUpdate(
+      @Nonnull @jakarta.annotation.Nonnull String[] names) {
+    return fetchReferences(names);
+  }
+
   // Objects
 
   /**
@@ -328,6 +361,36 @@ public interface Persist {
   CloseableIterator<Obj> scanAllObjects(
       @Nonnull @jakarta.annotation.Nonnull Set<ObjType> returnedObjTypes);
 
+  /**
+   * Returns an iterator over the objects in one partition of the repository, when splitting all
+   * objects into {@code numPartitions} disjoint partitions. Iterating all partitions {@code 0} to
+   * {@code numPartitions - 1} yields the same objects as {@link #scanAllObjects(Set)}, which allows
+   * callers to scan a repository using multiple threads.
+   *
+   * <p>Implementations should scan only the keyspace of the partition, for example using {@link
+   * ObjIdRange#forPartition(int, int) object ID ranges} or the native partitioning of the database.
+   * Which objects belong to which partition is implementation specific. The default implementation
+   * filters the result of {@link #scanAllObjects(Set)} by {@link ObjIdRange#forPartition(int,
+   * int)}.
+   *
+   * <p>The same restrictions as for {@link #scanAllObjects(Set)} apply, the returned iterator must
+   * be closed.
+   *
+   * @param partition the partition to scan, from {@code 0} to {@code numPartitions - 1}
+   * @param numPartitions the total number of partitions
+   * @return iterator over the objects in the partition, must be closed
+   */
+  @Nonnull
+  @jakarta.annotation.Nonnull
+  default CloseableIterator<Obj> scanObjectsPartition(
+      @Nonnull @jakarta.annotation.Nonnull Set<ObjType> returnedObjTypes,
+      int partition,
+      int numPartitions) {
+    ObjIdRange range = ObjIdRange.forPartition(partition, numPartitions);
+    return filteringCloseableIterator(
+        scanAllObjects(returnedObjTypes), obj -> range.contains(obj.id()));
+  }
+
   /**
    * Erases the whole repository.
    *
@@ -335,4 +398,17 @@ public interface Persist {
    * can lead to a <em>very</em> long runtime of this method.
    */
   void erase();
+
+  /**
+   * Provides asynchronous variants of the bulk functions of this instance.
+   *
+   * <p>Implementations that have a native asynchronous database driver return a non-blocking
+   * implementation, the default implementation performs the blocking calls of this instance on the
+   * calling thread.
+   */
+  @Nonnull
+  @jakarta.annotation.Nonnull
+  default AsyncPersist async() {
+    return AsyncPersist.blocking(this);
+  }
 }
@@ -21,6 +21,9 @@ import static org.junit.jupiter.params.provider.Arguments.arguments;
 import static org.projectnessie.versioned.storage.common.config.StoreConfig.CONFIG_ASSUMED_WALL_CLOCK_DRIFT_MICROS;
 import static org.projectnessie.versioned.storage.common.config.StoreConfig.CONFIG_COMMIT_RETRIES;
 import static org.projectnessie.versioned.storage.common.config.StoreConfig.CONFIG_COMMIT_TIMEOUT_MILLIS;
+import static org.projectnessie.versioned.storage.common.config.StoreConfig.CONFIG_CONTENT_DICTIONARY_COMPRESSION;
+import static org.projectnessie.versioned.storage.common.config.StoreConfig.CONFIG_INDEX_COMPRESSION;
+import static org.projectnessie.versioned.storage.common.config.StoreConfig.CONFIG_INDEX_COMPRESSION_MIN_SIZE;
 import static org.projectnessie.versioned.storage.common.config.StoreConfig.CONFIG_MAX_INCREMENTAL_INDEX_SIZE;
 import static org.projectnessie.versioned.storage.common.config.StoreConfig.CONFIG_MAX_REFERENCE_STRIPES_PER_COMMIT;
 import static org.projectnessie.versioned.storage.common.config.StoreConfig.CONFIG_MAX_SERIALIZED_INDEX_SIZE;
@@ -41,11 +44,13 @@ import java.util.stream.Stream;
 import org.assertj.core.api.SoftAssertions;
 import org.assertj.core.api.junit.jupiter.InjectSoftAssertions;
 import org.assertj.core.api.junit.jupiter.SoftAssertionsExtension;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.projectnessie.versioned.storage.common.config.StoreConfig.Adjustable;
+import org.projectnessie.versioned.storage.common.objtypes.Compression;
 
 @ExtendWith(SoftAssertionsExtension.class)
 public class TestStoreConfig {
@@ -116,6 +121,21 @@ public class TestStoreConfig {
             "false",
             (Function<Adjustable, StoreConfig>) e -> e.withValidateNamespaces(false),
             (Predicate<StoreConfig>) c -> !c.validateNamespaces()),
+        arguments(
+            CONFIG_INDEX_COMPRESSION,
+            "deflate",
+            (Function<Adjustable, StoreConfig>) e -> e.withIndexCompression(Compression.DEFLATE),
+            (Predicate<StoreConfig>) c -> c.indexCompression() == Compression.DEFLATE),
+        arguments(
+            CONFIG_INDEX_COMPRESSION_MIN_SIZE,
+            "1024",
+            (Function<Adjustable, StoreConfig>) e -> e.withIndexCompressionMinSize(1024),
+            (Predicate<StoreConfig>) c -> c.indexCompressionMinSize() == 1024),
+        arguments(
+            CONFIG_CONTENT_DICTIONARY_COMPRESSION,
+            "true",
+            (Function<Adjustable, StoreConfig>) e -> e.withContentDictionaryCompression(true),
+            (Predicate<StoreConfig>) StoreConfig::contentDictionaryCompression),
         // default methods (current time in micros + hasher)
         arguments(
             "x",
@@ -142,4 +162,12 @@ public class TestStoreConfig {
         .isEqualTo(e)
         .matches(checker);
   }
+
+  @Test
+  public void unavailableIndexCompression() {
+    Function<String, String> config = singletonMap(CONFIG_INDEX_COMPRESSION, "ZSTD")::get;
+    soft.assertThatIllegalArgumentException()
+        .isThrownBy(() -> Adjustable.empty().fromFunction(config))
+        .withMessageContaining("ZSTD");
+  }
 }
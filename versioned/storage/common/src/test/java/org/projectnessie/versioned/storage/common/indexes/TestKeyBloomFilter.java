@@ -0,0 +1,89 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.common.indexes;
+
+import static org.projectnessie.versioned.storage.common.indexes.KeyBloomFilter.buildKeyBloomFilter;
+import static org.projectnessie.versioned.storage.common.indexes.KeyBloomFilter.mightContain;
+import static org.projectnessie.versioned.storage.common.indexes.StoreIndexElement.indexElement;
+import static org.projectnessie.versioned.storage.common.indexes.StoreIndexes.newStoreIndex;
+import static org.projectnessie.versioned.storage.common.indexes.StoreKey.key;
+import static org.projectnessie.versioned.storage.common.objtypes.CommitOp.Action.ADD;
+import static org.projectnessie.versioned.storage.common.objtypes.CommitOp.COMMIT_OP_SERIALIZER;
+import static org.projectnessie.versioned.storage.common.objtypes.CommitOp.commitOp;
+import static org.projectnessie.versioned.storage.common.persist.ObjId.randomObjId;
+
+import org.assertj.core.api.SoftAssertions;
+import org.assertj.core.api.junit.jupiter.InjectSoftAssertions;
+import org.assertj.core.api.junit.jupiter.SoftAssertionsExtension;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.projectnessie.nessie.relocated.protobuf.ByteString;
+import org.projectnessie.versioned.storage.common.objtypes.CommitOp;
+
+@ExtendWith(SoftAssertionsExtension.class)
+public class TestKeyBloomFilter {
+  @InjectSoftAssertions SoftAssertions soft;
+
+  static StoreIndex<CommitOp> indexWithKeys(int numKeys) {
+    StoreIndex<CommitOp> index = newStoreIndex(COMMIT_OP_SERIALIZER);
+    for (int i = 0; i < numKeys; i++) {
+      index.add(indexElement(key("ns" + (i % 17), "table" + i), commitOp(ADD, 1, randomObjId())));
+    }
+    return index;
+  }
+
+  @ParameterizedTest
+  @CsvSource({"1,0.01", "10,0.01", "1000,0.1", "1000,0.01", "1000,0.001", "20000,0.01"})
+  public void falsePositiveProbability(int numKeys, double fpp) {
+    StoreIndex<CommitOp> index = indexWithKeys(numKeys);
+    ByteString filter = buildKeyBloomFilter(index, fpp);
+
+    soft.assertThat(filter).isNotNull();
+    for (StoreIndexElement<CommitOp> el : index) {
+      soft.assertThat(mightContain(filter, el.key())).describedAs("%s", el.key()).isTrue();
+    }
+
+    int checks = 100_000;
+    int falsePositives = 0;
+    for (int i = 0; i < checks; i++) {
+      if (mightContain(filter, key("ns" + (i % 17), "other" + i))) {
+        falsePositives++;
+      }
+    }
+    soft.assertThat((double) falsePositives / checks).isLessThan(fpp * 3);
+  }
+
+  @Test
+  public void emptyIndex() {
+    soft.assertThat(buildKeyBloomFilter(indexWithKeys(0), 0.01d)).isNull();
+  }
+
+  @Test
+  public void illegalFpp() {
+    StoreIndex<CommitOp> index = indexWithKeys(3);
+    soft.assertThatIllegalArgumentException().isThrownBy(() -> buildKeyBloomFilter(index, 0d));
+    soft.assertThatIllegalArgumentException().isThrownBy(() -> buildKeyBloomFilter(index, 1d));
+    soft.assertThatIllegalArgumentException().isThrownBy(() -> buildKeyBloomFilter(index, -.5d));
+  }
+
+  @Test
+  public void truncatedFilterMatchesEverything() {
+    soft.assertThat(mightContain(ByteString.EMPTY, key("foo"))).isTrue();
+    soft.assertThat(mightContain(ByteString.copyFrom(new byte[] {3}), key("foo"))).isTrue();
+  }
+}
@@ -0,0 +1,281 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.common.indexes;
+
+import static java.util.concurrent.TimeUnit.MINUTES;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.projectnessie.versioned.storage.common.indexes.StoreIndexElement.indexElement;
+import static org.projectnessie.versioned.storage.common.indexes.StoreIndexes.deserializeStoreIndex;
+import static org.projectnessie.versioned.storage.common.indexes.StoreIndexes.indexFromSplits;
+import static org.projectnessie.versioned.storage.common.indexes.StoreIndexes.layeredIndex;
+import static org.projectnessie.versioned.storage.common.indexes.StoreIndexes.lazyStoreIndex;
+import static org.projectnessie.versioned.storage.common.indexes.StoreIndexes.sharedReadOnlyIndex;
+import static org.projectnessie.versioned.storage.common.indexes.StoreKey.key;
+import static org.projectnessie.versioned.storage.common.indexes.StoreKey.keyFromString;
+import static org.projectnessie.versioned.storage.common.objtypes.CommitOp.Action.ADD;
+import static org.projectnessie.versioned.storage.common.objtypes.CommitOp.COMMIT_OP_SERIALIZER;
+import static org.projectnessie.versioned.storage.common.objtypes.CommitOp.commitOp;
+import static org.projectnessie.versioned.storage.common.persist.ObjId.randomObjId;
+import static org.projectnessie.versioned.storage.commontests.KeyIndexTestSet.basicIndexTestSet;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import org.assertj.core.api.SoftAssertions;
+import org.assertj.core.api.junit.jupiter.InjectSoftAssertions;
+import org.assertj.core.api.junit.jupiter.SoftAssertionsExtension;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.projectnessie.nessie.relocated.protobuf.ByteString;
+import org.projectnessie.versioned.storage.common.objtypes.CommitOp;
+import org.projectnessie.versioned.storage.commontests.KeyIndexTestSet;
+
+@ExtendWith(SoftAssertionsExtension.class)
+public class TestSharedIndexImpl {
+  @InjectSoftAssertions SoftAssertions soft;
+
+  static final int STRIPES = 5;
+
+  @Test
+  public void readOnly() {
+    StoreIndex<CommitOp> index = sharedReadOnlyIndex(basicIndexTestSet().deserialize());
+
+    soft.assertThat(index.isMutable()).isFalse();
+    soft.assertThatThrownBy(
+            () -> index.add(indexElement(key("foo"), commitOp(ADD, 1, randomObjId()))))
+        .isInstanceOf(UnsupportedOperationException.class);
+    soft.assertThatThrownBy(() -> index.remove(key("foo")))
+        .isInstanceOf(UnsupportedOperationException.class);
+    soft.assertThatThrownBy(() -> index.updateAll(el -> null))
+        .isInstanceOf(UnsupportedOperationException.class);
+    soft.assertThatThrownBy(index::asMutableIndex)
+        .isInstanceOf(UnsupportedOperationException.class);
+    soft.assertThatThrownBy(index::stripes).isInstanceOf(UnsupportedOperationException.class);
+    soft.assertThatThrownBy(() -> index.divide(2))
+        .isInstanceOf(UnsupportedOperationException.class);
+    soft.assertThatThrownBy(index::serialize).isInstanceOf(UnsupportedOperationException.class);
+  }
+
+  @Test
+  public void sameResults() {
+    KeyIndexTestSet<CommitOp> testSet = basicIndexTestSet();
+
+    assertSameResults(testSet, sharedReadOnlyIndex(testSet.deserialize()));
+    assertSameResults(
+        testSet,
+        sharedReadOnlyIndex(
+            lazyStripedIndex(testSet, new AtomicIntegerArray(STRIPES), new AtomicInteger())));
+    assertSameResults(
+        testSet,
+        sharedReadOnlyIndex(
+            layeredIndex(
+                lazyStripedIndex(testSet, new AtomicIntegerArray(STRIPES), new AtomicInteger()),
+                testSet.deserialize())));
+  }
+
+  @Test
+  public void lazyIndexLoadedOnDemand() {
+    KeyIndexTestSet<CommitOp> testSet = basicIndexTestSet();
+    AtomicInteger loads = new AtomicInteger();
+    StoreIndex<CommitOp> index =
+        sharedReadOnlyIndex(
+            lazyStoreIndex(
+                () -> {
+                  loads.incrementAndGet();
+                  return testSet.deserialize();
+                }));
+    soft.assertThat(loads).hasValue(0);
+    soft.assertThat(index.isLoaded()).isFalse();
+
+    soft.assertThat(index.asKeyList()).containsExactlyElementsOf(testSet.keys());
+    soft.assertThat(index.isLoaded()).isTrue();
+    soft.assertThat(index).containsExactlyElementsOf(testSet.keyIndex());
+    soft.assertThat(loads).hasValue(1);
+  }
+
+  @Test
+  public void failedLoadIsRetried() {
+    KeyIndexTestSet<CommitOp> testSet = basicIndexTestSet();
+    AtomicInteger loads = new AtomicInteger();
+    StoreIndex<CommitOp> index =
+        sharedReadOnlyIndex(
+            lazyStoreIndex(
+                () -> {
+                  if (loads.incrementAndGet() == 1) {
+                    throw new IllegalStateException("load failure");
+                  }
+                  return testSet.deserialize();
+                }));
+
+    soft.assertThatThrownBy(index::asKeyList)
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessage("load failure");
+    soft.assertThat(index.isLoaded()).isFalse();
+    soft.assertThat(index.asKeyList()).containsExactlyElementsOf(testSet.keys());
+    soft.assertThat(index.isLoaded()).isTrue();
+    soft.assertThat(loads).hasValue(2);
+  }
+
+  @Test
+  public void stripesLoadedOnDemand() {
+    KeyIndexTestSet<CommitOp> testSet = basicIndexTestSet();
+    AtomicIntegerArray loads = new AtomicIntegerArray(STRIPES);
+    AtomicInteger bulkLoads = new AtomicInteger();
+    StoreIndex<CommitOp> index = sharedReadOnlyIndex(lazyStripedIndex(testSet, loads, bulkLoads));
+    soft.assertThat(index.isLoaded()).isFalse();
+    soft.assertThat(index.first()).isEqualTo(testSet.keyIndex().first());
+    soft.assertThat(index.last()).isEqualTo(testSet.keyIndex().last());
+    soft.assertThat(loads).hasToString("[0, 0, 0, 0, 0]");
+
+    StoreKey key = testSet.keyIndex().divide(STRIPES).get(2).asKeyList().get(1);
+    soft.assertThat(index.get(key)).isEqualTo(testSet.keyIndex().get(key));
+    soft.assertThat(index.contains(key)).isTrue();
+    soft.assertThat(loads).hasToString("[0, 0, 1, 0, 0]");
+    soft.assertThat(bulkLoads).hasValue(0);
+
+    // Prefetching only loads the stripes that are not yet loaded, in bulk
+    soft.assertThat(index.iterator(null, null, true))
+        .toIterable()
+        .containsExactlyElementsOf(testSet.keyIndex());
+    soft.assertThat(loads).hasToString("[1, 1, 1, 1, 1]");
+    soft.assertThat(bulkLoads).hasValue(1);
+
+    soft.assertThat(index).containsExactlyElementsOf(testSet.keyIndex());
+    soft.assertThat(index.isLoaded()).isTrue();
+    soft.assertThat(loads).hasToString("[1, 1, 1, 1, 1]");
+  }
+
+  @Test
+  public void concurrentReads() throws Exception {
+    KeyIndexTestSet<CommitOp> testSet = basicIndexTestSet();
+    AtomicIntegerArray loads = new AtomicIntegerArray(STRIPES);
+    AtomicInteger bulkLoads = new AtomicInteger();
+    StoreIndex<CommitOp> index =
+        sharedReadOnlyIndex(lazyStripedIndex(testSet, loads, bulkLoads));
+
+    // Materialize the expected elements upfront, the test-set's index is not thread-safe
+    List<StoreIndexElement<CommitOp>> expected = new ArrayList<>();
+    testSet.keyIndex().forEach(el -> expected.add(indexElement(el.key(), el.content())));
+
+    int threads = 8;
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int t = 0; t < threads; t++) {
+        boolean prefetch = (t & 1) == 0;
+        futures.add(
+            executor.submit(
+                () -> {
+                  for (int i = 0; i < 500; i++) {
+                    StoreIndexElement<CommitOp> el =
+                        expected.get(ThreadLocalRandom.current().nextInt(expected.size()));
+                    assertThat(index.get(el.key())).isEqualTo(el);
+                  }
+                  assertThat(index.iterator(null, null, prefetch))
+                      .toIterable()
+                      .containsExactlyElementsOf(expected);
+                }));
+      }
+      for (Future<?> future : futures) {
+        future.get(1, MINUTES);
+      }
+    } finally {
+      executor.shutdown();
+    }
+
+    // Each stripe is loaded exactly once
+    soft.assertThat(loads).hasToString("[1, 1, 1, 1, 1]");
+  }
+
+  private void assertSameResults(KeyIndexTestSet<CommitOp> testSet, StoreIndex<CommitOp> index) {
+    StoreIndex<CommitOp> reference = testSet.keyIndex();
+    List<StoreKey> keys = testSet.keys();
+
+    soft.assertThat(index.asKeyList()).containsExactlyElementsOf(keys);
+    soft.assertThat(index.first()).isEqualTo(reference.first());
+    soft.assertThat(index.last()).isEqualTo(reference.last());
+    soft.assertThat(index.elementCount()).isEqualTo(reference.elementCount());
+    soft.assertThat(index).containsExactlyElementsOf(reference);
+    for (StoreKey key : keys) {
+      soft.assertThat(index.contains(key)).isTrue();
+      soft.assertThat(index.get(key)).isEqualTo(reference.get(key));
+    }
+    soft.assertThat(index.contains(key("does-not-exist"))).isFalse();
+    soft.assertThat(index.get(key("does-not-exist"))).isNull();
+
+    StoreKey begin = keys.get(keys.size() / 4);
+    StoreKey end = keys.get(keys.size() / 2);
+    soft.assertThat(index.iterator(begin, end, false))
+        .toIterable()
+        .containsExactlyElementsOf(() -> reference.iterator(begin, end, false));
+    soft.assertThat(index.iterator(begin, null, false))
+        .toIterable()
+        .containsExactlyElementsOf(() -> reference.iterator(begin, null, false));
+    soft.assertThat(index.iterator(null, end, false))
+        .toIterable()
+        .containsExactlyElementsOf(() -> reference.iterator(null, end, false));
+    StoreKey prefix = keyFromString(begin.rawString().substring(0, 1));
+    soft.assertThat(index.iterator(prefix, prefix, false))
+        .toIterable()
+        .containsExactlyElementsOf(() -> reference.iterator(prefix, prefix, false));
+  }
+
+  /**
+   * Builds a striped index of lazy stripes, counting the loads of each stripe and the bulk loads.
+   */
+  private static StoreIndex<CommitOp> lazyStripedIndex(
+      KeyIndexTestSet<CommitOp> testSet, AtomicIntegerArray loads, AtomicInteger bulkLoads) {
+    List<ByteString> serialized = new ArrayList<>();
+    List<StoreIndex<CommitOp>> stripes = new ArrayList<>();
+    List<StoreKey> firstLastKeys = new ArrayList<>();
+    for (StoreIndex<CommitOp> stripe : testSet.keyIndex().divide(STRIPES)) {
+      int idx = serialized.size();
+      serialized.add(stripe.serialize());
+      stripes.add(
+          lazyStoreIndex(
+              () -> {
+                loads.incrementAndGet(idx);
+                return deserializeStoreIndex(serialized.get(idx), COMMIT_OP_SERIALIZER);
+              },
+              stripe.first(),
+              stripe.last()));
+      firstLastKeys.add(stripe.first());
+      firstLastKeys.add(stripe.last());
+    }
+
+    return indexFromSplits(
+        stripes,
+        firstLastKeys,
+        indexes -> {
+          bulkLoads.incrementAndGet();
+          @SuppressWarnings("unchecked")
+          StoreIndex<CommitOp>[] r = new StoreIndex[indexes.length];
+          for (int i = 0; i < indexes.length; i++) {
+            if (indexes[i] != null) {
+              assertThat(indexes[i]).isSameAs(stripes.get(i));
+              loads.incrementAndGet(i);
+              r[i] = deserializeStoreIndex(serialized.get(i), COMMIT_OP_SERIALIZER);
+            }
+          }
+          return r;
+        });
+  }
+}
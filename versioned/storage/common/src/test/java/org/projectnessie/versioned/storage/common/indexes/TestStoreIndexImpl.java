@@ -36,9 +36,11 @@ import static org.projectnessie.versioned.storage.common.persist.ObjId.randomObj
 import static org.projectnessie.versioned.storage.common.util.Util.asHex;
 import static org.projectnessie.versioned.storage.commontests.KeyIndexTestSet.basicIndexTestSet;
 
+import com.google.common.base.Strings;
 import java.nio.ByteBuffer;
 import java.util.List;
 import java.util.function.Function;
+import java.util.function.IntFunction;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
@@ -359,7 +361,7 @@ public class TestStoreIndexImpl {
 
     Function<StoreIndex<ObjId>, StoreIndex<ObjId>> reSerializeFromV1 =
         seg -> {
-          byte[] serializedV2 = seg.serialize().toByteArray();
+          byte[] serializedV2 = serializeV2(seg).toByteArray();
           byte[] serializedV1 = new byte[serializedV2.length - 1];
           serializedV1[0] = 1;
           System.arraycopy(serializedV2, 2, serializedV1, 1, serializedV2.length - 2);
@@ -367,7 +369,7 @@ public class TestStoreIndexImpl {
               ByteBuffer.wrap(serializedV1), OBJ_ID_SERIALIZER);
         };
 
-    soft.assertThat(asHex(segment.serialize())).isEqualTo(serializationFormatVersion + "00");
+    soft.assertThat(asHex(serializeV2(segment))).isEqualTo(serializationFormatVersion + "00");
     soft.assertThat(reSerialize.apply(segment)).isEqualTo(segment);
     soft.assertThat(reSerializeFromV1.apply(segment)).isEqualTo(segment);
     soft.assertThat(segment.asKeyList()).isEmpty();
@@ -377,7 +379,7 @@ public class TestStoreIndexImpl {
     soft.assertThat(reSerialize.apply(segment)).isEqualTo(segment);
     soft.assertThat(reSerializeFromV1.apply(segment)).isEqualTo(segment);
     soft.assertThat(segment.asKeyList()).containsExactly(keyD);
-    soft.assertThat(asHex(segment.serialize()))
+    soft.assertThat(asHex(serializeV2(segment)))
         .isEqualTo(
             serializationFormatVersion //
                 + "01"
@@ -387,7 +389,7 @@ public class TestStoreIndexImpl {
     soft.assertThat(reSerialize.apply(segment)).isEqualTo(segment);
     soft.assertThat(reSerializeFromV1.apply(segment)).isEqualTo(segment);
     soft.assertThat(segment.asKeyList()).containsExactly(keyB, keyD);
-    soft.assertThat(asHex(segment.serialize()))
+    soft.assertThat(asHex(serializeV2(segment)))
         .isEqualTo(
             serializationFormatVersion //
                 + "02"
@@ -399,7 +401,7 @@ public class TestStoreIndexImpl {
     soft.assertThat(reSerialize.apply(segment)).isEqualTo(segment);
     soft.assertThat(reSerializeFromV1.apply(segment)).isEqualTo(segment);
     soft.assertThat(segment.asKeyList()).containsExactly(keyB, keyC, keyD);
-    soft.assertThat(asHex(segment.serialize()))
+    soft.assertThat(asHex(serializeV2(segment)))
         .isEqualTo(
             serializationFormatVersion //
                 + "03"
@@ -413,7 +415,7 @@ public class TestStoreIndexImpl {
     soft.assertThat(reSerialize.apply(segment)).isEqualTo(segment);
     soft.assertThat(reSerializeFromV1.apply(segment)).isEqualTo(segment);
     soft.assertThat(segment.asKeyList()).containsExactly(keyB, keyC, keyD, keyE);
-    soft.assertThat(asHex(segment.serialize()))
+    soft.assertThat(asHex(serializeV2(segment)))
         .isEqualTo(
             serializationFormatVersion //
                 + "04"
@@ -429,7 +431,7 @@ public class TestStoreIndexImpl {
     soft.assertThat(reSerialize.apply(segment)).isEqualTo(segment);
     soft.assertThat(reSerializeFromV1.apply(segment)).isEqualTo(segment);
     soft.assertThat(segment.asKeyList()).containsExactly(keyA, keyB, keyC, keyD, keyE);
-    soft.assertThat(asHex(segment.serialize()))
+    soft.assertThat(asHex(serializeV2(segment)))
         .isEqualTo(
             serializationFormatVersion //
                 + "05"
@@ -447,7 +449,7 @@ public class TestStoreIndexImpl {
     soft.assertThat(reSerialize.apply(segment)).isEqualTo(segment);
     soft.assertThat(reSerializeFromV1.apply(segment)).isEqualTo(segment);
     soft.assertThat(segment.asKeyList()).containsExactly(keyA, keyB, keyC, keyD, keyE, keyExB);
-    soft.assertThat(asHex(segment.serialize()))
+    soft.assertThat(asHex(serializeV2(segment)))
         .isEqualTo(
             serializationFormatVersion //
                 + "06"
@@ -468,7 +470,7 @@ public class TestStoreIndexImpl {
     soft.assertThat(reSerializeFromV1.apply(segment)).isEqualTo(segment);
     soft.assertThat(segment.asKeyList())
         .containsExactly(keyA, keyB, keyC, keyD, keyE, keyExB, keyExD);
-    soft.assertThat(asHex(segment.serialize()))
+    soft.assertThat(asHex(serializeV2(segment)))
         .isEqualTo(
             serializationFormatVersion //
                 + "07"
@@ -491,7 +493,7 @@ public class TestStoreIndexImpl {
     soft.assertThat(reSerializeFromV1.apply(segment)).isEqualTo(segment);
     soft.assertThat(segment.asKeyList())
         .containsExactly(keyA, keyB, keyC, keyD, keyE, keyExB, keyExD, keyEyC);
-    soft.assertThat(asHex(segment.serialize()))
+    soft.assertThat(asHex(serializeV2(segment)))
         .isEqualTo(
             serializationFormatVersion //
                 + "08"
@@ -516,7 +518,7 @@ public class TestStoreIndexImpl {
     soft.assertThat(reSerializeFromV1.apply(segment)).isEqualTo(segment);
     soft.assertThat(segment.asKeyList())
         .containsExactly(keyA, keyB, keyC, keyD, keyE, keyExB, keyExC, keyExD, keyEyC);
-    soft.assertThat(asHex(segment.serialize()))
+    soft.assertThat(asHex(serializeV2(segment)))
         .isEqualTo(
             serializationFormatVersion //
                 + "09"
@@ -545,7 +547,7 @@ public class TestStoreIndexImpl {
     soft.assertThat(reSerializeFromV1.apply(segment)).isEqualTo(segment);
     soft.assertThat(segment.asKeyList())
         .containsExactly(keyA, keyB, keyC, keyD, keyE, keyExB, keyExC, keyExD, keyEyC);
-    soft.assertThat(asHex(segment.serialize()))
+    soft.assertThat(asHex(serializeV2(segment)))
         .isEqualTo(
             serializationFormatVersion //
                 + "09"
@@ -579,7 +581,7 @@ public class TestStoreIndexImpl {
     soft.assertThat(reSerialize.apply(segment)).isEqualTo(segment);
     soft.assertThat(reSerializeFromV1.apply(segment)).isEqualTo(segment);
     soft.assertThat(segment.elementCount()).isEqualTo(8);
-    soft.assertThat(asHex(segment.serialize()))
+    soft.assertThat(asHex(serializeV2(segment)))
         .isEqualTo(
             serializationFormatVersion //
                 + "08"
@@ -605,6 +607,133 @@ public class TestStoreIndexImpl {
     soft.assertThat(segment.get(keyD)).isNull();
   }
 
+  private static ByteString serializeV2(StoreIndex<ObjId> index) {
+    return ((StoreIndexImpl<ObjId>) index).serialize(2);
+  }
+
+  private static StoreIndex<ObjId> refs(int num) {
+    StoreIndex<ObjId> segment = newStoreIndex(OBJ_ID_SERIALIZER);
+    for (int i = 0; i < num; i++) {
+      segment.add(indexElement(key("refs", format("%06d", i * 2)), randomObjId()));
+    }
+    return segment;
+  }
+
+  @ParameterizedTest
+  @ValueSource(ints = {0, 1, 15, 16, 17, 100, 1000})
+  public void restartPoints(int num) {
+    StoreIndex<ObjId> segment = refs(num);
+
+    ByteString serialized = segment.serialize();
+    soft.assertThat(serialized.byteAt(0)).isEqualTo((byte) 3);
+    soft.assertThat(ByteBuffer.wrap(serialized.toByteArray(), serialized.size() - 4, 4).getInt())
+        .isEqualTo((num + StoreIndexImpl.RESTART_INTERVAL - 1) / StoreIndexImpl.RESTART_INTERVAL);
+
+    StoreIndex<ObjId> deserialized = deserializeStoreIndex(serialized, OBJ_ID_SERIALIZER);
+    StoreIndex<ObjId> deserializedV2 =
+        deserializeStoreIndex(serializeV2(segment), OBJ_ID_SERIALIZER);
+
+    soft.assertThat(deserialized.elementCount()).isEqualTo(num);
+    soft.assertThat(deserialized.first()).isEqualTo(segment.first());
+    soft.assertThat(deserialized.last()).isEqualTo(segment.last());
+    for (int i = -1; i <= num * 2; i++) {
+      StoreKey key = key("refs", format("%06d", i));
+      soft.assertThat(deserialized.get(key)).isEqualTo(segment.get(key));
+      soft.assertThat(deserialized.contains(key)).isEqualTo(segment.contains(key));
+      soft.assertThat(newArrayList(deserialized.iterator(key, null, false)))
+          .containsExactlyElementsOf(newArrayList(segment.iterator(key, null, false)));
+      soft.assertThat(newArrayList(deserialized.iterator(null, key, false)))
+          .containsExactlyElementsOf(newArrayList(segment.iterator(null, key, false)));
+    }
+    soft.assertThat(newArrayList(deserialized.iterator(key("refs"), key("refs"), false)))
+        .containsExactlyElementsOf(segment);
+    soft.assertThat(newArrayList(deserialized)).containsExactlyElementsOf(segment);
+    soft.assertThat(deserialized.asKeyList()).containsExactlyElementsOf(segment.asKeyList());
+    soft.assertThat(deserializedV2).isEqualTo(deserialized);
+
+    // re-serialize
+    soft.assertThat(deserialized.serialize()).isEqualTo(serialized);
+    ((StoreIndexImpl<ObjId>) deserialized).setModified();
+    soft.assertThat(deserialized.serialize()).isEqualTo(serialized);
+    ((StoreIndexImpl<ObjId>) deserializedV2).setModified();
+    soft.assertThat(deserializedV2.serialize()).isEqualTo(serialized);
+  }
+
+  @Test
+  public void restartPointsModified() {
+    StoreIndex<ObjId> segment = refs(100);
+    StoreIndex<ObjId> deserialized = deserializeStoreIndex(segment.serialize(), OBJ_ID_SERIALIZER);
+
+    StoreKey removed = key("refs", format("%06d", 42));
+    StoreKey added = key("refs", format("%06d", 43));
+    ObjId id = randomObjId();
+    soft.assertThat(deserialized.get(removed)).isNotNull();
+    soft.assertThat(deserialized.remove(removed)).isTrue();
+    soft.assertThat(deserialized.add(indexElement(added, id))).isTrue();
+    soft.assertThat(deserialized.get(removed)).isNull();
+    soft.assertThat(deserialized.get(added)).isEqualTo(indexElement(added, id));
+
+    segment.remove(removed);
+    segment.add(indexElement(added, id));
+    StoreIndex<ObjId> reserialized =
+        deserializeStoreIndex(deserialized.serialize(), OBJ_ID_SERIALIZER);
+    soft.assertThat(reserialized).isEqualTo(segment);
+    soft.assertThat(reserialized.get(added)).isEqualTo(indexElement(added, id));
+  }
+
+  /**
+   * The estimated serialized size must be an upper bound, also when modifications shift the restart
+   * points to elements with long, prefix-compressed keys.
+   */
+  @ParameterizedTest
+  @ValueSource(ints = {0, 1, 15, 16, 17, 31, 32, 33, 255, 256, 257})
+  public void estimatedSerializedSizeCoversRestartPoints(int num) {
+    @SuppressWarnings("InlineMeInliner")
+    String prefix = Strings.repeat("prefix/", 40);
+    IntFunction<StoreKey> key = i -> key(prefix + format("%06d", i));
+
+    StoreIndex<ObjId> index = newStoreIndex(OBJ_ID_SERIALIZER);
+    for (int i = 0; i < num; i++) {
+      index.add(indexElement(key.apply(i * 2), randomObjId()));
+      assertEstimateCoversSerializedSize(index);
+    }
+
+    for (ByteString serialized : asList(index.serialize(), serializeV2(index))) {
+      StoreIndex<ObjId> deserialized = deserializeStoreIndex(serialized, OBJ_ID_SERIALIZER);
+      assertEstimateCoversSerializedSize(deserialized);
+      for (int i = 0; i < num; i += 5) {
+        deserialized.add(indexElement(key.apply(i * 2 + 1), randomObjId()));
+        assertEstimateCoversSerializedSize(deserialized);
+      }
+      for (int i = 0; i < num; i += 3) {
+        deserialized.remove(key.apply(i * 2));
+        assertEstimateCoversSerializedSize(deserialized);
+      }
+    }
+  }
+
+  private void assertEstimateCoversSerializedSize(StoreIndex<ObjId> index) {
+    soft.assertThat(index.estimatedSerializedSize())
+        .isGreaterThanOrEqualTo(index.serialize().size());
+  }
+
+  /**
+   * A materialized predecessor key must yield the terminating zero-bytes of its serialized form, if
+   * those are part of the prefix of a lazily materialized key.
+   */
+  @Test
+  public void materializedPredecessorKey() {
+    StoreIndex<ObjId> segment = newStoreIndex(OBJ_ID_SERIALIZER);
+    List<StoreKey> keys = asList(key("aaa"), key("aaa", "b"), key("aaab", "c"), key("aaabc", "d"));
+    keys.forEach(k -> segment.add(indexElement(k, randomObjId())));
+
+    StoreIndex<ObjId> deserialized = deserializeStoreIndex(serializeV2(segment), OBJ_ID_SERIALIZER);
+    // Materializing the last key leaves the 'b' of 'aaab' in the scratch buffer.
+    soft.assertThat(deserialized.last()).isEqualTo(key("aaabc", "d"));
+    soft.assertThat(deserialized.first()).isEqualTo(key("aaa"));
+    soft.assertThat(deserialized.asKeyList()).containsExactlyElementsOf(keys);
+  }
+
   @Test
   public void getFirstLast() {
     StoreIndex<CommitOp> index = newStoreIndex(COMMIT_OP_SERIALIZER);
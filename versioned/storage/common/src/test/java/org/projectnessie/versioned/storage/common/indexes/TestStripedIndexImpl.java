@@ -22,6 +22,7 @@ import static java.util.Spliterators.spliteratorUnknownSize;
 import static java.util.stream.StreamSupport.stream;
 import static org.assertj.core.api.InstanceOfAssertFactories.type;
 import static org.projectnessie.versioned.storage.common.indexes.IndexLoader.notLoading;
+import static org.projectnessie.versioned.storage.common.indexes.KeyBloomFilter.buildKeyBloomFilter;
 import static org.projectnessie.versioned.storage.common.indexes.StoreIndexElement.indexElement;
 import static org.projectnessie.versioned.storage.common.indexes.StoreIndexes.deserializeStoreIndex;
 import static org.projectnessie.versioned.storage.common.indexes.StoreIndexes.indexFromSplits;
@@ -514,4 +515,82 @@ public class TestStripedIndexImpl {
         .isEqualTo(source.elementCount())
         .isEqualTo(elements.size());
   }
+
+  @ParameterizedTest
+  @ValueSource(ints = {2, 3, 5, 8})
+  public void keyFilterAvoidsLoads(int numStripes) {
+    KeyIndexTestSet<CommitOp> indexTestSet = basicIndexTestSet();
+    List<StoreIndex<CommitOp>> stripes =
+        indexFromStripes(indexTestSet.keyIndex().divide(numStripes)).stripes();
+
+    List<StoreKey> firstLastKeys =
+        stripes.stream().flatMap(s -> Stream.of(s.first(), s.last())).collect(Collectors.toList());
+    boolean[] loads = new boolean[numStripes];
+    Supplier<StoreIndex<CommitOp>> lazyIndexSupplier =
+        () -> {
+          Arrays.fill(loads, false);
+          List<StoreIndex<CommitOp>> lazyStripes = new ArrayList<>(stripes.size());
+          for (int i = 0; i < stripes.size(); i++) {
+            StoreIndex<CommitOp> stripe = stripes.get(i);
+            int index = i;
+            lazyStripes.add(
+                lazyStoreIndex(
+                    () -> {
+                      loads[index] = true;
+                      return stripe;
+                    },
+                    stripe.first(),
+                    stripe.last(),
+                    buildKeyBloomFilter(stripe, 0.0001d)));
+          }
+          return indexFromSplits(
+              lazyStripes,
+              firstLastKeys,
+              indexes -> {
+                @SuppressWarnings("unchecked")
+                StoreIndex<CommitOp>[] r = new StoreIndex[indexes.length];
+                for (int i = 0; i < indexes.length; i++) {
+                  if (indexes[i] != null) {
+                    loads[i] = true;
+                    r[i] = stripes.get(i);
+                  }
+                }
+                return r;
+              });
+        };
+
+    for (int i = 0; i < stripes.size(); i++) {
+      StoreIndex<CommitOp> stripe = stripes.get(i);
+
+      // Non-existing key within the stripe's key range does not fire a load
+      StoreKey key = keyFromString(stripe.first().rawString() + "AA");
+      soft.assertThat(stripe.contains(key)).isFalse();
+
+      long avoidedBefore = KeyBloomFilter.avoidedStripeLoads();
+      StoreIndex<CommitOp> lazyStripedIndex = lazyIndexSupplier.get();
+      lazyStripedIndex.loadIfNecessary(singleton(key));
+      soft.assertThat(lazyStripedIndex.contains(key)).isFalse();
+      soft.assertThat(lazyStripedIndex.get(key)).isNull();
+      soft.assertThat(loads).containsOnly(false);
+      soft.assertThat(KeyBloomFilter.avoidedStripeLoads())
+          .isGreaterThanOrEqualTo(avoidedBefore + 3);
+
+      // Existing keys are still found
+      boolean[] expectLoaded = new boolean[numStripes];
+      expectLoaded[i] = true;
+      StoreKey existing = stripe.asKeyList().get(1);
+      lazyStripedIndex = lazyIndexSupplier.get();
+      lazyStripedIndex.loadIfNecessary(singleton(existing));
+      soft.assertThat(loads).containsExactly(expectLoaded);
+      soft.assertThat(lazyStripedIndex.get(existing))
+          .extracting(StoreIndexElement::key)
+          .isEqualTo(existing);
+
+      // A stripe that has been modified does not use the (stale) key filter
+      lazyStripedIndex = lazyIndexSupplier.get();
+      lazyStripedIndex.add(indexElement(key, commitOp(ADD, 1, randomObjId())));
+      soft.assertThat(lazyStripedIndex.contains(key)).isTrue();
+      soft.assertThat(lazyStripedIndex.get(key)).extracting(StoreIndexElement::key).isEqualTo(key);
+    }
+  }
 }
@@ -0,0 +1,174 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.common.logic;
+
+import static java.util.Collections.emptyList;
+import static java.util.Objects.requireNonNull;
+import static org.mockito.AdditionalAnswers.delegatesTo;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.projectnessie.versioned.storage.common.config.StoreConfig.CONFIG_COMMIT_LOG_READ_AHEAD;
+import static org.projectnessie.versioned.storage.common.config.StoreConfig.CONFIG_PARENTS_PER_COMMIT;
+import static org.projectnessie.versioned.storage.common.logic.CommitLogQuery.commitLogQuery;
+import static org.projectnessie.versioned.storage.common.logic.Logics.commitLogic;
+import static org.projectnessie.versioned.storage.commontests.AbstractCommitLogicTests.stdCommit;
+
+import com.google.common.collect.Lists;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+import org.assertj.core.api.SoftAssertions;
+import org.assertj.core.api.junit.jupiter.InjectSoftAssertions;
+import org.assertj.core.api.junit.jupiter.SoftAssertionsExtension;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.projectnessie.versioned.storage.common.objtypes.CommitObj;
+import org.projectnessie.versioned.storage.common.persist.AsyncPersist;
+import org.projectnessie.versioned.storage.common.persist.Obj;
+import org.projectnessie.versioned.storage.common.persist.ObjId;
+import org.projectnessie.versioned.storage.common.persist.Persist;
+import org.projectnessie.versioned.storage.common.persist.Reference;
+import org.projectnessie.versioned.storage.testextension.NessiePersist;
+import org.projectnessie.versioned.storage.testextension.NessieStoreConfig;
+import org.projectnessie.versioned.storage.testextension.PersistExtension;
+
+@ExtendWith({PersistExtension.class, SoftAssertionsExtension.class})
+@NessieStoreConfig(name = CONFIG_COMMIT_LOG_READ_AHEAD, value = "2")
+@NessieStoreConfig(name = CONFIG_PARENTS_PER_COMMIT, value = "5")
+public class TestCommitLogicImplReadAhead {
+  @InjectSoftAssertions protected SoftAssertions soft;
+
+  @NessiePersist protected Persist persist;
+
+  @Test
+  public void readAhead() throws Exception {
+    List<ObjId> commits = commits(21);
+
+    RecordingAsyncPersist async = new RecordingAsyncPersist(persist.async(), false);
+    Persist readAheadPersist = persistWithAsync(async);
+
+    soft.assertThat(Lists.newArrayList(commitLogic(readAheadPersist).commitLog(log(commits))))
+        .extracting(CommitObj::id)
+        .containsExactlyElementsOf(commits);
+
+    // Only the first batch, which contains the HEAD commit, is fetched synchronously, all
+    // following batches of commits are fetched ahead, but nothing after the end of the log.
+    verify(readAheadPersist, times(1)).fetchObjs(any());
+    soft.assertThat(async.fetched)
+        .containsExactly(
+            commits.subList(1, 6),
+            commits.subList(6, 11),
+            commits.subList(11, 16),
+            commits.subList(16, 21));
+  }
+
+  @Test
+  public void readAheadStopsAtEndCommit() throws Exception {
+    List<ObjId> commits = commits(21);
+
+    RecordingAsyncPersist async = new RecordingAsyncPersist(persist.async(), false);
+    Persist readAheadPersist = persistWithAsync(async);
+
+    CommitLogQuery query = commitLogQuery(null, commits.get(0), commits.get(7));
+    soft.assertThat(Lists.newArrayList(commitLogic(readAheadPersist).commitLog(query)))
+        .extracting(CommitObj::id)
+        .containsExactlyElementsOf(commits.subList(0, 8));
+
+    // The batch containing the end commit is the last one that is fetched.
+    soft.assertThat(async.fetched).containsExactly(commits.subList(1, 6), commits.subList(6, 11));
+  }
+
+  @Test
+  public void noReadAheadForBlockingAsync() throws Exception {
+    List<ObjId> commits = commits(21);
+
+    RecordingAsyncPersist async = new RecordingAsyncPersist(persist.async(), true);
+    Persist blockingPersist = persistWithAsync(async);
+
+    soft.assertThat(Lists.newArrayList(commitLogic(blockingPersist).commitLog(log(commits))))
+        .extracting(CommitObj::id)
+        .containsExactlyElementsOf(commits);
+
+    verify(blockingPersist, times(5)).fetchObjs(any());
+    soft.assertThat(async.fetched).isEmpty();
+  }
+
+  /** Creates a chain of commits, returns the commit IDs starting with the HEAD commit. */
+  private List<ObjId> commits(int num) throws Exception {
+    CommitLogic commitLogic = commitLogic(persist);
+    List<ObjId> commits = new ArrayList<>();
+    ObjId tip = ObjId.EMPTY_OBJ_ID;
+    for (int i = 0; i < num; i++) {
+      tip =
+          requireNonNull(
+                  commitLogic.doCommit(
+                      stdCommit().parentCommitId(tip).message("commit #" + i).build(),
+                      emptyList()))
+              .id();
+      commits.add(tip);
+    }
+    Collections.reverse(commits);
+    return commits;
+  }
+
+  private static CommitLogQuery log(List<ObjId> commits) {
+    return commitLogQuery(commits.get(0));
+  }
+
+  private Persist persistWithAsync(AsyncPersist async) {
+    Persist p = mock(Persist.class, delegatesTo(persist));
+    when(p.async()).thenReturn(async);
+    return p;
+  }
+
+  /** Records the IDs of the asynchronously fetched objects. */
+  static final class RecordingAsyncPersist implements AsyncPersist {
+    final AsyncPersist delegate;
+    final boolean blocking;
+    final List<List<ObjId>> fetched = Collections.synchronizedList(new ArrayList<>());
+
+    RecordingAsyncPersist(AsyncPersist delegate, boolean blocking) {
+      this.delegate = delegate;
+      this.blocking = blocking;
+    }
+
+    @Override
+    public boolean isBlocking() {
+      return blocking;
+    }
+
+    @Override
+    public CompletionStage<Reference[]> fetchReferencesAsync(String[] names) {
+      return delegate.fetchReferencesAsync(names);
+    }
+
+    @Override
+    public CompletionStage<Obj[]> fetchObjsAsync(ObjId[] ids) {
+      fetched.add(Arrays.asList(ids));
+      return delegate.fetchObjsAsync(ids);
+    }
+
+    @Override
+    public CompletionStage<boolean[]> storeObjsAsync(Obj[] objs) {
+      return delegate.storeObjsAsync(objs);
+    }
+  }
+}
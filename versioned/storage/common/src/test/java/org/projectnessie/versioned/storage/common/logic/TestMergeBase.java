@@ -15,6 +15,10 @@
  */
 package org.projectnessie.versioned.storage.common.logic;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.projectnessie.versioned.storage.common.config.StoreConfig.DEFAULT_PARENTS_PER_COMMIT;
 import static org.projectnessie.versioned.storage.common.logic.CommitLogicImpl.NO_COMMON_ANCESTOR_IN_PARENTS_OF;
 import static org.projectnessie.versioned.storage.common.logic.ShallowCommit.ALL_FLAGS;
 import static org.projectnessie.versioned.storage.common.logic.ShallowCommit.CANDIDATE;
@@ -26,11 +30,13 @@ import static org.projectnessie.versioned.storage.common.persist.ObjId.EMPTY_OBJ
 import static org.projectnessie.versioned.storage.common.persist.ObjId.randomObjId;
 
 import java.nio.ByteBuffer;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.assertj.core.api.SoftAssertions;
 import org.assertj.core.api.junit.jupiter.InjectSoftAssertions;
 import org.assertj.core.api.junit.jupiter.SoftAssertionsExtension;
@@ -41,8 +47,11 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 import org.junit.jupiter.params.provider.ValueSource;
 import org.projectnessie.nessie.relocated.protobuf.ByteString;
+import org.projectnessie.versioned.storage.common.exceptions.ObjNotFoundException;
 import org.projectnessie.versioned.storage.common.objtypes.CommitObj;
+import org.projectnessie.versioned.storage.common.persist.Obj;
 import org.projectnessie.versioned.storage.common.persist.ObjId;
+import org.projectnessie.versioned.storage.common.persist.Persist;
 
 @ExtendWith(SoftAssertionsExtension.class)
 public class TestMergeBase {
@@ -77,6 +86,37 @@ public class TestMergeBase {
         .isEqualTo(a.id());
   }
 
+  @Test
+  void commitLogicLoaderWithPartiallyReportedMissingCommits() throws Exception {
+    CommitObj a = repo.add(repo.initialCommit());
+    CommitObj b = repo.add(repo.buildCommit("b", a));
+    ObjId missing1 = randomObjId();
+    ObjId missing2 = randomObjId();
+
+    // Database that reports only one of the missing objects per request
+    Persist persist = mock(Persist.class);
+    when(persist.fetchObjs(any()))
+        .thenAnswer(
+            invocation -> {
+              ObjId[] ids = invocation.getArgument(0);
+              Obj[] objs = new Obj[ids.length];
+              for (int i = 0; i < ids.length; i++) {
+                if (ids[i] != null) {
+                  objs[i] = repo.commits.get(ids[i]);
+                  if (objs[i] == null) {
+                    throw new ObjNotFoundException(ids[i]);
+                  }
+                }
+              }
+              return objs;
+            });
+
+    soft.assertThat(
+            new CommitLogicImpl(persist)
+                .fetchCommitsForMergeBase(new ObjId[] {a.id(), missing1, b.id(), missing2}))
+        .containsExactly(a, null, b, null);
+  }
+
   /**
    * Unrelated branches case. <code><pre>
    * ----B-----D
@@ -381,6 +421,107 @@ public class TestMergeBase {
     soft.assertThat(repo.loaded).doesNotContain(repo.root);
   }
 
+  /**
+   * Long diverged branches with a merge, commits have a full tail. <code><pre>
+   *       ----B1--...--B25--...--B50
+   *      /               \
+   * ----A------C1--...----C25--...--C50
+   * </pre></code>
+   *
+   * <p>Batched loading must yield the same merge-base, {@code B25} or {@code A}, with fewer
+   * round-trips.
+   */
+  @ParameterizedTest
+  @CsvSource({"true,1", "true,5", "true,20", "false,1", "false,5", "false,20"})
+  void prefetch(boolean respectMergeParents, int prefetchDepth) {
+    CommitObj a = repo.add(repo.initialCommit());
+    CommitObj b = a;
+    CommitObj c = a;
+    CommitObj b25 = null;
+    for (int i = 1; i <= 50; i++) {
+      b = repo.add(repo.buildCommitWithTail("b" + i, b));
+      CommitObj.Builder builder = repo.buildCommitWithTail("c" + i, c);
+      if (i == 25) {
+        b25 = b;
+        builder.addSecondaryParents(b25.id());
+      }
+      c = repo.add(builder);
+    }
+
+    AtomicInteger singleLoads = new AtomicInteger();
+    ObjId single =
+        MergeBase.builder()
+            .loadCommit(
+                id -> {
+                  singleLoads.incrementAndGet();
+                  return repo.loadCommit(id);
+                })
+            .respectMergeParents(respectMergeParents)
+            .targetCommitId(c.id())
+            .fromCommitId(b.id())
+            .build()
+            .identifyMergeBase();
+
+    AtomicInteger bulkLoads = new AtomicInteger();
+    ObjId batched =
+        MergeBase.builder()
+            .loadCommit(
+                id -> {
+                  throw new IllegalStateException("Unexpected single load");
+                })
+            .loadCommits(
+                ids -> {
+                  bulkLoads.incrementAndGet();
+                  return Arrays.stream(ids).map(repo::loadCommit).toArray(CommitObj[]::new);
+                })
+            .prefetchDepth(prefetchDepth)
+            .respectMergeParents(respectMergeParents)
+            .targetCommitId(c.id())
+            .fromCommitId(b.id())
+            .build()
+            .identifyMergeBase();
+
+    soft.assertThat(single).isEqualTo(respectMergeParents ? b25.id() : a.id());
+    soft.assertThat(batched).isEqualTo(single);
+    if (prefetchDepth > 1) {
+      soft.assertThat(bulkLoads).hasValueLessThan(singleLoads.get() / 2);
+    } else {
+      soft.assertThat(bulkLoads).hasValueLessThanOrEqualTo(singleLoads.get());
+    }
+  }
+
+  @Test
+  void prefetchMissingCommit() {
+    CommitObj a = repo.add(repo.initialCommit());
+    CommitObj b = repo.add(repo.buildCommitWithTail("b", a));
+    CommitObj c = repo.add(repo.buildCommitWithTail("c", a).addTail(randomObjId()));
+    ObjId missing = randomObjId();
+    CommitObj d = repo.add(repo.buildCommit("d", c).addSecondaryParents(missing));
+
+    // Missing tail entries are fine
+    soft.assertThat(
+            MergeBase.builder()
+                .loadCommit(repo::loadCommit)
+                .prefetchDepth(20)
+                .targetCommitId(c.id())
+                .fromCommitId(b.id())
+                .build()
+                .identifyMergeBase())
+        .isEqualTo(a.id());
+    // Missing parents are not
+    soft.assertThatThrownBy(
+            () ->
+                MergeBase.builder()
+                    .loadCommit(repo::loadCommit)
+                    .prefetchDepth(20)
+                    .targetCommitId(d.id())
+                    .fromCommitId(b.id())
+                    .build()
+                    .identifyMergeBase())
+        .isInstanceOf(NoSuchElementException.class)
+        .hasMessage("Commit '" + missing + "' not found");
+  }
+
   @Test
   void shallowCommitFlags() {
     ShallowCommit commit = new ShallowCommit(randomObjId(), new ObjId[] {randomObjId()}, 1L);
@@ -451,6 +592,12 @@ public class TestMergeBase {
       return c;
     }
 
+    CommitObj.Builder buildCommitWithTail(String msg, CommitObj parent) {
+      CommitObj.Builder commit = buildCommit(msg, parent);
+      parent.tail().stream().limit(DEFAULT_PARENTS_PER_COMMIT - 1).forEach(commit::addTail);
+      return commit;
+    }
+
     CommitObj.Builder initialCommit() {
       return initialCommit("initial");
     }
@@ -37,6 +37,8 @@ import static org.projectnessie.versioned.storage.common.indexes.StoreKey.key;
 import static org.projectnessie.versioned.storage.common.indexes.StoreKey.keyFromString;
 import static org.projectnessie.versioned.storage.common.logic.CreateCommit.Add.commitAdd;
 import static org.projectnessie.versioned.storage.common.logic.CreateCommit.Remove.commitRemove;
+import static org.projectnessie.versioned.storage.common.logic.DiffEntry.diffEntry;
+import static org.projectnessie.versioned.storage.common.logic.DiffQuery.diffQuery;
 import static org.projectnessie.versioned.storage.common.logic.Logics.commitLogic;
 import static org.projectnessie.versioned.storage.common.logic.Logics.indexesLogic;
 import static org.projectnessie.versioned.storage.common.objtypes.CommitObj.commitBuilder;
@@ -60,8 +62,11 @@ import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
 import java.util.function.BiFunction;
 import java.util.function.IntFunction;
 import java.util.stream.Collectors;
@@ -413,6 +418,103 @@ public class TestReferenceIndexes {
     }
   }
 
+  /**
+   * Verifies that diffs, which skip the reference index stripes that are identical in both commits,
+   * yield the same differences as diffing the complete indexes.
+   */
+  @Test
+  public void diffSkipsIdenticalStripes(
+      @NessieStoreConfig(
+              name = CONFIG_MAX_INCREMENTAL_INDEX_SIZE,
+              value = "" + REF_INDEX_LIFECYCLE_TEST_INCR_SIZE)
+          @NessieStoreConfig(
+              name = CONFIG_MAX_SERIALIZED_INDEX_SIZE,
+              value = "" + REF_INDEX_LIFECYCLE_TEST_SEG_SIZE)
+          @NessieStoreConfig(
+              name = CONFIG_MAX_REFERENCE_STRIPES_PER_COMMIT,
+              value = "" + REF_INDEX_LIFECYCLE_TEST_EMBEDDED)
+          @NessiePersist
+          Persist persist)
+      throws Exception {
+    CommitLogic commitLogic = commitLogic(persist);
+    IndexesLogic indexesLogic = indexesLogic(persist);
+
+    @SuppressWarnings("InlineMeInliner")
+    String suffix200 = Strings.repeat("1234567890", 20);
+    IntFunction<StoreKey> key = i -> key(format("%04x", i), suffix200);
+
+    Map<StoreKey, ObjId> values = new LinkedHashMap<>();
+    List<CommitObj> commits = new ArrayList<>();
+    ObjId head = EMPTY_OBJ_ID;
+    for (int i = 0; i < 40; i++) {
+      CreateCommit.Builder commit = stdCommit().parentCommitId(head);
+      StoreKey k = key.apply(i);
+      ObjId value = randomObjId();
+      commit.addAdds(commitAdd(k, 0, value, null, null));
+      values.put(k, value);
+      if (i % 5 == 4) {
+        // Remove a key, which is likely in a reference index stripe.
+        StoreKey removed = key.apply(i / 2);
+        commit.addRemoves(commitRemove(removed, 0, requireNonNull(values.remove(removed)), null));
+      }
+      head = requireNonNull(commitLogic.doCommit(commit.build(), emptyList())).id();
+      commits.add(commitLogic.fetchCommit(head));
+    }
+
+    CommitObj last = commits.get(commits.size() - 1);
+    soft.assertThat(last.hasReferenceIndex()).isTrue();
+
+    boolean skipped = false;
+    for (CommitObj from : commits) {
+      for (CommitObj to : commits) {
+        soft.assertThat(commitLogic.diff(diffQuery(from, to, false, null)))
+            .toIterable()
+            .describedAs("from %s to %s", from.id(), to.id())
+            .containsExactlyElementsOf(
+                diffCompleteIndexes(
+                    indexesLogic.buildCompleteIndex(from, Optional.empty()),
+                    indexesLogic.buildCompleteIndex(to, Optional.empty())));
+
+        skipped |=
+            newArrayList(indexesLogic.buildDiffIndex(from, to)).size()
+                < newArrayList(indexesLogic.buildCompleteIndex(from, Optional.empty())).size();
+      }
+    }
+    soft.assertThat(skipped).isTrue();
+  }
+
+  private static List<DiffEntry> diffCompleteIndexes(
+      StoreIndex<CommitOp> from, StoreIndex<CommitOp> to) {
+    Map<StoreKey, CommitOp> fromOps = new TreeMap<>();
+    from.forEach(el -> putIfExists(fromOps, el));
+    Map<StoreKey, CommitOp> toOps = new TreeMap<>();
+    to.forEach(el -> putIfExists(toOps, el));
+    Set<StoreKey> keys = new TreeSet<>(fromOps.keySet());
+    keys.addAll(toOps.keySet());
+
+    List<DiffEntry> diffs = new ArrayList<>();
+    for (StoreKey k : keys) {
+      CommitOp f = fromOps.get(k);
+      CommitOp t = toOps.get(k);
+      if (f == null) {
+        diffs.add(diffEntry(k, null, 0, null, t.value(), t.payload(), t.contentId()));
+      } else if (t == null) {
+        diffs.add(diffEntry(k, f.value(), f.payload(), f.contentId(), null, 0, null));
+      } else if (!Objects.equals(f.value(), t.value())) {
+        diffs.add(
+            diffEntry(
+                k, f.value(), f.payload(), f.contentId(), t.value(), t.payload(), t.contentId()));
+      }
+    }
+    return diffs;
+  }
+
+  private static void putIfExists(Map<StoreKey, CommitOp> ops, StoreIndexElement<CommitOp> el) {
+    if (el.content().action().exists()) {
+      ops.put(el.key(), el.content());
+    }
+  }
+
   @Test
   public void commitWithReferenceIndex(
       @NessieStoreConfig(name = CONFIG_MAX_SERIALIZED_INDEX_SIZE, value = "1200")
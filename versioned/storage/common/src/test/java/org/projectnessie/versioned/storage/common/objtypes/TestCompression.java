@@ -15,12 +15,17 @@
  */
 package org.projectnessie.versioned.storage.common.objtypes;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.util.Arrays;
 import org.assertj.core.api.SoftAssertions;
 import org.assertj.core.api.junit.jupiter.InjectSoftAssertions;
 import org.assertj.core.api.junit.jupiter.SoftAssertionsExtension;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.EnumSource;
+import org.junit.jupiter.params.provider.EnumSource.Mode;
 
 @ExtendWith(SoftAssertionsExtension.class)
 public class TestCompression {
@@ -34,4 +39,63 @@ public class TestCompression {
         .extracting(Compression::fromValue)
         .isSameAs(c);
   }
+
+  @ParameterizedTest
+  @EnumSource(
+      value = Compression.class,
+      mode = Mode.EXCLUDE,
+      names = {"ZSTD", "LZ4"})
+  public void roundTrip(Compression c) {
+    soft.assertThat(c.isAvailable()).isTrue();
+
+    StringBuilder sb = new StringBuilder();
+    for (int i = 0; i < 1000; i++) {
+      sb.append("namespace.table").append(i % 37).append(';');
+    }
+    byte[] data = sb.toString().getBytes(UTF_8);
+
+    byte[] compressed = c.compress(data);
+    soft.assertThat(c.decompress(compressed, data.length)).isEqualTo(data);
+    soft.assertThat(c.decompress(compressed)).isEqualTo(data);
+    soft.assertThat(c.decompress(c.compress(new byte[0]), 0)).isEmpty();
+
+    if (c != Compression.NONE) {
+      soft.assertThat(compressed.length).isLessThan(data.length);
+      soft.assertThatIllegalArgumentException()
+          .isThrownBy(() -> c.decompress(compressed, data.length + 1));
+      soft.assertThatIllegalArgumentException()
+          .isThrownBy(
+              () -> c.decompress(Arrays.copyOf(compressed, compressed.length / 2), data.length));
+    }
+  }
+
+  @Test
+  public void dictionary() {
+    byte[] dictionary = "s3://bucket/warehouse/metadata/snap-.avro".getBytes(UTF_8);
+    byte[] data = "s3://bucket/warehouse/metadata/snap-42-1.avro".getBytes(UTF_8);
+
+    byte[] plain = Compression.DEFLATE.compress(data);
+    byte[] compressed = Compression.DEFLATE.compress(data, dictionary);
+    soft.assertThat(compressed.length).isLessThan(plain.length);
+    soft.assertThat(Compression.DEFLATE.decompress(compressed, data.length, dictionary))
+        .isEqualTo(data);
+
+    soft.assertThatIllegalArgumentException()
+        .isThrownBy(() -> Compression.GZIP.compress(data, dictionary));
+    soft.assertThatIllegalArgumentException()
+        .isThrownBy(() -> Compression.NONE.decompress(data, data.length, dictionary));
+  }
+
+  @ParameterizedTest
+  @EnumSource(
+      value = Compression.class,
+      mode = Mode.INCLUDE,
+      names = {"ZSTD", "LZ4"})
+  public void unavailable(Compression c) {
+    soft.assertThat(c.isAvailable()).isFalse();
+    soft.assertThatThrownBy(() -> c.compress(new byte[10]))
+        .isInstanceOf(UnsupportedOperationException.class);
+    soft.assertThatThrownBy(() -> c.decompress(new byte[10], 10))
+        .isInstanceOf(UnsupportedOperationException.class);
+  }
 }
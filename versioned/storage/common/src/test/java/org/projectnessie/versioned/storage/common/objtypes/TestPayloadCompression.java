@@ -0,0 +1,98 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.common.objtypes;
+
+import static org.projectnessie.versioned.storage.common.indexes.StoreIndexElement.indexElement;
+import static org.projectnessie.versioned.storage.common.indexes.StoreIndexes.deserializeStoreIndex;
+import static org.projectnessie.versioned.storage.common.indexes.StoreIndexes.newStoreIndex;
+import static org.projectnessie.versioned.storage.common.indexes.StoreKey.key;
+import static org.projectnessie.versioned.storage.common.objtypes.CommitOp.Action.ADD;
+import static org.projectnessie.versioned.storage.common.objtypes.CommitOp.COMMIT_OP_SERIALIZER;
+import static org.projectnessie.versioned.storage.common.objtypes.CommitOp.commitOp;
+import static org.projectnessie.versioned.storage.common.objtypes.PayloadCompression.compressPayload;
+import static org.projectnessie.versioned.storage.common.objtypes.PayloadCompression.decompressPayload;
+import static org.projectnessie.versioned.storage.common.objtypes.PayloadCompression.isCompressedPayload;
+import static org.projectnessie.versioned.storage.common.persist.ObjId.randomObjId;
+
+import org.assertj.core.api.SoftAssertions;
+import org.assertj.core.api.junit.jupiter.InjectSoftAssertions;
+import org.assertj.core.api.junit.jupiter.SoftAssertionsExtension;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.projectnessie.nessie.relocated.protobuf.ByteString;
+import org.projectnessie.versioned.storage.common.indexes.StoreIndex;
+
+@ExtendWith(SoftAssertionsExtension.class)
+public class TestPayloadCompression {
+  @InjectSoftAssertions protected SoftAssertions soft;
+
+  static StoreIndex<CommitOp> indexWithKeys(int numKeys) {
+    StoreIndex<CommitOp> index = newStoreIndex(COMMIT_OP_SERIALIZER);
+    for (int i = 0; i < numKeys; i++) {
+      index.add(indexElement(key("ns" + (i % 17), "table" + i), commitOp(ADD, 1, randomObjId())));
+    }
+    return index;
+  }
+
+  @ParameterizedTest
+  @EnumSource(
+      value = Compression.class,
+      names = {"DEFLATE", "GZIP"})
+  public void compressedIndex(Compression compression) {
+    StoreIndex<CommitOp> index = indexWithKeys(500);
+    ByteString serialized = index.serialize();
+
+    ByteString compressed = compressPayload(serialized, compression, 0);
+    soft.assertThat(isCompressedPayload(compressed)).isTrue();
+    soft.assertThat(compressed.size()).isLessThan(serialized.size());
+    soft.assertThat(decompressPayload(compressed)).isEqualTo(serialized);
+    soft.assertThat(deserializeStoreIndex(compressed, COMMIT_OP_SERIALIZER).asKeyList())
+        .containsExactlyElementsOf(index.asKeyList());
+  }
+
+  @Test
+  public void uncompressedPayload() {
+    ByteString serialized = indexWithKeys(500).serialize();
+
+    // Existing, uncompressed payloads are returned as is.
+    soft.assertThat(isCompressedPayload(serialized)).isFalse();
+    soft.assertThat(decompressPayload(serialized)).isSameAs(serialized);
+    soft.assertThat(decompressPayload(ByteString.EMPTY)).isSameAs(ByteString.EMPTY);
+
+    soft.assertThat(compressPayload(serialized, Compression.NONE, 0)).isSameAs(serialized);
+    soft.assertThat(compressPayload(ByteString.EMPTY, Compression.DEFLATE, 0))
+        .isSameAs(ByteString.EMPTY);
+  }
+
+  @Test
+  public void minSize() {
+    ByteString serialized = indexWithKeys(500).serialize();
+
+    soft.assertThat(compressPayload(serialized, Compression.DEFLATE, serialized.size() + 1))
+        .isSameAs(serialized);
+    soft.assertThat(compressPayload(serialized, Compression.DEFLATE, serialized.size()))
+        .matches(PayloadCompression::isCompressedPayload);
+  }
+
+  @Test
+  public void incompressiblePayload() {
+    // Payloads that do not get smaller are not compressed.
+    ByteString serialized = ByteString.copyFrom(new byte[] {1, 2, 3, 4});
+    soft.assertThat(compressPayload(serialized, Compression.GZIP, 0)).isSameAs(serialized);
+  }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.common.persist;
+
+import static org.projectnessie.versioned.storage.common.persist.ObjId.objIdFromString;
+import static org.projectnessie.versioned.storage.common.persist.ObjId.randomObjId;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.assertj.core.api.SoftAssertions;
+import org.assertj.core.api.junit.jupiter.InjectSoftAssertions;
+import org.assertj.core.api.junit.jupiter.SoftAssertionsExtension;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+@ExtendWith(SoftAssertionsExtension.class)
+public class TestObjIdRange {
+
+  @InjectSoftAssertions SoftAssertions soft;
+
+  @Test
+  public void bounds() {
+    soft.assertThat(ObjIdRange.forPartition(0, 1))
+        .extracting(ObjIdRange::lower, ObjIdRange::upper)
+        .containsExactly(null, null);
+
+    ObjIdRange first = ObjIdRange.forPartition(0, 4);
+    soft.assertThat(first.lower()).isNull();
+    soft.assertThat(first.upper()).isEqualTo(objIdFromString("40000000"));
+
+    ObjIdRange second = ObjIdRange.forPartition(1, 4);
+    soft.assertThat(second.lower()).isEqualTo(objIdFromString("40000000"));
+    soft.assertThat(second.upper()).isEqualTo(objIdFromString("80000000"));
+
+    ObjIdRange last = ObjIdRange.forPartition(3, 4);
+    soft.assertThat(last.lower()).isEqualTo(objIdFromString("c0000000"));
+    soft.assertThat(last.upper()).isNull();
+
+    soft.assertThat(second.contains(objIdFromString("40000000"))).isTrue();
+    soft.assertThat(second.contains(objIdFromString("4000000000"))).isTrue();
+    soft.assertThat(second.contains(objIdFromString("3fffffffff"))).isFalse();
+    soft.assertThat(second.contains(objIdFromString("7fffffffff"))).isTrue();
+    soft.assertThat(second.contains(objIdFromString("80000000"))).isFalse();
+    soft.assertThat(first.contains(ObjId.zeroLengthObjId())).isTrue();
+    soft.assertThat(last.contains(objIdFromString("ffffffffffffffff"))).isTrue();
+
+    soft.assertThatIllegalArgumentException().isThrownBy(() -> ObjIdRange.forPartition(0, 0));
+    soft.assertThatIllegalArgumentException().isThrownBy(() -> ObjIdRange.forPartition(4, 4));
+    soft.assertThatIllegalArgumentException().isThrownBy(() -> ObjIdRange.forPartition(-1, 4));
+  }
+
+  @ParameterizedTest
+  @ValueSource(ints = {1, 2, 3, 7, 64, 1000})
+  public void everyObjIdInExactlyOnePartition(int numPartitions) {
+    List<ObjIdRange> ranges = new ArrayList<>();
+    for (int i = 0; i < numPartitions; i++) {
+      ranges.add(ObjIdRange.forPartition(i, numPartitions));
+    }
+
+    for (int i = 0; i < 1000; i++) {
+      ObjId id = randomObjId();
+      soft.assertThat(ranges.stream().filter(r -> r.contains(id))).hasSize(1);
+    }
+  }
+}
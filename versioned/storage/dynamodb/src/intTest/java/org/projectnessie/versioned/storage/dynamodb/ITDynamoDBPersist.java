@@ -18,22 +18,30 @@ package org.projectnessie.versioned.storage.dynamodb;
 import static java.util.Objects.requireNonNull;
 import static org.projectnessie.versioned.storage.common.logic.Logics.repositoryLogic;
 import static org.projectnessie.versioned.storage.common.objtypes.ContentValueObj.contentValue;
+import static org.projectnessie.versioned.storage.common.persist.ObjId.randomObjId;
+import static org.projectnessie.versioned.storage.common.persist.Reference.reference;
+import static org.projectnessie.versioned.storage.dynamodb.DynamoDBConstants.BATCH_GET_LIMIT;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
 import org.assertj.core.api.SoftAssertions;
 import org.assertj.core.api.junit.jupiter.InjectSoftAssertions;
 import org.assertj.core.api.junit.jupiter.SoftAssertionsExtension;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 import org.projectnessie.nessie.relocated.protobuf.ByteString;
 import org.projectnessie.versioned.storage.common.config.StoreConfig;
+import org.projectnessie.versioned.storage.common.exceptions.ObjNotFoundException;
 import org.projectnessie.versioned.storage.common.exceptions.ObjTooLargeException;
 import org.projectnessie.versioned.storage.common.logic.RepositoryLogic;
 import org.projectnessie.versioned.storage.common.persist.Obj;
 import org.projectnessie.versioned.storage.common.persist.ObjId;
 import org.projectnessie.versioned.storage.common.persist.Persist;
+import org.projectnessie.versioned.storage.common.persist.Reference;
 import org.projectnessie.versioned.storage.commontests.AbstractPersistTests;
 import org.projectnessie.versioned.storage.testextension.BackendTestFactory;
 import org.projectnessie.versioned.storage.testextension.NessieBackend;
@@ -159,4 +167,71 @@ public class ITDynamoDBPersist extends AbstractPersistTests {
       }
     }
   }
+
+  @Nested
+  @ExtendWith({PersistExtension.class, SoftAssertionsExtension.class})
+  public class BulkRequests {
+    @InjectSoftAssertions protected SoftAssertions soft;
+
+    @NessiePersist(initializeRepo = false)
+    protected BackendTestFactory factory;
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void multipleBatches(boolean async) throws Exception {
+      DynamoDBBackendTestFactory dynamoDBBackendTestFactory = (DynamoDBBackendTestFactory) factory;
+      DynamoDBBackendConfig config =
+          async
+              ? dynamoDBBackendTestFactory.dynamoDBConfigBuilder().maxConcurrentRequests(2).build()
+              : DynamoDBBackendConfig.builder()
+                  .client(dynamoDBBackendTestFactory.buildNewClient())
+                  .build();
+      try (DynamoDBBackend backend = dynamoDBBackendTestFactory.createNewBackend(config, true)) {
+        backend.setupSchema();
+        Persist persist =
+            backend
+                .createFactory()
+                .newPersist(
+                    StoreConfig.Adjustable.empty().withRepositoryId(UUID.randomUUID().toString()));
+
+        int num = 2 * BATCH_GET_LIMIT + 17;
+        Obj[] objs = new Obj[num];
+        ObjId[] ids = new ObjId[num];
+        for (int i = 0; i < num; i++) {
+          objs[i] = contentValue("cid-" + i, 1, ByteString.copyFromUtf8("value-" + i));
+          ids[i] = objs[i].id();
+        }
+
+        soft.assertThat(persist.storeObjs(objs)).doesNotContain(false);
+        soft.assertThat(persist.storeObjs(objs)).doesNotContain(true);
+        soft.assertThat(persist.fetchObjs(ids)).containsExactly(objs);
+        soft.assertThat(persist.async().fetchObjsAsync(ids).toCompletableFuture().get())
+            .containsExactly(objs);
+
+        ObjId missing = randomObjId();
+        ObjId[] withMissing = new ObjId[num + 1];
+        System.arraycopy(ids, 0, withMissing, 0, num);
+        withMissing[num] = missing;
+        soft.assertThatThrownBy(() -> persist.fetchObjs(withMissing))
+            .isInstanceOf(ObjNotFoundException.class)
+            .extracting(e -> ((ObjNotFoundException) e).objIds())
+            .asList()
+            .containsExactly(missing);
+
+        Reference[] refs = new Reference[BATCH_GET_LIMIT + 5];
+        String[] names = new String[refs.length + 1];
+        for (int i = 0; i < refs.length; i++) {
+          refs[i] = persist.addReference(reference("refs/heads/b" + i, ids[i], false, 0L, null));
+          names[i] = refs[i].name();
+        }
+        names[refs.length] = "refs/heads/missing";
+        Reference[] fetched = persist.fetchReferences(names);
+        soft.assertThat(fetched).hasSize(names.length);
+        for (int i = 0; i < refs.length; i++) {
+          soft.assertThat(fetched[i]).isEqualTo(refs[i]);
+        }
+        soft.assertThat(fetched[refs.length]).isNull();
+      }
+    }
+  }
 }
@@ -16,6 +16,7 @@
 package org.projectnessie.versioned.storage.dynamodb;
 
 import static java.util.Collections.singletonMap;
+import static org.projectnessie.versioned.storage.dynamodb.DynamoDBBackend.sleepBeforeUnprocessedRetry;
 import static org.projectnessie.versioned.storage.dynamodb.DynamoDBConstants.BATCH_WRITE_MAX_REQUESTS;
 import static org.projectnessie.versioned.storage.dynamodb.DynamoDBConstants.KEY_NAME;
 
@@ -23,6 +24,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.BatchWriteItemResponse;
 import software.amazon.awssdk.services.dynamodb.model.WriteRequest;
 
 final class BatchWrite implements AutoCloseable {
@@ -60,7 +62,19 @@ final class BatchWrite implements AutoCloseable {
   }
 
   private void flush() {
-    backend.client().batchWriteItem(b -> b.requestItems(singletonMap(tableName, requestItems)));
+    Map<String, List<WriteRequest>> items = singletonMap(tableName, new ArrayList<>(requestItems));
     requestItems.clear();
+    for (int retry = 0; ; retry++) {
+      if (retry > 0) {
+        sleepBeforeUnprocessedRetry(retry);
+      }
+      Map<String, List<WriteRequest>> request = items;
+      BatchWriteItemResponse response =
+          backend.client().batchWriteItem(b -> b.requestItems(request));
+      items = response.unprocessedItems();
+      if (items.isEmpty()) {
+        return;
+      }
+    }
   }
 }
@@ -15,19 +15,30 @@
  */
 package org.projectnessie.versioned.storage.dynamodb;
 
+import static com.google.common.base.Preconditions.checkState;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static org.projectnessie.versioned.storage.dynamodb.DynamoDBConstants.KEY_NAME;
 import static org.projectnessie.versioned.storage.dynamodb.DynamoDBConstants.TABLE_OBJS;
 import static org.projectnessie.versioned.storage.dynamodb.DynamoDBConstants.TABLE_REFS;
+import static org.projectnessie.versioned.storage.dynamodb.DynamoDBConstants.UNPROCESSED_MAX_RETRIES;
+import static org.projectnessie.versioned.storage.dynamodb.DynamoDBConstants.UNPROCESSED_RETRY_INITIAL_BACKOFF_MILLIS;
+import static org.projectnessie.versioned.storage.dynamodb.DynamoDBConstants.UNPROCESSED_RETRY_MAX_BACKOFF_MILLIS;
 
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import org.projectnessie.versioned.storage.common.persist.Backend;
 import org.projectnessie.versioned.storage.common.persist.PersistFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
 import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
 import software.amazon.awssdk.services.dynamodb.model.AttributeDefinition;
 import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
@@ -46,6 +57,8 @@ final class DynamoDBBackend implements Backend {
   private static final Logger LOGGER = LoggerFactory.getLogger(DynamoDBBackend.class);
 
   private final DynamoDbClient client;
+  private final DynamoDbAsyncClient asyncClient;
+  private final int maxConcurrentRequests;
   private final boolean closeClient;
 
   final String tableRefs;
@@ -54,6 +67,8 @@ final class DynamoDBBackend implements Backend {
   DynamoDBBackend(
       @Nonnull @jakarta.annotation.Nonnull DynamoDBBackendConfig config, boolean closeClient) {
     this.client = config.client();
+    this.asyncClient = config.asyncClient().orElse(null);
+    this.maxConcurrentRequests = config.maxConcurrentRequests();
     this.tableRefs =
         config.tablePrefix().map(prefix -> prefix + '_' + TABLE_REFS).orElse(TABLE_REFS);
     this.tableObjs =
@@ -67,6 +82,17 @@ final class DynamoDBBackend implements Backend {
     return client;
   }
 
+  /** The asynchronous client, or {@code null}, if none is configured. */
+  @Nullable
+  @jakarta.annotation.Nullable
+  DynamoDbAsyncClient asyncClient() {
+    return asyncClient;
+  }
+
+  int maxConcurrentRequests() {
+    return maxConcurrentRequests;
+  }
+
   @Override
   @Nonnull
   @jakarta.annotation.Nonnull
@@ -77,7 +103,13 @@ final class DynamoDBBackend implements Backend {
   @Override
   public void close() {
     if (closeClient) {
-      client.close();
+      try {
+        client.close();
+      } finally {
+        if (asyncClient != null) {
+          asyncClient.close();
+        }
+      }
     }
   }
 
@@ -176,6 +208,61 @@ final class DynamoDBBackend implements Backend {
     return repositoryId + ':';
   }
 
+  /**
+   * Returns the delay in milliseconds before the given retry of the unprocessed keys or items of a
+   * {@code BatchGetItem} or {@code BatchWriteItem} request, exponentially growing with jitter.
+   *
+   * @throws IllegalStateException if the maximum number of retries has been exceeded
+   */
+  static long unprocessedRetryBackoffMillis(int retry) {
+    checkState(
+        retry <= UNPROCESSED_MAX_RETRIES,
+        "DynamoDB did not process all keys or items of a batch request after %s retries",
+        UNPROCESSED_MAX_RETRIES);
+    long backoff =
+        Math.min(
+            UNPROCESSED_RETRY_INITIAL_BACKOFF_MILLIS << Math.min(retry - 1, 16),
+            UNPROCESSED_RETRY_MAX_BACKOFF_MILLIS);
+    return ThreadLocalRandom.current().nextLong(backoff / 2, backoff + 1);
+  }
+
+  /** Blocks the calling thread before the given retry of unprocessed keys or items. */
+  static void sleepBeforeUnprocessedRetry(int retry) {
+    try {
+      Thread.sleep(unprocessedRetryBackoffMillis(retry));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException(e);
+    }
+  }
+
+  /** Completes after the delay before the given retry of unprocessed keys or items. */
+  static CompletionStage<Void> delayBeforeUnprocessedRetry(int retry) {
+    return CompletableFuture.runAsync(
+        () -> {},
+        CompletableFuture.delayedExecutor(unprocessedRetryBackoffMillis(retry), MILLISECONDS));
+  }
+
+  /**
+   * Runs the given asynchronous operations without blocking, at most {@code maxConcurrent}
+   * operations at a time. The returned {@link CompletionStage} completes when all operations have
+   * completed, it completes exceptionally, if any operation failed.
+   */
+  static CompletionStage<Void> runConcurrently(
+      List<Supplier<CompletionStage<?>>> operations, int maxConcurrent) {
+    int lanes = Math.min(maxConcurrent, operations.size());
+    CompletableFuture<?>[] laneResults = new CompletableFuture[lanes];
+    for (int lane = 0; lane < lanes; lane++) {
+      CompletionStage<?> laneResult = CompletableFuture.completedFuture(null);
+      for (int i = lane; i < operations.size(); i += lanes) {
+        Supplier<CompletionStage<?>> operation = operations.get(i);
+        laneResult = laneResult.thenCompose(x -> operation.get());
+      }
+      laneResults[lane] = laneResult.toCompletableFuture();
+    }
+    return CompletableFuture.allOf(laneResults);
+  }
+
   static Condition condition(ComparisonOperator operator, AttributeValue... values) {
     return Condition.builder().comparisonOperator(operator).attributeValueList(values).build();
   }
@@ -15,17 +15,47 @@
  */
 package org.projectnessie.versioned.storage.dynamodb;
 
+import static com.google.common.base.Preconditions.checkState;
+
 import java.util.Optional;
 import org.immutables.value.Value;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
 import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
 
 @Value.Immutable
 public interface DynamoDBBackendConfig {
+
+  int DEFAULT_MAX_CONCURRENT_REQUESTS = 8;
+
   DynamoDbClient client();
 
+  /**
+   * Optional asynchronous client. If present, bulk fetches and stores issue their {@code
+   * BatchGetItem} and {@code PutItem} requests concurrently using this client, see {@link
+   * #maxConcurrentRequests()}.
+   */
+  Optional<DynamoDbAsyncClient> asyncClient();
+
   Optional<String> tablePrefix();
 
+  /**
+   * Maximum number of concurrently in-flight requests issued by a single bulk fetch or store
+   * operation, only effective if an {@link #asyncClient() asynchronous client} is configured.
+   */
+  @Value.Default
+  default int maxConcurrentRequests() {
+    return DEFAULT_MAX_CONCURRENT_REQUESTS;
+  }
+
   static ImmutableDynamoDBBackendConfig.Builder builder() {
     return ImmutableDynamoDBBackendConfig.builder();
   }
+
+  @Value.Check
+  default void check() {
+    checkState(
+        maxConcurrentRequests() > 0,
+        "DynamoDB config: maxConcurrentRequests must be positive, but is %s",
+        maxConcurrentRequests());
+  }
 }
@@ -25,6 +25,7 @@ import org.testcontainers.containers.GenericContainer;
 import org.testcontainers.containers.output.Slf4jLogConsumer;
 import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
 import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
 import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
 
 public class DynamoDBBackendTestFactory implements BackendTestFactory {
@@ -53,18 +54,28 @@ public class DynamoDBBackendTestFactory implements BackendTestFactory {
 
   @VisibleForTesting
   public ImmutableDynamoDBBackendConfig.Builder dynamoDBConfigBuilder() {
-    return DynamoDBBackendConfig.builder().client(buildNewClient());
+    return DynamoDBBackendConfig.builder()
+        .client(buildNewClient())
+        .asyncClient(buildNewAsyncClient());
   }
 
   @VisibleForTesting
   DynamoDbClient buildNewClient() {
+    return clientProducer().createClient();
+  }
+
+  @VisibleForTesting
+  DynamoDbAsyncClient buildNewAsyncClient() {
+    return clientProducer().createAsyncClient();
+  }
+
+  private DynamoClientProducer clientProducer() {
     return DynamoClientProducer.builder()
         .endpointURI(endpointURI)
         .region("US_WEST_2")
         .credentialsProvider(
             StaticCredentialsProvider.create(AwsBasicCredentials.create("xxx", "xxx")))
-        .build()
-        .createClient();
+        .build();
   }
 
   @SuppressWarnings("resource")
@@ -21,6 +21,13 @@ final class DynamoDBConstants {
   static final int ITEM_SIZE_LIMIT = 400 * 1024;
   static final int BATCH_GET_LIMIT = 100;
   static final int BATCH_WRITE_MAX_REQUESTS = 25;
+  // Max number of segments of a parallel Scan
+  static final int MAX_SCAN_SEGMENTS = 1_000_000;
+
+  // Backoff for retries of unprocessed keys/items of BatchGetItem/BatchWriteItem requests
+  static final long UNPROCESSED_RETRY_INITIAL_BACKOFF_MILLIS = 10L;
+  static final long UNPROCESSED_RETRY_MAX_BACKOFF_MILLIS = 1000L;
+  static final int UNPROCESSED_MAX_RETRIES = 20;
 
   static final String TABLE_REFS = "refs";
   static final String TABLE_OBJS = "objs";
@@ -23,7 +23,10 @@ import static java.util.Collections.singletonMap;
 import static org.projectnessie.versioned.storage.common.persist.ObjId.objIdFromString;
 import static org.projectnessie.versioned.storage.common.persist.Reference.reference;
 import static org.projectnessie.versioned.storage.dynamodb.DynamoDBBackend.condition;
+import static org.projectnessie.versioned.storage.dynamodb.DynamoDBBackend.delayBeforeUnprocessedRetry;
 import static org.projectnessie.versioned.storage.dynamodb.DynamoDBBackend.keyPrefix;
+import static org.projectnessie.versioned.storage.dynamodb.DynamoDBBackend.runConcurrently;
+import static org.projectnessie.versioned.storage.dynamodb.DynamoDBBackend.sleepBeforeUnprocessedRetry;
 import static org.projectnessie.versioned.storage.dynamodb.DynamoDBConstants.BATCH_GET_LIMIT;
 import static org.projectnessie.versioned.storage.dynamodb.DynamoDBConstants.COL_OBJ_TYPE;
 import static org.projectnessie.versioned.storage.dynamodb.DynamoDBConstants.COL_REFERENCES_CONDITION_COMMON;
@@ -36,6 +39,7 @@ import static org.projectnessie.versioned.storage.dynamodb.DynamoDBConstants.CON
 import static org.projectnessie.versioned.storage.dynamodb.DynamoDBConstants.CONDITION_STORE_REF;
 import static org.projectnessie.versioned.storage.dynamodb.DynamoDBConstants.ITEM_SIZE_LIMIT;
 import static org.projectnessie.versioned.storage.dynamodb.DynamoDBConstants.KEY_NAME;
+import static org.projectnessie.versioned.storage.dynamodb.DynamoDBConstants.MAX_SCAN_SEGMENTS;
 import static org.projectnessie.versioned.storage.serialize.ProtoSerialization.deserializePreviousPointers;
 import static org.projectnessie.versioned.storage.serialize.ProtoSerialization.serializePreviousPointers;
 import static software.amazon.awssdk.core.SdkBytes.fromByteArray;
@@ -46,6 +50,7 @@ import static software.amazon.awssdk.services.dynamodb.model.AttributeValue.from
 import static software.amazon.awssdk.services.dynamodb.model.ComparisonOperator.BEGINS_WITH;
 import static software.amazon.awssdk.services.dynamodb.model.ComparisonOperator.IN;
 
+import com.google.common.base.Throwables;
 import com.google.common.collect.AbstractIterator;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -54,6 +59,11 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import org.agrona.collections.Hashing;
@@ -64,6 +74,7 @@ import org.projectnessie.versioned.storage.common.exceptions.ObjTooLargeExceptio
 import org.projectnessie.versioned.storage.common.exceptions.RefAlreadyExistsException;
 import org.projectnessie.versioned.storage.common.exceptions.RefConditionFailedException;
 import org.projectnessie.versioned.storage.common.exceptions.RefNotFoundException;
+import org.projectnessie.versioned.storage.common.persist.AsyncPersist;
 import org.projectnessie.versioned.storage.common.persist.CloseableIterator;
 import org.projectnessie.versioned.storage.common.persist.Obj;
 import org.projectnessie.versioned.storage.common.persist.ObjId;
@@ -74,13 +85,16 @@ import org.projectnessie.versioned.storage.common.persist.Reference;
 import org.projectnessie.versioned.storage.dynamodb.serializers.ObjSerializer;
 import org.projectnessie.versioned.storage.dynamodb.serializers.ObjSerializers;
 import software.amazon.awssdk.awscore.exception.AwsErrorDetails;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
 import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.BatchGetItemRequest;
 import software.amazon.awssdk.services.dynamodb.model.BatchGetItemResponse;
 import software.amazon.awssdk.services.dynamodb.model.Condition;
 import software.amazon.awssdk.services.dynamodb.model.ConditionalCheckFailedException;
 import software.amazon.awssdk.services.dynamodb.model.DynamoDbException;
 import software.amazon.awssdk.services.dynamodb.model.GetItemResponse;
 import software.amazon.awssdk.services.dynamodb.model.KeysAndAttributes;
+import software.amazon.awssdk.services.dynamodb.model.ScanRequest;
 import software.amazon.awssdk.services.dynamodb.model.ScanResponse;
 
 public class DynamoDBPersist implements Persist {
@@ -88,11 +102,14 @@ public class DynamoDBPersist implements Persist {
   private final DynamoDBBackend backend;
   private final StoreConfig config;
   private final String keyPrefix;
+  private final DynamoDBAsyncPersist asyncPersist;
 
   DynamoDBPersist(DynamoDBBackend backend, StoreConfig config) {
     this.backend = backend;
     this.config = config;
     this.keyPrefix = keyPrefix(config.repositoryId());
+    DynamoDbAsyncClient asyncClient = backend.asyncClient();
+    this.asyncPersist = asyncClient != null ? new DynamoDBAsyncPersist(asyncClient) : null;
   }
 
   @Nonnull
@@ -228,6 +245,10 @@ public class DynamoDBPersist implements Persist {
   @jakarta.annotation.Nonnull
   @Override
   public Reference[] fetchReferences(@Nonnull @jakarta.annotation.Nonnull String[] names) {
+    if (asyncPersist != null) {
+      return join(asyncPersist.fetchReferencesAsync(names), RuntimeException.class);
+    }
+
     List<Map<String, AttributeValue>> keys =
         new ArrayList<>(Math.min(names.length, BATCH_GET_LIMIT));
     Object2IntHashMap<String> nameToIndex =
@@ -258,34 +279,29 @@ public class DynamoDBPersist implements Persist {
       Reference[] r,
       List<Map<String, AttributeValue>> keys,
       Object2IntHashMap<String> nameToIndex) {
-    Map<String, KeysAndAttributes> requestItems =
-        singletonMap(backend.tableRefs, KeysAndAttributes.builder().keys(keys).build());
-
-    BatchGetItemResponse response =
-        backend.client().batchGetItem(b -> b.requestItems(requestItems));
-
-    response
-        .responses()
-        .get(backend.tableRefs)
-        .forEach(
-            item -> {
-              String name = item.get(KEY_NAME).s().substring(keyPrefix.length());
-              String createdAtStr =
-                  DynamoDBSerde.attributeToString(item, COL_REFERENCES_CREATED_AT);
-              long createdAt = createdAtStr != null ? Long.parseLong(createdAtStr) : 0L;
-              Reference reference =
-                  reference(
-                      name,
-                      DynamoDBSerde.attributeToObjId(item, COL_REFERENCES_POINTER),
-                      DynamoDBSerde.attributeToBool(item, COL_REFERENCES_DELETED),
-                      createdAt,
-                      DynamoDBSerde.attributeToObjId(item, COL_REFERENCES_EXTENDED_INFO),
-                      attributeToPreviousPointers(item));
-              int idx = nameToIndex.getValue(name);
-              if (idx >= 0) {
-                r[idx] = reference;
-              }
-            });
+    batchGet(
+        backend.tableRefs,
+        keys,
+        item -> {
+          Reference reference = itemToReference(item);
+          int idx = nameToIndex.getValue(reference.name());
+          if (idx >= 0) {
+            r[idx] = reference;
+          }
+        });
+  }
+
+  private Reference itemToReference(Map<String, AttributeValue> item) {
+    String name = item.get(KEY_NAME).s().substring(keyPrefix.length());
+    String createdAtStr = DynamoDBSerde.attributeToString(item, COL_REFERENCES_CREATED_AT);
+    long createdAt = createdAtStr != null ? Long.parseLong(createdAtStr) : 0L;
+    return reference(
+        name,
+        DynamoDBSerde.attributeToObjId(item, COL_REFERENCES_POINTER),
+        DynamoDBSerde.attributeToBool(item, COL_REFERENCES_DELETED),
+        createdAt,
+        DynamoDBSerde.attributeToObjId(item, COL_REFERENCES_EXTENDED_INFO),
+        attributeToPreviousPointers(item));
   }
 
   private List<Reference.PreviousPointer> attributeToPreviousPointers(
@@ -357,6 +373,10 @@ public class DynamoDBPersist implements Persist {
   @Override
   public Obj[] fetchObjs(@Nonnull @jakarta.annotation.Nonnull ObjId[] ids)
       throws ObjNotFoundException {
+    if (asyncPersist != null) {
+      return join(asyncPersist.fetchObjsAsync(ids), ObjNotFoundException.class);
+    }
+
     List<Map<String, AttributeValue>> keys = new ArrayList<>(Math.min(ids.length, BATCH_GET_LIMIT));
     Object2IntHashMap<ObjId> idToIndex =
         new Object2IntHashMap<>(200, Hashing.DEFAULT_LOAD_FACTOR, -1);
@@ -379,6 +399,15 @@ public class DynamoDBPersist implements Persist {
       fetchObjsPage(r, keys, idToIndex);
     }
 
+    ObjNotFoundException notFound = notFound(ids, r);
+    if (notFound != null) {
+      throw notFound;
+    }
+
+    return r;
+  }
+
+  private static ObjNotFoundException notFound(ObjId[] ids, Obj[] r) {
     List<ObjId> notFound = null;
     for (int i = 0; i < ids.length; i++) {
       ObjId id = ids[i];
@@ -389,33 +418,47 @@ public class DynamoDBPersist implements Persist {
         notFound.add(id);
       }
     }
-    if (notFound != null) {
-      throw new ObjNotFoundException(notFound);
-    }
-
-    return r;
+    return notFound != null ? new ObjNotFoundException(notFound) : null;
   }
 
   private void fetchObjsPage(
       Obj[] r, List<Map<String, AttributeValue>> keys, Object2IntHashMap<ObjId> idToIndex) {
+    batchGet(
+        backend.tableObjs,
+        keys,
+        item -> {
+          Obj obj = itemToObj(item);
+          int idx = idToIndex.getValue(obj.id());
+          if (idx != -1) {
+            r[idx] = obj;
+          }
+        });
+  }
 
+  /**
+   * Fetches the items for the given keys using a {@code BatchGetItem} request, retries the
+   * unprocessed keys returned by DynamoDB with backoff.
+   */
+  private void batchGet(
+      String table,
+      List<Map<String, AttributeValue>> keys,
+      Consumer<Map<String, AttributeValue>> itemConsumer) {
     Map<String, KeysAndAttributes> requestItems =
-        singletonMap(backend.tableObjs, KeysAndAttributes.builder().keys(keys).build());
-
-    BatchGetItemResponse response =
-        backend.client().batchGetItem(b -> b.requestItems(requestItems));
-
-    response
-        .responses()
-        .get(backend.tableObjs)
-        .forEach(
-            item -> {
-              Obj obj = itemToObj(item);
-              int idx = idToIndex.getValue(obj.id());
-              if (idx != -1) {
-                r[idx] = obj;
-              }
-            });
+        singletonMap(table, KeysAndAttributes.builder().keys(keys).build());
+    for (int retry = 0; ; retry++) {
+      if (retry > 0) {
+        sleepBeforeUnprocessedRetry(retry);
+      }
+      BatchGetItemResponse response =
+          backend
+              .client()
+              .batchGetItem(BatchGetItemRequest.builder().requestItems(requestItems).build());
+      response.responses().getOrDefault(table, emptyList()).forEach(itemConsumer);
+      requestItems = response.unprocessedKeys();
+      if (requestItems.isEmpty()) {
+        return;
+      }
+    }
   }
 
   @Nonnull
@@ -423,6 +466,10 @@ public class DynamoDBPersist implements Persist {
   @Override
   public boolean[] storeObjs(@Nonnull @jakarta.annotation.Nonnull Obj[] objs)
       throws ObjTooLargeException {
+    if (asyncPersist != null) {
+      return join(asyncPersist.storeObjsAsync(objs), ObjTooLargeException.class);
+    }
+
     // DynamoDB does not support "PUT IF NOT EXISTS" in a BatchWriteItemRequest/PutItem
     boolean[] r = new boolean[objs.length];
     for (int i = 0; i < objs.length; i++) {
@@ -523,7 +570,27 @@ public class DynamoDBPersist implements Persist {
   @Override
   public CloseableIterator<Obj> scanAllObjects(
       @Nonnull @jakarta.annotation.Nonnull Set<ObjType> returnedObjTypes) {
-    return new ScanAllObjectsIterator(returnedObjTypes);
+    return new ScanAllObjectsIterator(returnedObjTypes, b -> {});
+  }
+
+  /** Uses a parallel scan, each partition is a segment of the scan. */
+  @Nonnull
+  @jakarta.annotation.Nonnull
+  @Override
+  public CloseableIterator<Obj> scanObjectsPartition(
+      @Nonnull @jakarta.annotation.Nonnull Set<ObjType> returnedObjTypes,
+      int partition,
+      int numPartitions) {
+    checkArgument(
+        numPartitions > 0 && numPartitions <= MAX_SCAN_SEGMENTS,
+        "numPartitions must be between 1 and %s",
+        MAX_SCAN_SEGMENTS);
+    checkArgument(
+        partition >= 0 && partition < numPartitions,
+        "partition must be between 0 and %s",
+        numPartitions - 1);
+    return new ScanAllObjectsIterator(
+        returnedObjTypes, b -> b.segment(partition).totalSegments(numPartitions));
   }
 
   @Override
@@ -531,6 +598,209 @@ public class DynamoDBPersist implements Persist {
     backend.eraseRepositories(singleton(config().repositoryId()));
   }
 
+  @Nonnull
+  @jakarta.annotation.Nonnull
+  @Override
+  public AsyncPersist async() {
+    return asyncPersist != null ? asyncPersist : AsyncPersist.blocking(this);
+  }
+
+  /**
+   * Waits for the given {@link CompletionStage} and rethrows the cause of a failure, if it is an
+   * unchecked exception or an instance of {@code checked}.
+   */
+  private static <R, E extends Exception> R join(CompletionStage<R> stage, Class<E> checked)
+      throws E {
+    try {
+      return stage.toCompletableFuture().join();
+    } catch (CompletionException e) {
+      Throwable cause = e.getCause();
+      Throwables.throwIfInstanceOf(cause, checked);
+      Throwables.throwIfUnchecked(cause);
+      throw new RuntimeException(cause);
+    }
+  }
+
+  private static Throwable unwrap(Throwable t) {
+    return t instanceof CompletionException && t.getCause() != null ? t.getCause() : t;
+  }
+
+  /**
+   * Implements the bulk functions using the asynchronous DynamoDB client, {@code BatchGetItem}
+   * requests of up to {@value DynamoDBConstants#BATCH_GET_LIMIT} keys and conditional {@code
+   * PutItem} requests are issued concurrently, at most {@link
+   * DynamoDBBackendConfig#maxConcurrentRequests()} at a time.
+   *
+   * <p>Objects are stored using individual {@code PutItem} requests, because {@code
+   * BatchWriteItem} does not support condition expressions.
+   */
+  private final class DynamoDBAsyncPersist implements AsyncPersist {
+    private final DynamoDbAsyncClient client;
+
+    DynamoDBAsyncPersist(DynamoDbAsyncClient client) {
+      this.client = client;
+    }
+
+    @Nonnull
+    @jakarta.annotation.Nonnull
+    @Override
+    public CompletionStage<Reference[]> fetchReferencesAsync(
+        @Nonnull @jakarta.annotation.Nonnull String[] names) {
+      Reference[] r = new Reference[names.length];
+      List<Map<String, AttributeValue>> keys = new ArrayList<>(names.length);
+      Object2IntHashMap<String> nameToIndex =
+          new Object2IntHashMap<>(names.length * 2, Hashing.DEFAULT_LOAD_FACTOR, -1);
+      for (int i = 0; i < names.length; i++) {
+        String name = names[i];
+        if (name != null) {
+          keys.add(referenceKeyMap(name));
+          nameToIndex.put(name, i);
+        }
+      }
+
+      // 'nameToIndex' is only read while the requests are in flight.
+      return batchGetAsync(
+              backend.tableRefs,
+              keys,
+              item -> {
+                Reference reference = itemToReference(item);
+                int idx = nameToIndex.getValue(reference.name());
+                if (idx >= 0) {
+                  r[idx] = reference;
+                }
+              })
+          .thenApply(x -> r);
+    }
+
+    @Nonnull
+    @jakarta.annotation.Nonnull
+    @Override
+    public CompletionStage<Obj[]> fetchObjsAsync(
+        @Nonnull @jakarta.annotation.Nonnull ObjId[] ids) {
+      Obj[] r = new Obj[ids.length];
+      List<Map<String, AttributeValue>> keys = new ArrayList<>(ids.length);
+      Object2IntHashMap<ObjId> idToIndex =
+          new Object2IntHashMap<>(ids.length * 2, Hashing.DEFAULT_LOAD_FACTOR, -1);
+      for (int i = 0; i < ids.length; i++) {
+        ObjId id = ids[i];
+        if (id != null) {
+          keys.add(objKeyMap(id));
+          idToIndex.put(id, i);
+        }
+      }
+
+      return batchGetAsync(
+              backend.tableObjs,
+              keys,
+              item -> {
+                Obj obj = itemToObj(item);
+                int idx = idToIndex.getValue(obj.id());
+                if (idx != -1) {
+                  r[idx] = obj;
+                }
+              })
+          .thenCompose(
+              x -> {
+                ObjNotFoundException notFound = notFound(ids, r);
+                return notFound == null
+                    ? CompletableFuture.completedFuture(r)
+                    : CompletableFuture.failedFuture(notFound);
+              });
+    }
+
+    @Nonnull
+    @jakarta.annotation.Nonnull
+    @Override
+    public CompletionStage<boolean[]> storeObjsAsync(
+        @Nonnull @jakarta.annotation.Nonnull Obj[] objs) {
+      boolean[] r = new boolean[objs.length];
+      List<Supplier<CompletionStage<?>>> puts = new ArrayList<>(objs.length);
+      for (int i = 0; i < objs.length; i++) {
+        Obj obj = objs[i];
+        if (obj == null) {
+          continue;
+        }
+        Map<String, AttributeValue> item;
+        try {
+          ObjId id = obj.id();
+          checkArgument(id != null, "Obj to store must have a non-null ID");
+          item = objToItem(obj, id, false);
+        } catch (Exception e) {
+          return CompletableFuture.failedFuture(e);
+        }
+
+        int idx = i;
+        puts.add(
+            () ->
+                client
+                    .putItem(
+                        b ->
+                            b.tableName(backend.tableObjs)
+                                .conditionExpression(CONDITION_STORE_OBJ)
+                                .item(item))
+                    .handle(
+                        (response, failure) -> {
+                          if (failure == null) {
+                            r[idx] = true;
+                            return null;
+                          }
+                          Throwable cause = unwrap(failure);
+                          if (cause instanceof ConditionalCheckFailedException) {
+                            return null;
+                          }
+                          if (cause instanceof DynamoDbException
+                              && checkItemSizeExceeded(
+                                  ((DynamoDbException) cause).awsErrorDetails())) {
+                            cause = new ObjTooLargeException();
+                          }
+                          throw new CompletionException(cause);
+                        }));
+      }
+
+      return runConcurrently(puts, backend.maxConcurrentRequests()).thenApply(x -> r);
+    }
+
+    /**
+     * Fetches the items for the given keys using concurrent {@code BatchGetItem} requests of up to
+     * {@value DynamoDBConstants#BATCH_GET_LIMIT} keys each.
+     */
+    private CompletionStage<Void> batchGetAsync(
+        String table,
+        List<Map<String, AttributeValue>> keys,
+        Consumer<Map<String, AttributeValue>> itemConsumer) {
+      List<Supplier<CompletionStage<?>>> requests = new ArrayList<>();
+      for (int i = 0; i < keys.size(); i += BATCH_GET_LIMIT) {
+        List<Map<String, AttributeValue>> page =
+            keys.subList(i, Math.min(i + BATCH_GET_LIMIT, keys.size()));
+        Map<String, KeysAndAttributes> requestItems =
+            singletonMap(table, KeysAndAttributes.builder().keys(page).build());
+        requests.add(() -> batchGetPageAsync(table, requestItems, itemConsumer, 0));
+      }
+      return runConcurrently(requests, backend.maxConcurrentRequests());
+    }
+
+    /** Issues a {@code BatchGetItem} request, retries unprocessed keys with backoff. */
+    private CompletionStage<Void> batchGetPageAsync(
+        String table,
+        Map<String, KeysAndAttributes> requestItems,
+        Consumer<Map<String, AttributeValue>> itemConsumer,
+        int retry) {
+      return client
+          .batchGetItem(BatchGetItemRequest.builder().requestItems(requestItems).build())
+          .thenCompose(
+              response -> {
+                response.responses().getOrDefault(table, emptyList()).forEach(itemConsumer);
+                Map<String, KeysAndAttributes> unprocessed = response.unprocessedKeys();
+                if (unprocessed.isEmpty()) {
+                  return CompletableFuture.completedFuture(null);
+                }
+                return delayBeforeUnprocessedRetry(retry + 1)
+                    .thenCompose(
+                        x -> batchGetPageAsync(table, unprocessed, itemConsumer, retry + 1));
+              });
+    }
+  }
+
   private Obj itemToObj(Map<String, AttributeValue> item) {
     ObjId id = objIdFromString(item.get(KEY_NAME).s().substring(keyPrefix.length()));
     AttributeValue attributeValue = item.get(COL_OBJ_TYPE);
@@ -656,7 +926,8 @@ public class DynamoDBPersist implements Persist {
     private final Iterator<ScanResponse> iter;
     private Iterator<Map<String, AttributeValue>> pageIter = emptyListIterator();
 
-    public ScanAllObjectsIterator(Set<ObjType> returnedObjTypes) {
+    public ScanAllObjectsIterator(
+        Set<ObjType> returnedObjTypes, Consumer<ScanRequest.Builder> scanCustomizer) {
 
       AttributeValue[] objTypes =
           returnedObjTypes.stream()
@@ -670,7 +941,11 @@ public class DynamoDBPersist implements Persist {
       iter =
           backend
               .client()
-              .scanPaginator(b -> b.tableName(backend.tableObjs).scanFilter(scanFilter))
+              .scanPaginator(
+                  b -> {
+                    b.tableName(backend.tableObjs).scanFilter(scanFilter);
+                    scanCustomizer.accept(b);
+                  })
               .iterator();
     }
 
@@ -21,10 +21,11 @@ plugins {
 
 extra["maven.name"] = "Nessie - Storage - Inmemory"
 
-description = "Storage implementation using in-memory maps, not persisting."
+description = "Storage implementation using in-memory maps or arenas, not persisting."
 
 dependencies {
   implementation(project(":nessie-versioned-storage-common"))
+  implementation(project(":nessie-versioned-storage-common-serialize"))
   implementation(project(path = ":nessie-protobuf-relocated", configuration = "shadow"))
 
   // javax/jakarta
@@ -43,6 +44,7 @@ dependencies {
   annotationProcessor(libs.immutables.value.processor)
 
   testImplementation(project(":nessie-versioned-storage-common-tests"))
+  testImplementation(project(":nessie-versioned-storage-testextension"))
   testImplementation(platform(libs.junit.bom))
   testImplementation(libs.bundles.junit.testing)
   testRuntimeOnly(libs.logback.classic)
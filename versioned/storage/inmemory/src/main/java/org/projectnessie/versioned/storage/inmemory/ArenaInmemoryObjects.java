@@ -0,0 +1,130 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.inmemory;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static org.projectnessie.versioned.storage.common.persist.ObjId.objIdFromByteArray;
+import static org.projectnessie.versioned.storage.serialize.ProtoSerialization.deserializeObj;
+import static org.projectnessie.versioned.storage.serialize.ProtoSerialization.serializeObj;
+
+import com.google.common.collect.AbstractIterator;
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import org.projectnessie.versioned.storage.common.exceptions.ObjTooLargeException;
+import org.projectnessie.versioned.storage.common.persist.Obj;
+import org.projectnessie.versioned.storage.common.persist.ObjId;
+import org.projectnessie.versioned.storage.common.persist.ObjType;
+
+/**
+ * Keeps objects serialized in an {@link ObjArena} per repository. Soft size restrictions are
+ * verified by {@link InmemoryPersist}, objects are therefore serialized without size limits.
+ */
+final class ArenaInmemoryObjects implements InmemoryObjects {
+  private final Map<String, ObjArena> arenas = new ConcurrentHashMap<>();
+  private final int chunkSize;
+
+  ArenaInmemoryObjects(int chunkSize) {
+    this.chunkSize = chunkSize;
+  }
+
+  private ObjArena arena(String repositoryId) {
+    return arenas.computeIfAbsent(repositoryId, r -> new ObjArena(chunkSize));
+  }
+
+  private static byte[] key(ObjId id) {
+    checkArgument(id.size() > 0);
+    return id.asByteArray();
+  }
+
+  private static byte[] serialize(Obj obj) throws ObjTooLargeException {
+    return serializeObj(obj, Integer.MAX_VALUE, Integer.MAX_VALUE);
+  }
+
+  @Override
+  public Obj get(String repositoryId, ObjId id) {
+    byte[] key = key(id);
+    ObjArena arena = arenas.get(repositoryId);
+    if (arena == null) {
+      return null;
+    }
+    ByteBuffer serialized = arena.get(key);
+    return serialized != null ? deserializeObj(id, serialized) : null;
+  }
+
+  @Override
+  public boolean putIfAbsent(String repositoryId, Obj obj) throws ObjTooLargeException {
+    byte[] key = key(obj.id());
+    ObjArena arena = arena(repositoryId);
+    // Avoid serializing objects that already exist.
+    if (arena.get(key) != null) {
+      return false;
+    }
+    return arena.put(key, serialize(obj), false);
+  }
+
+  @Override
+  public void put(String repositoryId, Obj obj) throws ObjTooLargeException {
+    arena(repositoryId).put(key(obj.id()), serialize(obj), true);
+  }
+
+  @Override
+  public void remove(String repositoryId, ObjId id) {
+    byte[] key = key(id);
+    ObjArena arena = arenas.get(repositoryId);
+    if (arena != null) {
+      arena.remove(key);
+    }
+  }
+
+  @Override
+  public Iterator<Obj> scan(String repositoryId, Predicate<ObjType> filter) {
+    ObjArena arena = arenas.get(repositoryId);
+    if (arena == null) {
+      return Collections.emptyIterator();
+    }
+    ObjArena.Snapshot snapshot = arena.snapshot();
+    return new AbstractIterator<>() {
+      private int index;
+
+      @Override
+      protected Obj computeNext() {
+        while (index < snapshot.size()) {
+          int i = index++;
+          Obj o = deserializeObj(objIdFromByteArray(snapshot.key(i)), snapshot.value(i));
+          if (filter.test(o.type())) {
+            return o;
+          }
+        }
+        return endOfData();
+      }
+    };
+  }
+
+  @Override
+  public void eraseRepositories(Set<String> repositoryIds) {
+    arenas.keySet().removeAll(repositoryIds);
+  }
+
+  @Override
+  public void clear() {
+    arenas.clear();
+  }
+}
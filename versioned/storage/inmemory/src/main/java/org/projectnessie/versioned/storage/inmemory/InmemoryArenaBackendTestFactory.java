@@ -0,0 +1,41 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.inmemory;
+
+import org.projectnessie.versioned.storage.testextension.BackendTestFactory;
+
+public class InmemoryArenaBackendTestFactory implements BackendTestFactory {
+
+  public static final String NAME = InmemoryBackendFactory.NAME + "-Arena";
+
+  @Override
+  public InmemoryBackend createNewBackend() {
+    // Small chunks to exercise allocations across chunks.
+    return new InmemoryBackend(
+        InmemoryBackendConfig.builder().arenaStorage(true).arenaChunkSize(64 * 1024).build());
+  }
+
+  @Override
+  public String getName() {
+    return NAME;
+  }
+
+  @Override
+  public void start() {}
+
+  @Override
+  public void stop() {}
+}
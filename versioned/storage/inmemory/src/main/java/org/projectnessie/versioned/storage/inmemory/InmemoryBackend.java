@@ -19,17 +19,26 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
 import org.projectnessie.versioned.storage.common.persist.Backend;
-import org.projectnessie.versioned.storage.common.persist.Obj;
 import org.projectnessie.versioned.storage.common.persist.PersistFactory;
 import org.projectnessie.versioned.storage.common.persist.Reference;
 
 public final class InmemoryBackend implements Backend {
   final Map<String, Reference> references = new ConcurrentHashMap<>();
-  final Map<String, Obj> objects = new ConcurrentHashMap<>();
+  final InmemoryObjects objects;
+
+  public InmemoryBackend() {
+    this(InmemoryBackendConfig.builder().build());
+  }
+
+  public InmemoryBackend(InmemoryBackendConfig config) {
+    this.objects =
+        config.arenaStorage()
+            ? new ArenaInmemoryObjects(config.arenaChunkSize())
+            : new MapInmemoryObjects();
+  }
 
   static String compositeKeyRepo(String repoId) {
     return repoId + ':';
@@ -65,10 +74,7 @@ public final class InmemoryBackend implements Backend {
     List<String> prefixed =
         repositoryIds.stream().map(InmemoryBackend::compositeKeyRepo).collect(Collectors.toList());
 
-    Consumer<Map<String, ?>> cleaner =
-        m -> m.keySet().removeIf(k -> prefixed.stream().anyMatch(k::startsWith));
-
-    cleaner.accept(references);
-    cleaner.accept(objects);
+    references.keySet().removeIf(k -> prefixed.stream().anyMatch(k::startsWith));
+    objects.eraseRepositories(repositoryIds);
   }
 }
@@ -0,0 +1,30 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.inmemory;
+
+public interface InmemoryBackendBaseConfig {
+
+  /**
+   * Whether objects are kept serialized in large {@code byte[]} arenas, indexed by an
+   * open-addressing hash table, instead of as Java objects in a map. Arena storage needs
+   * considerably less heap and causes less GC pressure for repositories with many objects, at the
+   * cost of deserializing objects on every access.
+   */
+  boolean arenaStorage();
+
+  /** Maximum size of a single arena chunk in bytes, if {@link #arenaStorage()} is enabled. */
+  int arenaChunkSize();
+}
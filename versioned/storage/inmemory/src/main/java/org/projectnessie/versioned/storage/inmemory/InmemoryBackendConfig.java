@@ -15,11 +15,37 @@
  */
 package org.projectnessie.versioned.storage.inmemory;
 
+import static com.google.common.base.Preconditions.checkState;
+
 import org.immutables.value.Value;
 
 @Value.Immutable
-public interface InmemoryBackendConfig {
+public interface InmemoryBackendConfig extends InmemoryBackendBaseConfig {
+
+  boolean DEFAULT_ARENA_STORAGE = false;
+  int DEFAULT_ARENA_CHUNK_SIZE = 4 * 1024 * 1024;
+
   static ImmutableInmemoryBackendConfig.Builder builder() {
     return ImmutableInmemoryBackendConfig.builder();
   }
+
+  @Override
+  @Value.Default
+  default boolean arenaStorage() {
+    return DEFAULT_ARENA_STORAGE;
+  }
+
+  @Override
+  @Value.Default
+  default int arenaChunkSize() {
+    return DEFAULT_ARENA_CHUNK_SIZE;
+  }
+
+  @Value.Check
+  default void check() {
+    checkState(
+        arenaChunkSize() >= 1024,
+        "In-memory config: arenaChunkSize must be at least 1024, but is %s",
+        arenaChunkSize());
+  }
 }
@@ -41,6 +41,6 @@ public class InmemoryBackendFactory implements BackendFactory<InmemoryBackendCon
   @jakarta.annotation.Nonnull
   public InmemoryBackend buildBackend(
       @Nonnull @jakarta.annotation.Nonnull InmemoryBackendConfig config) {
-    return new InmemoryBackend();
+    return new InmemoryBackend(config);
   }
 }
@@ -0,0 +1,42 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.inmemory;
+
+import java.util.Iterator;
+import java.util.Set;
+import java.util.function.Predicate;
+import org.projectnessie.versioned.storage.common.exceptions.ObjTooLargeException;
+import org.projectnessie.versioned.storage.common.persist.Obj;
+import org.projectnessie.versioned.storage.common.persist.ObjId;
+import org.projectnessie.versioned.storage.common.persist.ObjType;
+
+/** Object storage of an {@link InmemoryBackend}, for all repositories. */
+interface InmemoryObjects {
+
+  Obj get(String repositoryId, ObjId id);
+
+  boolean putIfAbsent(String repositoryId, Obj obj) throws ObjTooLargeException;
+
+  void put(String repositoryId, Obj obj) throws ObjTooLargeException;
+
+  void remove(String repositoryId, ObjId id);
+
+  Iterator<Obj> scan(String repositoryId, Predicate<ObjType> filter);
+
+  void eraseRepositories(Set<String> repositoryIds);
+
+  void clear();
+}
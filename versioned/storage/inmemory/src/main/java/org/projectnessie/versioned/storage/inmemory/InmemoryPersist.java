@@ -22,7 +22,6 @@ import com.google.common.collect.AbstractIterator;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
 import java.util.Set;
 import java.util.function.Predicate;
 import javax.annotation.Nonnull;
@@ -49,19 +48,11 @@ class InmemoryPersist implements ValidatingPersist {
     this.config = config;
   }
 
-  private String compositeKeyRepo() {
-    return InmemoryBackend.compositeKeyRepo(config.repositoryId());
-  }
-
   private String compositeKey(String id) {
     checkArgument(!id.isEmpty());
     return config.repositoryId() + ':' + id;
   }
 
-  private String compositeKey(ObjId id) {
-    return compositeKey(id.toString());
-  }
-
   @Nonnull
   @jakarta.annotation.Nonnull
   @Override
@@ -192,7 +183,7 @@ class InmemoryPersist implements ValidatingPersist {
   @Nonnull
   @jakarta.annotation.Nonnull
   public Obj fetchObj(@Nonnull @jakarta.annotation.Nonnull ObjId id) throws ObjNotFoundException {
-    Obj obj = inmemory.objects.get(compositeKey(id));
+    Obj obj = inmemory.objects.get(config.repositoryId(), id);
     if (obj == null) {
       throw new ObjNotFoundException(id);
     }
@@ -205,7 +196,7 @@ class InmemoryPersist implements ValidatingPersist {
   public <T extends Obj> T fetchTypedObj(
       @Nonnull @jakarta.annotation.Nonnull ObjId id, ObjType type, Class<T> typeClass)
       throws ObjNotFoundException {
-    Obj obj = inmemory.objects.get(compositeKey(id));
+    Obj obj = inmemory.objects.get(config.repositoryId(), id);
     if (obj == null || !obj.type().equals(type)) {
       throw new ObjNotFoundException(id);
     }
@@ -219,7 +210,7 @@ class InmemoryPersist implements ValidatingPersist {
   @jakarta.annotation.Nonnull
   public ObjType fetchObjType(@Nonnull @jakarta.annotation.Nonnull ObjId id)
       throws ObjNotFoundException {
-    Obj obj = inmemory.objects.get(compositeKey(id));
+    Obj obj = inmemory.objects.get(config.repositoryId(), id);
     if (obj == null) {
       throw new ObjNotFoundException(id);
     }
@@ -263,8 +254,7 @@ class InmemoryPersist implements ValidatingPersist {
       verifySoftRestrictions(obj);
     }
 
-    Obj ex = inmemory.objects.putIfAbsent(compositeKey(obj.id()), obj);
-    return ex == null;
+    return inmemory.objects.putIfAbsent(config.repositoryId(), obj);
   }
 
   @Override
@@ -283,7 +273,7 @@ class InmemoryPersist implements ValidatingPersist {
 
   @Override
   public void deleteObj(@Nonnull @jakarta.annotation.Nonnull ObjId id) {
-    inmemory.objects.remove(compositeKey(id));
+    inmemory.objects.remove(config.repositoryId(), id);
   }
 
   @Override
@@ -298,7 +288,7 @@ class InmemoryPersist implements ValidatingPersist {
   @Override
   public void upsertObj(@Nonnull @jakarta.annotation.Nonnull Obj obj) throws ObjTooLargeException {
     verifySoftRestrictions(obj);
-    inmemory.objects.put(compositeKey(obj.id()), obj);
+    inmemory.objects.put(config.repositoryId(), obj);
   }
 
   @Override
@@ -327,35 +317,15 @@ class InmemoryPersist implements ValidatingPersist {
   private class ScanAllObjectsIterator extends AbstractIterator<Obj>
       implements CloseableIterator<Obj> {
 
-    private final Predicate<ObjType> filter;
+    private final Iterator<Obj> iter;
 
     ScanAllObjectsIterator(Predicate<ObjType> filter) {
-      this.filter = filter;
+      this.iter = inmemory.objects.scan(config.repositoryId(), filter);
     }
 
-    final String prefix = compositeKeyRepo();
-
-    Iterator<Map.Entry<String, Obj>> iter = inmemory.objects.entrySet().iterator();
-
     @Override
     protected Obj computeNext() {
-      while (true) {
-        if (!iter.hasNext()) {
-          return endOfData();
-        }
-
-        Map.Entry<String, Obj> entry = iter.next();
-
-        String k = entry.getKey();
-        if (!k.startsWith(prefix)) {
-          continue;
-        }
-
-        Obj o = entry.getValue();
-        if (filter.test(o.type())) {
-          return o;
-        }
-      }
+      return iter.hasNext() ? iter.next() : endOfData();
     }
 
     @Override
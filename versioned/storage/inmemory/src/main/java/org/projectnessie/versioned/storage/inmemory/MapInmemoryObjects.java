@@ -0,0 +1,102 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.inmemory;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static org.projectnessie.versioned.storage.inmemory.InmemoryBackend.compositeKeyRepo;
+
+import com.google.common.collect.AbstractIterator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import org.projectnessie.versioned.storage.common.persist.Obj;
+import org.projectnessie.versioned.storage.common.persist.ObjId;
+import org.projectnessie.versioned.storage.common.persist.ObjType;
+
+/** Keeps objects as Java objects in a map, keyed by the repository ID and object ID. */
+final class MapInmemoryObjects implements InmemoryObjects {
+  private final Map<String, Obj> objects = new ConcurrentHashMap<>();
+
+  private static String compositeKey(String repositoryId, ObjId id) {
+    String key = id.toString();
+    checkArgument(!key.isEmpty());
+    return compositeKeyRepo(repositoryId) + key;
+  }
+
+  @Override
+  public Obj get(String repositoryId, ObjId id) {
+    return objects.get(compositeKey(repositoryId, id));
+  }
+
+  @Override
+  public boolean putIfAbsent(String repositoryId, Obj obj) {
+    return objects.putIfAbsent(compositeKey(repositoryId, obj.id()), obj) == null;
+  }
+
+  @Override
+  public void put(String repositoryId, Obj obj) {
+    objects.put(compositeKey(repositoryId, obj.id()), obj);
+  }
+
+  @Override
+  public void remove(String repositoryId, ObjId id) {
+    objects.remove(compositeKey(repositoryId, id));
+  }
+
+  @Override
+  public Iterator<Obj> scan(String repositoryId, Predicate<ObjType> filter) {
+    String prefix = compositeKeyRepo(repositoryId);
+    Iterator<Map.Entry<String, Obj>> iter = objects.entrySet().iterator();
+    return new AbstractIterator<>() {
+      @Override
+      protected Obj computeNext() {
+        while (true) {
+          if (!iter.hasNext()) {
+            return endOfData();
+          }
+
+          Map.Entry<String, Obj> entry = iter.next();
+
+          String k = entry.getKey();
+          if (!k.startsWith(prefix)) {
+            continue;
+          }
+
+          Obj o = entry.getValue();
+          if (filter.test(o.type())) {
+            return o;
+          }
+        }
+      }
+    };
+  }
+
+  @Override
+  public void eraseRepositories(Set<String> repositoryIds) {
+    List<String> prefixed =
+        repositoryIds.stream().map(InmemoryBackend::compositeKeyRepo).collect(Collectors.toList());
+    objects.keySet().removeIf(k -> prefixed.stream().anyMatch(k::startsWith));
+  }
+
+  @Override
+  public void clear() {
+    objects.clear();
+  }
+}
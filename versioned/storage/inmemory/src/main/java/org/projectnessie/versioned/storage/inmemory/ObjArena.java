@@ -0,0 +1,371 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.inmemory;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Serialized objects of a single repository, stored in {@code byte[]} chunks and indexed by an
+ * open-addressing hash table with linear probing, keyed on the raw bytes of the object IDs.
+ *
+ * <p>Each entry in a chunk consists of the 2-byte length of the object ID, the object ID, the
+ * 4-byte length of the serialized object and the serialized object. The hash table only holds the
+ * addresses of the entries, encoded as chunk index and offset, and the hashes of the object IDs,
+ * which avoids per-object Java objects entirely.
+ *
+ * <p>Entries are never modified once written. Overwritten and deleted entries remain as garbage in
+ * their chunk, until the garbage exceeds the live data and all live entries are compacted into new
+ * chunks. Since chunks are never modified, entries can be read without holding the lock, as long
+ * as the chunk has been obtained while holding it.
+ */
+final class ObjArena {
+  private static final long EMPTY = -1L;
+  private static final long DELETED = -2L;
+
+  private static final int INITIAL_CAPACITY = 64;
+  private static final int INITIAL_CHUNK_SIZE = 64 * 1024;
+
+  private static final int KEY_LENGTH_SIZE = 2;
+  private static final int VALUE_LENGTH_SIZE = 4;
+
+  private final int maxChunkSize;
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+  private byte[][] chunks;
+  private int chunkCount;
+  private int position;
+  private int nextChunkSize;
+
+  private long[] addresses;
+  private int[] hashes;
+  private int live;
+  private int used;
+
+  private long writtenBytes;
+  private long liveBytes;
+
+  ObjArena(int maxChunkSize) {
+    this.maxChunkSize = maxChunkSize;
+    this.nextChunkSize = Math.min(INITIAL_CHUNK_SIZE, maxChunkSize);
+    this.chunks = new byte[8][];
+    initTable(INITIAL_CAPACITY);
+  }
+
+  /**
+   * Returns the serialized object for the given object ID or {@code null}, if no such object
+   * exists. The returned buffer must not be modified.
+   */
+  ByteBuffer get(byte[] key) {
+    Lock l = lock.readLock();
+    l.lock();
+    try {
+      int slot = findSlot(key, hash(key));
+      return slot >= 0 ? value(chunks, addresses[slot]) : null;
+    } finally {
+      l.unlock();
+    }
+  }
+
+  /**
+   * Stores the serialized object for the given object ID.
+   *
+   * @param overwrite whether an existing object with the same ID shall be replaced
+   * @return {@code true}, if the object has been stored
+   */
+  boolean put(byte[] key, byte[] value, boolean overwrite) {
+    int entrySize = KEY_LENGTH_SIZE + key.length + VALUE_LENGTH_SIZE + value.length;
+    Lock l = lock.writeLock();
+    l.lock();
+    try {
+      int hash = hash(key);
+      int slot = findSlot(key, hash);
+      if (slot >= 0) {
+        if (!overwrite) {
+          return false;
+        }
+        liveBytes -= entrySize(chunks, addresses[slot]);
+      } else {
+        slot = ~slot;
+        if (addresses[slot] == EMPTY) {
+          used++;
+        }
+        live++;
+        hashes[slot] = hash;
+      }
+
+      addresses[slot] = append(key, value, entrySize);
+      liveBytes += entrySize;
+
+      if (used * 2 > addresses.length) {
+        rehash(live * 4 > addresses.length ? addresses.length * 2 : addresses.length);
+      }
+      maybeCompact();
+      return true;
+    } finally {
+      l.unlock();
+    }
+  }
+
+  void remove(byte[] key) {
+    Lock l = lock.writeLock();
+    l.lock();
+    try {
+      int slot = findSlot(key, hash(key));
+      if (slot >= 0) {
+        liveBytes -= entrySize(chunks, addresses[slot]);
+        addresses[slot] = DELETED;
+        live--;
+        maybeCompact();
+      }
+    } finally {
+      l.unlock();
+    }
+  }
+
+  int size() {
+    Lock l = lock.readLock();
+    l.lock();
+    try {
+      return live;
+    } finally {
+      l.unlock();
+    }
+  }
+
+  /** Bytes of all chunks, including garbage and unused space. */
+  long allocatedBytes() {
+    Lock l = lock.readLock();
+    l.lock();
+    try {
+      long allocated = 0L;
+      for (int i = 0; i < chunkCount; i++) {
+        allocated += chunks[i].length;
+      }
+      return allocated;
+    } finally {
+      l.unlock();
+    }
+  }
+
+  /**
+   * Captures the entries that exist at the time of the call, the returned snapshot can be iterated
+   * without blocking concurrent modifications.
+   */
+  Snapshot snapshot() {
+    Lock l = lock.readLock();
+    l.lock();
+    try {
+      long[] liveAddresses = new long[live];
+      int n = 0;
+      for (long address : addresses) {
+        if (address >= 0L) {
+          liveAddresses[n++] = address;
+        }
+      }
+      return new Snapshot(chunks, liveAddresses);
+    } finally {
+      l.unlock();
+    }
+  }
+
+  static final class Snapshot {
+    private final byte[][] chunks;
+    private final long[] addresses;
+
+    Snapshot(byte[][] chunks, long[] addresses) {
+      this.chunks = chunks;
+      this.addresses = addresses;
+    }
+
+    int size() {
+      return addresses.length;
+    }
+
+    byte[] key(int index) {
+      long address = addresses[index];
+      byte[] chunk = chunk(chunks, address);
+      int offset = offset(address);
+      int keyLength = keyLength(chunk, offset);
+      int keyOffset = offset + KEY_LENGTH_SIZE;
+      return Arrays.copyOfRange(chunk, keyOffset, keyOffset + keyLength);
+    }
+
+    ByteBuffer value(int index) {
+      return ObjArena.value(chunks, addresses[index]);
+    }
+  }
+
+  private int findSlot(byte[] key, int hash) {
+    int mask = addresses.length - 1;
+    int firstDeleted = -1;
+    for (int i = hash & mask; ; i = (i + 1) & mask) {
+      long address = addresses[i];
+      if (address == EMPTY) {
+        return ~(firstDeleted >= 0 ? firstDeleted : i);
+      }
+      if (address == DELETED) {
+        if (firstDeleted < 0) {
+          firstDeleted = i;
+        }
+      } else if (hashes[i] == hash && keyEquals(address, key)) {
+        return i;
+      }
+    }
+  }
+
+  private boolean keyEquals(long address, byte[] key) {
+    byte[] chunk = chunk(chunks, address);
+    int offset = offset(address);
+    int keyLength = keyLength(chunk, offset);
+    int keyOffset = offset + KEY_LENGTH_SIZE;
+    return Arrays.equals(chunk, keyOffset, keyOffset + keyLength, key, 0, key.length);
+  }
+
+  private void initTable(int capacity) {
+    addresses = new long[capacity];
+    Arrays.fill(addresses, EMPTY);
+    hashes = new int[capacity];
+    used = 0;
+  }
+
+  private void rehash(int capacity) {
+    long[] oldAddresses = addresses;
+    int[] oldHashes = hashes;
+    initTable(capacity);
+    int mask = capacity - 1;
+    for (int i = 0; i < oldAddresses.length; i++) {
+      long address = oldAddresses[i];
+      if (address < 0L) {
+        continue;
+      }
+      int hash = oldHashes[i];
+      int slot = hash & mask;
+      while (addresses[slot] != EMPTY) {
+        slot = (slot + 1) & mask;
+      }
+      addresses[slot] = address;
+      hashes[slot] = hash;
+      used++;
+    }
+  }
+
+  private long append(byte[] key, byte[] value, int entrySize) {
+    long address = allocate(entrySize);
+    byte[] chunk = chunks[chunkCount - 1];
+    int offset = offset(address);
+    chunk[offset] = (byte) (key.length >> 8);
+    chunk[offset + 1] = (byte) key.length;
+    offset += KEY_LENGTH_SIZE;
+    System.arraycopy(key, 0, chunk, offset, key.length);
+    offset += key.length;
+    chunk[offset] = (byte) (value.length >> 24);
+    chunk[offset + 1] = (byte) (value.length >> 16);
+    chunk[offset + 2] = (byte) (value.length >> 8);
+    chunk[offset + 3] = (byte) value.length;
+    offset += VALUE_LENGTH_SIZE;
+    System.arraycopy(value, 0, chunk, offset, value.length);
+    return address;
+  }
+
+  private long allocate(int length) {
+    if (chunkCount == 0 || chunks[chunkCount - 1].length - position < length) {
+      if (chunkCount == chunks.length) {
+        chunks = Arrays.copyOf(chunks, chunkCount * 2);
+      }
+      chunks[chunkCount++] = new byte[Math.max(nextChunkSize, length)];
+      position = 0;
+      nextChunkSize = Math.min(nextChunkSize * 2, maxChunkSize);
+    }
+    long address = ((long) (chunkCount - 1) << 32) | position;
+    position += length;
+    writtenBytes += length;
+    return address;
+  }
+
+  /** Copies all live entries into new chunks, once the garbage exceeds the live data. */
+  private void maybeCompact() {
+    long garbage = writtenBytes - liveBytes;
+    if (garbage <= liveBytes || garbage < maxChunkSize) {
+      return;
+    }
+
+    byte[][] oldChunks = chunks;
+    chunks = new byte[8][];
+    chunkCount = 0;
+    position = 0;
+    nextChunkSize = Math.min(INITIAL_CHUNK_SIZE, maxChunkSize);
+    writtenBytes = 0L;
+
+    for (int i = 0; i < addresses.length; i++) {
+      long address = addresses[i];
+      if (address < 0L) {
+        continue;
+      }
+      byte[] chunk = chunk(oldChunks, address);
+      int offset = offset(address);
+      int entrySize = entrySize(chunk, offset);
+      long newAddress = allocate(entrySize);
+      System.arraycopy(chunk, offset, chunks[chunkCount - 1], offset(newAddress), entrySize);
+      addresses[i] = newAddress;
+    }
+  }
+
+  private static ByteBuffer value(byte[][] chunks, long address) {
+    byte[] chunk = chunk(chunks, address);
+    int offset = offset(address);
+    int valueOffset = offset + KEY_LENGTH_SIZE + keyLength(chunk, offset);
+    int valueLength = valueLength(chunk, valueOffset);
+    return ByteBuffer.wrap(chunk, valueOffset + VALUE_LENGTH_SIZE, valueLength);
+  }
+
+  private static int entrySize(byte[][] chunks, long address) {
+    return entrySize(chunk(chunks, address), offset(address));
+  }
+
+  private static int entrySize(byte[] chunk, int offset) {
+    int keyLength = keyLength(chunk, offset);
+    int valueLength = valueLength(chunk, offset + KEY_LENGTH_SIZE + keyLength);
+    return KEY_LENGTH_SIZE + keyLength + VALUE_LENGTH_SIZE + valueLength;
+  }
+
+  private static int keyLength(byte[] chunk, int offset) {
+    return ((chunk[offset] & 0xff) << 8) | (chunk[offset + 1] & 0xff);
+  }
+
+  private static int valueLength(byte[] chunk, int offset) {
+    return ((chunk[offset] & 0xff) << 24)
+        | ((chunk[offset + 1] & 0xff) << 16)
+        | ((chunk[offset + 2] & 0xff) << 8)
+        | (chunk[offset + 3] & 0xff);
+  }
+
+  private static byte[] chunk(byte[][] chunks, long address) {
+    return chunks[(int) (address >>> 32)];
+  }
+
+  private static int offset(long address) {
+    return (int) address;
+  }
+
+  private static int hash(byte[] key) {
+    int h = Arrays.hashCode(key);
+    return h ^ (h >>> 16);
+  }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.inmemory;
+
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import org.assertj.core.api.SoftAssertions;
+import org.assertj.core.api.junit.jupiter.InjectSoftAssertions;
+import org.assertj.core.api.junit.jupiter.SoftAssertionsExtension;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.projectnessie.nessie.relocated.protobuf.ByteString;
+
+@ExtendWith(SoftAssertionsExtension.class)
+public class TestObjArena {
+  @InjectSoftAssertions protected SoftAssertions soft;
+
+  static byte[] bytes(ByteBuffer buffer) {
+    byte[] bytes = new byte[buffer.remaining()];
+    buffer.duplicate().get(bytes);
+    return bytes;
+  }
+
+  @Test
+  public void putGetRemove() {
+    ObjArena arena = new ObjArena(1024);
+    byte[] key = {1, 2, 3};
+
+    soft.assertThat(arena.get(key)).isNull();
+    soft.assertThat(arena.put(key, new byte[] {42}, false)).isTrue();
+    soft.assertThat(arena.put(key, new byte[] {43}, false)).isFalse();
+    soft.assertThat(bytes(arena.get(key))).containsExactly(42);
+
+    soft.assertThat(arena.put(key, new byte[] {44, 45}, true)).isTrue();
+    soft.assertThat(bytes(arena.get(key))).containsExactly(44, 45);
+    soft.assertThat(arena.size()).isEqualTo(1);
+
+    arena.remove(key);
+    soft.assertThat(arena.get(key)).isNull();
+    soft.assertThat(arena.size()).isEqualTo(0);
+    soft.assertThat(arena.put(key, new byte[0], false)).isTrue();
+    soft.assertThat(bytes(arena.get(key))).isEmpty();
+  }
+
+  /**
+   * Random operations, including overwrites and deletes of the same keys, exercise rehashing,
+   * chunk allocation and compaction.
+   */
+  @Test
+  public void randomOperations() {
+    ObjArena arena = new ObjArena(1024);
+    Map<ByteString, byte[]> expected = new HashMap<>();
+    Random random = new Random(42L);
+
+    for (int i = 0; i < 50_000; i++) {
+      byte[] key = new byte[32];
+      key[random.nextInt(32)] = (byte) random.nextInt(64);
+      ByteString k = ByteString.copyFrom(key);
+      byte[] value = new byte[random.nextInt(300)];
+      random.nextBytes(value);
+
+      switch (random.nextInt(4)) {
+        case 0:
+          soft.assertThat(arena.put(key, value, false)).isEqualTo(!expected.containsKey(k));
+          expected.putIfAbsent(k, value);
+          break;
+        case 1:
+          arena.put(key, value, true);
+          expected.put(k, value);
+          break;
+        case 2:
+          arena.remove(key);
+          expected.remove(k);
+          break;
+        default:
+          ByteBuffer stored = arena.get(key);
+          if (expected.containsKey(k)) {
+            soft.assertThat(stored).isNotNull();
+            soft.assertThat(bytes(stored)).isEqualTo(expected.get(k));
+          } else {
+            soft.assertThat(stored).isNull();
+          }
+          break;
+      }
+    }
+
+    soft.assertThat(arena.size()).isEqualTo(expected.size());
+
+    ObjArena.Snapshot snapshot = arena.snapshot();
+    soft.assertThat(snapshot.size()).isEqualTo(expected.size());
+    for (int i = 0; i < snapshot.size(); i++) {
+      soft.assertThat(bytes(snapshot.value(i)))
+          .isEqualTo(expected.get(ByteString.copyFrom(snapshot.key(i))));
+    }
+  }
+
+  @Test
+  public void compaction() {
+    ObjArena arena = new ObjArena(1024);
+    byte[] key = {1};
+    for (int i = 0; i < 1000; i++) {
+      arena.put(key, new byte[100], true);
+    }
+    // Overwritten entries are garbage and reclaimed.
+    soft.assertThat(arena.allocatedBytes()).isLessThan(10 * 1024);
+    soft.assertThat(arena.size()).isEqualTo(1);
+  }
+
+  @Test
+  public void snapshotIsStable() {
+    ObjArena arena = new ObjArena(1024);
+    for (int i = 0; i < 100; i++) {
+      arena.put(new byte[] {(byte) i}, new byte[] {(byte) i}, false);
+    }
+    ObjArena.Snapshot snapshot = arena.snapshot();
+
+    for (int i = 0; i < 100; i++) {
+      arena.put(new byte[] {(byte) i}, new byte[200], true);
+    }
+
+    for (int i = 0; i < snapshot.size(); i++) {
+      soft.assertThat(bytes(snapshot.value(i))).containsExactly(snapshot.key(i));
+    }
+  }
+}
@@ -19,6 +19,7 @@ import org.apache.tools.ant.taskdefs.condition.Os
 plugins {
   id("nessie-conventions-server")
   id("nessie-jacoco")
+  alias(libs.plugins.jmh)
 }
 
 extra["maven.name"] = "Nessie - Storage - JDBC"
@@ -69,8 +70,23 @@ dependencies {
   testFixturesImplementation(platform(libs.junit.bom))
   testFixturesImplementation(libs.bundles.junit.testing)
   testFixturesImplementation(libs.logback.classic)
+
+  jmhImplementation(libs.jmh.core)
+  jmhImplementation(project(":nessie-versioned-storage-testextension"))
+  jmhImplementation(libs.agroal.pool)
+  jmhRuntimeOnly(libs.h2)
+  jmhRuntimeOnly(libs.postgresql)
+  jmhImplementation(platform(libs.testcontainers.bom))
+  jmhImplementation("org.testcontainers:postgresql")
+  jmhImplementation(libs.docker.java.api)
+  jmhRuntimeOnly(libs.logback.classic)
+  jmhAnnotationProcessor(libs.jmh.generator.annprocess)
 }
 
+tasks.named("processJmhJandexIndex").configure { enabled = false }
+
+jmh { jmhVersion.set(libs.versions.jmh.get()) }
+
 // Testcontainers is not supported on Windows :(
 if (Os.isFamily(Os.FAMILY_WINDOWS)) {
   tasks.named<Test>("intTest").configure { this.enabled = false }
@@ -0,0 +1,184 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.jdbc;
+
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.projectnessie.nessie.relocated.protobuf.ByteString.copyFromUtf8;
+import static org.projectnessie.versioned.storage.common.objtypes.ContentValueObj.contentValue;
+
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.UUID;
+import javax.sql.DataSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.projectnessie.versioned.storage.common.config.StoreConfig;
+import org.projectnessie.versioned.storage.common.persist.Obj;
+import org.projectnessie.versioned.storage.common.persist.ObjId;
+import org.projectnessie.versioned.storage.common.persist.Persist;
+
+/**
+ * Benchmark for storing and fetching multiple objects at once against H2 and a containerized
+ * PostgreSQL. The {@code PostgreSQL-batch} variant disables multi-row {@code INSERT ... RETURNING}
+ * statements and uses JDBC batches instead, for comparison.
+ */
+@Warmup(iterations = 2, time = 2000, timeUnit = MILLISECONDS)
+@Measurement(iterations = 3, time = 1000, timeUnit = MILLISECONDS)
+@Fork(1)
+@Threads(4)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(MICROSECONDS)
+public class JdbcObjsBench {
+  @State(Scope.Benchmark)
+  public static class BenchmarkParam {
+
+    @Param({"H2", "PostgreSQL", "PostgreSQL-batch"})
+    public String database;
+
+    @Param({"1", "10", "50", "200"})
+    public int objsPerCall;
+
+    private AbstractJdbcBackendTestFactory testFactory;
+    private JdbcBackend backend;
+    private Persist persist;
+    private ObjId[] existingIds;
+
+    @Setup
+    public void init() throws Exception {
+      testFactory =
+          database.startsWith("PostgreSQL")
+              ? new PostgreSQLBackendTestFactory()
+              : new H2BackendTestFactory();
+      testFactory.start();
+
+      DataSource dataSource =
+          DataSourceProducer.builder()
+              .jdbcUrl(testFactory.jdbcUrl())
+              .jdbcUser(testFactory.jdbcUser())
+              .jdbcPass(testFactory.jdbcPass())
+              .build()
+              .createNewDataSource();
+      DatabaseSpecific databaseSpecific = DatabaseSpecifics.detect(dataSource);
+      if (database.endsWith("-batch")) {
+        databaseSpecific = new WithoutInsertReturning(databaseSpecific);
+      }
+
+      backend =
+          new JdbcBackend(
+              JdbcBackendConfig.builder().dataSource(dataSource).build(), databaseSpecific, true);
+      backend.setupSchema();
+      persist = backend.createFactory().newPersist(StoreConfig.Adjustable.empty());
+
+      Obj[] objs = newObjs(objsPerCall);
+      persist.storeObjs(objs);
+      existingIds = new ObjId[objs.length];
+      for (int i = 0; i < objs.length; i++) {
+        existingIds[i] = objs[i].id();
+      }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+      try {
+        if (backend != null) {
+          backend.close();
+        }
+      } finally {
+        testFactory.stop();
+      }
+    }
+  }
+
+  static Obj[] newObjs(int count) {
+    Obj[] objs = new Obj[count];
+    for (int i = 0; i < count; i++) {
+      String contentId = UUID.randomUUID().toString();
+      objs[i] = contentValue(contentId, 1, copyFromUtf8("s3://bucket/table/" + contentId));
+    }
+    return objs;
+  }
+
+  @Benchmark
+  public void storeObjs(BenchmarkParam param, Blackhole bh) throws Exception {
+    bh.consume(param.persist.storeObjs(newObjs(param.objsPerCall)));
+  }
+
+  @Benchmark
+  public void storeExistingObjs(BenchmarkParam param, Blackhole bh) throws Exception {
+    Obj[] objs = new Obj[param.existingIds.length];
+    for (int i = 0; i < objs.length; i++) {
+      objs[i] = param.persist.fetchObj(param.existingIds[i]);
+    }
+    bh.consume(param.persist.storeObjs(objs));
+  }
+
+  @Benchmark
+  public void fetchObjs(BenchmarkParam param, Blackhole bh) throws Exception {
+    bh.consume(param.persist.fetchObjs(param.existingIds));
+  }
+
+  static final class WithoutInsertReturning implements DatabaseSpecific {
+    private final DatabaseSpecific delegate;
+
+    WithoutInsertReturning(DatabaseSpecific delegate) {
+      this.delegate = delegate;
+    }
+
+    @Override
+    public Map<JdbcColumnType, String> columnTypes() {
+      return delegate.columnTypes();
+    }
+
+    @Override
+    public Map<JdbcColumnType, Integer> columnTypeIds() {
+      return delegate.columnTypeIds();
+    }
+
+    @Override
+    public boolean isConstraintViolation(SQLException e) {
+      return delegate.isConstraintViolation(e);
+    }
+
+    @Override
+    public boolean isRetryTransaction(SQLException e) {
+      return delegate.isRetryTransaction(e);
+    }
+
+    @Override
+    public String wrapInsert(String sql) {
+      return delegate.wrapInsert(sql);
+    }
+
+    @Override
+    public boolean supportsInsertReturning() {
+      return false;
+    }
+  }
+}
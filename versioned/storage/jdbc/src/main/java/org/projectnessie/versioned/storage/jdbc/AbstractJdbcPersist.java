@@ -23,6 +23,7 @@ import static org.projectnessie.versioned.storage.jdbc.JdbcBackend.unhandledSQLE
 import static org.projectnessie.versioned.storage.jdbc.JdbcSerde.deserializeObjId;
 import static org.projectnessie.versioned.storage.jdbc.JdbcSerde.serializeObjId;
 import static org.projectnessie.versioned.storage.jdbc.SqlConstants.ADD_REFERENCE;
+import static org.projectnessie.versioned.storage.jdbc.SqlConstants.ARITY_BUCKETS;
 import static org.projectnessie.versioned.storage.jdbc.SqlConstants.COLS_OBJS_ALL;
 import static org.projectnessie.versioned.storage.jdbc.SqlConstants.COL_OBJ_ID;
 import static org.projectnessie.versioned.storage.jdbc.SqlConstants.COL_OBJ_TYPE;
@@ -52,10 +53,13 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Types;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.IntStream;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import org.agrona.collections.Hashing;
@@ -70,6 +74,7 @@ import org.projectnessie.versioned.storage.common.exceptions.RefNotFoundExceptio
 import org.projectnessie.versioned.storage.common.persist.CloseableIterator;
 import org.projectnessie.versioned.storage.common.persist.Obj;
 import org.projectnessie.versioned.storage.common.persist.ObjId;
+import org.projectnessie.versioned.storage.common.persist.ObjIdRange;
 import org.projectnessie.versioned.storage.common.persist.ObjType;
 import org.projectnessie.versioned.storage.common.persist.ObjTypes;
 import org.projectnessie.versioned.storage.common.persist.Persist;
@@ -80,16 +85,25 @@ import org.projectnessie.versioned.storage.jdbc.serializers.ObjSerializers;
 @SuppressWarnings({"SqlDialectInspection", "SqlNoDataSourceInspection"})
 abstract class AbstractJdbcPersist implements Persist {
 
+  private static final String[] FIND_OBJS_SQL = arityBucketsSql(FIND_OBJS);
+  private static final String[] FIND_OBJS_TYPED_SQL = arityBucketsSql(FIND_OBJS_TYPED);
+
   private final StoreConfig config;
   private final DatabaseSpecific databaseSpecific;
   private final String storeObjSql;
+  private final String[] storeObjsReturningSql;
   private final Map<String, Integer> storeObjSqlParams;
 
   AbstractJdbcPersist(DatabaseSpecific databaseSpecific, StoreConfig config) {
     this.config = config;
     this.databaseSpecific = databaseSpecific;
     this.storeObjSqlParams = buildStoreObjSqlParams();
-    this.storeObjSql = buildStoreObjSql();
+    this.storeObjSql = buildStoreObjSql(1);
+    this.storeObjsReturningSql =
+        stream(ARITY_BUCKETS)
+            .mapToObj(rows -> databaseSpecific.wrapInsert(buildStoreObjSql(rows)))
+            .map(sql -> sql + " RETURNING " + COL_OBJ_ID)
+            .toArray(String[]::new);
   }
 
   private Map<String, Integer> buildStoreObjSqlParams() {
@@ -102,14 +116,15 @@ abstract class AbstractJdbcPersist implements Persist {
     return params.build();
   }
 
-  private String buildStoreObjSql() {
+  private String buildStoreObjSql(int rows) {
+    String row =
+        "(" + storeObjSqlParams.keySet().stream().map(c -> "?").collect(joining(", ")) + ")";
     return "INSERT INTO "
         + TABLE_OBJS
         + " ("
         + String.join(", ", storeObjSqlParams.keySet())
-        + ") VALUES ("
-        + storeObjSqlParams.keySet().stream().map(c -> "?").collect(joining(", "))
-        + ")";
+        + ") VALUES "
+        + String.join(", ", Collections.nCopies(rows, row));
   }
 
   @Nonnull
@@ -404,47 +419,56 @@ abstract class AbstractJdbcPersist implements Persist {
       return r;
     }
 
-    String sql = type == null ? FIND_OBJS : FIND_OBJS_TYPED;
-    sql = sqlSelectMultiple(sql, keys.size());
-
-    try (PreparedStatement ps = conn.prepareStatement(sql)) {
-      int idx = 1;
-      ps.setString(idx++, config.repositoryId());
-      for (ObjId key : keys) {
-        serializeObjId(ps, idx++, key, databaseSpecific);
-      }
-      if (type != null) {
-        ps.setString(idx, type.name());
-      }
-
-      try (ResultSet rs = ps.executeQuery()) {
-        while (rs.next()) {
-          Obj obj = deserializeObj(rs);
-          int i = idToIndex.getValue(obj.id());
-          if (i != -1) {
-            r[i] = obj;
+    String[] sql = type == null ? FIND_OBJS_SQL : FIND_OBJS_TYPED_SQL;
+    int maxArity = ARITY_BUCKETS[ARITY_BUCKETS.length - 1];
+
+    try {
+      for (int offset = 0; offset < keys.size(); offset += maxArity) {
+        int count = Math.min(keys.size() - offset, maxArity);
+        int bucket = arityBucketCeiling(count);
+        try (PreparedStatement ps = conn.prepareStatement(sql[bucket])) {
+          int idx = 1;
+          ps.setString(idx++, config.repositoryId());
+          // Surplus parameters of the arity bucket repeat the last ID, which does not change the
+          // result.
+          for (int i = 0; i < ARITY_BUCKETS[bucket]; i++) {
+            ObjId key = keys.get(offset + Math.min(i, count - 1));
+            serializeObjId(ps, idx++, key, databaseSpecific);
+          }
+          if (type != null) {
+            ps.setString(idx, type.name());
           }
-        }
 
-        List<ObjId> notFound = null;
-        for (int i = 0; i < ids.length; i++) {
-          ObjId id = ids[i];
-          if (r[i] == null && id != null) {
-            if (notFound == null) {
-              notFound = new ArrayList<>();
+          try (ResultSet rs = ps.executeQuery()) {
+            while (rs.next()) {
+              Obj obj = deserializeObj(rs);
+              int i = idToIndex.getValue(obj.id());
+              if (i != -1) {
+                r[i] = obj;
+              }
             }
-            notFound.add(id);
           }
         }
-        if (notFound != null) {
-          throw new ObjNotFoundException(notFound);
-        }
-
-        return r;
       }
     } catch (SQLException e) {
       throw unhandledSQLException(e);
     }
+
+    List<ObjId> notFound = null;
+    for (int i = 0; i < ids.length; i++) {
+      ObjId id = ids[i];
+      if (r[i] == null && id != null) {
+        if (notFound == null) {
+          notFound = new ArrayList<>();
+        }
+        notFound.add(id);
+      }
+    }
+    if (notFound != null) {
+      throw new ObjNotFoundException(notFound);
+    }
+
+    return r;
   }
 
   private Obj deserializeObj(ResultSet rs) throws SQLException {
@@ -504,6 +528,10 @@ abstract class AbstractJdbcPersist implements Persist {
           conn, stream(objs).map(obj -> obj == null ? null : obj.id()).toArray(ObjId[]::new));
     }
 
+    if (databaseSpecific.supportsInsertReturning()) {
+      return insertObjsReturning(conn, objs, ignoreSoftSizeRestrictions);
+    }
+
     try (PreparedStatement ps = conn.prepareStatement(databaseSpecific.wrapInsert(storeObjSql))) {
       boolean[] r = new boolean[objs.length];
 
@@ -526,34 +554,7 @@ abstract class AbstractJdbcPersist implements Persist {
           continue;
         }
 
-        ObjId id = obj.id();
-        ObjType type = obj.type();
-
-        int incrementalIndexSizeLimit =
-            ignoreSoftSizeRestrictions ? Integer.MAX_VALUE : effectiveIncrementalIndexSizeLimit();
-        int indexSizeLimit =
-            ignoreSoftSizeRestrictions ? Integer.MAX_VALUE : effectiveIndexSegmentSizeLimit();
-
-        checkArgument(id != null, "Obj to store must have a non-null ID");
-
-        ps.setString(storeObjSqlParams.get(COL_REPO_ID), config.repositoryId());
-        serializeObjId(ps, storeObjSqlParams.get(COL_OBJ_ID), id, databaseSpecific);
-        ps.setString(storeObjSqlParams.get(COL_OBJ_TYPE), type.name());
-
-        ObjSerializer<Obj> serializer = ObjSerializers.forType(type);
-        serializer.serialize(
-            ps,
-            obj,
-            incrementalIndexSizeLimit,
-            indexSizeLimit,
-            storeObjSqlParams::get,
-            databaseSpecific);
-
-        for (ObjSerializer<?> other : ObjSerializers.ALL_SERIALIZERS) {
-          if (serializer != other) {
-            other.setNull(ps, storeObjSqlParams::get, databaseSpecific);
-          }
-        }
+        serializeObjRow(ps, obj, 0, ignoreSoftSizeRestrictions);
 
         batchIndexToObjIndex.put(batchIndex++, i);
         ps.addBatch();
@@ -580,6 +581,84 @@ abstract class AbstractJdbcPersist implements Persist {
     }
   }
 
+  /**
+   * Inserts the given objects using multi-row {@code INSERT ... ON CONFLICT DO NOTHING RETURNING}
+   * statements, the returned object IDs are the ones that have actually been inserted. The objects
+   * are split into chunks matching the {@link SqlConstants#ARITY_BUCKETS arity buckets}.
+   */
+  private boolean[] insertObjsReturning(
+      Connection conn, Obj[] objs, boolean ignoreSoftSizeRestrictions)
+      throws ObjTooLargeException {
+    boolean[] r = new boolean[objs.length];
+    int[] objIndexes = IntStream.range(0, objs.length).filter(i -> objs[i] != null).toArray();
+    int columns = storeObjSqlParams.size();
+
+    try {
+      for (int offset = 0; offset < objIndexes.length; ) {
+        int bucket = arityBucketFloor(objIndexes.length - offset);
+        int rows = ARITY_BUCKETS[bucket];
+
+        Object2IntHashMap<ObjId> idToIndex =
+            new Object2IntHashMap<>(rows * 2, Hashing.DEFAULT_LOAD_FACTOR, -1);
+        try (PreparedStatement ps = conn.prepareStatement(storeObjsReturningSql[bucket])) {
+          for (int row = 0; row < rows; row++) {
+            int i = objIndexes[offset + row];
+            Obj obj = objs[i];
+            serializeObjRow(ps, obj, row * columns, ignoreSoftSizeRestrictions);
+            // Only the first of multiple objects with the same ID can be inserted.
+            if (idToIndex.getValue(obj.id()) == -1) {
+              idToIndex.put(obj.id(), i);
+            }
+          }
+
+          try (ResultSet rs = ps.executeQuery()) {
+            while (rs.next()) {
+              int i = idToIndex.getValue(deserializeObjId(rs, COL_OBJ_ID));
+              if (i != -1) {
+                r[i] = true;
+              }
+            }
+          }
+        }
+
+        offset += rows;
+      }
+      return r;
+    } catch (SQLException e) {
+      throw unhandledSQLException(e);
+    }
+  }
+
+  private void serializeObjRow(
+      PreparedStatement ps, Obj obj, int paramOffset, boolean ignoreSoftSizeRestrictions)
+      throws SQLException, ObjTooLargeException {
+    ObjId id = obj.id();
+    ObjType type = obj.type();
+
+    int incrementalIndexSizeLimit =
+        ignoreSoftSizeRestrictions ? Integer.MAX_VALUE : effectiveIncrementalIndexSizeLimit();
+    int indexSizeLimit =
+        ignoreSoftSizeRestrictions ? Integer.MAX_VALUE : effectiveIndexSegmentSizeLimit();
+
+    checkArgument(id != null, "Obj to store must have a non-null ID");
+
+    Function<String, Integer> nameToIdx = col -> paramOffset + storeObjSqlParams.get(col);
+
+    ps.setString(nameToIdx.apply(COL_REPO_ID), config.repositoryId());
+    serializeObjId(ps, nameToIdx.apply(COL_OBJ_ID), id, databaseSpecific);
+    ps.setString(nameToIdx.apply(COL_OBJ_TYPE), type.name());
+
+    ObjSerializer<Obj> serializer = ObjSerializers.forType(type);
+    serializer.serialize(
+        ps, obj, incrementalIndexSizeLimit, indexSizeLimit, nameToIdx, databaseSpecific);
+
+    for (ObjSerializer<?> other : ObjSerializers.ALL_SERIALIZERS) {
+      if (serializer != other) {
+        other.setNull(ps, nameToIdx, databaseSpecific);
+      }
+    }
+  }
+
   protected final void deleteObj(
       @Nonnull @jakarta.annotation.Nonnull Connection conn,
       @Nonnull @jakarta.annotation.Nonnull ObjId id) {
@@ -631,7 +710,27 @@ abstract class AbstractJdbcPersist implements Persist {
   }
 
   protected CloseableIterator<Obj> scanAllObjects(Connection conn, Set<ObjType> returnedObjTypes) {
-    return new ScanAllObjectsIterator(conn, returnedObjTypes);
+    return new ScanAllObjectsIterator(conn, returnedObjTypes, null);
+  }
+
+  /**
+   * Scans the objects in the given range. Object IDs are stored as lower-case hex strings, which
+   * compare in the same order as the object ID bytes.
+   */
+  protected CloseableIterator<Obj> scanObjects(
+      Connection conn, Set<ObjType> returnedObjTypes, ObjIdRange range) {
+    return new ScanAllObjectsIterator(conn, returnedObjTypes, range);
+  }
+
+  private static String scanSql(int numObjTypes, ObjIdRange range) {
+    String sql = sqlSelectMultiple(SCAN_OBJS, numObjTypes);
+    if (range != null && range.lower() != null) {
+      sql += " AND " + COL_OBJ_ID + ">=?";
+    }
+    if (range != null && range.upper() != null) {
+      sql += " AND " + COL_OBJ_ID + "<?";
+    }
+    return sql;
   }
 
   @VisibleForTesting
@@ -650,22 +749,57 @@ abstract class AbstractJdbcPersist implements Persist {
     return marks.toString();
   }
 
+  private static String[] arityBucketsSql(String sql) {
+    return stream(ARITY_BUCKETS).mapToObj(n -> sqlSelectMultiple(sql, n)).toArray(String[]::new);
+  }
+
+  /**
+   * Returns the index of the smallest arity bucket that can hold {@code count} rows, or of the
+   * largest bucket.
+   */
+  @VisibleForTesting
+  static int arityBucketCeiling(int count) {
+    for (int i = 0; i < ARITY_BUCKETS.length; i++) {
+      if (ARITY_BUCKETS[i] >= count) {
+        return i;
+      }
+    }
+    return ARITY_BUCKETS.length - 1;
+  }
+
+  /** Returns the index of the largest arity bucket that does not exceed {@code count} rows. */
+  @VisibleForTesting
+  static int arityBucketFloor(int count) {
+    for (int i = ARITY_BUCKETS.length - 1; i > 0; i--) {
+      if (ARITY_BUCKETS[i] <= count) {
+        return i;
+      }
+    }
+    return 0;
+  }
+
   @FunctionalInterface
   interface ThrowingConsumer<T> {
     void accept(T t) throws SQLException;
   }
 
   private class ScanAllObjectsIterator extends ResultSetIterator<Obj> {
-    ScanAllObjectsIterator(Connection conn, Set<ObjType> returnedObjTypes) {
+    ScanAllObjectsIterator(Connection conn, Set<ObjType> returnedObjTypes, ObjIdRange range) {
       super(
           conn,
-          sqlSelectMultiple(SCAN_OBJS, returnedObjTypes.size()),
+          scanSql(returnedObjTypes.size(), range),
           ps -> {
             int idx = 1;
             ps.setString(idx++, config.repositoryId());
             for (ObjType returnedObjType : returnedObjTypes) {
               ps.setString(idx++, returnedObjType.name());
             }
+            if (range != null && range.lower() != null) {
+              serializeObjId(ps, idx++, range.lower(), databaseSpecific);
+            }
+            if (range != null && range.upper() != null) {
+              serializeObjId(ps, idx, range.upper(), databaseSpecific);
+            }
           });
     }
 
@@ -44,4 +44,10 @@ public interface DatabaseSpecific {
   boolean isRetryTransaction(SQLException e);
 
   String wrapInsert(String sql);
+
+  /**
+   * Whether the database supports multi-row {@code INSERT ... ON CONFLICT DO NOTHING RETURNING}
+   * statements, which report the rows that have actually been inserted.
+   */
+  boolean supportsInsertReturning();
 }
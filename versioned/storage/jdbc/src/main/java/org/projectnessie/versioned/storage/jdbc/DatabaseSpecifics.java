@@ -44,13 +44,14 @@ public final class DatabaseSpecifics {
   // choose a collation in which 'ref-    2' is sorted _after_ 'ref-   19', which is unexpected
   // and wrong for Nessie.
   public static final DatabaseSpecific POSTGRESQL_DATABASE_SPECIFIC =
-      new BasePostgresDatabaseSpecific("VARCHAR COLLATE ucs_basic");
+      new BasePostgresDatabaseSpecific("VARCHAR COLLATE ucs_basic", true);
 
   public static final DatabaseSpecific COCKROACH_DATABASE_SPECIFIC =
-      new BasePostgresDatabaseSpecific("VARCHAR");
+      new BasePostgresDatabaseSpecific("VARCHAR", true);
 
+  // H2 does not support 'RETURNING', not even in the PostgreSQL compatibility mode.
   public static final DatabaseSpecific H2_DATABASE_SPECIFIC =
-      new BasePostgresDatabaseSpecific("VARCHAR");
+      new BasePostgresDatabaseSpecific("VARCHAR", false);
 
   public static DatabaseSpecific detect(DataSource dataSource) {
     try (Connection conn = dataSource.getConnection()) {
@@ -88,8 +89,10 @@ public final class DatabaseSpecifics {
   static class BasePostgresDatabaseSpecific implements DatabaseSpecific {
     private final Map<JdbcColumnType, String> typeMap;
     private final Map<JdbcColumnType, Integer> typeIdMap;
+    private final boolean insertReturning;
 
-    BasePostgresDatabaseSpecific(String varcharType) {
+    BasePostgresDatabaseSpecific(String varcharType, boolean insertReturning) {
+      this.insertReturning = insertReturning;
       typeMap = new EnumMap<>(JdbcColumnType.class);
       typeIdMap = new EnumMap<>(JdbcColumnType.class);
       typeMap.put(JdbcColumnType.NAME, varcharType);
@@ -141,5 +144,10 @@ public final class DatabaseSpecifics {
     public String wrapInsert(String sql) {
       return sql + " ON CONFLICT DO NOTHING";
     }
+
+    @Override
+    public boolean supportsInsertReturning() {
+      return insertReturning;
+    }
   }
 }
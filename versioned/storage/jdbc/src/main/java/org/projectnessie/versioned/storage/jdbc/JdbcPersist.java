@@ -31,6 +31,7 @@ import org.projectnessie.versioned.storage.common.exceptions.RefNotFoundExceptio
 import org.projectnessie.versioned.storage.common.persist.CloseableIterator;
 import org.projectnessie.versioned.storage.common.persist.Obj;
 import org.projectnessie.versioned.storage.common.persist.ObjId;
+import org.projectnessie.versioned.storage.common.persist.ObjIdRange;
 import org.projectnessie.versioned.storage.common.persist.ObjType;
 import org.projectnessie.versioned.storage.common.persist.Reference;
 
@@ -276,4 +277,19 @@ class JdbcPersist extends AbstractJdbcPersist {
       throw unhandledSQLException(e);
     }
   }
+
+  @Nonnull
+  @jakarta.annotation.Nonnull
+  @Override
+  public CloseableIterator<Obj> scanObjectsPartition(
+      @Nonnull @jakarta.annotation.Nonnull Set<ObjType> returnedObjTypes,
+      int partition,
+      int numPartitions) {
+    ObjIdRange range = ObjIdRange.forPartition(partition, numPartitions);
+    try {
+      return super.scanObjects(backend.borrowConnection(), returnedObjTypes, range);
+    } catch (SQLException e) {
+      throw unhandledSQLException(e);
+    }
+  }
 }
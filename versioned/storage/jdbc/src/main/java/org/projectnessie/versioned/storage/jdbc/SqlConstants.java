@@ -26,6 +26,12 @@ final class SqlConstants {
 
   static final int MAX_BATCH_SIZE = 50;
 
+  /**
+   * Numbers of rows handled by a single multi-row statement. Using a few fixed arities, instead of
+   * one per number of rows, lets databases and JDBC drivers reuse prepared statements and plans.
+   */
+  static final int[] ARITY_BUCKETS = {1, 4, 16, 64};
+
   static final String TABLE_REFS = "refs";
   static final String TABLE_OBJS = "objs";
   static final String COL_REPO_ID = "repo";
@@ -15,9 +15,6 @@
  */
 package org.projectnessie.versioned.storage.jdbc.serializers;
 
-import static org.projectnessie.versioned.storage.common.indexes.StoreKey.keyFromString;
-import static org.projectnessie.versioned.storage.common.objtypes.IndexStripe.indexStripe;
-import static org.projectnessie.versioned.storage.common.persist.ObjId.objIdFromByteBuffer;
 import static org.projectnessie.versioned.storage.jdbc.JdbcSerde.deserializeBytes;
 import static org.projectnessie.versioned.storage.jdbc.JdbcSerde.deserializeObjId;
 import static org.projectnessie.versioned.storage.jdbc.JdbcSerde.deserializeObjIds;
@@ -40,10 +37,10 @@ import org.projectnessie.versioned.storage.common.objtypes.CommitType;
 import org.projectnessie.versioned.storage.common.persist.ObjId;
 import org.projectnessie.versioned.storage.common.proto.StorageTypes.HeaderEntry;
 import org.projectnessie.versioned.storage.common.proto.StorageTypes.Headers;
-import org.projectnessie.versioned.storage.common.proto.StorageTypes.Stripe;
 import org.projectnessie.versioned.storage.common.proto.StorageTypes.Stripes;
 import org.projectnessie.versioned.storage.jdbc.DatabaseSpecific;
 import org.projectnessie.versioned.storage.jdbc.JdbcColumnType;
+import org.projectnessie.versioned.storage.serialize.ProtoSerialization;
 
 public class CommitObjSerializer implements ObjSerializer<CommitObj> {
 
@@ -108,12 +105,7 @@ public class CommitObjSerializer implements ObjSerializer<CommitObj> {
 
     Stripes.Builder b = Stripes.newBuilder();
     obj.referenceIndexStripes().stream()
-        .map(
-            s ->
-                Stripe.newBuilder()
-                    .setFirstKey(s.firstKey().rawString())
-                    .setLastKey(s.lastKey().rawString())
-                    .setSegment(s.segment().asBytes()))
+        .map(ProtoSerialization::serializeStripe)
         .forEach(b::addStripes);
     serializeBytes(
         ps,
@@ -169,12 +161,7 @@ public class CommitObjSerializer implements ObjSerializer<CommitObj> {
     try {
       Stripes stripes = Stripes.parseFrom(rs.getBytes(COL_COMMIT_REFERENCE_INDEX_STRIPES));
       stripes.getStripesList().stream()
-          .map(
-              s ->
-                  indexStripe(
-                      keyFromString(s.getFirstKey()),
-                      keyFromString(s.getLastKey()),
-                      objIdFromByteBuffer(s.getSegment().asReadOnlyByteBuffer())))
+          .map(ProtoSerialization::deserializeStripe)
           .forEach(b::addReferenceIndexStripes);
     } catch (IOException e) {
       throw new RuntimeException(e);
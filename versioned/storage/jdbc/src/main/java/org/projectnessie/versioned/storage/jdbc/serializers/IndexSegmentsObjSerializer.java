@@ -15,10 +15,7 @@
  */
 package org.projectnessie.versioned.storage.jdbc.serializers;
 
-import static org.projectnessie.versioned.storage.common.indexes.StoreKey.keyFromString;
 import static org.projectnessie.versioned.storage.common.objtypes.IndexSegmentsObj.indexSegments;
-import static org.projectnessie.versioned.storage.common.objtypes.IndexStripe.indexStripe;
-import static org.projectnessie.versioned.storage.common.persist.ObjId.objIdFromByteBuffer;
 import static org.projectnessie.versioned.storage.jdbc.JdbcSerde.serializeBytes;
 
 import com.google.common.collect.ImmutableMap;
@@ -33,10 +30,10 @@ import java.util.stream.Collectors;
 import org.projectnessie.versioned.storage.common.objtypes.IndexSegmentsObj;
 import org.projectnessie.versioned.storage.common.objtypes.IndexStripe;
 import org.projectnessie.versioned.storage.common.persist.ObjId;
-import org.projectnessie.versioned.storage.common.proto.StorageTypes.Stripe;
 import org.projectnessie.versioned.storage.common.proto.StorageTypes.Stripes;
 import org.projectnessie.versioned.storage.jdbc.DatabaseSpecific;
 import org.projectnessie.versioned.storage.jdbc.JdbcColumnType;
+import org.projectnessie.versioned.storage.serialize.ProtoSerialization;
 
 public class IndexSegmentsObjSerializer implements ObjSerializer<IndexSegmentsObj> {
 
@@ -65,12 +62,7 @@ public class IndexSegmentsObjSerializer implements ObjSerializer<IndexSegmentsOb
       throws SQLException {
     Stripes.Builder b = Stripes.newBuilder();
     obj.stripes().stream()
-        .map(
-            s ->
-                Stripe.newBuilder()
-                    .setFirstKey(s.firstKey().rawString())
-                    .setLastKey(s.lastKey().rawString())
-                    .setSegment(s.segment().asBytes()))
+        .map(ProtoSerialization::serializeStripe)
         .forEach(b::addStripes);
     serializeBytes(
         ps, nameToIdx.apply(COL_SEGMENTS_STRIPES), b.build().toByteString(), databaseSpecific);
@@ -82,12 +74,7 @@ public class IndexSegmentsObjSerializer implements ObjSerializer<IndexSegmentsOb
       Stripes stripes = Stripes.parseFrom(rs.getBytes(COL_SEGMENTS_STRIPES));
       List<IndexStripe> stripeList =
           stripes.getStripesList().stream()
-              .map(
-                  s ->
-                      indexStripe(
-                          keyFromString(s.getFirstKey()),
-                          keyFromString(s.getLastKey()),
-                          objIdFromByteBuffer(s.getSegment().asReadOnlyByteBuffer())))
+              .map(ProtoSerialization::deserializeStripe)
               .collect(Collectors.toList());
       return indexSegments(id, stripeList);
     } catch (IOException e) {
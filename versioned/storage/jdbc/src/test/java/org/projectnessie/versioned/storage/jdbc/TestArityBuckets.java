@@ -0,0 +1,52 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.jdbc;
+
+import static org.projectnessie.versioned.storage.jdbc.AbstractJdbcPersist.arityBucketCeiling;
+import static org.projectnessie.versioned.storage.jdbc.AbstractJdbcPersist.arityBucketFloor;
+import static org.projectnessie.versioned.storage.jdbc.SqlConstants.ARITY_BUCKETS;
+
+import org.assertj.core.api.SoftAssertions;
+import org.assertj.core.api.junit.jupiter.InjectSoftAssertions;
+import org.assertj.core.api.junit.jupiter.SoftAssertionsExtension;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+@ExtendWith(SoftAssertionsExtension.class)
+public class TestArityBuckets {
+  @InjectSoftAssertions protected SoftAssertions soft;
+
+  @Test
+  public void ceiling() {
+    soft.assertThat(ARITY_BUCKETS).containsExactly(1, 4, 16, 64);
+    soft.assertThat(arityBucketCeiling(1)).isEqualTo(0);
+    soft.assertThat(arityBucketCeiling(2)).isEqualTo(1);
+    soft.assertThat(arityBucketCeiling(4)).isEqualTo(1);
+    soft.assertThat(arityBucketCeiling(5)).isEqualTo(2);
+    soft.assertThat(arityBucketCeiling(64)).isEqualTo(3);
+    soft.assertThat(arityBucketCeiling(65)).isEqualTo(3);
+  }
+
+  @Test
+  public void floor() {
+    soft.assertThat(arityBucketFloor(1)).isEqualTo(0);
+    soft.assertThat(arityBucketFloor(3)).isEqualTo(0);
+    soft.assertThat(arityBucketFloor(4)).isEqualTo(1);
+    soft.assertThat(arityBucketFloor(15)).isEqualTo(1);
+    soft.assertThat(arityBucketFloor(16)).isEqualTo(2);
+    soft.assertThat(arityBucketFloor(100)).isEqualTo(3);
+  }
+}
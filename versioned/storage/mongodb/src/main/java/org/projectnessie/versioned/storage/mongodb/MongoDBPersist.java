@@ -20,7 +20,9 @@ import static com.mongodb.ErrorCategory.DUPLICATE_KEY;
 import static com.mongodb.client.model.Filters.and;
 import static com.mongodb.client.model.Filters.eq;
 import static com.mongodb.client.model.Filters.exists;
+import static com.mongodb.client.model.Filters.gte;
 import static com.mongodb.client.model.Filters.in;
+import static com.mongodb.client.model.Filters.lt;
 import static com.mongodb.client.model.Filters.not;
 import static com.mongodb.client.model.Updates.set;
 import static java.util.Collections.emptyList;
@@ -78,6 +80,7 @@ import org.projectnessie.versioned.storage.common.exceptions.RefNotFoundExceptio
 import org.projectnessie.versioned.storage.common.persist.CloseableIterator;
 import org.projectnessie.versioned.storage.common.persist.Obj;
 import org.projectnessie.versioned.storage.common.persist.ObjId;
+import org.projectnessie.versioned.storage.common.persist.ObjIdRange;
 import org.projectnessie.versioned.storage.common.persist.ObjType;
 import org.projectnessie.versioned.storage.common.persist.ObjTypes;
 import org.projectnessie.versioned.storage.common.persist.Persist;
@@ -87,6 +90,9 @@ import org.projectnessie.versioned.storage.mongodb.serializers.ObjSerializers;
 
 public class MongoDBPersist implements Persist {
 
+  /** Length of the object IDs generated by Nessie, SHA-256 hashes. */
+  private static final int OBJ_ID_RANGE_BOUND_LENGTH = 32;
+
   private final StoreConfig config;
   private final MongoDBBackend backend;
 
@@ -554,7 +560,47 @@ public class MongoDBPersist implements Persist {
   @Override
   public CloseableIterator<Obj> scanAllObjects(
       @Nonnull @jakarta.annotation.Nonnull Set<ObjType> returnedObjTypes) {
-    return new ScanAllObjectsIterator(returnedObjTypes);
+    return new ScanAllObjectsIterator(eq(ID_REPO_PATH, config.repositoryId()), returnedObjTypes);
+  }
+
+  /**
+   * Scans a range of the {@code _id} index. Compound {@code _id} values compare field by field, an
+   * {@code _id} with only the repository ID is less than all object IDs of the repository.
+   */
+  @Nonnull
+  @jakarta.annotation.Nonnull
+  @Override
+  public CloseableIterator<Obj> scanObjectsPartition(
+      @Nonnull @jakarta.annotation.Nonnull Set<ObjType> returnedObjTypes,
+      int partition,
+      int numPartitions) {
+    ObjIdRange range = ObjIdRange.forPartition(partition, numPartitions);
+    String repositoryId = config.repositoryId();
+
+    Document lower = new Document(COL_REPO, repositoryId);
+    if (range.lower() != null) {
+      lower.put(COL_OBJ_ID, rangeBound(range.lower()));
+    }
+    Document upper;
+    if (range.upper() != null) {
+      upper = new Document(COL_REPO, repositoryId);
+      upper.put(COL_OBJ_ID, rangeBound(range.upper()));
+    } else {
+      // The smallest repository ID greater than 'repositoryId'
+      upper = new Document(COL_REPO, repositoryId + '\u0000');
+    }
+
+    return new ScanAllObjectsIterator(
+        and(gte(ID_PROPERTY_NAME, lower), lt(ID_PROPERTY_NAME, upper)), returnedObjTypes);
+  }
+
+  /**
+   * MongoDB compares binary values by length first, so range bounds are padded to the length of
+   * the object IDs generated by Nessie. Object IDs of other lengths end up in the first or last
+   * range.
+   */
+  private static Binary rangeBound(ObjId bound) {
+    return new Binary(Arrays.copyOf(bound.asByteArray(), OBJ_ID_RANGE_BOUND_LENGTH));
   }
 
   @Override
@@ -601,15 +647,10 @@ public class MongoDBPersist implements Persist {
 
     private final MongoCursor<Document> result;
 
-    public ScanAllObjectsIterator(Set<ObjType> returnedObjTypes) {
+    public ScanAllObjectsIterator(Bson idFilter, Set<ObjType> returnedObjTypes) {
       List<String> objTypeShortNames =
           returnedObjTypes.stream().map(ObjType::shortName).collect(toList());
-      result =
-          backend
-              .objs()
-              .find(
-                  and(eq(ID_REPO_PATH, config.repositoryId()), in(COL_OBJ_TYPE, objTypeShortNames)))
-              .iterator();
+      result = backend.objs().find(and(idFilter, in(COL_OBJ_TYPE, objTypeShortNames))).iterator();
     }
 
     @Override
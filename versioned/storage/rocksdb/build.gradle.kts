@@ -17,6 +17,7 @@
 plugins {
   id("nessie-conventions-server")
   id("nessie-jacoco")
+  alias(libs.plugins.jmh)
 }
 
 extra["maven.name"] = "Nessie - Storage - RocksDB"
@@ -37,6 +38,7 @@ dependencies {
   implementation(libs.guava)
 
   implementation(libs.rocksdb.jni)
+  implementation(libs.micrometer.core)
 
   compileOnly(libs.immutables.builder)
   compileOnly(libs.immutables.value.annotations)
@@ -50,4 +52,13 @@ dependencies {
   testImplementation(platform(libs.junit.bom))
   testImplementation(libs.bundles.junit.testing)
   testRuntimeOnly(libs.logback.classic)
+
+  jmhImplementation(libs.jmh.core)
+  jmhImplementation(project(":nessie-versioned-storage-testextension"))
+  jmhRuntimeOnly(libs.logback.classic)
+  jmhAnnotationProcessor(libs.jmh.generator.annprocess)
 }
+
+tasks.named("processJmhJandexIndex").configure { enabled = false }
+
+jmh { jmhVersion.set(libs.versions.jmh.get()) }
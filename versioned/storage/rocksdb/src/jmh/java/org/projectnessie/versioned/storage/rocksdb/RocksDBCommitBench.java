@@ -0,0 +1,113 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.rocksdb;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.projectnessie.nessie.relocated.protobuf.ByteString.copyFromUtf8;
+import static org.projectnessie.versioned.storage.common.objtypes.CommitHeaders.EMPTY_COMMIT_HEADERS;
+import static org.projectnessie.versioned.storage.common.objtypes.CommitObj.commitBuilder;
+import static org.projectnessie.versioned.storage.common.objtypes.ContentValueObj.contentValue;
+import static org.projectnessie.versioned.storage.common.persist.ObjId.EMPTY_OBJ_ID;
+import static org.projectnessie.versioned.storage.common.persist.ObjId.randomObjId;
+import static org.projectnessie.versioned.storage.common.persist.Reference.reference;
+
+import java.util.UUID;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.projectnessie.nessie.relocated.protobuf.ByteString;
+import org.projectnessie.versioned.storage.common.config.StoreConfig;
+import org.projectnessie.versioned.storage.common.exceptions.RefConditionFailedException;
+import org.projectnessie.versioned.storage.common.objtypes.CommitObj;
+import org.projectnessie.versioned.storage.common.persist.Obj;
+import org.projectnessie.versioned.storage.common.persist.Persist;
+import org.projectnessie.versioned.storage.common.persist.Reference;
+
+/**
+ * Benchmark for the commit throughput of 32 concurrent committers on the same branch. Each commit
+ * stores a content value and a commit object and then bumps the branch, retrying if another
+ * committer bumped the branch in the meantime.
+ */
+@Warmup(iterations = 2, time = 2000, timeUnit = MILLISECONDS)
+@Measurement(iterations = 3, time = 1000, timeUnit = MILLISECONDS)
+@Fork(1)
+@Threads(32)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(SECONDS)
+public class RocksDBCommitBench {
+  static final String BRANCH = "refs/heads/main";
+
+  @State(Scope.Benchmark)
+  public static class BenchmarkParam {
+
+    private RocksDBBackendTestFactory testFactory;
+    private Persist persist;
+
+    @Setup
+    public void init() throws Exception {
+      testFactory = new RocksDBBackendTestFactory();
+      testFactory.start();
+      RocksDBBackend backend = testFactory.createNewBackend();
+      backend.setupSchema();
+      persist = backend.createFactory().newPersist(StoreConfig.Adjustable.empty());
+      persist.addReference(reference(BRANCH, EMPTY_OBJ_ID, false, 0L, null));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+      testFactory.stop();
+    }
+  }
+
+  @Benchmark
+  public Reference commit(BenchmarkParam param) throws Exception {
+    Persist persist = param.persist;
+
+    String contentId = UUID.randomUUID().toString();
+    Obj value = contentValue(contentId, 1, copyFromUtf8("s3://bucket/table/" + contentId));
+
+    Reference ref = persist.fetchReference(BRANCH);
+    while (true) {
+      CommitObj commit =
+          commitBuilder()
+              .id(randomObjId())
+              .created(System.currentTimeMillis())
+              .seq(0L)
+              .addTail(ref.pointer())
+              .headers(EMPTY_COMMIT_HEADERS)
+              .message("commit " + contentId)
+              .incrementalIndex(ByteString.empty())
+              .build();
+      persist.storeObjs(new Obj[] {value, commit});
+      try {
+        return persist.updateReferencePointer(ref, commit.id());
+      } catch (RefConditionFailedException e) {
+        ref = e.reference();
+      }
+    }
+  }
+}
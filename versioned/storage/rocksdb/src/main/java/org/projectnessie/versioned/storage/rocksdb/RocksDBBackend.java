@@ -20,30 +20,44 @@ import static java.util.Arrays.asList;
 import static org.projectnessie.versioned.storage.common.util.Closing.closeMultiple;
 import static org.rocksdb.RocksDB.DEFAULT_COLUMN_FAMILY;
 
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
 import org.projectnessie.nessie.relocated.protobuf.ByteString;
-import org.projectnessie.versioned.storage.common.config.StoreConfig;
 import org.projectnessie.versioned.storage.common.persist.Backend;
 import org.projectnessie.versioned.storage.common.persist.PersistFactory;
+import org.rocksdb.BlockBasedTableConfig;
+import org.rocksdb.BloomFilter;
+import org.rocksdb.Cache;
 import org.rocksdb.ColumnFamilyDescriptor;
 import org.rocksdb.ColumnFamilyHandle;
 import org.rocksdb.ColumnFamilyOptions;
 import org.rocksdb.DBOptions;
+import org.rocksdb.Filter;
+import org.rocksdb.LRUCache;
+import org.rocksdb.ReadOptions;
 import org.rocksdb.RocksDB;
 import org.rocksdb.RocksDBException;
 import org.rocksdb.RocksIterator;
+import org.rocksdb.Statistics;
+import org.rocksdb.Status;
+import org.rocksdb.TickerType;
+import org.rocksdb.Transaction;
 import org.rocksdb.TransactionDB;
 import org.rocksdb.TransactionDBOptions;
+import org.rocksdb.WriteOptions;
 
 final class RocksDBBackend implements Backend {
   public static final String CF_REFERENCES = "nessie_refs";
@@ -51,13 +65,52 @@ final class RocksDBBackend implements Backend {
 
   private static final List<String> CF_ALL = asList(CF_REFERENCES, CF_OBJECTS);
 
+  private static final long MB = 1024L * 1024L;
+
+  /** RocksDB statistics tickers exposed as metrics. */
+  private static final List<TickerType> TICKERS =
+      asList(
+          TickerType.BLOCK_CACHE_HIT,
+          TickerType.BLOCK_CACHE_MISS,
+          TickerType.BLOOM_FILTER_USEFUL,
+          TickerType.BLOOM_FILTER_FULL_POSITIVE,
+          TickerType.BLOOM_FILTER_PREFIX_USEFUL,
+          TickerType.MEMTABLE_HIT,
+          TickerType.MEMTABLE_MISS,
+          TickerType.NUMBER_KEYS_READ,
+          TickerType.NUMBER_KEYS_WRITTEN,
+          TickerType.BYTES_READ,
+          TickerType.BYTES_WRITTEN,
+          TickerType.WAL_FILE_BYTES,
+          TickerType.FLUSH_WRITE_BYTES,
+          TickerType.COMPACT_READ_BYTES,
+          TickerType.COMPACT_WRITE_BYTES,
+          TickerType.STALL_MICROS);
+
+  /** RocksDB properties exposed as metrics per column family. */
+  private static final List<String> PROPERTIES =
+      asList(
+          "rocksdb.estimate-num-keys",
+          "rocksdb.total-sst-files-size",
+          "rocksdb.cur-size-all-mem-tables",
+          "rocksdb.block-cache-usage",
+          "rocksdb.estimate-pending-compaction-bytes",
+          "rocksdb.num-running-compactions");
+
   private final RocksDBBackendConfig config;
 
   private TransactionDB db;
   private ColumnFamilyHandle cfReferences;
   private ColumnFamilyHandle cfObjects;
 
-  private final Map<String, RocksDBRepo> repositories = new ConcurrentHashMap<>();
+  /** Native resources that must stay open while the database is open. */
+  private final List<AutoCloseable> resources = new ArrayList<>();
+
+  private final List<Meter> meters = new ArrayList<>();
+  private Statistics statistics;
+  private ReadOptions totalOrderReadOptions;
+  private ReadOptions readOptions;
+  private WriteOptions writeOptions;
 
   RocksDBBackend(RocksDBBackendConfig config) {
     RocksDB.loadLibrary();
@@ -80,17 +133,54 @@ final class RocksDBBackend implements Backend {
     return cfObjects;
   }
 
+  ReadOptions readOptions() {
+    return readOptions;
+  }
+
+  WriteOptions writeOptions() {
+    return writeOptions;
+  }
+
+  /**
+   * Starts a new pessimistic transaction. Keys read via {@link
+   * Transaction#getForUpdate(ReadOptions, ColumnFamilyHandle, byte[], boolean)} stay locked until
+   * the transaction is committed or closed, which makes the read and the following write atomic.
+   */
+  Transaction beginTransaction() {
+    return db.beginTransaction(writeOptions);
+  }
+
+  /**
+   * Returns a new iterator over all keys of the given column family, which ignores a configured
+   * prefix extractor.
+   */
+  RocksIterator newTotalOrderIterator(ColumnFamilyHandle cf) {
+    return db.newIterator(cf, totalOrderReadOptions);
+  }
+
   @Override
   public synchronized void close() {
     if (db != null) {
+      config.meterRegistry().ifPresent(registry -> meters.forEach(registry::remove));
+      meters.clear();
+      List<AutoCloseable> toClose = new ArrayList<>();
+      toClose.add(cfObjects);
+      toClose.add(cfReferences);
+      toClose.add(db);
+      toClose.addAll(resources);
       try {
-        closeMultiple(cfObjects, cfReferences, db);
+        closeMultiple(toClose);
       } catch (Exception e) {
         throw new RuntimeException(e);
       } finally {
         db = null;
         cfReferences = null;
         cfObjects = null;
+        statistics = null;
+        totalOrderReadOptions = null;
+        readOptions = null;
+        writeOptions = null;
+        resources.clear();
       }
     }
   }
@@ -109,22 +199,25 @@ final class RocksDBBackend implements Backend {
       columnFamilies.add(DEFAULT_COLUMN_FAMILY);
       CF_ALL.stream().map(s -> s.getBytes(StandardCharsets.UTF_8)).forEach(columnFamilies::add);
 
+      ColumnFamilyOptions columnFamilyOptions = columnFamilyOptions();
       List<ColumnFamilyDescriptor> columnFamilyDescriptors =
           columnFamilies.stream()
-              .map(
-                  c ->
-                      new ColumnFamilyDescriptor(
-                          c, new ColumnFamilyOptions().optimizeUniversalStyleCompaction()))
+              .map(c -> new ColumnFamilyDescriptor(c, columnFamilyOptions))
               .collect(Collectors.toList());
 
-      try (final DBOptions dbOptions =
-          new DBOptions().setCreateIfMissing(true).setCreateMissingColumnFamilies(true)) {
-        // TODO: Consider setting WAL limits.
+      totalOrderReadOptions = resource(new ReadOptions().setTotalOrderSeek(true));
+      readOptions = resource(new ReadOptions());
+      writeOptions = resource(new WriteOptions());
+
+      try {
         List<ColumnFamilyHandle> columnFamilyHandles = new ArrayList<>();
         db =
             TransactionDB.open(
-                dbOptions,
-                new TransactionDBOptions(),
+                dbOptions(),
+                resource(
+                    new TransactionDBOptions()
+                        .setTransactionLockTimeout(config.transactionLockTimeoutMillis())
+                        .setDefaultLockTimeout(config.transactionLockTimeoutMillis())),
                 dbPath.toString(),
                 columnFamilyDescriptors,
                 columnFamilyHandles);
@@ -138,8 +231,105 @@ final class RocksDBBackend implements Backend {
         cfReferences = columnFamilyHandleMap.get(CF_REFERENCES);
         cfObjects = columnFamilyHandleMap.get(CF_OBJECTS);
       } catch (RocksDBException e) {
+        try {
+          closeMultiple(resources);
+        } catch (Exception ex) {
+          e.addSuppressed(ex);
+        }
+        resources.clear();
         throw new RuntimeException("RocksDB failed to start", e);
       }
+
+      config.meterRegistry().ifPresent(this::registerMeters);
+    }
+  }
+
+  private <R extends AutoCloseable> R resource(R resource) {
+    resources.add(resource);
+    return resource;
+  }
+
+  private DBOptions dbOptions() {
+    DBOptions dbOptions =
+        resource(new DBOptions().setCreateIfMissing(true).setCreateMissingColumnFamilies(true));
+    if (config.maxTotalWalSizeMb() > 0) {
+      dbOptions.setMaxTotalWalSize(config.maxTotalWalSizeMb() * MB);
+    }
+    if (config.statisticsEnabled()) {
+      statistics = resource(new Statistics());
+      dbOptions.setStatistics(statistics);
+    }
+    return dbOptions;
+  }
+
+  private ColumnFamilyOptions columnFamilyOptions() {
+    ColumnFamilyOptions options = resource(new ColumnFamilyOptions());
+
+    long memtableMemoryBudget = config.memtableMemoryBudgetMb() * MB;
+    switch (config.compactionStyle()) {
+      case UNIVERSAL:
+        options.optimizeUniversalStyleCompaction(memtableMemoryBudget);
+        break;
+      case LEVEL:
+        options.optimizeLevelStyleCompaction(memtableMemoryBudget);
+        break;
+      default:
+        throw new IllegalArgumentException(
+            "Unsupported compaction style " + config.compactionStyle());
+    }
+
+    BlockBasedTableConfig tableConfig = new BlockBasedTableConfig();
+    if (config.blockCacheSizeMb() > 0) {
+      Cache blockCache = resource(new LRUCache(config.blockCacheSizeMb() * MB));
+      tableConfig.setBlockCache(blockCache);
+    }
+    if (config.bloomFilterBitsPerKey() > 0) {
+      Filter bloomFilter = resource(new BloomFilter(config.bloomFilterBitsPerKey()));
+      tableConfig.setFilterPolicy(bloomFilter);
+    }
+    options.setTableFormatConfig(tableConfig);
+
+    if (config.prefixExtractorLength() > 0) {
+      options.useCappedPrefixExtractor(config.prefixExtractorLength());
+    }
+
+    return options;
+  }
+
+  private void registerMeters(MeterRegistry registry) {
+    Statistics stats = statistics;
+    if (stats != null) {
+      for (TickerType ticker : TICKERS) {
+        meters.add(
+            FunctionCounter.builder(
+                    "rocksdb_ticker", stats, s -> (double) s.getTickerCount(ticker))
+                .tag("ticker", ticker.name().toLowerCase(Locale.ROOT))
+                .description("RocksDB statistics ticker")
+                .register(registry));
+      }
+    }
+
+    for (String cfName : CF_ALL) {
+      ColumnFamilyHandle cf = CF_REFERENCES.equals(cfName) ? cfReferences : cfObjects;
+      for (String property : PROPERTIES) {
+        meters.add(
+            Gauge.builder("rocksdb_property", this, b -> b.longProperty(cf, property))
+                .tag("column_family", cfName)
+                .tag("property", property)
+                .description("RocksDB property")
+                .register(registry));
+      }
+    }
+  }
+
+  private synchronized double longProperty(ColumnFamilyHandle cf, String property) {
+    if (db == null) {
+      return Double.NaN;
+    }
+    try {
+      return db.getLongProperty(cf, property);
+    } catch (RocksDBException e) {
+      return Double.NaN;
     }
   }
 
@@ -161,10 +351,6 @@ final class RocksDBBackend implements Backend {
     return "database path: " + config.databasePath();
   }
 
-  RocksDBRepo repo(StoreConfig config) {
-    return repositories.computeIfAbsent(config.repositoryId(), r -> new RocksDBRepo());
-  }
-
   @Override
   public void eraseRepositories(Set<String> repositoryIds) {
     if (repositoryIds == null || repositoryIds.isEmpty()) {
@@ -183,7 +369,7 @@ final class RocksDBBackend implements Backend {
     all()
         .forEach(
             cf -> {
-              try (RocksIterator iter = db.newIterator(cf)) {
+              try (RocksIterator iter = newTotalOrderIterator(cf)) {
                 List<ByteString> deletes = new ArrayList<>();
                 for (iter.seekToFirst(); iter.isValid(); iter.next()) {
                   ByteString key = ByteString.copyFrom(iter.key());
@@ -203,6 +389,24 @@ final class RocksDBBackend implements Backend {
             });
   }
 
+  /**
+   * Whether the exception indicates that a key lock could not be acquired, because a concurrent
+   * transaction held it for longer than {@link RocksDBBackendConfig#transactionLockTimeoutMillis()}.
+   */
+  static boolean isLockContention(RocksDBException e) {
+    Status status = e.getStatus();
+    if (status == null) {
+      return false;
+    }
+    switch (status.getCode()) {
+      case TimedOut:
+      case Busy:
+        return true;
+      default:
+        return false;
+    }
+  }
+
   static RuntimeException rocksDbException(RocksDBException e) {
     throw new RuntimeException("Unhandled RocksDB exception", e);
   }
@@ -19,4 +19,51 @@ import java.nio.file.Path;
 
 public interface RocksDBBackendBaseConfig {
   Path databasePath();
+
+  /**
+   * Size of the block cache shared by all column families in MB, {@code 0} lets each column family
+   * use RocksDB's default block cache.
+   */
+  int blockCacheSizeMb();
+
+  /**
+   * Number of bits per key of the Bloom filters of the persisted tables, {@code 0} disables Bloom
+   * filters. Bloom filters save disk reads for lookups of keys that do not exist.
+   */
+  int bloomFilterBitsPerKey();
+
+  /**
+   * Length of the key prefix used by RocksDB's prefix extractor, {@code 0} disables the prefix
+   * extractor. Keys start with the repository ID followed by a colon, the length should therefore
+   * be the length of that prefix, if all repository IDs have the same length.
+   */
+  int prefixExtractorLength();
+
+  /** Compaction style of the column families. */
+  CompactionStyle compactionStyle();
+
+  /** Memory budget for the memtables of each column family in MB, used to tune the compaction. */
+  int memtableMemoryBudgetMb();
+
+  /**
+   * Maximum total size of the write-ahead-log files in MB, after which column families are flushed
+   * to release old WAL files, {@code 0} lets RocksDB derive the limit from the memtable sizes.
+   */
+  int maxTotalWalSizeMb();
+
+  /** Whether RocksDB collects statistics, which are exposed as metrics. */
+  boolean statisticsEnabled();
+
+  /**
+   * Maximum time in milliseconds to wait for a key lock held by a concurrent transaction. Reference
+   * updates that time out fail with a {@code RefConditionFailedException}, so commits retry them.
+   */
+  int transactionLockTimeoutMillis();
+
+  enum CompactionStyle {
+    /** Universal compaction, lower write amplification, higher space amplification. */
+    UNIVERSAL,
+    /** Level compaction, lower space and read amplification, higher write amplification. */
+    LEVEL
+  }
 }
@@ -15,12 +15,104 @@
  */
 package org.projectnessie.versioned.storage.rocksdb;
 
+import static com.google.common.base.Preconditions.checkState;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Optional;
 import org.immutables.value.Value;
 
 @Value.Immutable
 public interface RocksDBBackendConfig extends RocksDBBackendBaseConfig {
 
+  int DEFAULT_BLOCK_CACHE_SIZE_MB = 64;
+  int DEFAULT_BLOOM_FILTER_BITS_PER_KEY = 10;
+  int DEFAULT_PREFIX_EXTRACTOR_LENGTH = 0;
+  String DEFAULT_COMPACTION_STYLE = "UNIVERSAL";
+  int DEFAULT_MEMTABLE_MEMORY_BUDGET_MB = 512;
+  int DEFAULT_MAX_TOTAL_WAL_SIZE_MB = 0;
+  boolean DEFAULT_STATISTICS_ENABLED = false;
+  int DEFAULT_TRANSACTION_LOCK_TIMEOUT_MILLIS = 1000;
+
   static ImmutableRocksDBBackendConfig.Builder builder() {
     return ImmutableRocksDBBackendConfig.builder();
   }
+
+  @Override
+  @Value.Default
+  default int blockCacheSizeMb() {
+    return DEFAULT_BLOCK_CACHE_SIZE_MB;
+  }
+
+  @Override
+  @Value.Default
+  default int bloomFilterBitsPerKey() {
+    return DEFAULT_BLOOM_FILTER_BITS_PER_KEY;
+  }
+
+  @Override
+  @Value.Default
+  default int prefixExtractorLength() {
+    return DEFAULT_PREFIX_EXTRACTOR_LENGTH;
+  }
+
+  @Override
+  @Value.Default
+  default CompactionStyle compactionStyle() {
+    return CompactionStyle.valueOf(DEFAULT_COMPACTION_STYLE);
+  }
+
+  @Override
+  @Value.Default
+  default int memtableMemoryBudgetMb() {
+    return DEFAULT_MEMTABLE_MEMORY_BUDGET_MB;
+  }
+
+  @Override
+  @Value.Default
+  default int maxTotalWalSizeMb() {
+    return DEFAULT_MAX_TOTAL_WAL_SIZE_MB;
+  }
+
+  @Override
+  @Value.Default
+  default boolean statisticsEnabled() {
+    return DEFAULT_STATISTICS_ENABLED;
+  }
+
+  @Override
+  @Value.Default
+  default int transactionLockTimeoutMillis() {
+    return DEFAULT_TRANSACTION_LOCK_TIMEOUT_MILLIS;
+  }
+
+  /** Registry for the RocksDB metrics, RocksDB statistics are only exposed if present. */
+  Optional<MeterRegistry> meterRegistry();
+
+  @Value.Check
+  default void check() {
+    checkState(
+        blockCacheSizeMb() >= 0,
+        "RocksDB config: blockCacheSizeMb must not be negative, but is %s",
+        blockCacheSizeMb());
+    checkState(
+        bloomFilterBitsPerKey() >= 0,
+        "RocksDB config: bloomFilterBitsPerKey must not be negative, but is %s",
+        bloomFilterBitsPerKey());
+    checkState(
+        prefixExtractorLength() >= 0,
+        "RocksDB config: prefixExtractorLength must not be negative, but is %s",
+        prefixExtractorLength());
+    checkState(
+        memtableMemoryBudgetMb() > 0,
+        "RocksDB config: memtableMemoryBudgetMb must be positive, but is %s",
+        memtableMemoryBudgetMb());
+    checkState(
+        maxTotalWalSizeMb() >= 0,
+        "RocksDB config: maxTotalWalSizeMb must not be negative, but is %s",
+        maxTotalWalSizeMb());
+    checkState(
+        transactionLockTimeoutMillis() >= 0,
+        "RocksDB config: transactionLockTimeoutMillis must not be negative, but is %s",
+        transactionLockTimeoutMillis());
+  }
 }
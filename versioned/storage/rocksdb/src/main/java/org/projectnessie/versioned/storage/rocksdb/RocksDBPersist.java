@@ -17,6 +17,7 @@ package org.projectnessie.versioned.storage.rocksdb;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static java.util.Collections.singleton;
+import static org.projectnessie.versioned.storage.rocksdb.RocksDBBackend.isLockContention;
 import static org.projectnessie.versioned.storage.rocksdb.RocksDBBackend.keyPrefix;
 import static org.projectnessie.versioned.storage.rocksdb.RocksDBBackend.rocksDbException;
 import static org.projectnessie.versioned.storage.serialize.ProtoSerialization.deserializeObj;
@@ -30,7 +31,6 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Set;
-import java.util.concurrent.locks.Lock;
 import java.util.function.Predicate;
 import javax.annotation.Nonnull;
 import org.projectnessie.nessie.relocated.protobuf.ByteString;
@@ -43,25 +43,28 @@ import org.projectnessie.versioned.storage.common.exceptions.RefNotFoundExceptio
 import org.projectnessie.versioned.storage.common.persist.CloseableIterator;
 import org.projectnessie.versioned.storage.common.persist.Obj;
 import org.projectnessie.versioned.storage.common.persist.ObjId;
+import org.projectnessie.versioned.storage.common.persist.ObjIdRange;
 import org.projectnessie.versioned.storage.common.persist.ObjType;
 import org.projectnessie.versioned.storage.common.persist.Persist;
 import org.projectnessie.versioned.storage.common.persist.Reference;
 import org.rocksdb.ColumnFamilyHandle;
+import org.rocksdb.ReadOptions;
 import org.rocksdb.RocksDBException;
 import org.rocksdb.RocksIterator;
+import org.rocksdb.Slice;
+import org.rocksdb.Transaction;
 import org.rocksdb.TransactionDB;
+import org.rocksdb.WriteBatch;
 
 class RocksDBPersist implements Persist {
 
   private final RocksDBBackend backend;
-  private final RocksDBRepo repo;
   private final StoreConfig config;
 
   private final ByteString keyPrefix;
 
-  RocksDBPersist(RocksDBBackend backend, RocksDBRepo repo, StoreConfig config) {
+  RocksDBPersist(RocksDBBackend backend, StoreConfig config) {
     this.backend = backend;
-    this.repo = repo;
     this.config = config;
     this.keyPrefix = keyPrefix(config.repositoryId());
   }
@@ -152,25 +155,26 @@ class RocksDBPersist implements Persist {
       throws RefAlreadyExistsException {
     checkArgument(!reference.deleted(), "Deleted references must not be added");
 
-    Lock l = repo.referencesLock(reference.name());
-    try {
-      RocksDBBackend b = backend;
-      TransactionDB db = b.db();
+    RocksDBBackend b = backend;
+    try (Transaction txn = b.beginTransaction()) {
       ColumnFamilyHandle cf = b.refs();
       byte[] key = dbKey(reference.name());
 
-      byte[] existing = db.get(cf, key);
+      byte[] existing = txn.getForUpdate(b.readOptions(), cf, key, true);
       if (existing != null) {
         throw new RefAlreadyExistsException(deserializeReference(existing));
       }
 
-      db.put(cf, key, serializeReference(reference));
+      txn.put(cf, key, serializeReference(reference));
+      txn.commit();
 
       return reference;
     } catch (RocksDBException e) {
+      if (isLockContention(e)) {
+        // A concurrent transaction is creating or changing the same reference
+        throw new RefAlreadyExistsException(null);
+      }
       throw rocksDbException(e);
-    } finally {
-      l.unlock();
     }
   }
 
@@ -179,33 +183,45 @@ class RocksDBPersist implements Persist {
   @jakarta.annotation.Nonnull
   public Reference markReferenceAsDeleted(@Nonnull @jakarta.annotation.Nonnull Reference reference)
       throws RefNotFoundException, RefConditionFailedException {
-    Lock l = repo.referencesLock(reference.name());
-    try {
-      RocksDBBackend b = backend;
-      TransactionDB db = b.db();
+    RocksDBBackend b = backend;
+    try (Transaction txn = b.beginTransaction()) {
       ColumnFamilyHandle cf = b.refs();
       byte[] key = dbKey(reference.name());
 
-      checkReference(reference, db, cf, key, false);
+      checkReference(reference, txn, cf, key, false);
 
       Reference asDeleted = reference.withDeleted(true);
-      db.put(cf, key, serializeReference(asDeleted));
+      txn.put(cf, key, serializeReference(asDeleted));
+      txn.commit();
       return asDeleted;
     } catch (RocksDBException e) {
-      throw rocksDbException(e);
-    } finally {
-      l.unlock();
+      throw referenceException(reference, e);
     }
   }
 
-  private static void checkReference(
+  /**
+   * Maps a failed reference update to a {@link RefConditionFailedException} with the last committed
+   * state of the reference, if the reference is locked by a concurrent update, which lets callers
+   * retry.
+   */
+  private RuntimeException referenceException(Reference reference, RocksDBException e)
+      throws RefConditionFailedException {
+    if (isLockContention(e)) {
+      Reference current = fetchReference(reference.name());
+      throw new RefConditionFailedException(current != null ? current : reference);
+    }
+    throw rocksDbException(e);
+  }
+
+  /** Reads and locks the reference, the lock is held until the transaction completes. */
+  private void checkReference(
       Reference expected,
-      TransactionDB db,
+      Transaction txn,
       ColumnFamilyHandle cf,
       byte[] key,
       boolean expectDeleted)
       throws RocksDBException, RefNotFoundException, RefConditionFailedException {
-    byte[] existing = db.get(cf, key);
+    byte[] existing = txn.getForUpdate(backend.readOptions(), cf, key, true);
     if (existing == null) {
       throw new RefNotFoundException(expected);
     }
@@ -219,20 +235,17 @@ class RocksDBPersist implements Persist {
   @Override
   public void purgeReference(@Nonnull @jakarta.annotation.Nonnull Reference reference)
       throws RefNotFoundException, RefConditionFailedException {
-    Lock l = repo.referencesLock(reference.name());
-    try {
-      RocksDBBackend b = backend;
-      TransactionDB db = b.db();
+    RocksDBBackend b = backend;
+    try (Transaction txn = b.beginTransaction()) {
       ColumnFamilyHandle cf = b.refs();
       byte[] key = dbKey(reference.name());
 
-      checkReference(reference.withDeleted(true), db, cf, key, true);
+      checkReference(reference.withDeleted(true), txn, cf, key, true);
 
-      db.delete(cf, key);
+      txn.delete(cf, key);
+      txn.commit();
     } catch (RocksDBException e) {
-      throw rocksDbException(e);
-    } finally {
-      l.unlock();
+      throw referenceException(reference, e);
     }
   }
 
@@ -243,23 +256,20 @@ class RocksDBPersist implements Persist {
       @Nonnull @jakarta.annotation.Nonnull Reference reference,
       @Nonnull @jakarta.annotation.Nonnull ObjId newPointer)
       throws RefNotFoundException, RefConditionFailedException {
-    Lock l = repo.referencesLock(reference.name());
-    try {
-      RocksDBBackend b = backend;
-      TransactionDB db = b.db();
+    RocksDBBackend b = backend;
+    try (Transaction txn = b.beginTransaction()) {
       ColumnFamilyHandle cf = b.refs();
       byte[] key = dbKey(reference.name());
 
-      checkReference(reference, db, cf, key, false);
+      checkReference(reference, txn, cf, key, false);
 
       Reference updated = reference.forNewPointer(newPointer, config);
 
-      db.put(cf, key, serializeReference(updated));
+      txn.put(cf, key, serializeReference(updated));
+      txn.commit();
       return updated;
     } catch (RocksDBException e) {
-      throw rocksDbException(e);
-    } finally {
-      l.unlock();
+      throw referenceException(reference, e);
     }
   }
 
@@ -361,14 +371,12 @@ class RocksDBPersist implements Persist {
       throws ObjTooLargeException {
     checkArgument(obj.id() != null, "Obj to store must have a non-null ID");
 
-    Lock l = repo.objLock(obj.id());
-    try {
-      RocksDBBackend b = backend;
-      TransactionDB db = b.db();
+    RocksDBBackend b = backend;
+    try (Transaction txn = b.beginTransaction()) {
       ColumnFamilyHandle cf = b.objs();
       byte[] key = dbKey(obj.id());
 
-      byte[] existing = db.get(cf, key);
+      byte[] existing = txn.getForUpdate(b.readOptions(), cf, key, true);
       if (existing != null) {
         return false;
       }
@@ -379,33 +387,71 @@ class RocksDBPersist implements Persist {
           ignoreSoftSizeRestrictions ? Integer.MAX_VALUE : effectiveIndexSegmentSizeLimit();
       byte[] serialized = serializeObj(obj, incrementalIndexSizeLimit, indexSizeLimit);
 
-      db.put(cf, key, serialized);
+      txn.put(cf, key, serialized);
+      txn.commit();
       return true;
     } catch (RocksDBException e) {
       throw rocksDbException(e);
-    } finally {
-      l.unlock();
     }
   }
 
+  /**
+   * Stores all objects in a single transaction, which is committed as one write batch. Keys are
+   * locked in a consistent order to prevent lock waits between concurrent calls.
+   */
   @Override
   @Nonnull
   @jakarta.annotation.Nonnull
   public boolean[] storeObjs(@Nonnull @jakarta.annotation.Nonnull Obj[] objs)
       throws ObjTooLargeException {
     boolean[] r = new boolean[objs.length];
+
+    List<Integer> indexes = new ArrayList<>(objs.length);
+    byte[][] keys = new byte[objs.length][];
     for (int i = 0; i < objs.length; i++) {
       Obj o = objs[i];
       if (o != null) {
-        r[i] = storeObj(o, false);
+        checkArgument(o.id() != null, "Obj to store must have a non-null ID");
+        indexes.add(i);
+        keys[i] = dbKey(o.id());
       }
     }
-    return r;
+    if (indexes.isEmpty()) {
+      return r;
+    }
+    indexes.sort((i1, i2) -> Arrays.compareUnsigned(keys[i1], keys[i2]));
+
+    RocksDBBackend b = backend;
+    try (Transaction txn = b.beginTransaction()) {
+      ColumnFamilyHandle cf = b.objs();
+      int incrementalIndexSizeLimit = effectiveIncrementalIndexSizeLimit();
+      int indexSizeLimit = effectiveIndexSegmentSizeLimit();
+
+      byte[] previousKey = null;
+      for (int i : indexes) {
+        byte[] key = keys[i];
+        if (Arrays.equals(previousKey, key)) {
+          // Same object more than once in 'objs', only the first one counts as stored
+          continue;
+        }
+        previousKey = key;
+
+        byte[] existing = txn.getForUpdate(b.readOptions(), cf, key, true);
+        if (existing == null) {
+          txn.put(cf, key, serializeObj(objs[i], incrementalIndexSizeLimit, indexSizeLimit));
+          r[i] = true;
+        }
+      }
+
+      txn.commit();
+      return r;
+    } catch (RocksDBException e) {
+      throw rocksDbException(e);
+    }
   }
 
   @Override
   public void deleteObj(@Nonnull @jakarta.annotation.Nonnull ObjId id) {
-    Lock l = repo.objLock(id);
     try {
       RocksDBBackend b = backend;
       TransactionDB db = b.db();
@@ -415,17 +461,22 @@ class RocksDBPersist implements Persist {
       db.delete(cf, key);
     } catch (RocksDBException e) {
       throw rocksDbException(e);
-    } finally {
-      l.unlock();
     }
   }
 
   @Override
   public void deleteObjs(@Nonnull @jakarta.annotation.Nonnull ObjId[] ids) {
-    for (ObjId id : ids) {
-      if (id != null) {
-        deleteObj(id);
+    RocksDBBackend b = backend;
+    try (WriteBatch batch = new WriteBatch()) {
+      ColumnFamilyHandle cf = b.objs();
+      for (ObjId id : ids) {
+        if (id != null) {
+          batch.delete(cf, dbKey(id));
+        }
       }
+      b.db().write(b.writeOptions(), batch);
+    } catch (RocksDBException e) {
+      throw rocksDbException(e);
     }
   }
 
@@ -434,7 +485,6 @@ class RocksDBPersist implements Persist {
     ObjId id = obj.id();
     checkArgument(id != null, "Obj to store must have a non-null ID");
 
-    Lock l = repo.objLock(obj.id());
     try {
       RocksDBBackend b = backend;
       TransactionDB db = b.db();
@@ -447,18 +497,27 @@ class RocksDBPersist implements Persist {
       db.put(cf, key, serialized);
     } catch (RocksDBException e) {
       throw rocksDbException(e);
-    } finally {
-      l.unlock();
     }
   }
 
   @Override
   public void upsertObjs(@Nonnull @jakarta.annotation.Nonnull Obj[] objs)
       throws ObjTooLargeException {
-    for (Obj obj : objs) {
-      if (obj != null) {
-        upsertObj(obj);
+    RocksDBBackend b = backend;
+    try (WriteBatch batch = new WriteBatch()) {
+      ColumnFamilyHandle cf = b.objs();
+      int incrementalIndexSizeLimit = effectiveIncrementalIndexSizeLimit();
+      int indexSizeLimit = effectiveIndexSegmentSizeLimit();
+      for (Obj obj : objs) {
+        if (obj != null) {
+          ObjId id = obj.id();
+          checkArgument(id != null, "Obj to store must have a non-null ID");
+          batch.put(cf, dbKey(id), serializeObj(obj, incrementalIndexSizeLimit, indexSizeLimit));
+        }
       }
+      b.db().write(b.writeOptions(), batch);
+    } catch (RocksDBException e) {
+      throw rocksDbException(e);
     }
   }
 
@@ -472,9 +531,37 @@ class RocksDBPersist implements Persist {
   @Override
   public CloseableIterator<Obj> scanAllObjects(
       @Nonnull @jakarta.annotation.Nonnull Set<ObjType> returnedObjTypes) {
-    return new ScanAllObjectsIterator(returnedObjTypes::contains);
+    return new ScanAllObjectsIterator(returnedObjTypes::contains, null);
+  }
+
+  @Nonnull
+  @jakarta.annotation.Nonnull
+  @Override
+  public CloseableIterator<Obj> scanObjectsPartition(
+      @Nonnull @jakarta.annotation.Nonnull Set<ObjType> returnedObjTypes,
+      int partition,
+      int numPartitions) {
+    ObjIdRange range = ObjIdRange.forPartition(partition, numPartitions);
+    return new ScanAllObjectsIterator(returnedObjTypes::contains, range);
   }
 
+  /** Returns the smallest key that is greater than all keys starting with the given prefix. */
+  private static byte[] prefixSuccessor(ByteString prefix) {
+    byte[] successor = prefix.toByteArray();
+    for (int i = successor.length - 1; i >= 0; i--) {
+      if (successor[i] != (byte) 0xff) {
+        successor[i]++;
+        return Arrays.copyOf(successor, i + 1);
+      }
+    }
+    throw new IllegalArgumentException("Prefix has no successor");
+  }
+
+  /**
+   * Iterates over the objects of this repository, optionally restricted to a range of object IDs.
+   * The iterator is bounded to the keys of the range, so it does not visit the keys of other
+   * repositories.
+   */
   private class ScanAllObjectsIterator extends AbstractIterator<Obj>
       implements CloseableIterator<Obj> {
 
@@ -482,33 +569,52 @@ class RocksDBPersist implements Persist {
 
     private final TransactionDB db;
     private final ColumnFamilyHandle cf;
+    private final Slice lowerBound;
+    private final Slice upperBound;
+    private final ReadOptions readOptions;
     private final RocksIterator iter;
     private boolean first = true;
     private byte[] lastKey;
 
-    ScanAllObjectsIterator(Predicate<ObjType> filter) {
+    ScanAllObjectsIterator(Predicate<ObjType> filter, ObjIdRange range) {
       this.filter = filter;
 
+      byte[] lower =
+          range != null && range.lower() != null
+              ? dbKey(range.lower())
+              : keyPrefix.toByteArray();
+      byte[] upper =
+          range != null && range.upper() != null
+              ? dbKey(range.upper())
+              : prefixSuccessor(keyPrefix);
+
       RocksDBBackend b = backend;
       db = b.db();
       cf = b.objs();
-      iter = db.newIterator(b.objs());
-      iter.seekToFirst();
+      lowerBound = new Slice(lower);
+      upperBound = new Slice(upper);
+      readOptions =
+          new ReadOptions()
+              .setTotalOrderSeek(true)
+              .setIterateLowerBound(lowerBound)
+              .setIterateUpperBound(upperBound);
+      iter = db.newIterator(cf, readOptions);
+      iter.seek(lower);
     }
 
     @Override
     protected Obj computeNext() {
       while (true) {
-        if (!iter.isValid()) {
-          return endOfData();
-        }
-
         if (first) {
           first = false;
         } else {
           iter.next();
         }
 
+        if (!iter.isValid()) {
+          return endOfData();
+        }
+
         byte[] k = iter.key();
         if (lastKey != null && Arrays.equals(lastKey, k)) {
           // RocksDB sometimes tends to return the same key twice
@@ -516,11 +622,6 @@ class RocksDBPersist implements Persist {
         }
         lastKey = k;
 
-        ByteString key = ByteString.copyFrom(k);
-        if (!key.startsWith(keyPrefix)) {
-          continue;
-        }
-
         byte[] obj;
         try {
           obj = db.get(cf, k);
@@ -531,6 +632,7 @@ class RocksDBPersist implements Persist {
           continue;
         }
 
+        ByteString key = ByteString.copyFrom(k);
         ObjId id = deserializeObjId(key.substring(keyPrefix.size()));
         Obj o = deserializeObj(id, obj);
 
@@ -543,6 +645,9 @@ class RocksDBPersist implements Persist {
     @Override
     public void close() {
       iter.close();
+      readOptions.close();
+      lowerBound.close();
+      upperBound.close();
     }
   }
 }
@@ -32,6 +32,6 @@ final class RocksDBPersistFactory implements PersistFactory {
   @Nonnull
   @jakarta.annotation.Nonnull
   public Persist newPersist(@Nonnull @jakarta.annotation.Nonnull StoreConfig config) {
-    return new RocksDBPersist(backend, backend.repo(config), config);
+    return new RocksDBPersist(backend, config);
   }
 }
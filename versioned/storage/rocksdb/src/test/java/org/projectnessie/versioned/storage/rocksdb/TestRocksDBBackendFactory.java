@@ -17,6 +17,8 @@ package org.projectnessie.versioned.storage.rocksdb;
 
 import static org.projectnessie.versioned.storage.common.logic.Logics.repositoryLogic;
 
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.nio.file.Path;
 import org.assertj.core.api.SoftAssertions;
 import org.assertj.core.api.junit.jupiter.InjectSoftAssertions;
@@ -32,6 +34,7 @@ import org.projectnessie.versioned.storage.common.persist.BackendFactory;
 import org.projectnessie.versioned.storage.common.persist.Persist;
 import org.projectnessie.versioned.storage.common.persist.PersistFactory;
 import org.projectnessie.versioned.storage.common.persist.PersistLoader;
+import org.projectnessie.versioned.storage.rocksdb.RocksDBBackendBaseConfig.CompactionStyle;
 
 @ExtendWith(SoftAssertionsExtension.class)
 public class TestRocksDBBackendFactory {
@@ -135,4 +138,63 @@ public class TestRocksDBBackendFactory {
       testFactory.stop();
     }
   }
+
+  @Test
+  public void tuningOptionsAndMetrics() throws Exception {
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    RocksDBBackendConfig config =
+        RocksDBBackendConfig.builder()
+            .databasePath(rocksDir)
+            .compactionStyle(CompactionStyle.LEVEL)
+            .blockCacheSizeMb(8)
+            .bloomFilterBitsPerKey(0)
+            .prefixExtractorLength(1)
+            .memtableMemoryBudgetMb(16)
+            .maxTotalWalSizeMb(32)
+            .statisticsEnabled(true)
+            .meterRegistry(meterRegistry)
+            .build();
+
+    try (Backend backend = new RocksDBBackendFactory().buildBackend(config)) {
+      backend.setupSchema();
+      Persist persist = backend.createFactory().newPersist(DEFAULT_CONFIG);
+
+      RepositoryLogic repositoryLogic = repositoryLogic(persist);
+      repositoryLogic.initialize("main");
+      soft.assertThat(repositoryLogic.fetchRepositoryDescription()).isNotNull();
+
+      FunctionCounter bytesWritten =
+          meterRegistry.find("rocksdb_ticker").tag("ticker", "bytes_written").functionCounter();
+      soft.assertThat(bytesWritten).isNotNull();
+      soft.assertThat(bytesWritten.count()).isGreaterThan(0d);
+      soft.assertThat(
+              meterRegistry
+                  .find("rocksdb_property")
+                  .tag("property", "rocksdb.estimate-num-keys")
+                  .gauges())
+          .isNotEmpty();
+    }
+
+    soft.assertThat(meterRegistry.getMeters()).isEmpty();
+  }
+
+  @Test
+  public void invalidTuningOptions() {
+    soft.assertThatIllegalStateException()
+        .isThrownBy(
+            () ->
+                RocksDBBackendConfig.builder()
+                    .databasePath(rocksDir)
+                    .blockCacheSizeMb(-1)
+                    .build())
+        .withMessageContaining("blockCacheSizeMb");
+    soft.assertThatIllegalStateException()
+        .isThrownBy(
+            () ->
+                RocksDBBackendConfig.builder()
+                    .databasePath(rocksDir)
+                    .memtableMemoryBudgetMb(0)
+                    .build())
+        .withMessageContaining("memtableMemoryBudgetMb");
+  }
 }
@@ -0,0 +1,145 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.rocksdb;
+
+import static org.projectnessie.versioned.storage.common.persist.ObjId.EMPTY_OBJ_ID;
+import static org.projectnessie.versioned.storage.common.persist.ObjId.randomObjId;
+import static org.projectnessie.versioned.storage.common.persist.Reference.reference;
+import static org.projectnessie.versioned.storage.rocksdb.RocksDBBackend.keyPrefix;
+
+import com.google.protobuf.ByteString;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.assertj.core.api.SoftAssertions;
+import org.assertj.core.api.junit.jupiter.InjectSoftAssertions;
+import org.assertj.core.api.junit.jupiter.SoftAssertionsExtension;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.projectnessie.versioned.storage.common.config.StoreConfig;
+import org.projectnessie.versioned.storage.common.exceptions.RefConditionFailedException;
+import org.projectnessie.versioned.storage.common.persist.ObjId;
+import org.projectnessie.versioned.storage.common.persist.Persist;
+import org.projectnessie.versioned.storage.common.persist.Reference;
+import org.rocksdb.Transaction;
+
+@ExtendWith(SoftAssertionsExtension.class)
+public class TestRocksDBReferenceContention {
+  @InjectSoftAssertions protected SoftAssertions soft;
+
+  @TempDir protected Path rocksDir;
+
+  static StoreConfig DEFAULT_CONFIG = new StoreConfig() {};
+
+  @Test
+  public void lockedReferenceFailsCondition() throws Exception {
+    RocksDBBackendConfig config =
+        RocksDBBackendConfig.builder()
+            .databasePath(rocksDir)
+            .transactionLockTimeoutMillis(50)
+            .build();
+    try (RocksDBBackend backend = new RocksDBBackend(config)) {
+      backend.setupSchema();
+      Persist persist = backend.createFactory().newPersist(DEFAULT_CONFIG);
+
+      Reference ref =
+          persist.addReference(reference("refs/heads/main", EMPTY_OBJ_ID, false, 0L, null));
+
+      byte[] key =
+          keyPrefix(DEFAULT_CONFIG.repositoryId())
+              .concat(ByteString.copyFromUtf8(ref.name()))
+              .toByteArray();
+      try (Transaction txn = backend.beginTransaction()) {
+        txn.getForUpdate(backend.readOptions(), backend.refs(), key, true);
+
+        soft.assertThatThrownBy(() -> persist.updateReferencePointer(ref, randomObjId()))
+            .isInstanceOf(RefConditionFailedException.class)
+            .extracting(e -> ((RefConditionFailedException) e).reference())
+            .isEqualTo(ref);
+        soft.assertThatThrownBy(() -> persist.markReferenceAsDeleted(ref))
+            .isInstanceOf(RefConditionFailedException.class);
+
+        txn.rollback();
+      }
+
+      ObjId pointer = randomObjId();
+      soft.assertThat(persist.updateReferencePointer(ref, pointer).pointer()).isEqualTo(pointer);
+    }
+  }
+
+  @Test
+  public void concurrentUpdateReferencePointer() throws Exception {
+    int threads = 8;
+    int updatesPerThread = 50;
+
+    RocksDBBackendConfig config =
+        RocksDBBackendConfig.builder()
+            .databasePath(rocksDir)
+            .transactionLockTimeoutMillis(0)
+            .build();
+    try (RocksDBBackend backend = new RocksDBBackend(config)) {
+      backend.setupSchema();
+      Persist persist = backend.createFactory().newPersist(DEFAULT_CONFIG);
+
+      String name = "refs/heads/main";
+      persist.addReference(reference(name, EMPTY_OBJ_ID, false, 0L, null));
+
+      Set<ObjId> pointers = ConcurrentHashMap.newKeySet();
+      CyclicBarrier barrier = new CyclicBarrier(threads);
+      ExecutorService executor = Executors.newFixedThreadPool(threads);
+      try {
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+          futures.add(
+              executor.submit(
+                  () -> {
+                    barrier.await();
+                    for (int i = 0; i < updatesPerThread; i++) {
+                      ObjId pointer = randomObjId();
+                      while (true) {
+                        Reference current = persist.fetchReference(name);
+                        try {
+                          persist.updateReferencePointer(current, pointer);
+                          pointers.add(pointer);
+                          break;
+                        } catch (RefConditionFailedException e) {
+                          // Concurrently updated or locked, retry with the current reference
+                        }
+                      }
+                    }
+                    return null;
+                  }));
+        }
+        for (Future<?> future : futures) {
+          future.get(2, TimeUnit.MINUTES);
+        }
+      } finally {
+        executor.shutdownNow();
+      }
+
+      soft.assertThat(pointers).hasSize(threads * updatesPerThread);
+      soft.assertThat(pointers).contains(persist.fetchReference(name).pointer());
+    }
+  }
+}
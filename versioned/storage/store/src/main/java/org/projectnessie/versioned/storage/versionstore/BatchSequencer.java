@@ -0,0 +1,137 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.versionstore;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import com.google.common.annotations.VisibleForTesting;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Groups the work of concurrent threads into batches, each batch is published at once by a single
+ * thread.
+ *
+ * <p>A thread {@linkplain #enter(Predicate, Supplier) enters} the sequencer, which returns the
+ * currently open batch or a new one, performs its own part of the work on that batch and
+ * {@linkplain #exit(Batch, boolean) exits} the sequencer. The work of a thread therefore runs on
+ * that thread, which matters for everything that depends on thread or request context, for example
+ * access checks. Threads enter the sequencer one at a time, in arrival order.
+ *
+ * <p>The thread that exits while no other thread is about to enter, or whose work makes the batch
+ * reach the maximum batch size, publishes the batch. All threads that joined a batch wait in {@link
+ * #exit(Batch, boolean)} until their batch has been published.
+ */
+final class BatchSequencer<B extends BatchSequencer.Batch> {
+
+  private final int maxBatchSize;
+  private final ReentrantLock lock = new ReentrantLock(true);
+  private final Condition published = lock.newCondition();
+  private final AtomicInteger arriving = new AtomicInteger();
+  private B open;
+
+  BatchSequencer(int maxBatchSize) {
+    checkArgument(maxBatchSize > 0, "Maximum batch size must be positive");
+    this.maxBatchSize = maxBatchSize;
+  }
+
+  /** Base class of batches, only accessed by threads that entered the sequencer. */
+  abstract static class Batch {
+    private int size;
+    private boolean published;
+
+    int size() {
+      return size;
+    }
+
+    /**
+     * Publishes the batch, called while no other thread is in the sequencer. Implementations must
+     * record failures for the batch's members instead of throwing them.
+     */
+    abstract void publish();
+  }
+
+  /**
+   * Enters the sequencer, must always be followed by a call to {@link #exit(Batch, boolean)} with
+   * the returned batch.
+   *
+   * @param joinable tests whether the open batch can take the work of this thread, if not, the open
+   *     batch is published first
+   * @param newBatch supplies a new batch, if there is no open batch
+   */
+  B enter(Predicate<B> joinable, Supplier<B> newBatch) {
+    arriving.incrementAndGet();
+    lock.lock();
+    try {
+      B batch = open;
+      if (batch != null && !joinable.test(batch)) {
+        publishOpen();
+        batch = null;
+      }
+      return batch != null ? batch : newBatch.get();
+    } catch (RuntimeException | Error e) {
+      arriving.decrementAndGet();
+      lock.unlock();
+      throw e;
+    }
+  }
+
+  /**
+   * Exits the sequencer, publishes the open batch if no other thread is about to join it, waits
+   * until the given batch has been published if this thread joined it.
+   *
+   * @param batch the batch returned by {@link #enter(Predicate, Supplier)}
+   * @param joined whether this thread added work to the batch
+   */
+  void exit(B batch, boolean joined) {
+    try {
+      int waiting = arriving.decrementAndGet();
+      if (joined) {
+        batch.size++;
+        open = batch;
+      }
+      if (open != null && (waiting == 0 || open.size >= maxBatchSize)) {
+        publishOpen();
+      }
+      if (joined) {
+        while (!batch.published) {
+          published.awaitUninterruptibly();
+        }
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @VisibleForTesting
+  int arriving() {
+    return arriving.get();
+  }
+
+  private void publishOpen() {
+    B batch = open;
+    open = null;
+    try {
+      batch.publish();
+    } finally {
+      batch.published = true;
+      published.signalAll();
+    }
+  }
+}
@@ -0,0 +1,289 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.versionstore;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.projectnessie.versioned.storage.common.logic.CommitLogQuery.commitLogQuery;
+import static org.projectnessie.versioned.storage.common.logic.Logics.commitLogic;
+import static org.projectnessie.versioned.storage.common.objtypes.Hashes.hashAsObjId;
+import static org.projectnessie.versioned.storage.common.objtypes.Hashes.newHasher;
+import static org.projectnessie.versioned.storage.common.persist.ObjId.EMPTY_OBJ_ID;
+
+import com.google.common.annotations.VisibleForTesting;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import javax.annotation.Nullable;
+import org.projectnessie.versioned.storage.common.exceptions.ObjNotFoundException;
+import org.projectnessie.versioned.storage.common.exceptions.ObjTooLargeException;
+import org.projectnessie.versioned.storage.common.logic.CommitLogic;
+import org.projectnessie.versioned.storage.common.logic.PagedResult;
+import org.projectnessie.versioned.storage.common.objtypes.CommitObj;
+import org.projectnessie.versioned.storage.common.persist.Obj;
+import org.projectnessie.versioned.storage.common.persist.ObjId;
+import org.projectnessie.versioned.storage.common.persist.Persist;
+
+/**
+ * Finds ancestors of commits, following the direct parents, using O(log n) object fetches instead
+ * of walking the commit log.
+ *
+ * <p>Commits whose {@link CommitObj#seq()} is a multiple of {@code spacing} have a {@link
+ * CommitAncestryObj}, which holds the IDs of the ancestors at distances {@code spacing}, {@code 2 *
+ * spacing}, {@code 4 * spacing} and so on. Ancestors at distances up to the number of parents in
+ * {@link CommitObj#tail()} are taken from the tail.
+ *
+ * <p>A {@link CommitAncestryObj} can only be built if the ancestry objects of its ancestors exist.
+ * Missing ancestry objects are built and persisted by the lookups that need them, oldest first. For
+ * existing repositories, {@link #backfill(ObjId)} builds the ancestry objects for a whole commit
+ * log upfront.
+ */
+public final class CommitAncestry {
+
+  static final int DEFAULT_SPACING = 16;
+
+  private static final int STORE_BATCH_SIZE = 100;
+
+  private final Persist persist;
+  private final CommitLogic commitLogic;
+  private final int spacing;
+
+  public CommitAncestry(Persist persist) {
+    this(persist, DEFAULT_SPACING);
+  }
+
+  @VisibleForTesting
+  CommitAncestry(Persist persist, int spacing) {
+    this.persist = persist;
+    this.commitLogic = commitLogic(persist);
+    this.spacing = spacing;
+  }
+
+  /**
+   * Builds the missing ancestry objects for the commit log starting at {@code headCommitId}.
+   *
+   * @return the number of ancestry objects that have been built
+   */
+  public long backfill(ObjId headCommitId) throws ObjNotFoundException {
+    CommitObj head = commitLogic.fetchCommit(headCommitId);
+    if (head == null) {
+      return 0L;
+    }
+    ObjId id = ancestor(head, head.seq() % spacing);
+    if (id == null || fetchAncestry(id) != null) {
+      return 0L;
+    }
+    return build(commitLogic.fetchCommit(id)).size();
+  }
+
+  /**
+   * Returns the commit {@code verifyId}, if it is {@code headId} or one of its ancestors following
+   * the direct parents, otherwise {@code null}.
+   */
+  @Nullable
+  CommitObj commitInChain(ObjId headId, ObjId verifyId) throws ObjNotFoundException {
+    CommitObj head = commitLogic.fetchCommit(headId);
+    if (head == null) {
+      return null;
+    }
+    if (head.id().equals(verifyId)) {
+      return head;
+    }
+
+    CommitObj verify;
+    try {
+      verify = commitLogic.fetchCommit(verifyId);
+    } catch (ObjNotFoundException e) {
+      return null;
+    }
+    if (verify == null || verify.seq() >= head.seq()) {
+      return null;
+    }
+
+    return verifyId.equals(ancestor(head, head.seq() - verify.seq())) ? verify : null;
+  }
+
+  /**
+   * Returns the ID of the ancestor at {@code distance} direct parents from {@code commit}, or
+   * {@code null} if the commit does not have that many ancestors.
+   */
+  @Nullable
+  ObjId ancestor(CommitObj commit, long distance) throws ObjNotFoundException {
+    CommitObj current = commit;
+    long remaining = distance;
+    while (remaining > 0L) {
+      if (remaining >= current.seq()) {
+        return null;
+      }
+
+      List<ObjId> tail = current.tail();
+      if (remaining <= tail.size()) {
+        ObjId id = tail.get((int) remaining - 1);
+        return EMPTY_OBJ_ID.equals(id) ? null : id;
+      }
+
+      ObjId next = null;
+      long step = current.seq() % spacing;
+      if (step != 0L) {
+        // Move to the nearest ancestor that has an ancestry object.
+        if (step <= tail.size()) {
+          next = tail.get((int) step - 1);
+        }
+      } else {
+        List<ObjId> ancestors = ancestry(current).ancestors();
+        for (int level = ancestors.size() - 1; level >= 0; level--) {
+          if (((long) spacing << level) <= remaining) {
+            next = ancestors.get(level);
+            step = (long) spacing << level;
+            break;
+          }
+        }
+      }
+
+      if (next == null) {
+        // Tails shorter than the spacing, fall back to walking the commit log
+        return walk(current.id(), remaining);
+      }
+      if (EMPTY_OBJ_ID.equals(next)) {
+        return null;
+      }
+      current = commitLogic.fetchCommit(next);
+      remaining -= step;
+    }
+    return current.id();
+  }
+
+  @VisibleForTesting
+  CommitAncestryObj ancestry(CommitObj commit) throws ObjNotFoundException {
+    CommitAncestryObj ancestry = fetchAncestry(commit.id());
+    if (ancestry != null) {
+      return ancestry;
+    }
+    List<CommitAncestryObj> built = build(commit);
+    return built.get(built.size() - 1);
+  }
+
+  /**
+   * Builds and persists the ancestry objects for {@code commit} and all its ancestors, which do not
+   * have an ancestry object yet.
+   *
+   * @return the built ancestry objects, the one for {@code commit} is the last element
+   */
+  private List<CommitAncestryObj> build(CommitObj commit) throws ObjNotFoundException {
+    // Collect the commits without an ancestry object, newest first, and their ancestors at a
+    // distance of 'spacing'.
+    List<ObjId> commits = new ArrayList<>();
+    List<ObjId> parents = new ArrayList<>();
+    Map<ObjId, CommitAncestryObj> known = new HashMap<>();
+    for (CommitObj c = commit; c != null; ) {
+      ObjId parent = ancestorOf(c, spacing);
+      commits.add(c.id());
+      parents.add(parent);
+      if (parent == null) {
+        break;
+      }
+      CommitAncestryObj existing = fetchAncestry(parent);
+      if (existing != null) {
+        known.put(parent, existing);
+        break;
+      }
+      c = commitLogic.fetchCommit(parent);
+    }
+
+    List<CommitAncestryObj> built = new ArrayList<>(commits.size());
+    List<Obj> toStore = new ArrayList<>();
+    for (int i = commits.size() - 1; i >= 0; i--) {
+      List<ObjId> ancestors = new ArrayList<>();
+      for (ObjId ancestor = parents.get(i); ancestor != null; ) {
+        int level = ancestors.size();
+        ancestors.add(ancestor);
+        CommitAncestryObj ancestry = known.get(ancestor);
+        if (ancestry == null) {
+          ancestry = fetchAncestry(ancestor);
+        }
+        ancestor =
+            ancestry != null && ancestry.ancestors().size() > level
+                ? ancestry.ancestors().get(level)
+                : null;
+      }
+
+      ObjId commitId = commits.get(i);
+      CommitAncestryObj ancestry =
+          CommitAncestryObj.builder().id(ancestryObjId(commitId)).ancestors(ancestors).build();
+      known.put(commitId, ancestry);
+      built.add(ancestry);
+
+      // Store the oldest ancestry objects first, so that all persisted ancestry objects can be
+      // resolved, even if building the newer ones fails.
+      toStore.add(ancestry);
+      if (toStore.size() == STORE_BATCH_SIZE || i == 0) {
+        store(toStore);
+        toStore.clear();
+      }
+    }
+    return built;
+  }
+
+  private void store(List<Obj> objs) {
+    try {
+      persist.storeObjs(objs.toArray(new Obj[0]));
+    } catch (ObjTooLargeException e) {
+      // cannot happen, the number of ancestors is bounded
+      throw new RuntimeException(e);
+    }
+  }
+
+  /** Ancestor at {@code distance}, taken from the commit's tail or by walking the commit log. */
+  @Nullable
+  private ObjId ancestorOf(CommitObj commit, int distance) {
+    List<ObjId> tail = commit.tail();
+    if (distance <= tail.size()) {
+      ObjId id = tail.get(distance - 1);
+      return EMPTY_OBJ_ID.equals(id) ? null : id;
+    }
+    return walk(commit.id(), distance);
+  }
+
+  @Nullable
+  private ObjId walk(ObjId commitId, long distance) {
+    PagedResult<ObjId, ObjId> log = commitLogic.commitIdLog(commitLogQuery(commitId));
+    for (long i = 0L; log.hasNext(); i++) {
+      ObjId id = log.next();
+      if (i == distance) {
+        return id;
+      }
+    }
+    return null;
+  }
+
+  @Nullable
+  private CommitAncestryObj fetchAncestry(ObjId commitId) {
+    try {
+      return persist.fetchTypedObj(
+          ancestryObjId(commitId), CommitAncestryObjType.INSTANCE, CommitAncestryObj.class);
+    } catch (ObjNotFoundException e) {
+      return null;
+    }
+  }
+
+  private ObjId ancestryObjId(ObjId commitId) {
+    return hashAsObjId(
+        newHasher()
+            .putString(CommitAncestryObjType.INSTANCE.name(), UTF_8)
+            .putInt(spacing)
+            .putBytes(commitId.asByteArray()));
+  }
+}
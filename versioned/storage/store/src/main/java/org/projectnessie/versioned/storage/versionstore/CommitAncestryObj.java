@@ -0,0 +1,62 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.versionstore;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import java.io.IOException;
+import java.util.List;
+import org.immutables.value.Value;
+import org.projectnessie.versioned.storage.common.json.ObjIdHelper;
+import org.projectnessie.versioned.storage.common.persist.Obj;
+import org.projectnessie.versioned.storage.common.persist.ObjId;
+import org.projectnessie.versioned.storage.common.persist.ObjType;
+
+/** Exponentially spaced ancestors of a commit, see {@link CommitAncestry}. */
+@Value.Immutable
+@JsonSerialize(as = ImmutableCommitAncestryObj.class)
+@JsonDeserialize(using = CommitAncestryObj.Deserializer.class)
+public interface CommitAncestryObj extends Obj {
+
+  @Override
+  default ObjType type() {
+    return CommitAncestryObjType.INSTANCE;
+  }
+
+  /**
+   * The element at index {@code n} is the ID of the ancestor at a distance of {@code spacing * 2^n}
+   * direct parents.
+   */
+  List<ObjId> ancestors();
+
+  static ImmutableCommitAncestryObj.Builder builder() {
+    return ImmutableCommitAncestryObj.builder();
+  }
+
+  final class Deserializer extends JsonDeserializer<CommitAncestryObj> {
+    @SuppressWarnings("deprecation")
+    @Override
+    public CommitAncestryObj deserialize(JsonParser p, DeserializationContext ctx)
+        throws IOException {
+      ImmutableCommitAncestryObj.Json json = p.readValueAs(ImmutableCommitAncestryObj.Json.class);
+      json.setId(ObjIdHelper.retrieveObjIdFromContext(ctx));
+      return ImmutableCommitAncestryObj.fromJson(json);
+    }
+  }
+}
@@ -156,12 +156,31 @@ class CommitImpl extends BaseCommitHelper {
           ReferenceConflictException,
           RetryException,
           ObjTooLargeException {
-    CreateCommit.Builder commit = newCommitBuilder().parentCommitId(headId());
-    List<Obj> objectsToStore = new ArrayList<>(operations.size() + 1);
-
     CommitRetryState commitRetryState =
         retryState.map(x -> (CommitRetryState) x).orElseGet(CommitRetryState::new);
 
+    CommitObj newHead = storeCommit(commitRetryState, metadata, operations, validator);
+
+    bumpReferencePointer(newHead.id(), Optional.of(commitRetryState));
+
+    commitRetryState.generatedContentIds.forEach(addedContents);
+
+    return commitResult(newHead);
+  }
+
+  /**
+   * Validates the given operations against the current HEAD and persists the new commit and its
+   * content values, but does not update the reference.
+   */
+  CommitObj storeCommit(
+      @Nonnull @jakarta.annotation.Nonnull CommitRetryState commitRetryState,
+      @Nonnull @jakarta.annotation.Nonnull CommitMeta metadata,
+      @Nonnull @jakarta.annotation.Nonnull List<Operation> operations,
+      @Nonnull @jakarta.annotation.Nonnull CommitValidator validator)
+      throws ReferenceNotFoundException, ReferenceConflictException, ObjTooLargeException {
+    CreateCommit.Builder commit = newCommitBuilder().parentCommitId(headId());
+    List<Obj> objectsToStore = new ArrayList<>(operations.size() + 1);
+
     Consumer<Obj> valueConsumer =
         obj -> {
           if (commitRetryState.storedContents.add(obj.id())) {
@@ -193,17 +212,21 @@ class CommitImpl extends BaseCommitHelper {
           "Hash collision detected, a commit with the same parent commit, commit message, "
               + "headers/commit-metadata and operations already exists");
 
-      bumpReferencePointer(newHead.id(), Optional.of(commitRetryState));
-
-      commitRetryState.generatedContentIds.forEach(addedContents);
+      return newHead;
+    } catch (CommitConflictException e) {
+      throw referenceConflictException(e);
+    } catch (ObjNotFoundException e) {
+      throw referenceNotFound(e);
+    }
+  }
 
+  CommitResult<Commit> commitResult(@Nonnull @jakarta.annotation.Nonnull CommitObj newHead)
+      throws ReferenceNotFoundException {
+    try {
       return ImmutableCommitResult.<Commit>builder()
           .commit(contentMapping.commitObjToCommit(true, newHead))
           .targetBranch((BranchName) RefMapping.referenceToNamedRef(reference))
           .build();
-
-    } catch (CommitConflictException e) {
-      throw referenceConflictException(e);
     } catch (ObjNotFoundException e) {
       throw referenceNotFound(e);
     }
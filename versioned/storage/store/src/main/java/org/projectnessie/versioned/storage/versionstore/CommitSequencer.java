@@ -0,0 +1,208 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.versionstore;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static org.projectnessie.versioned.storage.versionstore.BaseCommitHelper.committingOperation;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.BiConsumer;
+import javax.annotation.Nonnull;
+import org.projectnessie.model.CommitMeta;
+import org.projectnessie.model.ContentKey;
+import org.projectnessie.versioned.BranchName;
+import org.projectnessie.versioned.Commit;
+import org.projectnessie.versioned.CommitResult;
+import org.projectnessie.versioned.Hash;
+import org.projectnessie.versioned.Operation;
+import org.projectnessie.versioned.ReferenceConflictException;
+import org.projectnessie.versioned.ReferenceNotFoundException;
+import org.projectnessie.versioned.VersionStore.CommitValidator;
+import org.projectnessie.versioned.storage.common.exceptions.ObjTooLargeException;
+import org.projectnessie.versioned.storage.common.exceptions.RefConditionFailedException;
+import org.projectnessie.versioned.storage.common.exceptions.RefNotFoundException;
+import org.projectnessie.versioned.storage.common.logic.CommitRetry.RetryException;
+import org.projectnessie.versioned.storage.common.objtypes.CommitObj;
+import org.projectnessie.versioned.storage.common.persist.Persist;
+import org.projectnessie.versioned.storage.common.persist.Reference;
+import org.projectnessie.versioned.storage.versionstore.CommitImpl.CommitRetryState;
+
+/**
+ * Coalesces concurrent commits to the same branch, enabled via {@link
+ * org.projectnessie.versioned.storage.common.config.StoreConfig#commitSequencerMaxBatchSize()}.
+ *
+ * <p>Concurrent commits to a branch are chained: each committing thread validates and stores its
+ * commit on top of the commit stored by the previous thread, using a {@link BatchSequencer}. The
+ * resulting chain of up to {@code maxBatchSize} commits is published with a single reference
+ * pointer update, instead of one reference pointer update per commit, so concurrent committers do
+ * not have to retry against each other.
+ *
+ * <p>Each commit is validated exactly like a non-sequenced commit, on the committing thread, but
+ * against the HEAD that includes the preceding commits of the same chain. A commit that fails does
+ * not become part of the chain. Results are only reported after the reference pointer update
+ * succeeded; if it fails, because the branch has been updated concurrently, for example by another
+ * Nessie instance, each commit of the chain is retried using the usual commit-retry mechanism.
+ */
+final class CommitSequencer {
+
+  private final Persist persist;
+  private final int maxBatchSize;
+
+  /** Sequencers per branch, sequencers of idle branches are garbage collected. */
+  private final Cache<BranchName, BranchSequencer> branches =
+      CacheBuilder.newBuilder().weakValues().build();
+
+  CommitSequencer(@Nonnull @jakarta.annotation.Nonnull Persist persist, int maxBatchSize) {
+    checkArgument(maxBatchSize > 0, "Commit sequencer batch size must be positive");
+    this.persist = persist;
+    this.maxBatchSize = maxBatchSize;
+  }
+
+  CommitResult<Commit> commit(
+      @Nonnull @jakarta.annotation.Nonnull BranchName branch,
+      @Nonnull @jakarta.annotation.Nonnull Optional<Hash> referenceHash,
+      @Nonnull @jakarta.annotation.Nonnull CommitMeta metadata,
+      @Nonnull @jakarta.annotation.Nonnull List<Operation> operations,
+      @Nonnull @jakarta.annotation.Nonnull CommitValidator validator,
+      @Nonnull @jakarta.annotation.Nonnull BiConsumer<ContentKey, String> addedContents)
+      throws ReferenceNotFoundException, ReferenceConflictException {
+    BranchSequencer sequencer =
+        branches.asMap().computeIfAbsent(branch, b -> new BranchSequencer());
+    return committingOperation(
+        "commit",
+        branch,
+        referenceHash,
+        persist,
+        (b, hash, p, reference, head) -> new ChainBase(reference, head),
+        (base, retryState) -> {
+          CommitRetryState commitRetryState =
+              retryState.map(x -> (CommitRetryState) x).orElseGet(CommitRetryState::new);
+          CommitResult<Commit> result =
+              sequencer.commit(
+                  branch, referenceHash, base, commitRetryState, metadata, operations, validator);
+          commitRetryState.generatedContentIds.forEach(addedContents);
+          return result;
+        });
+  }
+
+  /** Number of threads about to chain a commit to the given branch. */
+  @VisibleForTesting
+  int waitingCommits(BranchName branch) {
+    BranchSequencer sequencer = branches.getIfPresent(branch);
+    return sequencer != null ? sequencer.chains.arriving() : 0;
+  }
+
+  /** The reference and its HEAD commit as resolved by a commit attempt. */
+  private static final class ChainBase {
+    final Reference reference;
+    final CommitObj head;
+
+    ChainBase(Reference reference, CommitObj head) {
+      this.reference = reference;
+      this.head = head;
+    }
+  }
+
+  private final class BranchSequencer {
+    final BatchSequencer<Chain> chains = new BatchSequencer<>(maxBatchSize);
+
+    /** The most recently published chain, only accessed by threads in {@link #chains}. */
+    Chain lastPublished;
+
+    CommitResult<Commit> commit(
+        BranchName branch,
+        Optional<Hash> referenceHash,
+        ChainBase base,
+        CommitRetryState retryState,
+        CommitMeta metadata,
+        List<Operation> operations,
+        CommitValidator validator)
+        throws ReferenceNotFoundException,
+            ReferenceConflictException,
+            ObjTooLargeException,
+            RetryException {
+      Chain chain = chains.enter(c -> true, () -> newChain(base));
+      CommitImpl commitImpl;
+      CommitObj newHead;
+      boolean joined = false;
+      try {
+        commitImpl = new CommitImpl(branch, referenceHash, persist, chain.reference, chain.head);
+        newHead = commitImpl.storeCommit(retryState, metadata, operations, validator);
+        chain.head = newHead;
+        joined = true;
+      } finally {
+        chains.exit(chain, joined);
+      }
+
+      if (chain.conflict) {
+        throw new RetryException(Optional.of(retryState));
+      }
+      if (chain.failure != null) {
+        throw chain.failure;
+      }
+      return commitImpl.commitResult(newHead);
+    }
+
+    /**
+     * Starts a new chain. Threads that waited for the most recently published chain resolved the
+     * reference before that chain was published. If the reference has not been changed since, that
+     * chain's result is used as the base, so these threads do not have to retry.
+     */
+    Chain newChain(ChainBase base) {
+      Chain last = lastPublished;
+      if (last != null && !last.published.equals(base.reference)) {
+        Reference current = persist.fetchReferenceForUpdate(base.reference.name());
+        if (last.published.equals(current)) {
+          return new Chain(this, last.published, last.head);
+        }
+      }
+      return new Chain(this, base.reference, base.head);
+    }
+  }
+
+  /** A chain of commits, which is published with a single reference pointer update. */
+  private final class Chain extends BatchSequencer.Batch {
+    final BranchSequencer sequencer;
+    final Reference reference;
+    CommitObj head;
+
+    Reference published;
+    boolean conflict;
+    RuntimeException failure;
+
+    Chain(BranchSequencer sequencer, Reference reference, CommitObj head) {
+      this.sequencer = sequencer;
+      this.reference = reference;
+      this.head = head;
+    }
+
+    @Override
+    void publish() {
+      try {
+        published = persist.updateReferencePointer(reference, head.id());
+        sequencer.lastPublished = this;
+      } catch (RefConditionFailedException | RefNotFoundException e) {
+        conflict = true;
+      } catch (RuntimeException e) {
+        failure = e;
+      }
+    }
+  }
+}
@@ -0,0 +1,200 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.versionstore;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.projectnessie.versioned.storage.common.logic.CommitLogQuery.commitLogQuery;
+import static org.projectnessie.versioned.storage.common.logic.Logics.commitLogic;
+import static org.projectnessie.versioned.storage.common.objtypes.Hashes.hashAsObjId;
+import static org.projectnessie.versioned.storage.common.objtypes.Hashes.newHasher;
+import static org.projectnessie.versioned.storage.common.persist.ObjId.EMPTY_OBJ_ID;
+import static org.projectnessie.versioned.storage.versionstore.CommitTimeIndexObj.Checkpoint.checkpoint;
+import static org.projectnessie.versioned.storage.versionstore.RefMapping.commitCreatedTimestamp;
+import static org.projectnessie.versioned.storage.versionstore.RefMapping.createdTimestampMatches;
+
+import com.google.common.annotations.VisibleForTesting;
+import java.time.Instant;
+import javax.annotation.Nullable;
+import org.projectnessie.versioned.storage.common.exceptions.ObjNotFoundException;
+import org.projectnessie.versioned.storage.common.exceptions.ObjTooLargeException;
+import org.projectnessie.versioned.storage.common.logic.CommitLogic;
+import org.projectnessie.versioned.storage.common.logic.PagedResult;
+import org.projectnessie.versioned.storage.common.objtypes.CommitObj;
+import org.projectnessie.versioned.storage.common.persist.ObjId;
+import org.projectnessie.versioned.storage.common.persist.Persist;
+import org.projectnessie.versioned.storage.versionstore.CommitTimeIndexObj.Checkpoint;
+
+/**
+ * Finds the newest commit in a commit log that has been created at or before a given timestamp,
+ * without walking the whole commit log.
+ *
+ * <p>The commit log is divided into windows of {@code windowSize} commits, each starting at a
+ * commit whose {@link CommitObj#seq()} is a multiple of the window size. A {@link
+ * CommitTimeIndexObj} holds the oldest commit timestamp of each segment of {@code segmentSize}
+ * commits in a window. Commit timestamps are not necessarily monotonic, so the oldest timestamp of
+ * a segment only tells whether the segment can contain a matching commit, the commits in that
+ * segment are then walked to find it.
+ *
+ * <p>A window only depends on immutable commits, so its {@link CommitTimeIndexObj} is shared by all
+ * references that contain the window. Missing windows are built and persisted by the lookups that
+ * walk them.
+ */
+final class CommitTimeIndex {
+
+  static final int DEFAULT_WINDOW_SIZE = 1000;
+  static final int DEFAULT_SEGMENT_SIZE = 50;
+
+  private final Persist persist;
+  private final CommitLogic commitLogic;
+  private final int windowSize;
+  private final int segmentSize;
+
+  CommitTimeIndex(Persist persist) {
+    this(persist, DEFAULT_WINDOW_SIZE, DEFAULT_SEGMENT_SIZE);
+  }
+
+  @VisibleForTesting
+  CommitTimeIndex(Persist persist, int windowSize, int segmentSize) {
+    this.persist = persist;
+    this.commitLogic = commitLogic(persist);
+    this.windowSize = windowSize;
+    this.segmentSize = segmentSize;
+  }
+
+  /**
+   * Returns the newest commit in the commit log starting at {@code startCommit} that has been
+   * created at or before {@code timestamp}, or {@code null} if there is no such commit.
+   */
+  @Nullable
+  CommitObj findWithSmallerTimestamp(CommitObj startCommit, Instant timestamp) {
+    if (createdTimestampMatches(startCommit, timestamp)) {
+      return startCommit;
+    }
+
+    ObjId windowStart = null;
+    if (startCommit.seq() % windowSize == 0) {
+      windowStart = startCommit.id();
+    } else {
+      PagedResult<CommitObj, ObjId> log =
+          commitLogic.commitLog(commitLogQuery(startCommit.directParent()));
+      while (log.hasNext()) {
+        CommitObj commit = log.next();
+        if (createdTimestampMatches(commit, timestamp)) {
+          return commit;
+        }
+        if (commit.seq() % windowSize == 0) {
+          windowStart = commit.id();
+          break;
+        }
+      }
+    }
+
+    long timestampMicros = micros(timestamp);
+    while (windowStart != null) {
+      CommitTimeIndexObj window = window(windowStart);
+      for (Checkpoint checkpoint : window.checkpoints()) {
+        if (checkpoint.minCreatedMicros() <= timestampMicros) {
+          CommitObj commit = findInSegment(checkpoint.commitId(), timestamp);
+          if (commit != null) {
+            return commit;
+          }
+        }
+      }
+      windowStart = window.next();
+    }
+
+    return null;
+  }
+
+  private CommitObj findInSegment(ObjId segmentStart, Instant timestamp) {
+    PagedResult<CommitObj, ObjId> log = commitLogic.commitLog(commitLogQuery(segmentStart));
+    for (int i = 0; i < segmentSize && log.hasNext(); i++) {
+      CommitObj commit = log.next();
+      if (createdTimestampMatches(commit, timestamp)) {
+        return commit;
+      }
+    }
+    return null;
+  }
+
+  @VisibleForTesting
+  CommitTimeIndexObj window(ObjId windowStart) {
+    ObjId windowId = windowObjId(windowStart);
+    try {
+      return persist.fetchTypedObj(
+          windowId, CommitTimeIndexObjType.INSTANCE, CommitTimeIndexObj.class);
+    } catch (ObjNotFoundException e) {
+      // not built yet
+    }
+
+    CommitTimeIndexObj window = buildWindow(windowId, windowStart);
+    try {
+      persist.storeObj(window);
+    } catch (ObjTooLargeException e) {
+      // cannot happen, the size of a window is bounded
+      throw new RuntimeException(e);
+    }
+    return window;
+  }
+
+  private CommitTimeIndexObj buildWindow(ObjId windowId, ObjId windowStart) {
+    ImmutableCommitTimeIndexObj.Builder window = CommitTimeIndexObj.builder().id(windowId);
+
+    PagedResult<CommitObj, ObjId> log = commitLogic.commitLog(commitLogQuery(windowStart));
+    ObjId segmentStart = null;
+    long segmentMin = Long.MAX_VALUE;
+    CommitObj last = null;
+    int num = 0;
+    for (; num < windowSize && log.hasNext(); num++) {
+      CommitObj commit = log.next();
+      if (num % segmentSize == 0) {
+        if (segmentStart != null) {
+          window.addCheckpoints(checkpoint(segmentStart, segmentMin));
+        }
+        segmentStart = commit.id();
+        segmentMin = Long.MAX_VALUE;
+      }
+      segmentMin = Math.min(segmentMin, micros(commitCreatedTimestamp(commit)));
+      last = commit;
+    }
+    if (segmentStart != null) {
+      window.addCheckpoints(checkpoint(segmentStart, segmentMin));
+    }
+
+    if (num == windowSize && !EMPTY_OBJ_ID.equals(last.directParent())) {
+      window.next(last.directParent());
+    }
+
+    return window.build();
+  }
+
+  private ObjId windowObjId(ObjId windowStart) {
+    return hashAsObjId(
+        newHasher()
+            .putString(CommitTimeIndexObjType.INSTANCE.name(), UTF_8)
+            .putInt(windowSize)
+            .putInt(segmentSize)
+            .putBytes(windowStart.asByteArray()));
+  }
+
+  /** Microseconds since epoch, rounded down. */
+  private static long micros(Instant instant) {
+    long micros = SECONDS.toMicros(instant.getEpochSecond());
+    return micros == Long.MAX_VALUE ? micros : micros + NANOSECONDS.toMicros(instant.getNano());
+  }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.versionstore;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import java.io.IOException;
+import java.util.List;
+import javax.annotation.Nullable;
+import org.immutables.value.Value;
+import org.projectnessie.versioned.storage.common.json.ObjIdHelper;
+import org.projectnessie.versioned.storage.common.persist.Obj;
+import org.projectnessie.versioned.storage.common.persist.ObjId;
+import org.projectnessie.versioned.storage.common.persist.ObjType;
+
+/**
+ * Checkpoints of the commit timestamps for a window of commits, starting at a commit and following
+ * the direct parents, see {@link CommitTimeIndex}.
+ */
+@Value.Immutable
+@JsonSerialize(as = ImmutableCommitTimeIndexObj.class)
+@JsonDeserialize(using = CommitTimeIndexObj.Deserializer.class)
+public interface CommitTimeIndexObj extends Obj {
+
+  @Override
+  default ObjType type() {
+    return CommitTimeIndexObjType.INSTANCE;
+  }
+
+  /** Checkpoints for consecutive segments of the window, newest segment first. */
+  List<Checkpoint> checkpoints();
+
+  /**
+   * ID of the commit following the last commit of the window, {@code null} if the window ends at
+   * the beginning of the commit log.
+   */
+  @Nullable
+  @jakarta.annotation.Nullable
+  ObjId next();
+
+  static ImmutableCommitTimeIndexObj.Builder builder() {
+    return ImmutableCommitTimeIndexObj.builder();
+  }
+
+  @Value.Immutable
+  @JsonSerialize(as = ImmutableCheckpoint.class)
+  @JsonDeserialize(as = ImmutableCheckpoint.class)
+  interface Checkpoint {
+    /** ID of the newest commit of the segment. */
+    @Value.Parameter(order = 1)
+    ObjId commitId();
+
+    /** The oldest timestamp of the commits in the segment, in microseconds since epoch. */
+    @Value.Parameter(order = 2)
+    long minCreatedMicros();
+
+    static Checkpoint checkpoint(ObjId commitId, long minCreatedMicros) {
+      return ImmutableCheckpoint.of(commitId, minCreatedMicros);
+    }
+  }
+
+  final class Deserializer extends JsonDeserializer<CommitTimeIndexObj> {
+    @SuppressWarnings("deprecation")
+    @Override
+    public CommitTimeIndexObj deserialize(JsonParser p, DeserializationContext ctx)
+        throws IOException {
+      ImmutableCommitTimeIndexObj.Json json = p.readValueAs(ImmutableCommitTimeIndexObj.Json.class);
+      json.setId(ObjIdHelper.retrieveObjIdFromContext(ctx));
+      return ImmutableCommitTimeIndexObj.fromJson(json);
+    }
+  }
+}
@@ -0,0 +1,40 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.versionstore;
+
+import org.projectnessie.versioned.storage.common.persist.ObjType;
+
+public final class CommitTimeIndexObjType implements ObjType {
+
+  public static final CommitTimeIndexObjType INSTANCE = new CommitTimeIndexObjType();
+
+  private CommitTimeIndexObjType() {}
+
+  @Override
+  public String name() {
+    return "commit-time-index";
+  }
+
+  @Override
+  public String shortName() {
+    return "cti";
+  }
+
+  @Override
+  public Class<CommitTimeIndexObj> targetClass() {
+    return CommitTimeIndexObj.class;
+  }
+}
@@ -0,0 +1,179 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.versionstore;
+
+import static org.projectnessie.versioned.storage.common.logic.CommitLogQuery.commitLogQuery;
+import static org.projectnessie.versioned.storage.common.logic.Logics.commitLogic;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import javax.annotation.Nullable;
+import org.projectnessie.versioned.storage.common.logic.CommitLogic;
+import org.projectnessie.versioned.storage.common.logic.PagedResult;
+import org.projectnessie.versioned.storage.common.objtypes.CommitObj;
+import org.projectnessie.versioned.storage.common.persist.ObjId;
+import org.projectnessie.versioned.storage.common.persist.Persist;
+
+/**
+ * Resolves the common ancestors, following the direct parents, of many commits against the same
+ * base commit, as needed to compute ahead/behind information when listing references.
+ *
+ * <p>The commit log of the base commit is walked only once and only as far as needed. The IDs and
+ * sequence numbers of the visited commits are kept, so resolving a commit only has to walk its own
+ * commit log until it reaches a commit of the base commit log. All commit logs are fetched in
+ * batches via {@link CommitLogic#commitLog}.
+ *
+ * <p>Instances are not thread-safe and are meant to be used for a single listing. Results are
+ * memoized per base commit and commit in the given {@link Results}.
+ */
+final class CommonAncestors {
+
+  private final CommitLogic commitLogic;
+  private final CommitObj baseHead;
+  private final Results results;
+
+  /** Sequence numbers of the commits in the base commit log, that have been visited. */
+  private final Map<ObjId, Long> baseSeqs = new HashMap<>();
+
+  private PagedResult<CommitObj, ObjId> baseLog;
+  private long baseMinSeq;
+
+  CommonAncestors(Persist persist, CommitObj baseHead, Results results) {
+    this.commitLogic = commitLogic(persist);
+    this.baseHead = baseHead;
+    this.results = results;
+    this.baseLog = commitLogic.commitLog(commitLogQuery(baseHead.id()));
+    this.baseMinSeq = Long.MAX_VALUE;
+  }
+
+  /** Returns the common ancestor of the base commit and {@code head}. */
+  CommonAncestor commonAncestor(CommitObj head) {
+    ResultKey key = new ResultKey(baseHead.id(), head.id());
+    CommonAncestor result = results.cache.getIfPresent(key);
+    if (result == null) {
+      result = resolve(head);
+      results.cache.put(key, result);
+    }
+    return result;
+  }
+
+  private CommonAncestor resolve(CommitObj head) {
+    if (baseSeqsContain(head)) {
+      return new CommonAncestor(head.id(), 0, (int) (baseHead.seq() - head.seq()));
+    }
+
+    try {
+      PagedResult<CommitObj, ObjId> log =
+          commitLogic.commitLog(commitLogQuery(head.directParent()));
+      while (log.hasNext()) {
+        CommitObj commit = log.next();
+        if (baseSeqsContain(commit)) {
+          return new CommonAncestor(
+              commit.id(),
+              (int) (head.seq() - commit.seq()),
+              (int) (baseHead.seq() - commit.seq()));
+        }
+      }
+    } catch (NoSuchElementException e) {
+      // A commit does not exist, treated like the end of the commit log, like
+      // CommitLogic.findCommonAncestor() does.
+    }
+
+    return new CommonAncestor(null, (int) head.seq(), (int) baseHead.seq());
+  }
+
+  /**
+   * Checks whether the given commit is in the base commit log, continues walking the base commit
+   * log until all base commits with a sequence number of at least the one of the given commit are
+   * known.
+   */
+  private boolean baseSeqsContain(CommitObj commit) {
+    try {
+      while (baseLog != null && baseMinSeq > commit.seq()) {
+        if (!baseLog.hasNext()) {
+          baseLog = null;
+          break;
+        }
+        CommitObj base = baseLog.next();
+        baseSeqs.put(base.id(), base.seq());
+        baseMinSeq = base.seq();
+      }
+    } catch (NoSuchElementException e) {
+      // A commit does not exist, the base commit log ends here.
+      baseLog = null;
+    }
+    return baseSeqs.containsKey(commit.id());
+  }
+
+  /** The common ancestor of a commit and the base commit, including the ahead/behind counts. */
+  static final class CommonAncestor {
+    @Nullable final ObjId id;
+    final int ahead;
+    final int behind;
+
+    CommonAncestor(@Nullable ObjId id, int ahead, int behind) {
+      this.id = id;
+      this.ahead = ahead;
+      this.behind = behind;
+    }
+  }
+
+  /** Memoized results, shared by all listings of a version store. */
+  static final class Results {
+    static final long MAX_RESULTS = 100_000L;
+
+    private final Cache<ResultKey, CommonAncestor> cache;
+
+    Results() {
+      this(MAX_RESULTS);
+    }
+
+    Results(long maxResults) {
+      this.cache = CacheBuilder.newBuilder().maximumSize(maxResults).build();
+    }
+  }
+
+  private static final class ResultKey {
+    private final ObjId baseHead;
+    private final ObjId head;
+
+    ResultKey(ObjId baseHead, ObjId head) {
+      this.baseHead = baseHead;
+      this.head = head;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof ResultKey)) {
+        return false;
+      }
+      ResultKey that = (ResultKey) o;
+      return baseHead.equals(that.baseHead) && head.equals(that.head);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(baseHead, head);
+    }
+  }
+}
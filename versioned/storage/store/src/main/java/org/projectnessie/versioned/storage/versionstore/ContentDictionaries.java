@@ -0,0 +1,281 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.versionstore;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Collections.singleton;
+import static java.util.concurrent.TimeUnit.MINUTES;
+import static org.projectnessie.nessie.relocated.protobuf.UnsafeByteOperations.unsafeWrap;
+import static org.projectnessie.versioned.storage.common.indexes.StoreKey.key;
+import static org.projectnessie.versioned.storage.common.logic.Logics.commitLogic;
+import static org.projectnessie.versioned.storage.common.logic.Logics.indexesLogic;
+import static org.projectnessie.versioned.storage.common.logic.Logics.referenceLogic;
+import static org.projectnessie.versioned.storage.common.logic.Logics.stringLogic;
+import static org.projectnessie.versioned.storage.common.objtypes.StandardObjType.STRING;
+import static org.projectnessie.versioned.storage.common.objtypes.StandardObjType.VALUE;
+import static org.projectnessie.versioned.storage.common.util.Ser.putVarInt;
+import static org.projectnessie.versioned.storage.common.util.Ser.readVarInt;
+import static org.projectnessie.versioned.storage.common.util.Ser.varIntLen;
+import static org.projectnessie.versioned.storage.versionstore.ContentDictionaryTrainer.trainDictionary;
+import static org.projectnessie.versioned.storage.versionstore.RepositoryConfigBackend.REPO_CONFIG_REF;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import javax.annotation.Nonnull;
+import org.projectnessie.nessie.relocated.protobuf.ByteString;
+import org.projectnessie.versioned.storage.common.exceptions.CommitConflictException;
+import org.projectnessie.versioned.storage.common.exceptions.ObjNotFoundException;
+import org.projectnessie.versioned.storage.common.exceptions.RefConditionFailedException;
+import org.projectnessie.versioned.storage.common.exceptions.RefNotFoundException;
+import org.projectnessie.versioned.storage.common.exceptions.RetryTimeoutException;
+import org.projectnessie.versioned.storage.common.indexes.StoreIndexElement;
+import org.projectnessie.versioned.storage.common.indexes.StoreKey;
+import org.projectnessie.versioned.storage.common.logic.StringLogic;
+import org.projectnessie.versioned.storage.common.objtypes.CommitObj;
+import org.projectnessie.versioned.storage.common.objtypes.CommitOp;
+import org.projectnessie.versioned.storage.common.objtypes.Compression;
+import org.projectnessie.versioned.storage.common.objtypes.ContentValueObj;
+import org.projectnessie.versioned.storage.common.objtypes.StringObj;
+import org.projectnessie.versioned.storage.common.persist.CloseableIterator;
+import org.projectnessie.versioned.storage.common.persist.Obj;
+import org.projectnessie.versioned.storage.common.persist.ObjId;
+import org.projectnessie.versioned.storage.common.persist.Persist;
+import org.projectnessie.versioned.storage.common.persist.Reference;
+
+/**
+ * Compression of {@link ContentValueObj#data() content values} using a preset dictionary.
+ *
+ * <p>Dictionaries are trained from samples of the existing content values, see {@link
+ * #trainAndStore(int, int)}, and persisted as a {@link StringObj} on the {@value
+ * RepositoryConfigBackend#REPO_CONFIG_REF} reference, so that every trained dictionary is a new
+ * version of the same key. The ID of that {@link StringObj} identifies the dictionary.
+ *
+ * <p>Compressed content values start with a marker byte, which is never the first byte of a
+ * serialized protobuf message (wire type 7), followed by the ID of the dictionary, the var-int
+ * encoded size of the uncompressed value and the {@link Compression#DEFLATE deflated} value.
+ * Uncompressed content values are returned as is, which keeps existing content values readable.
+ */
+public final class ContentDictionaries {
+
+  static final StoreKey DICTIONARY_KEY = key("content-dictionary");
+  static final String DICTIONARY_CONTENT_TYPE = "application/x-nessie-content-dictionary";
+  static final byte COMPRESSED_CONTENT_MARKER = (byte) 0xff;
+
+  /** Maximum useful dictionary size, limited by the window size of deflate. */
+  public static final int MAX_DICTIONARY_SIZE = 32 * 1024;
+
+  public static final int DEFAULT_DICTIONARY_SIZE = 16 * 1024;
+  public static final int DEFAULT_MAX_SAMPLES = 5000;
+
+  static final int MAX_CACHED_DICTIONARIES = 16;
+
+  /** Current dictionary per {@link Persist} instance, refreshed periodically. */
+  private static final Cache<Persist, Optional<Dictionary>> CURRENT_DICTIONARY =
+      CacheBuilder.newBuilder().weakKeys().expireAfterWrite(1, MINUTES).build();
+
+  /**
+   * Recently used dictionaries, keyed by dictionary ID, so that decompressing content values does
+   * not fetch and copy the dictionary for every value. Dictionary IDs are hashes of the dictionary
+   * objects, so a cached dictionary never changes.
+   */
+  private static final Cache<ObjId, Dictionary> DICTIONARIES =
+      CacheBuilder.newBuilder().maximumSize(MAX_CACHED_DICTIONARIES).build();
+
+  private final Persist persist;
+
+  public ContentDictionaries(Persist persist) {
+    this.persist = persist;
+  }
+
+  /**
+   * Returns the serialized content of the given content value, decompressed using the dictionary
+   * that has been used to compress it, if necessary.
+   */
+  @Nonnull
+  @jakarta.annotation.Nonnull
+  public ByteString contentData(@Nonnull @jakarta.annotation.Nonnull ContentValueObj value)
+      throws ObjNotFoundException {
+    ByteString data = value.data();
+    if (!isCompressed(data)) {
+      return data;
+    }
+
+    ByteBuffer buffer = data.asReadOnlyByteBuffer();
+    buffer.get();
+    ObjId dictionaryId = ObjId.deserializeObjId(buffer);
+    int size = readVarInt(buffer);
+    byte[] compressed = new byte[buffer.remaining()];
+    buffer.get(compressed);
+
+    byte[] dictionary = fetchDictionary(dictionaryId).bytes;
+    return unsafeWrap(Compression.DEFLATE.decompress(compressed, size, dictionary));
+  }
+
+  /**
+   * Compresses the given serialized content using the current dictionary, if {@link
+   * org.projectnessie.versioned.storage.common.config.StoreConfig#contentDictionaryCompression()}
+   * is enabled, a dictionary exists and compression reduces the size.
+   */
+  @Nonnull
+  @jakarta.annotation.Nonnull
+  ByteString compressContentData(@Nonnull @jakarta.annotation.Nonnull ByteString data) {
+    if (!persist.config().contentDictionaryCompression() || data.isEmpty()) {
+      return data;
+    }
+    Optional<Dictionary> current = currentDictionary();
+    if (current.isEmpty()) {
+      return data;
+    }
+    return compress(data, current.get());
+  }
+
+  static ByteString compress(ByteString data, Dictionary dictionary) {
+    int size = data.size();
+    byte[] compressed = Compression.DEFLATE.compress(data.toByteArray(), dictionary.bytes);
+    int headerSize = 1 + dictionary.id.serializedSize() + varIntLen(size);
+    if (headerSize + compressed.length >= size) {
+      return data;
+    }
+
+    ByteBuffer target = ByteBuffer.allocate(headerSize + compressed.length);
+    target.put(COMPRESSED_CONTENT_MARKER);
+    dictionary.id.serializeTo(target);
+    putVarInt(target, size);
+    target.put(compressed);
+    return unsafeWrap(target.array());
+  }
+
+  static boolean isCompressed(ByteString data) {
+    return !data.isEmpty() && data.byteAt(0) == COMPRESSED_CONTENT_MARKER;
+  }
+
+  /**
+   * Trains a new dictionary from up to {@code maxSamples} randomly chosen content values and
+   * persists it as the current dictionary.
+   *
+   * @return the ID of the new dictionary, empty if there are no content values to train from
+   */
+  public Optional<ObjId> trainAndStore(int maxSamples, int dictionarySize)
+      throws ObjNotFoundException,
+          CommitConflictException,
+          RefNotFoundException,
+          RefConditionFailedException,
+          RetryTimeoutException {
+    checkArgument(maxSamples > 0, "Number of samples must be positive");
+    checkArgument(
+        dictionarySize > 0 && dictionarySize <= MAX_DICTIONARY_SIZE,
+        "Dictionary size must be between 1 and %s",
+        MAX_DICTIONARY_SIZE);
+
+    byte[] dictionary = trainDictionary(sampleContentValues(maxSamples), dictionarySize);
+    if (dictionary.length == 0) {
+      return Optional.empty();
+    }
+
+    StringLogic stringLogic = stringLogic(persist);
+    ObjId dictionaryId =
+        stringLogic.updateString(null, DICTIONARY_CONTENT_TYPE, dictionary).id();
+    Reference reference = new RepositoryConfigBackend(persist).configsRef(true);
+    stringLogic.updateStringOnRef(
+        reference,
+        DICTIONARY_KEY,
+        b -> b.message("Update content dictionary"),
+        DICTIONARY_CONTENT_TYPE,
+        dictionary);
+    CURRENT_DICTIONARY.invalidate(persist);
+    return Optional.of(dictionaryId);
+  }
+
+  /** Reservoir-samples the uncompressed data of up to {@code maxSamples} content values. */
+  private List<byte[]> sampleContentValues(int maxSamples) throws ObjNotFoundException {
+    List<byte[]> samples = new ArrayList<>();
+    Random random = new Random();
+    long seen = 0L;
+    try (CloseableIterator<Obj> objs = persist.scanAllObjects(singleton(VALUE))) {
+      while (objs.hasNext()) {
+        Obj obj = objs.next();
+        if (!(obj instanceof ContentValueObj)) {
+          continue;
+        }
+        seen++;
+        if (samples.size() < maxSamples) {
+          samples.add(contentData((ContentValueObj) obj).toByteArray());
+        } else {
+          long i = (long) (random.nextDouble() * seen);
+          if (i < maxSamples) {
+            samples.set((int) i, contentData((ContentValueObj) obj).toByteArray());
+          }
+        }
+      }
+    }
+    return samples;
+  }
+
+  Optional<Dictionary> currentDictionary() {
+    try {
+      return CURRENT_DICTIONARY.get(persist, this::loadCurrentDictionary);
+    } catch (ExecutionException e) {
+      throw new RuntimeException(e.getCause());
+    }
+  }
+
+  private Optional<Dictionary> loadCurrentDictionary() throws ObjNotFoundException {
+    Reference reference;
+    try {
+      reference = referenceLogic(persist).getReference(REPO_CONFIG_REF);
+    } catch (RefNotFoundException e) {
+      return Optional.empty();
+    }
+    CommitObj head = commitLogic(persist).headCommit(reference);
+    StoreIndexElement<CommitOp> element =
+        indexesLogic(persist).buildCompleteIndexOrEmpty(head).get(DICTIONARY_KEY);
+    if (element == null || !element.content().action().exists()) {
+      return Optional.empty();
+    }
+    return Optional.of(fetchDictionary(element.content().value()));
+  }
+
+  private Dictionary fetchDictionary(ObjId dictionaryId) throws ObjNotFoundException {
+    Dictionary dictionary = DICTIONARIES.getIfPresent(dictionaryId);
+    if (dictionary != null) {
+      return dictionary;
+    }
+    StringObj obj = persist.fetchTypedObj(dictionaryId, STRING, StringObj.class);
+    checkArgument(
+        DICTIONARY_CONTENT_TYPE.equals(obj.contentType()),
+        "Object %s is not a content dictionary",
+        dictionaryId);
+    dictionary = new Dictionary(dictionaryId, obj.text().toByteArray());
+    DICTIONARIES.put(dictionaryId, dictionary);
+    return dictionary;
+  }
+
+  static final class Dictionary {
+    final ObjId id;
+    final byte[] bytes;
+
+    Dictionary(ObjId id, byte[] bytes) {
+      this.id = id;
+      this.bytes = bytes;
+    }
+  }
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.versionstore;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * Builds a preset compression dictionary from sample content values.
+ *
+ * <p>Follows the idea of the "cover" algorithm: all samples are split into segments, which are
+ * scored by the number of samples that contain each of the segment's {@value #DMER_LENGTH}-byte
+ * substrings. The best segments are added to the dictionary, after each selection the substrings
+ * of the selected segment no longer count, which prevents redundant segments. The best segments
+ * are placed at the end of the dictionary, because deflate can encode shorter distances to them.
+ */
+final class ContentDictionaryTrainer {
+
+  static final int DMER_LENGTH = 8;
+  static final int SEGMENT_LENGTH = 64;
+
+  private ContentDictionaryTrainer() {}
+
+  /**
+   * Trains a dictionary of at most {@code dictionarySize} bytes.
+   *
+   * @return the dictionary, empty if the samples do not contain any repeated substrings
+   */
+  static byte[] trainDictionary(List<byte[]> samples, int dictionarySize) {
+    checkArgument(dictionarySize > 0, "Dictionary size must be positive");
+
+    // Number of samples containing each d-mer
+    Map<Long, Integer> frequencies = new HashMap<>();
+    for (byte[] sample : samples) {
+      Set<Long> seen = new HashSet<>();
+      for (int i = 0; i + DMER_LENGTH <= sample.length; i++) {
+        Long dmer = dmer(sample, i);
+        if (seen.add(dmer)) {
+          frequencies.merge(dmer, 1, Integer::sum);
+        }
+      }
+    }
+    // Substrings that occur in only one sample do not help compressing other values.
+    frequencies.values().removeIf(f -> f < 2);
+
+    PriorityQueue<Segment> candidates = new PriorityQueue<>();
+    for (byte[] sample : samples) {
+      int step = SEGMENT_LENGTH / 2;
+      for (int start = 0; start < sample.length; start += step) {
+        int end = Math.min(sample.length, start + SEGMENT_LENGTH);
+        Segment segment = new Segment(sample, start, end);
+        segment.score = score(segment, frequencies);
+        if (segment.score > 0) {
+          candidates.add(segment);
+        }
+        if (end == sample.length) {
+          break;
+        }
+      }
+    }
+
+    List<Segment> selected = new ArrayList<>();
+    int size = 0;
+    while (size < dictionarySize && !candidates.isEmpty()) {
+      Segment best = candidates.poll();
+      // Scores only decrease, re-score lazily and re-queue if another segment is better now.
+      long score = score(best, frequencies);
+      if (score == 0) {
+        continue;
+      }
+      if (score < best.score) {
+        best.score = score;
+        candidates.add(best);
+        continue;
+      }
+
+      selected.add(best);
+      size += best.end - best.start;
+      for (int i = best.start; i + DMER_LENGTH <= best.end; i++) {
+        frequencies.remove(dmer(best.sample, i));
+      }
+    }
+
+    ByteArrayOutputStream dictionary = new ByteArrayOutputStream(Math.min(size, dictionarySize));
+    int skip = Math.max(0, size - dictionarySize);
+    for (int i = selected.size() - 1; i >= 0; i--) {
+      Segment segment = selected.get(i);
+      int len = segment.end - segment.start;
+      if (skip >= len) {
+        skip -= len;
+        continue;
+      }
+      dictionary.write(segment.sample, segment.start + skip, len - skip);
+      skip = 0;
+    }
+    return dictionary.toByteArray();
+  }
+
+  private static long score(Segment segment, Map<Long, Integer> frequencies) {
+    long score = 0L;
+    for (int i = segment.start; i + DMER_LENGTH <= segment.end; i++) {
+      Integer frequency = frequencies.get(dmer(segment.sample, i));
+      if (frequency != null) {
+        score += frequency;
+      }
+    }
+    return score;
+  }
+
+  private static Long dmer(byte[] sample, int offset) {
+    long v = 0L;
+    for (int i = 0; i < DMER_LENGTH; i++) {
+      v = (v << 8) | (sample[offset + i] & 0xff);
+    }
+    return v;
+  }
+
+  private static final class Segment implements Comparable<Segment> {
+    final byte[] sample;
+    final int start;
+    final int end;
+    long score;
+
+    Segment(byte[] sample, int start, int end) {
+      this.sample = sample;
+      this.start = start;
+      this.end = end;
+    }
+
+    @Override
+    public int compareTo(Segment o) {
+      return Long.compare(o.score, score);
+    }
+  }
+}
@@ -20,6 +20,7 @@ import static com.google.common.collect.Maps.newHashMapWithExpectedSize;
 import static java.util.Objects.requireNonNull;
 import static org.projectnessie.versioned.storage.common.logic.Logics.indexesLogic;
 import static org.projectnessie.versioned.storage.common.objtypes.ContentValueObj.contentValue;
+import static org.projectnessie.versioned.storage.common.objtypes.Hashes.contentValueHash;
 import static org.projectnessie.versioned.storage.common.objtypes.StandardObjType.VALUE;
 import static org.projectnessie.versioned.storage.versionstore.TypeMapping.keyToStoreKey;
 import static org.projectnessie.versioned.storage.versionstore.TypeMapping.objIdToHash;
@@ -58,9 +59,11 @@ public final class ContentMapping {
 
   static final StoreWorker STORE_WORKER = DefaultStoreWorker.instance();
   private final Persist persist;
+  private final ContentDictionaries contentDictionaries;
 
   public ContentMapping(Persist persist) {
     this.persist = persist;
+    this.contentDictionaries = new ContentDictionaries(persist);
   }
 
   @Nonnull
@@ -148,8 +151,9 @@ public final class ContentMapping {
     return r;
   }
 
-  private static Content valueToContent(ContentValueObj contentValue) {
-    return STORE_WORKER.valueFromStore((byte) contentValue.payload(), contentValue.data());
+  private Content valueToContent(ContentValueObj contentValue) throws ObjNotFoundException {
+    return STORE_WORKER.valueFromStore(
+        (byte) contentValue.payload(), contentDictionaries.contentData(contentValue));
   }
 
   @Nonnull
@@ -162,7 +166,12 @@ public final class ContentMapping {
 
     ByteString contentPut = STORE_WORKER.toStoreOnReferenceState(putValue);
 
-    return contentValue(contentId, payload, contentPut);
+    // The ID is derived from the uncompressed content, so it does not depend on the dictionary.
+    return contentValue(
+        contentValueHash(contentId, payload, contentPut),
+        contentId,
+        payload,
+        contentDictionaries.compressContentData(contentPut));
   }
 
   @Nonnull
@@ -212,7 +221,9 @@ public final class ContentMapping {
           ContentKey key = keys.get(i);
           assert obj instanceof ContentValueObj;
           ContentValueObj contentValue = (ContentValueObj) obj;
-          commit.addOperations(Put.ofLazy(key, contentValue.payload(), contentValue.data()));
+          commit.addOperations(
+              Put.ofLazy(
+                  key, contentValue.payload(), contentDictionaries.contentData(contentValue)));
         }
       }
     }
@@ -277,6 +277,23 @@ public class RefMapping {
     }
   }
 
+  /**
+   * Like {@link #resolveNamedRef(NamedRef)}, but always returns the current state of the reference,
+   * to be used when the reference is going to be updated.
+   */
+  @Nonnull
+  @jakarta.annotation.Nonnull
+  public Reference resolveNamedRefForUpdate(@Nonnull @jakarta.annotation.Nonnull NamedRef namedRef)
+      throws ReferenceNotFoundException {
+    String refName = namedRefToRefName(namedRef);
+    ReferenceLogic referenceLogic = referenceLogic(persist);
+    try {
+      return referenceLogic.getReferenceForUpdate(refName);
+    } catch (RefNotFoundException e) {
+      throw referenceNotFound(namedRef);
+    }
+  }
+
   public Reference resolveNamedRef(@Nonnull @jakarta.annotation.Nonnull String refName)
       throws ReferenceNotFoundException {
     ReferenceLogic referenceLogic = referenceLogic(persist);
@@ -333,10 +350,17 @@ public class RefMapping {
 
       switch (spec.type()) {
         case TIMESTAMP_MILLIS_EPOCH:
-          startCommit = findWithSmallerTimestamp(startCommit, commitLogic, spec.instantValue());
+          startCommit =
+              persist.config().commitTimeIndex()
+                  ? new CommitTimeIndex(persist)
+                      .findWithSmallerTimestamp(startCommit, spec.instantValue())
+                  : findWithSmallerTimestamp(startCommit, commitLogic, spec.instantValue());
           break;
         case N_TH_PREDECESSOR:
-          startCommit = findNthPredecessor(startCommit, commitLogic, (int) spec.longValue());
+          startCommit =
+              persist.config().commitAncestry()
+                  ? findNthPredecessor(startCommit, new CommitAncestry(persist), spec.longValue())
+                  : findNthPredecessor(startCommit, commitLogic, (int) spec.longValue());
           break;
         case N_TH_PARENT:
           startCommit = findNthParent(startCommit, commitLogic, (int) spec.longValue());
@@ -413,6 +437,18 @@ public class RefMapping {
     }
   }
 
+  @Nullable
+  private CommitObj findNthPredecessor(
+      CommitObj startCommit, CommitAncestry ancestry, long nthPredecessor)
+      throws ReferenceNotFoundException {
+    try {
+      ObjId id = ancestry.ancestor(startCommit, nthPredecessor);
+      return id != null ? commitLogic(persist).fetchCommit(id) : null;
+    } catch (ObjNotFoundException e) {
+      throw referenceNotFound(e);
+    }
+  }
+
   @Nullable
   private static CommitObj findNthPredecessor(
       CommitObj startCommit, CommitLogic commitLogic, int nthPredecessor)
@@ -433,6 +469,14 @@ public class RefMapping {
   }
 
   public CommitObj commitInChain(ObjId commitId, ObjId verifyId) throws ReferenceNotFoundException {
+    if (persist.config().commitAncestry()) {
+      try {
+        return new CommitAncestry(persist).commitInChain(commitId, verifyId);
+      } catch (ObjNotFoundException e) {
+        throw referenceNotFound(e);
+      }
+    }
+
     CommitLogic commitLogic = commitLogic(persist);
     PagedResult<ObjId, ObjId> log = commitLogic.commitIdLog(commitLogQuery(commitId));
     while (log.hasNext()) {
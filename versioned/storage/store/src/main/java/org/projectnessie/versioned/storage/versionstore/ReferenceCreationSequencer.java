@@ -0,0 +1,142 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.versionstore;
+
+import static org.projectnessie.versioned.storage.common.logic.Logics.referenceLogic;
+import static org.projectnessie.versioned.storage.common.logic.ReferenceSpec.referenceSpec;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import javax.annotation.Nonnull;
+import org.projectnessie.versioned.storage.common.config.StoreConfig;
+import org.projectnessie.versioned.storage.common.exceptions.RefAlreadyExistsException;
+import org.projectnessie.versioned.storage.common.exceptions.RetryTimeoutException;
+import org.projectnessie.versioned.storage.common.logic.ReferenceLogic;
+import org.projectnessie.versioned.storage.common.logic.ReferenceResult;
+import org.projectnessie.versioned.storage.common.logic.ReferenceSpec;
+import org.projectnessie.versioned.storage.common.persist.ObjId;
+import org.projectnessie.versioned.storage.common.persist.Persist;
+import org.projectnessie.versioned.storage.common.persist.Reference;
+
+/**
+ * Coalesces concurrent reference creations, so that these are recorded using a single commit to
+ * the internal references index via {@link ReferenceLogic#createReferences(List)}, instead of one
+ * commit per reference, which concurrent reference creations would have to retry against each
+ * other. Only used if {@link StoreConfig#referenceCreationSequencerMaxBatchSize()} is positive.
+ *
+ * <p>Concurrent creations of the same reference name end up in different batches. A batch with a
+ * single reference creation uses {@link ReferenceLogic#createReference(String, ObjId, ObjId)}, so
+ * uncontended reference creations behave exactly like without the sequencer.
+ */
+final class ReferenceCreationSequencer {
+
+  private final Persist persist;
+  private final BatchSequencer<Creations> sequencer;
+
+  ReferenceCreationSequencer(
+      @Nonnull @jakarta.annotation.Nonnull Persist persist, int maxBatchSize) {
+    this.persist = persist;
+    this.sequencer = new BatchSequencer<>(maxBatchSize);
+  }
+
+  @Nonnull
+  @jakarta.annotation.Nonnull
+  Reference createReference(
+      @Nonnull @jakarta.annotation.Nonnull String name,
+      @Nonnull @jakarta.annotation.Nonnull ObjId pointer)
+      throws RefAlreadyExistsException, RetryTimeoutException {
+    PendingCreation creation = new PendingCreation(referenceSpec(name, pointer));
+
+    Creations creations = sequencer.enter(c -> !c.names.contains(name), Creations::new);
+    try {
+      creations.names.add(name);
+      creations.creations.add(creation);
+    } finally {
+      sequencer.exit(creations, true);
+    }
+
+    return creation.result();
+  }
+
+  private final class Creations extends BatchSequencer.Batch {
+    final List<PendingCreation> creations = new ArrayList<>();
+    final Set<String> names = new HashSet<>();
+
+    @Override
+    void publish() {
+      ReferenceLogic referenceLogic = referenceLogic(persist);
+      try {
+        if (creations.size() == 1) {
+          PendingCreation creation = creations.get(0);
+          ReferenceSpec spec = creation.spec;
+          try {
+            creation.reference =
+                referenceLogic.createReference(spec.name(), spec.pointer(), spec.extendedInfoObj());
+          } catch (RefAlreadyExistsException e) {
+            creation.failure = e;
+          }
+        } else {
+          List<ReferenceSpec> specs = new ArrayList<>(creations.size());
+          for (PendingCreation creation : creations) {
+            specs.add(creation.spec);
+          }
+          List<ReferenceResult> results = referenceLogic.createReferences(specs);
+          for (int i = 0; i < creations.size(); i++) {
+            PendingCreation creation = creations.get(i);
+            ReferenceResult result = results.get(i);
+            creation.reference = result.reference();
+            creation.failure = result.failure();
+          }
+        }
+      } catch (RetryTimeoutException | RuntimeException e) {
+        for (PendingCreation creation : creations) {
+          creation.failure = e;
+        }
+      }
+    }
+  }
+
+  /** A reference creation, its state is only modified by the thread publishing its batch. */
+  private static final class PendingCreation {
+    final ReferenceSpec spec;
+
+    Reference reference;
+    Exception failure;
+
+    PendingCreation(ReferenceSpec spec) {
+      this.spec = spec;
+    }
+
+    Reference result() throws RefAlreadyExistsException, RetryTimeoutException {
+      Exception f = failure;
+      if (f instanceof RefAlreadyExistsException) {
+        throw (RefAlreadyExistsException) f;
+      }
+      if (f instanceof RetryTimeoutException) {
+        throw (RetryTimeoutException) f;
+      }
+      if (f instanceof RuntimeException) {
+        throw (RuntimeException) f;
+      }
+      if (f != null) {
+        throw new RuntimeException(f);
+      }
+      return reference;
+    }
+  }
+}
@@ -16,6 +16,7 @@
 package org.projectnessie.versioned.storage.versionstore;
 
 import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Throwables.throwIfUnchecked;
 import static java.util.Objects.requireNonNull;
 import static org.projectnessie.versioned.storage.common.logic.CreateCommit.Add.commitAdd;
 import static org.projectnessie.versioned.storage.common.logic.CreateCommit.Remove.commitRemove;
@@ -32,6 +33,8 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import org.projectnessie.model.CommitMeta;
@@ -48,6 +51,7 @@ import org.projectnessie.versioned.ResultType;
 import org.projectnessie.versioned.VersionStore;
 import org.projectnessie.versioned.VersionStore.TransplantOp;
 import org.projectnessie.versioned.storage.common.exceptions.ObjNotFoundException;
+import org.projectnessie.versioned.storage.common.exceptions.ObjTooLargeException;
 import org.projectnessie.versioned.storage.common.indexes.StoreIndex;
 import org.projectnessie.versioned.storage.common.indexes.StoreIndexElement;
 import org.projectnessie.versioned.storage.common.logic.CommitLogic;
@@ -89,39 +93,65 @@ final class TransplantIndividualImpl extends BaseCommitHelper implements Transpl
     MergeBehaviors mergeBehaviors = new MergeBehaviors(transplantOp);
 
     CommitLogic commitLogic = commitLogic(persist);
+    boolean pipelined = persist.config().pipelinedTransplant();
     ObjId newHead = headId();
     boolean empty = true;
     Map<ContentKey, MergeResult.KeyDetails> keyDetailsMap = new HashMap<>();
-    for (CommitObj sourceCommit : mergeTransplantContext.sourceCommits()) {
-      CreateCommit createCommit =
-          cloneCommit(
-              transplantOp.updateCommitMetadata(), sourceCommit, sourceParentIndex, newHead);
+    PendingCommit pending = null;
+    try {
+      for (CommitObj sourceCommit : mergeTransplantContext.sourceCommits()) {
+        // With pipelining, the previous commit is still being stored. The following steps only
+        // need the IDs and indexes of the previous commits, which are known.
+        CreateCommit createCommit =
+            cloneCommit(
+                transplantOp.updateCommitMetadata(), sourceCommit, sourceParentIndex, newHead);
 
-      validateMergeTransplantCommit(createCommit, transplantOp.validator(), targetParentIndex);
+        validateMergeTransplantCommit(createCommit, transplantOp.validator(), targetParentIndex);
 
-      verifyMergeTransplantCommitPolicies(targetParentIndex, sourceCommit);
+        verifyMergeTransplantCommitPolicies(targetParentIndex, sourceCommit);
 
-      List<Obj> objsToStore = new ArrayList<>();
-      CommitObj newCommit =
-          createMergeTransplantCommit(
-              mergeBehaviors, keyDetailsMap, createCommit, objsToStore::add);
+        // Building the commit object fetches the parent commit, which must have been stored.
+        if (pending != null) {
+          pending.finish(mergeResult);
+          pending = null;
+        }
 
-      if (!indexesLogic.commitOperations(newCommit).iterator().hasNext()) {
-        // No operations in this commit, skip it.
-        continue;
-      }
+        List<Obj> objsToStore = new ArrayList<>();
+        CommitObj newCommit =
+            createMergeTransplantCommit(
+                mergeBehaviors, keyDetailsMap, createCommit, objsToStore::add);
+
+        if (!indexesLogic.commitOperations(newCommit).iterator().hasNext()) {
+          // No operations in this commit, skip it.
+          continue;
+        }
 
-      empty = false;
-      if (!transplantOp.dryRun()) {
-        newHead = newCommit.id();
-        boolean committed = commitLogic.storeCommit(newCommit, objsToStore);
-        if (committed) {
-          mergeResult.addCreatedCommits(commitObjToCommit(newCommit));
+        empty = false;
+        if (!transplantOp.dryRun()) {
+          newHead = newCommit.id();
+          if (pipelined) {
+            pending = new PendingCommit(newCommit, objsToStore);
+          } else {
+            boolean committed = commitLogic.storeCommit(newCommit, objsToStore);
+            if (committed) {
+              mergeResult.addCreatedCommits(commitObjToCommit(newCommit));
+            }
+          }
         }
+
+        sourceParentIndex = indexesLogic.buildCompleteIndex(sourceCommit, Optional.empty());
+        targetParentIndex = indexesLogic.buildCompleteIndex(newCommit, Optional.empty());
       }
 
-      sourceParentIndex = indexesLogic.buildCompleteIndex(sourceCommit, Optional.empty());
-      targetParentIndex = indexesLogic.buildCompleteIndex(newCommit, Optional.empty());
+      if (pending != null) {
+        pending.finish(mergeResult);
+        pending = null;
+      }
+    } finally {
+      if (pending != null) {
+        // Do not leave a write behind, if preparing the next commit failed.
+        pending.await();
+      }
     }
 
     boolean hasConflicts = recordKeyDetailsAndCheckConflicts(mergeResult, keyDetailsMap);
@@ -129,6 +159,52 @@ final class TransplantIndividualImpl extends BaseCommitHelper implements Transpl
     return finishMergeTransplant(empty, mergeResult, newHead, transplantOp.dryRun(), hasConflicts);
   }
 
+  /**
+   * A transplanted commit that is being stored asynchronously via {@link Persist#async()}, while
+   * the next commit is being prepared.
+   */
+  private final class PendingCommit {
+    private final CommitObj commit;
+    private final List<Obj> objsToStore;
+    private final CompletableFuture<boolean[]> stored;
+
+    PendingCommit(CommitObj commit, List<Obj> objsToStore) {
+      this.commit = commit;
+      this.objsToStore = objsToStore;
+      Obj[] objs = objsToStore.toArray(new Obj[objsToStore.size() + 1]);
+      objs[objs.length - 1] = commit;
+      this.stored = persist.async().storeObjsAsync(objs).toCompletableFuture();
+    }
+
+    /** Waits for the commit to be stored and records it in the merge result. */
+    void finish(ImmutableMergeResult.Builder<Commit> mergeResult) {
+      boolean committed;
+      try {
+        boolean[] result = stored.join();
+        committed = result[result.length - 1];
+      } catch (CompletionException e) {
+        Throwable cause = e.getCause();
+        if (!(cause instanceof ObjTooLargeException)) {
+          throwIfUnchecked(cause);
+          throw new RuntimeException(cause);
+        }
+        // The incremental index is too big, let the commit logic update the reference index.
+        committed = commitLogic(persist).storeCommit(commit, objsToStore);
+      }
+      if (committed) {
+        mergeResult.addCreatedCommits(commitObjToCommit(commit));
+      }
+    }
+
+    void await() {
+      try {
+        stored.join();
+      } catch (CompletionException e) {
+        // ignore, the transplant failed anyway
+      }
+    }
+  }
+
   private CreateCommit cloneCommit(
       MetadataRewriter<CommitMeta> updateCommitMetadata,
       CommitObj sourceCommit,
@@ -16,14 +16,18 @@
 package org.projectnessie.versioned.storage.versionstore;
 
 import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Throwables.throwIfUnchecked;
 import static java.util.Collections.emptyList;
 import static java.util.Collections.emptyMap;
 import static java.util.Collections.singleton;
 import static java.util.Objects.requireNonNull;
 import static org.projectnessie.model.IdentifiedContentKey.identifiedContentKeyFromContent;
 import static org.projectnessie.nessie.relocated.protobuf.ByteString.copyFromUtf8;
+import static org.projectnessie.versioned.BulkReferenceResult.bulkReferenceFailure;
+import static org.projectnessie.versioned.BulkReferenceResult.bulkReferenceResult;
 import static org.projectnessie.versioned.ContentResult.contentResult;
 import static org.projectnessie.versioned.ReferenceHistory.ReferenceHistoryElement.referenceHistoryElement;
+import static org.projectnessie.versioned.storage.common.indexes.StoreIndexes.sharedReadOnlyIndex;
 import static org.projectnessie.versioned.storage.common.logic.CommitLogQuery.commitLogQuery;
 import static org.projectnessie.versioned.storage.common.logic.DiffQuery.diffQuery;
 import static org.projectnessie.versioned.storage.common.logic.Logics.commitLogic;
@@ -33,6 +37,7 @@ import static org.projectnessie.versioned.storage.common.logic.Logics.referenceL
 import static org.projectnessie.versioned.storage.common.logic.Logics.repositoryLogic;
 import static org.projectnessie.versioned.storage.common.logic.PagingToken.fromString;
 import static org.projectnessie.versioned.storage.common.logic.PagingToken.pagingToken;
+import static org.projectnessie.versioned.storage.common.logic.ReferenceSpec.referenceSpec;
 import static org.projectnessie.versioned.storage.common.logic.ReferencesQuery.referencesQuery;
 import static org.projectnessie.versioned.storage.common.objtypes.StandardObjType.COMMIT;
 import static org.projectnessie.versioned.storage.common.persist.ObjId.EMPTY_OBJ_ID;
@@ -60,17 +65,21 @@ import static org.projectnessie.versioned.storage.versionstore.TypeMapping.store
 import static org.projectnessie.versioned.storage.versionstore.TypeMapping.toCommitMeta;
 import static org.projectnessie.versioned.store.DefaultStoreWorker.contentTypeForPayload;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.AbstractIterator;
+import com.google.common.util.concurrent.UncheckedExecutionException;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
@@ -88,6 +97,7 @@ import org.projectnessie.model.ContentKey;
 import org.projectnessie.model.IdentifiedContentKey;
 import org.projectnessie.model.RepositoryConfig;
 import org.projectnessie.versioned.BranchName;
+import org.projectnessie.versioned.BulkReferenceResult;
 import org.projectnessie.versioned.Commit;
 import org.projectnessie.versioned.CommitResult;
 import org.projectnessie.versioned.ContentResult;
@@ -123,22 +133,26 @@ import org.projectnessie.versioned.TagName;
 import org.projectnessie.versioned.VersionStore;
 import org.projectnessie.versioned.paging.FilteringPaginationIterator;
 import org.projectnessie.versioned.paging.PaginationIterator;
+import org.projectnessie.versioned.storage.common.config.StoreConfig;
 import org.projectnessie.versioned.storage.common.exceptions.ObjNotFoundException;
 import org.projectnessie.versioned.storage.common.exceptions.RefAlreadyExistsException;
 import org.projectnessie.versioned.storage.common.exceptions.RefConditionFailedException;
+import org.projectnessie.versioned.storage.common.exceptions.RefException;
 import org.projectnessie.versioned.storage.common.exceptions.RefNotFoundException;
 import org.projectnessie.versioned.storage.common.exceptions.RetryTimeoutException;
 import org.projectnessie.versioned.storage.common.indexes.StoreIndex;
 import org.projectnessie.versioned.storage.common.indexes.StoreIndexElement;
+import org.projectnessie.versioned.storage.common.indexes.StoreIndexes;
 import org.projectnessie.versioned.storage.common.indexes.StoreKey;
 import org.projectnessie.versioned.storage.common.logic.CommitLogic;
 import org.projectnessie.versioned.storage.common.logic.ConsistencyLogic;
 import org.projectnessie.versioned.storage.common.logic.DiffEntry;
 import org.projectnessie.versioned.storage.common.logic.DiffPagedResult;
-import org.projectnessie.versioned.storage.common.logic.IndexesLogic;
 import org.projectnessie.versioned.storage.common.logic.PagedResult;
 import org.projectnessie.versioned.storage.common.logic.PagingToken;
 import org.projectnessie.versioned.storage.common.logic.ReferenceLogic;
+import org.projectnessie.versioned.storage.common.logic.ReferenceResult;
+import org.projectnessie.versioned.storage.common.logic.ReferenceSpec;
 import org.projectnessie.versioned.storage.common.logic.RepositoryDescription;
 import org.projectnessie.versioned.storage.common.objtypes.CommitObj;
 import org.projectnessie.versioned.storage.common.objtypes.CommitOp;
@@ -146,12 +160,35 @@ import org.projectnessie.versioned.storage.common.persist.ObjId;
 import org.projectnessie.versioned.storage.common.persist.Persist;
 import org.projectnessie.versioned.storage.common.persist.Reference;
 import org.projectnessie.versioned.storage.versionstore.BaseCommitHelper.CommitterSupplier;
+import org.projectnessie.versioned.storage.versionstore.CommonAncestors.CommonAncestor;
 
 public class VersionStoreImpl implements VersionStore {
 
   public static final int GET_KEYS_CONTENT_BATCH_SIZE = 50;
   private final Persist persist;
 
+  /**
+   * Complete, read-only indexes of recently accessed commits, keyed by commit ID, {@code null} if
+   * disabled via {@link StoreConfig#commitIndexCacheCapacityMb()}. Weighed by the estimated sizes
+   * of the indexes, see {@link #commitIndexWeight(CommitObj)}.
+   */
+  private final Cache<ObjId, CachedCommitIndex> commitIndexCache;
+
+  /**
+   * Coalesces concurrent commits to the same branch, {@code null} if disabled via {@link
+   * StoreConfig#commitSequencerMaxBatchSize()}.
+   */
+  private final CommitSequencer commitSequencer;
+
+  /**
+   * Coalesces concurrent reference creations, {@code null} if disabled via {@link
+   * StoreConfig#referenceCreationSequencerMaxBatchSize()}.
+   */
+  private final ReferenceCreationSequencer referenceCreationSequencer;
+
+  /** Memoized common ancestors and ahead/behind counts for reference listings. */
+  private final CommonAncestors.Results commonAncestors = new CommonAncestors.Results();
+
   @SuppressWarnings("unused")
   public VersionStoreImpl() {
     this(null);
@@ -159,6 +196,85 @@ public class VersionStoreImpl implements VersionStore {
 
   public VersionStoreImpl(Persist persist) {
     this.persist = persist;
+    int commitIndexCacheCapacityMb =
+        persist != null ? persist.config().commitIndexCacheCapacityMb() : 0;
+    this.commitIndexCache =
+        commitIndexCacheCapacityMb > 0
+            ? CacheBuilder.newBuilder()
+                .maximumWeight(commitIndexCacheCapacityMb * 1024L * 1024L)
+                .weigher((ObjId id, CachedCommitIndex cached) -> cached.weight)
+                .build()
+            : null;
+    int commitSequencerMaxBatchSize =
+        persist != null ? persist.config().commitSequencerMaxBatchSize() : 0;
+    this.commitSequencer =
+        commitSequencerMaxBatchSize > 0
+            ? new CommitSequencer(persist, commitSequencerMaxBatchSize)
+            : null;
+    int referenceCreationSequencerMaxBatchSize =
+        persist != null ? persist.config().referenceCreationSequencerMaxBatchSize() : 0;
+    this.referenceCreationSequencer =
+        referenceCreationSequencerMaxBatchSize > 0
+            ? new ReferenceCreationSequencer(persist, referenceCreationSequencerMaxBatchSize)
+            : null;
+  }
+
+  /**
+   * Returns the complete index for the given commit, used for read-only operations. If enabled,
+   * the returned index is shared with concurrent requests for the same commit.
+   *
+   * <p>Concurrent requests for the same uncached commit wait for a single construction of the
+   * shared index, requests for other commits are not blocked. Stripes of the reference index are
+   * loaded on demand, each at most once, see {@link StoreIndexes#sharedReadOnlyIndex(StoreIndex)}.
+   */
+  private StoreIndex<CommitOp> completeIndex(CommitObj head) {
+    Cache<ObjId, CachedCommitIndex> cache = commitIndexCache;
+    if (cache == null) {
+      return indexesLogic(persist).buildCompleteIndex(head, Optional.empty());
+    }
+
+    try {
+      return cache.get(
+              head.id(),
+              () ->
+                  new CachedCommitIndex(
+                      sharedReadOnlyIndex(
+                          indexesLogic(persist).buildCompleteIndex(head, Optional.empty())),
+                      commitIndexWeight(head)))
+          .index;
+    } catch (ExecutionException | UncheckedExecutionException e) {
+      Throwable cause = e.getCause();
+      throwIfUnchecked(cause);
+      throw new RuntimeException(cause);
+    }
+  }
+
+  /**
+   * Estimates the size of the complete index of the given commit without loading it, assuming that
+   * all stripes of the reference index are loaded and have the maximum size. An external reference
+   * index is assumed to have one more stripe than {@link StoreConfig#maxReferenceStripesPerCommit()
+   * fits into a commit}.
+   */
+  private int commitIndexWeight(CommitObj commit) {
+    int stripes = commit.referenceIndexStripes().size();
+    if (commit.referenceIndex() != null) {
+      stripes = Math.max(stripes, persist.config().maxReferenceStripesPerCommit() + 1);
+    }
+    long weight =
+        commit.incrementalIndex().size()
+            + (long) stripes * persist.effectiveIndexSegmentSizeLimit();
+    return (int) Math.min(weight, Integer.MAX_VALUE);
+  }
+
+  /** A shared commit index in {@link #commitIndexCache} with its weight. */
+  private static final class CachedCommitIndex {
+    final StoreIndex<CommitOp> index;
+    final int weight;
+
+    CachedCommitIndex(StoreIndex<CommitOp> index, int weight) {
+      this.index = index;
+      this.weight = weight;
+    }
   }
 
   @Nonnull
@@ -208,45 +324,113 @@ public class VersionStoreImpl implements VersionStore {
   @Override
   public ReferenceCreatedResult create(NamedRef namedRef, Optional<Hash> targetHash)
       throws ReferenceNotFoundException, ReferenceAlreadyExistsException {
-    ReferenceLogic referenceLogic = referenceLogic(persist);
     try {
-      ObjId objId;
-      if (targetHash.isPresent()) {
-        Hash hash = targetHash.get();
-        objId = hashToObjId(hash);
-        if (!hash.equals(RefMapping.NO_ANCESTOR) && persist.fetchObjType(objId) != COMMIT) {
-          throw RefMapping.hashNotFound(hash);
+      ObjId objId = newReferencePointer(namedRef, targetHash);
+      String name = namedRefToRefName(namedRef);
+      Reference reference =
+          referenceCreationSequencer != null
+              ? referenceCreationSequencer.createReference(name, objId)
+              : referenceLogic(persist).createReference(name, objId, null);
+      return referenceCreatedResult(namedRef, reference);
+    } catch (RefAlreadyExistsException e) {
+      throw referenceAlreadyExists(namedRef);
+    } catch (RetryTimeoutException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  @Override
+  public List<BulkReferenceResult<ReferenceCreatedResult>> createReferences(
+      Map<NamedRef, Optional<Hash>> refs) {
+    List<BulkReferenceResult<ReferenceCreatedResult>> results = new ArrayList<>(refs.size());
+    List<Integer> indexes = new ArrayList<>(refs.size());
+    List<NamedRef> namedRefs = new ArrayList<>(refs.size());
+    List<ReferenceSpec> specs = new ArrayList<>(refs.size());
+    Set<String> names = new HashSet<>();
+    for (Map.Entry<NamedRef, Optional<Hash>> ref : refs.entrySet()) {
+      NamedRef namedRef = ref.getKey();
+      try {
+        ObjId objId = newReferencePointer(namedRef, ref.getValue());
+        // A branch and a tag with the same name must not be created at the same time either.
+        if (!names.add(namedRef.getName())) {
+          throw referenceAlreadyExists(namedRef);
         }
-      } else {
-        objId = EMPTY_OBJ_ID;
+        indexes.add(results.size());
+        namedRefs.add(namedRef);
+        specs.add(referenceSpec(namedRefToRefName(namedRef), objId));
+        results.add(null);
+      } catch (ReferenceNotFoundException | ReferenceAlreadyExistsException e) {
+        results.add(bulkReferenceFailure(namedRef, e));
       }
+    }
 
-      String mustNotExist =
-          namedRef instanceof TagName
-              ? asBranchName(namedRef.getName())
-              : asTagName(namedRef.getName());
+    if (specs.isEmpty()) {
+      return results;
+    }
+
+    List<ReferenceResult> created;
+    try {
+      created = referenceLogic(persist).createReferences(specs);
+    } catch (RetryTimeoutException e) {
+      throw new RuntimeException(e);
+    }
+    for (int i = 0; i < created.size(); i++) {
+      NamedRef namedRef = namedRefs.get(i);
+      Reference reference = created.get(i).reference();
+      results.set(
+          indexes.get(i),
+          reference != null
+              ? bulkReferenceResult(namedRef, referenceCreatedResult(namedRef, reference))
+              : bulkReferenceFailure(namedRef, referenceAlreadyExists(namedRef)));
+    }
+    return results;
+  }
+
+  /**
+   * Verifies that {@code targetHash}, if present, refers to a commit and that neither a branch nor
+   * a tag with the name of the new reference exists.
+   *
+   * @return the pointer of the new reference
+   */
+  private ObjId newReferencePointer(NamedRef namedRef, Optional<Hash> targetHash)
+      throws ReferenceNotFoundException, ReferenceAlreadyExistsException {
+    ObjId objId;
+    if (targetHash.isPresent()) {
+      Hash hash = targetHash.get();
+      objId = hashToObjId(hash);
       try {
-        referenceLogic.getReference(mustNotExist);
-        // A tag with the same name as the branch being created (or a branch with the same name
-        // as the tag being created) already exists.
-        throw referenceAlreadyExists(namedRef);
-      } catch (RefNotFoundException good) {
-        Reference reference =
-            referenceLogic.createReference(namedRefToRefName(namedRef), objId, null);
-        return ImmutableReferenceCreatedResult.builder()
-            .namedRef(namedRef)
-            .hash(objIdToHash(reference.pointer()))
-            .build();
+        if (!hash.equals(RefMapping.NO_ANCESTOR) && persist.fetchObjType(objId) != COMMIT) {
+          throw RefMapping.hashNotFound(hash);
+        }
+      } catch (ObjNotFoundException e) {
+        throw referenceNotFound(e);
       }
-    } catch (RefAlreadyExistsException e) {
+    } else {
+      objId = EMPTY_OBJ_ID;
+    }
+
+    String mustNotExist =
+        namedRef instanceof TagName
+            ? asBranchName(namedRef.getName())
+            : asTagName(namedRef.getName());
+    try {
+      referenceLogic(persist).getReferenceForUpdate(mustNotExist);
+      // A tag with the same name as the branch being created (or a branch with the same name
+      // as the tag being created) already exists.
       throw referenceAlreadyExists(namedRef);
-    } catch (ObjNotFoundException e) {
-      throw referenceNotFound(e);
-    } catch (RetryTimeoutException e) {
-      throw new RuntimeException(e);
+    } catch (RefNotFoundException good) {
+      return objId;
     }
   }
 
+  private static ReferenceCreatedResult referenceCreatedResult(
+      NamedRef namedRef, Reference reference) {
+    return ImmutableReferenceCreatedResult.builder()
+        .namedRef(namedRef)
+        .hash(objIdToHash(reference.pointer()))
+        .build();
+  }
+
   @Override
   public ReferenceAssignedResult assign(NamedRef namedRef, Hash expectedHash, Hash targetHash)
       throws ReferenceNotFoundException, ReferenceConflictException {
@@ -254,7 +438,7 @@ public class VersionStoreImpl implements VersionStore {
     ReferenceLogic referenceLogic = referenceLogic(persist);
     Reference expected;
     try {
-      expected = referenceLogic.getReference(refName);
+      expected = referenceLogic.getReferenceForUpdate(refName);
     } catch (RefNotFoundException e) {
       throw referenceNotFound(namedRef);
     }
@@ -316,23 +500,69 @@ public class VersionStoreImpl implements VersionStore {
     try {
       expected = hashToObjId(hash);
       referenceLogic.deleteReference(refName, expected);
-      return ImmutableReferenceDeletedResult.builder()
-          .namedRef(namedRef)
-          .hash(objIdToHash(expected))
-          .build();
+      return referenceDeletedResult(namedRef, expected);
 
     } catch (RefNotFoundException e) {
       throw referenceNotFound(namedRef);
     } catch (RefConditionFailedException e) {
-      RefMapping refMapping = new RefMapping(persist);
-      CommitObj headCommit = refMapping.resolveRefHead(namedRef);
-      throw referenceConflictException(
-          namedRef, objIdToHash(expected), headCommit != null ? headCommit.id() : EMPTY_OBJ_ID);
+      throw deleteConflict(namedRef, expected);
     } catch (RetryTimeoutException e) {
       throw new RuntimeException(e);
     }
   }
 
+  @Override
+  public List<BulkReferenceResult<ReferenceDeletedResult>> deleteReferences(
+      Map<NamedRef, Hash> refs) {
+    List<NamedRef> namedRefs = new ArrayList<>(refs.size());
+    List<ReferenceSpec> specs = new ArrayList<>(refs.size());
+    for (Map.Entry<NamedRef, Hash> ref : refs.entrySet()) {
+      namedRefs.add(ref.getKey());
+      specs.add(referenceSpec(namedRefToRefName(ref.getKey()), hashToObjId(ref.getValue())));
+    }
+
+    List<ReferenceResult> deleted;
+    try {
+      deleted = referenceLogic(persist).deleteReferences(specs);
+    } catch (RetryTimeoutException e) {
+      throw new RuntimeException(e);
+    }
+
+    List<BulkReferenceResult<ReferenceDeletedResult>> results = new ArrayList<>(refs.size());
+    for (int i = 0; i < deleted.size(); i++) {
+      NamedRef namedRef = namedRefs.get(i);
+      ObjId expected = specs.get(i).pointer();
+      RefException failure = deleted.get(i).failure();
+      try {
+        if (failure instanceof RefConditionFailedException) {
+          throw deleteConflict(namedRef, expected);
+        }
+        if (failure != null) {
+          throw referenceNotFound(namedRef);
+        }
+        results.add(bulkReferenceResult(namedRef, referenceDeletedResult(namedRef, expected)));
+      } catch (ReferenceNotFoundException | ReferenceConflictException e) {
+        results.add(bulkReferenceFailure(namedRef, e));
+      }
+    }
+    return results;
+  }
+
+  private ReferenceConflictException deleteConflict(NamedRef namedRef, ObjId expected)
+      throws ReferenceNotFoundException {
+    RefMapping refMapping = new RefMapping(persist);
+    CommitObj headCommit = refMapping.resolveRefHead(namedRef);
+    return referenceConflictException(
+        namedRef, objIdToHash(expected), headCommit != null ? headCommit.id() : EMPTY_OBJ_ID);
+  }
+
+  private static ReferenceDeletedResult referenceDeletedResult(NamedRef namedRef, ObjId expected) {
+    return ImmutableReferenceDeletedResult.builder()
+        .namedRef(namedRef)
+        .hash(objIdToHash(expected))
+        .build();
+  }
+
   @Override
   public ReferenceHistory getReferenceHistory(String refName, Integer headCommitsToScan)
       throws ReferenceNotFoundException {
@@ -483,29 +713,31 @@ public class VersionStoreImpl implements VersionStore {
 
     CommitObj head = refMapping.resolveNamedRefHead(reference);
 
-    Optional<CommitObj> baseRefHead = headForBaseReference(refMapping, params);
+    Optional<CommonAncestors> baseRefAncestors = commonAncestors(refMapping, params);
 
-    CommitLogic commitLogic = commitLogic(persist);
-    try {
-      return buildReferenceInfo(params, baseRefHead, commitLogic, namedRef, head);
-    } catch (ObjNotFoundException e) {
-      throw referenceNotFound(e);
-    }
+    return buildReferenceInfo(params, baseRefAncestors, namedRef, head);
   }
 
-  private Optional<CommitObj> headForBaseReference(RefMapping refMapping, GetNamedRefsParams params)
-      throws ReferenceNotFoundException {
+  /**
+   * Returns the resolver for the common ancestors against the head of the base reference, empty if
+   * there is no base reference or if the base reference has no commits.
+   */
+  private Optional<CommonAncestors> commonAncestors(
+      RefMapping refMapping, GetNamedRefsParams params) throws ReferenceNotFoundException {
     NamedRef baseReference = params.getBaseReference();
     if (baseReference == null) {
       return Optional.empty();
     }
 
     Reference ref = refMapping.resolveNamedRef(baseReference);
+    CommitObj baseRefHead;
     try {
-      return Optional.ofNullable(commitLogic(persist).headCommit(ref));
+      baseRefHead = commitLogic(persist).headCommit(ref);
     } catch (ObjNotFoundException e) {
       throw referenceNotFound(baseReference);
     }
+    return Optional.ofNullable(baseRefHead)
+        .map(head -> new CommonAncestors(persist, head, commonAncestors));
   }
 
   @Override
@@ -530,7 +762,7 @@ public class VersionStoreImpl implements VersionStore {
     PagedResult<Reference, String> result =
         referenceLogic.queryReferences(referencesQuery(token, prefix, false));
 
-    Optional<CommitObj> baseRefHead = headForBaseReference(refMapping, params);
+    Optional<CommonAncestors> baseRefAncestors = commonAncestors(refMapping, params);
 
     CommitLogic commitLogic = commitLogic(persist);
 
@@ -539,9 +771,9 @@ public class VersionStoreImpl implements VersionStore {
         reference -> {
           try {
             NamedRef namedRef = referenceToNamedRef(reference);
-            CommitObj head = commitLogic(persist).headCommit(reference);
-            return buildReferenceInfo(params, baseRefHead, commitLogic, namedRef, head);
-          } catch (ReferenceNotFoundException | ObjNotFoundException e) {
+            CommitObj head = commitLogic.headCommit(reference);
+            return buildReferenceInfo(params, baseRefAncestors, namedRef, head);
+          } catch (ObjNotFoundException e) {
             throw new RuntimeException("Could not resolve reference " + reference, e);
           }
         }) {
@@ -565,11 +797,9 @@ public class VersionStoreImpl implements VersionStore {
 
   private ReferenceInfo<CommitMeta> buildReferenceInfo(
       GetNamedRefsParams params,
-      Optional<CommitObj> baseRefHead,
-      CommitLogic commitLogic,
+      Optional<CommonAncestors> baseRefAncestors,
       NamedRef namedRef,
-      CommitObj head)
-      throws ObjNotFoundException, ReferenceNotFoundException {
+      CommitObj head) {
     ImmutableReferenceInfo.Builder<CommitMeta> refInfo =
         ReferenceInfo.<CommitMeta>builder().namedRef(namedRef);
 
@@ -589,27 +819,12 @@ public class VersionStoreImpl implements VersionStore {
 
       if (!namedRef.equals(params.getBaseReference())
           && (opts.isComputeAheadBehind() || opts.isComputeCommonAncestor())) {
-        if (baseRefHead.isPresent()) {
-          CommitObj baseHead = baseRefHead.get();
-          try {
-            ObjId commonAncestorId = commitLogic.findCommonAncestor(baseHead.id(), head.id());
-            refInfo.commonAncestor(objIdToHash(commonAncestorId));
-
-            if (opts.isComputeAheadBehind()) {
-              CommitObj commonAncestor = commitLogic.fetchCommit(commonAncestorId);
-              long commonAncestorSeq = commonAncestor.seq();
-              refInfo.aheadBehind(
-                  CommitsAheadBehind.of(
-                      (int) (head.seq() - commonAncestorSeq),
-                      (int) (baseHead.seq() - commonAncestorSeq)));
-            }
-          } catch (NoSuchElementException e) {
-            // no common ancestor
-            refInfo.commonAncestor(NO_ANCESTOR);
-
-            if (opts.isComputeAheadBehind()) {
-              refInfo.aheadBehind(CommitsAheadBehind.of((int) head.seq(), (int) baseHead.seq()));
-            }
+        if (baseRefAncestors.isPresent()) {
+          CommonAncestor commonAncestor = baseRefAncestors.get().commonAncestor(head);
+          refInfo.commonAncestor(
+              commonAncestor.id != null ? objIdToHash(commonAncestor.id) : NO_ANCESTOR);
+          if (opts.isComputeAheadBehind()) {
+            refInfo.aheadBehind(CommitsAheadBehind.of(commonAncestor.ahead, commonAncestor.behind));
           }
         } else {
           refInfo.commonAncestor(NO_ANCESTOR);
@@ -676,8 +891,7 @@ public class VersionStoreImpl implements VersionStore {
     if (head == null) {
       return emptyList();
     }
-    IndexesLogic indexesLogic = indexesLogic(persist);
-    StoreIndex<CommitOp> index = indexesLogic.buildCompleteIndex(head, Optional.empty());
+    StoreIndex<CommitOp> index = completeIndex(head);
 
     return keys.stream()
         .map(
@@ -712,8 +926,7 @@ public class VersionStoreImpl implements VersionStore {
     if (head == null) {
       return emptyOrNotFound(ref, PaginationIterator.empty());
     }
-    IndexesLogic indexesLogic = indexesLogic(persist);
-    StoreIndex<CommitOp> index = indexesLogic.buildCompleteIndex(head, Optional.empty());
+    StoreIndex<CommitOp> index = completeIndex(head);
 
     Iterator<StoreIndexElement<CommitOp>> result =
         index.iterator(keyRanges.beginStoreKey(), keyRanges.endStoreKey(), false);
@@ -898,8 +1111,7 @@ public class VersionStoreImpl implements VersionStore {
     try {
 
       StoreKey storeKey = keyToStoreKey(key);
-      IndexesLogic indexesLogic = indexesLogic(persist);
-      StoreIndex<CommitOp> index = indexesLogic.buildCompleteIndex(head, Optional.empty());
+      StoreIndex<CommitOp> index = completeIndex(head);
 
       index.loadIfNecessary(singleton(storeKey));
 
@@ -973,8 +1185,7 @@ public class VersionStoreImpl implements VersionStore {
     }
 
     try {
-      IndexesLogic indexesLogic = indexesLogic(persist);
-      StoreIndex<CommitOp> index = indexesLogic.buildCompleteIndex(head, Optional.empty());
+      StoreIndex<CommitOp> index = completeIndex(head);
 
       ContentMapping contentMapping = new ContentMapping(persist);
       return contentMapping.fetchContents(index, keys).entrySet().stream()
@@ -1000,6 +1211,10 @@ public class VersionStoreImpl implements VersionStore {
       @Nonnull @jakarta.annotation.Nonnull CommitValidator validator,
       @Nonnull @jakarta.annotation.Nonnull BiConsumer<ContentKey, String> addedContents)
       throws ReferenceNotFoundException, ReferenceConflictException {
+    if (commitSequencer != null) {
+      return commitSequencer.commit(
+          branch, referenceHash, metadata, operations, validator, addedContents);
+    }
     return committingOperation(
         "commit",
         branch,
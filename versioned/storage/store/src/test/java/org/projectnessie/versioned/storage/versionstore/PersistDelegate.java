@@ -110,6 +110,19 @@ public class PersistDelegate implements Persist {
     return delegate.fetchReferences(names);
   }
 
+  @Override
+  public Reference fetchReferenceForUpdate(@Nonnull @jakarta.annotation.Nonnull String name) {
+    return delegate.fetchReferenceForUpdate(name);
+  }
+
+  @Override
+  @Nonnull
+  @jakarta.annotation.Nonnull
+  public Reference[] fetchReferencesForUpdate(
+      @Nonnull @jakarta.annotation.Nonnull String[] names) {
+    return delegate.fetchReferencesForUpdate(names);
+  }
+
   @Override
   @Nonnull
   @jakarta.annotation.Nonnull
@@ -0,0 +1,125 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.versionstore;
+
+import static java.util.Collections.emptyList;
+import static java.util.Objects.requireNonNull;
+import static org.projectnessie.versioned.storage.common.logic.CreateCommit.newCommitBuilder;
+import static org.projectnessie.versioned.storage.common.logic.Logics.commitLogic;
+import static org.projectnessie.versioned.storage.common.objtypes.CommitHeaders.EMPTY_COMMIT_HEADERS;
+import static org.projectnessie.versioned.storage.common.persist.ObjId.EMPTY_OBJ_ID;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.assertj.core.api.SoftAssertions;
+import org.assertj.core.api.junit.jupiter.InjectSoftAssertions;
+import org.assertj.core.api.junit.jupiter.SoftAssertionsExtension;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.projectnessie.versioned.storage.common.objtypes.CommitObj;
+import org.projectnessie.versioned.storage.common.persist.ObjId;
+import org.projectnessie.versioned.storage.common.persist.Persist;
+import org.projectnessie.versioned.storage.testextension.NessiePersist;
+import org.projectnessie.versioned.storage.testextension.PersistExtension;
+
+@ExtendWith({PersistExtension.class, SoftAssertionsExtension.class})
+public class TestCommitAncestry {
+  @NessiePersist protected Persist persist;
+
+  @InjectSoftAssertions protected SoftAssertions soft;
+
+  /** Spacings smaller and larger than the number of parents in a commit's tail. */
+  @ParameterizedTest
+  @ValueSource(ints = {4, 16, 32})
+  public void ancestor(int spacing) throws Exception {
+    List<CommitObj> commits = generateCommits(EMPTY_OBJ_ID, 150);
+    CommitAncestry ancestry = new CommitAncestry(persist, spacing);
+
+    for (int head : new int[] {149, 128, 97, 31, 0}) {
+      for (int distance = 0; distance <= head + 2; distance++) {
+        soft.assertThat(ancestry.ancestor(commits.get(head), distance))
+            .describedAs("head %d, distance %d", head, distance)
+            .isEqualTo(distance <= head ? commits.get(head - distance).id() : null);
+      }
+    }
+  }
+
+  @ParameterizedTest
+  @ValueSource(ints = {4, 16, 32})
+  public void commitInChain(int spacing) throws Exception {
+    List<CommitObj> commits = generateCommits(EMPTY_OBJ_ID, 100);
+    List<CommitObj> fork = generateCommits(commits.get(49).id(), 30);
+    CommitAncestry ancestry = new CommitAncestry(persist, spacing);
+
+    CommitObj head = commits.get(commits.size() - 1);
+    CommitObj forkHead = fork.get(fork.size() - 1);
+
+    for (CommitObj commit : commits) {
+      soft.assertThat(ancestry.commitInChain(head.id(), commit.id())).isEqualTo(commit);
+      soft.assertThat(ancestry.commitInChain(forkHead.id(), commit.id()))
+          .isEqualTo(commit.seq() <= 50 ? commit : null);
+    }
+    for (CommitObj commit : fork) {
+      soft.assertThat(ancestry.commitInChain(head.id(), commit.id())).isNull();
+      soft.assertThat(ancestry.commitInChain(forkHead.id(), commit.id())).isEqualTo(commit);
+    }
+    soft.assertThat(ancestry.commitInChain(commits.get(10).id(), head.id())).isNull();
+    soft.assertThat(ancestry.commitInChain(head.id(), ObjId.randomObjId())).isNull();
+    soft.assertThat(ancestry.commitInChain(EMPTY_OBJ_ID, head.id())).isNull();
+  }
+
+  @ParameterizedTest
+  @ValueSource(ints = {4, 32})
+  public void backfill(int spacing) throws Exception {
+    List<CommitObj> commits = generateCommits(EMPTY_OBJ_ID, 100);
+    List<CommitObj> fork = generateCommits(commits.get(49).id(), 30);
+    CommitAncestry ancestry = new CommitAncestry(persist, spacing);
+
+    ObjId head = commits.get(commits.size() - 1).id();
+    ObjId forkHead = fork.get(fork.size() - 1).id();
+
+    soft.assertThat(ancestry.backfill(head)).isEqualTo(100 / spacing);
+    soft.assertThat(ancestry.backfill(head)).isEqualTo(0);
+    // only the ancestry objects for the commits after the fork point are missing
+    soft.assertThat(ancestry.backfill(forkHead)).isEqualTo(80 / spacing - 50 / spacing);
+    soft.assertThat(ancestry.backfill(EMPTY_OBJ_ID)).isEqualTo(0);
+
+    CommitObj aligned = commits.get(spacing * 2 - 1);
+    soft.assertThat(ancestry.ancestry(aligned).ancestors())
+        .containsExactly(commits.get(spacing - 1).id());
+  }
+
+  private List<CommitObj> generateCommits(ObjId parent, int num) throws Exception {
+    List<CommitObj> commits = new ArrayList<>();
+    ObjId head = parent;
+    for (int i = 0; i < num; i++) {
+      CommitObj commit =
+          requireNonNull(
+              commitLogic(persist)
+                  .doCommit(
+                      newCommitBuilder()
+                          .parentCommitId(head)
+                          .message("commit " + i + " on " + parent)
+                          .headers(EMPTY_COMMIT_HEADERS)
+                          .build(),
+                      emptyList()));
+      commits.add(commit);
+      head = commit.id();
+    }
+    return commits;
+  }
+}
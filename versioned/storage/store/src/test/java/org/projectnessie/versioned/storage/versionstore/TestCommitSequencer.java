@@ -0,0 +1,291 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.versionstore;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static org.projectnessie.model.CommitMeta.fromMessage;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+import javax.annotation.Nonnull;
+import org.assertj.core.api.SoftAssertions;
+import org.assertj.core.api.junit.jupiter.InjectSoftAssertions;
+import org.assertj.core.api.junit.jupiter.SoftAssertionsExtension;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.projectnessie.model.ContentKey;
+import org.projectnessie.model.IcebergTable;
+import org.projectnessie.versioned.BranchName;
+import org.projectnessie.versioned.Commit;
+import org.projectnessie.versioned.CommitResult;
+import org.projectnessie.versioned.CommitValidation.CommitOperation;
+import org.projectnessie.versioned.Hash;
+import org.projectnessie.versioned.Put;
+import org.projectnessie.versioned.VersionStore;
+import org.projectnessie.versioned.VersionStore.CommitValidator;
+import org.projectnessie.versioned.paging.PaginationIterator;
+import org.projectnessie.versioned.storage.common.exceptions.RefConditionFailedException;
+import org.projectnessie.versioned.storage.common.exceptions.RefNotFoundException;
+import org.projectnessie.versioned.storage.common.persist.ObjId;
+import org.projectnessie.versioned.storage.common.persist.Persist;
+import org.projectnessie.versioned.storage.common.persist.Reference;
+import org.projectnessie.versioned.storage.testextension.NessiePersist;
+import org.projectnessie.versioned.storage.testextension.PersistExtension;
+
+@ExtendWith({PersistExtension.class, SoftAssertionsExtension.class})
+public class TestCommitSequencer {
+  @NessiePersist protected Persist persist;
+
+  @InjectSoftAssertions protected SoftAssertions soft;
+
+  private static final BranchName BRANCH = BranchName.of("sequenced");
+
+  private final AtomicInteger pointerUpdates = new AtomicInteger();
+  private final CountDownLatch firstPointerUpdate = new CountDownLatch(1);
+  private final AtomicReference<Runnable> beforeFirstPointerUpdate = new AtomicReference<>();
+
+  private ExecutorService executor;
+  private VersionStore store;
+
+  @BeforeEach
+  void setup() throws Exception {
+    executor = Executors.newCachedThreadPool();
+    store = new VersionStoreImpl(persist);
+    store.create(BRANCH, Optional.empty());
+  }
+
+  @AfterEach
+  void shutdown() {
+    executor.shutdownNow();
+  }
+
+  /**
+   * The first commit's reference pointer update waits until the other commits queued up behind it,
+   * so those are deterministically chained.
+   */
+  @ParameterizedTest
+  @ValueSource(ints = {2, 10})
+  public void chainsQueuedCommits(int maxBatchSize) throws Exception {
+    int queued = 5;
+    CommitSequencer sequencer = newSequencer(maxBatchSize);
+    holdFirstPointerUpdate(sequencer, queued);
+
+    List<Future<CommitResult<Commit>>> results = new ArrayList<>();
+    results.add(commitAsync(sequencer, "first", validation -> {}));
+    firstPointerUpdate.await();
+    for (int i = 0; i < queued; i++) {
+      results.add(commitAsync(sequencer, "queued-" + i, validation -> {}));
+    }
+
+    List<Hash> hashes = new ArrayList<>();
+    for (Future<CommitResult<Commit>> result : results) {
+      hashes.add(result.get(30, TimeUnit.SECONDS).getCommitHash());
+    }
+
+    // One update for the first commit, one per chain of queued commits
+    soft.assertThat(pointerUpdates).hasValue(1 + (queued + maxBatchSize - 1) / maxBatchSize);
+    soft.assertThat(commitLog()).containsExactlyInAnyOrderElementsOf(hashes);
+    soft.assertThat(store.hashOnReference(BRANCH, Optional.empty(), emptyList()))
+        .isIn(hashes.subList(1, hashes.size()));
+  }
+
+  @Test
+  public void retryAfterConcurrentUpdate() throws Exception {
+    CommitSequencer sequencer = newSequencer(10);
+    AtomicReference<Hash> concurrent = new AtomicReference<>();
+    beforeFirstPointerUpdate.set(
+        () -> {
+          try {
+            concurrent.set(
+                store
+                    .commit(
+                        BRANCH,
+                        Optional.empty(),
+                        fromMessage("concurrent"),
+                        singletonList(put("concurrent")))
+                    .getCommitHash());
+          } catch (Exception e) {
+            throw new RuntimeException(e);
+          }
+        });
+
+    CommitResult<Commit> result = commit(sequencer, "sequenced", validation -> {});
+
+    soft.assertThat(pointerUpdates).hasValue(2);
+    soft.assertThat(result.getCommit().getParentHash()).isEqualTo(concurrent.get());
+    soft.assertThat(commitLog()).containsExactly(result.getCommitHash(), concurrent.get());
+  }
+
+  @Test
+  public void failingValidatorOnlyFailsItsCommit() throws Exception {
+    int queued = 4;
+    CommitSequencer sequencer = newSequencer(10);
+    holdFirstPointerUpdate(sequencer, queued);
+
+    Future<CommitResult<Commit>> first = commitAsync(sequencer, "first", validation -> {});
+    firstPointerUpdate.await();
+    List<Future<CommitResult<Commit>>> results = new ArrayList<>();
+    for (int i = 0; i < queued; i++) {
+      CommitValidator validator =
+          i == 1
+              ? validation -> {
+                throw new IllegalStateException("denied");
+              }
+              : validation -> {};
+      results.add(commitAsync(sequencer, "queued-" + i, validator));
+    }
+
+    List<Hash> hashes = new ArrayList<>();
+    hashes.add(first.get(30, TimeUnit.SECONDS).getCommitHash());
+    for (int i = 0; i < queued; i++) {
+      Future<CommitResult<Commit>> result = results.get(i);
+      if (i == 1) {
+        soft.assertThatThrownBy(() -> result.get(30, TimeUnit.SECONDS))
+            .hasRootCauseInstanceOf(IllegalStateException.class)
+            .hasRootCauseMessage("denied");
+      } else {
+        hashes.add(result.get(30, TimeUnit.SECONDS).getCommitHash());
+      }
+    }
+
+    soft.assertThat(pointerUpdates).hasValue(2);
+    soft.assertThat(commitLog()).containsExactlyInAnyOrderElementsOf(hashes);
+    soft.assertThat(store.getValue(BRANCH, ContentKey.of("queued-1"))).isNull();
+  }
+
+  /**
+   * Validators, like access checks, depend on the context of the committing thread, for example
+   * the request's principal, so each commit of a chain must be validated on its own thread.
+   */
+  @Test
+  public void validatesOnCommittingThread() throws Exception {
+    CommitSequencer sequencer = newSequencer(10);
+    holdFirstPointerUpdate(sequencer, 2);
+
+    ThreadLocal<String> principal = new ThreadLocal<>();
+    Map<String, String> validatedAs = new ConcurrentHashMap<>();
+    CommitValidator validator =
+        validation -> {
+          for (CommitOperation op : validation.operations()) {
+            validatedAs.put(op.identifiedKey().lastElement().element(), principal.get());
+          }
+        };
+
+    List<Future<CommitResult<Commit>>> results = new ArrayList<>();
+    results.add(commitAsync(sequencer, "first", validation -> {}));
+    firstPointerUpdate.await();
+    for (String user : List.of("alice", "bob")) {
+      results.add(
+          executor.submit(
+              () -> {
+                principal.set(user);
+                try {
+                  return commit(sequencer, user, validator);
+                } finally {
+                  principal.remove();
+                }
+              }));
+    }
+    for (Future<CommitResult<Commit>> result : results) {
+      result.get(30, TimeUnit.SECONDS);
+    }
+
+    soft.assertThat(pointerUpdates).hasValue(2);
+    soft.assertThat(validatedAs)
+        .containsExactlyInAnyOrderEntriesOf(Map.of("alice", "alice", "bob", "bob"));
+  }
+
+  private CommitSequencer newSequencer(int maxBatchSize) {
+    Persist counting =
+        new PersistDelegate(persist) {
+          @Nonnull
+          @jakarta.annotation.Nonnull
+          @Override
+          public Reference updateReferencePointer(
+              @Nonnull @jakarta.annotation.Nonnull Reference reference,
+              @Nonnull @jakarta.annotation.Nonnull ObjId newPointer)
+              throws RefNotFoundException, RefConditionFailedException {
+            if (pointerUpdates.getAndIncrement() == 0) {
+              firstPointerUpdate.countDown();
+              Runnable before = beforeFirstPointerUpdate.get();
+              if (before != null) {
+                before.run();
+              }
+            }
+            return super.updateReferencePointer(reference, newPointer);
+          }
+        };
+    return new CommitSequencer(counting, maxBatchSize);
+  }
+
+  /** Lets the first reference pointer update wait until {@code num} commits are queued. */
+  private void holdFirstPointerUpdate(CommitSequencer sequencer, int num) {
+    beforeFirstPointerUpdate.set(
+        () -> {
+          long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+          while (sequencer.waitingCommits(BRANCH) < num) {
+            if (System.nanoTime() > deadline) {
+              throw new IllegalStateException("Commits did not queue up");
+            }
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+          }
+        });
+  }
+
+  private Future<CommitResult<Commit>> commitAsync(
+      CommitSequencer sequencer, String key, CommitValidator validator) {
+    return executor.submit(() -> commit(sequencer, key, validator));
+  }
+
+  private static CommitResult<Commit> commit(
+      CommitSequencer sequencer, String key, CommitValidator validator) throws Exception {
+    return sequencer.commit(
+        BRANCH,
+        Optional.empty(),
+        fromMessage("commit " + key),
+        singletonList(put(key)),
+        validator,
+        (k, id) -> {});
+  }
+
+  private static Put put(String key) {
+    return Put.of(ContentKey.of(key), IcebergTable.of("meta", 42, 43, 44, 45));
+  }
+
+  private List<Hash> commitLog() throws Exception {
+    List<Hash> log = new ArrayList<>();
+    try (PaginationIterator<Commit> commits = store.getCommits(BRANCH, false)) {
+      commits.forEachRemaining(c -> log.add(c.getHash()));
+    }
+    return log;
+  }
+}
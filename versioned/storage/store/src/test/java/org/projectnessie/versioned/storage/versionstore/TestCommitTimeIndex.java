@@ -0,0 +1,134 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.versionstore;
+
+import static java.time.Instant.ofEpochSecond;
+import static java.util.Collections.emptyList;
+import static java.util.Objects.requireNonNull;
+import static org.projectnessie.versioned.storage.common.logic.CreateCommit.newCommitBuilder;
+import static org.projectnessie.versioned.storage.common.logic.Logics.commitLogic;
+import static org.projectnessie.versioned.storage.common.objtypes.CommitHeaders.newCommitHeaders;
+import static org.projectnessie.versioned.storage.common.persist.ObjId.EMPTY_OBJ_ID;
+import static org.projectnessie.versioned.storage.versionstore.RefMapping.createdTimestampMatches;
+import static org.projectnessie.versioned.storage.versionstore.TypeMapping.COMMIT_TIME;
+import static org.projectnessie.versioned.storage.versionstore.TypeMapping.instantToHeaderValue;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import org.assertj.core.api.SoftAssertions;
+import org.assertj.core.api.junit.jupiter.InjectSoftAssertions;
+import org.assertj.core.api.junit.jupiter.SoftAssertionsExtension;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.projectnessie.versioned.storage.common.objtypes.CommitObj;
+import org.projectnessie.versioned.storage.common.persist.ObjId;
+import org.projectnessie.versioned.storage.common.persist.Persist;
+import org.projectnessie.versioned.storage.testextension.NessiePersist;
+import org.projectnessie.versioned.storage.testextension.PersistExtension;
+
+@ExtendWith({PersistExtension.class, SoftAssertionsExtension.class})
+public class TestCommitTimeIndex {
+  @NessiePersist protected Persist persist;
+
+  @InjectSoftAssertions protected SoftAssertions soft;
+
+  static final int WINDOW_SIZE = 10;
+  static final int SEGMENT_SIZE = 3;
+
+  @Test
+  public void findWithSmallerTimestamp() throws Exception {
+    List<CommitObj> commits = generateCommits(57);
+    CommitObj head = commits.get(commits.size() - 1);
+
+    CommitTimeIndex index = new CommitTimeIndex(persist, WINDOW_SIZE, SEGMENT_SIZE);
+    for (int t = -10; t <= 600; t += 5) {
+      Instant timestamp = ofEpochSecond(t);
+      soft.assertThat(index.findWithSmallerTimestamp(head, timestamp))
+          .describedAs("timestamp %s", timestamp)
+          .isEqualTo(linearWalk(commits, commits.size() - 1, timestamp));
+    }
+
+    // Lookups starting in the middle of windows and at the start of a window
+    for (int start : new int[] {9, 21, 33}) {
+      Instant timestamp = ofEpochSecond(45);
+      soft.assertThat(index.findWithSmallerTimestamp(commits.get(start), timestamp))
+          .describedAs("start %d", start)
+          .isEqualTo(linearWalk(commits, start, timestamp));
+    }
+  }
+
+  @Test
+  public void windows() throws Exception {
+    List<CommitObj> commits = generateCommits(25);
+    CommitObj head = commits.get(commits.size() - 1);
+
+    CommitTimeIndex index = new CommitTimeIndex(persist, WINDOW_SIZE, SEGMENT_SIZE);
+    soft.assertThat(index.findWithSmallerTimestamp(head, ofEpochSecond(-1))).isNull();
+
+    // commits.get(19) has seq 20, the first commit of the first window
+    CommitTimeIndexObj window = index.window(commits.get(19).id());
+    soft.assertThat(window.checkpoints())
+        .extracting(CommitTimeIndexObj.Checkpoint::commitId)
+        .containsExactly(
+            commits.get(19).id(), commits.get(16).id(), commits.get(13).id(), commits.get(10).id());
+    soft.assertThat(window.next()).isEqualTo(commits.get(9).id());
+
+    CommitTimeIndexObj last = index.window(commits.get(9).id());
+    soft.assertThat(last.checkpoints()).hasSize(4);
+    soft.assertThat(last.next()).isNull();
+
+    // Windows are persisted and shared by lookups
+    soft.assertThat(
+            persist.fetchTypedObj(
+                window.id(), CommitTimeIndexObjType.INSTANCE, CommitTimeIndexObj.class))
+        .isEqualTo(window);
+  }
+
+  private static CommitObj linearWalk(List<CommitObj> commits, int start, Instant timestamp) {
+    for (int i = start; i >= 0; i--) {
+      if (createdTimestampMatches(commits.get(i), timestamp)) {
+        return commits.get(i);
+      }
+    }
+    return null;
+  }
+
+  /** Generates commits, every 7th commit has a commit timestamp older than its parents. */
+  private List<CommitObj> generateCommits(int num) throws Exception {
+    List<CommitObj> commits = new ArrayList<>();
+    ObjId head = EMPTY_OBJ_ID;
+    for (int i = 0; i < num; i++) {
+      long seconds = i % 7 == 6 ? i * 10L - 75L : i * 10L;
+      CommitObj commit =
+          requireNonNull(
+              commitLogic(persist)
+                  .doCommit(
+                      newCommitBuilder()
+                          .parentCommitId(head)
+                          .message("commit " + i)
+                          .headers(
+                              newCommitHeaders()
+                                  .add(COMMIT_TIME, instantToHeaderValue(ofEpochSecond(seconds)))
+                                  .build())
+                          .build(),
+                      emptyList()));
+      commits.add(commit);
+      head = commit.id();
+    }
+    return commits;
+  }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.versionstore;
+
+import static java.util.Collections.emptyList;
+import static java.util.Objects.requireNonNull;
+import static org.projectnessie.versioned.storage.common.logic.CreateCommit.newCommitBuilder;
+import static org.projectnessie.versioned.storage.common.logic.Logics.commitLogic;
+import static org.projectnessie.versioned.storage.common.objtypes.CommitHeaders.EMPTY_COMMIT_HEADERS;
+import static org.projectnessie.versioned.storage.common.persist.ObjId.EMPTY_OBJ_ID;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import org.assertj.core.api.SoftAssertions;
+import org.assertj.core.api.junit.jupiter.InjectSoftAssertions;
+import org.assertj.core.api.junit.jupiter.SoftAssertionsExtension;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.projectnessie.versioned.storage.common.logic.CommitLogic;
+import org.projectnessie.versioned.storage.common.objtypes.CommitObj;
+import org.projectnessie.versioned.storage.common.persist.ObjId;
+import org.projectnessie.versioned.storage.common.persist.Persist;
+import org.projectnessie.versioned.storage.testextension.NessiePersist;
+import org.projectnessie.versioned.storage.testextension.PersistExtension;
+import org.projectnessie.versioned.storage.versionstore.CommonAncestors.CommonAncestor;
+
+@ExtendWith({PersistExtension.class, SoftAssertionsExtension.class})
+public class TestCommonAncestors {
+  @NessiePersist protected Persist persist;
+
+  @InjectSoftAssertions protected SoftAssertions soft;
+
+  @Test
+  public void commonAncestors() throws Exception {
+    List<CommitObj> main = generateCommits("main", EMPTY_OBJ_ID, 100);
+    List<CommitObj> heads = new ArrayList<>();
+    heads.add(main.get(99));
+    heads.add(main.get(42));
+    heads.add(main.get(0));
+    for (int forkPoint : new int[] {99, 90, 50, 10, 0}) {
+      List<CommitObj> fork = generateCommits("fork-" + forkPoint, main.get(forkPoint).id(), 30);
+      heads.add(fork.get(0));
+      heads.add(fork.get(29));
+      // fork of a fork
+      heads.add(generateCommits("fork-fork-" + forkPoint, fork.get(14).id(), 5).get(4));
+    }
+    heads.add(generateCommits("unrelated", EMPTY_OBJ_ID, 20).get(19));
+
+    CommitLogic commitLogic = commitLogic(persist);
+    CommonAncestors.Results results = new CommonAncestors.Results();
+
+    for (CommitObj baseHead : new CommitObj[] {main.get(99), main.get(60), heads.get(4)}) {
+      CommonAncestors commonAncestors = new CommonAncestors(persist, baseHead, results);
+      for (CommitObj head : heads) {
+        CommonAncestor commonAncestor = commonAncestors.commonAncestor(head);
+
+        ObjId expected;
+        try {
+          expected = commitLogic.findCommonAncestor(baseHead.id(), head.id());
+        } catch (NoSuchElementException e) {
+          expected = null;
+        }
+        long expectedSeq = expected != null ? commitLogic.fetchCommit(expected).seq() : 0L;
+
+        soft.assertThat(commonAncestor.id)
+            .describedAs("base %s, head %s", baseHead.message(), head.message())
+            .isEqualTo(expected);
+        soft.assertThat(commonAncestor.ahead).isEqualTo((int) (head.seq() - expectedSeq));
+        soft.assertThat(commonAncestor.behind).isEqualTo((int) (baseHead.seq() - expectedSeq));
+
+        // memoized
+        soft.assertThat(new CommonAncestors(persist, baseHead, results).commonAncestor(head))
+            .isSameAs(commonAncestor);
+      }
+    }
+  }
+
+  private List<CommitObj> generateCommits(String name, ObjId parent, int num) throws Exception {
+    List<CommitObj> commits = new ArrayList<>();
+    ObjId head = parent;
+    for (int i = 0; i < num; i++) {
+      CommitObj commit =
+          requireNonNull(
+              commitLogic(persist)
+                  .doCommit(
+                      newCommitBuilder()
+                          .parentCommitId(head)
+                          .message(name + " " + i)
+                          .headers(EMPTY_COMMIT_HEADERS)
+                          .build(),
+                      emptyList()));
+      commits.add(commit);
+      head = commit.id();
+    }
+    return commits;
+  }
+}
@@ -0,0 +1,177 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.versionstore;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.projectnessie.versioned.storage.common.config.StoreConfig.CONFIG_CONTENT_DICTIONARY_COMPRESSION;
+import static org.projectnessie.versioned.storage.common.logic.Logics.stringLogic;
+import static org.projectnessie.versioned.storage.common.objtypes.ContentValueObj.contentValue;
+import static org.projectnessie.versioned.storage.common.persist.ObjId.randomObjId;
+import static org.projectnessie.versioned.storage.versionstore.ContentDictionaries.DICTIONARY_CONTENT_TYPE;
+import static org.projectnessie.versioned.storage.versionstore.ContentDictionaryTrainer.trainDictionary;
+import static org.projectnessie.versioned.store.DefaultStoreWorker.payloadForContent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.assertj.core.api.SoftAssertions;
+import org.assertj.core.api.junit.jupiter.InjectSoftAssertions;
+import org.assertj.core.api.junit.jupiter.SoftAssertionsExtension;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.projectnessie.model.Content;
+import org.projectnessie.model.IcebergTable;
+import org.projectnessie.nessie.relocated.protobuf.ByteString;
+import org.projectnessie.versioned.storage.common.exceptions.ObjNotFoundException;
+import org.projectnessie.versioned.storage.common.objtypes.ContentValueObj;
+import org.projectnessie.versioned.storage.common.objtypes.StringObj;
+import org.projectnessie.versioned.storage.common.persist.Obj;
+import org.projectnessie.versioned.storage.common.persist.ObjId;
+import org.projectnessie.versioned.storage.common.persist.ObjType;
+import org.projectnessie.versioned.storage.common.persist.Persist;
+import org.projectnessie.versioned.storage.testextension.NessiePersist;
+import org.projectnessie.versioned.storage.testextension.NessieStoreConfig;
+import org.projectnessie.versioned.storage.testextension.PersistExtension;
+import org.projectnessie.versioned.storage.versionstore.ContentDictionaries.Dictionary;
+
+@ExtendWith({PersistExtension.class, SoftAssertionsExtension.class})
+public class TestContentDictionaries {
+  @NessiePersist
+  @NessieStoreConfig(name = CONFIG_CONTENT_DICTIONARY_COMPRESSION, value = "true")
+  protected static Persist persist;
+
+  @InjectSoftAssertions protected SoftAssertions soft;
+
+  static String metadataLocation(int i) {
+    return "s3://bucket/warehouse/db/table_"
+        + (i % 10)
+        + "/metadata/0000"
+        + i
+        + "-"
+        + UUID.randomUUID()
+        + ".metadata.json";
+  }
+
+  static List<byte[]> samples(int num) {
+    List<byte[]> samples = new ArrayList<>();
+    for (int i = 0; i < num; i++) {
+      samples.add(metadataLocation(i).getBytes(UTF_8));
+    }
+    return samples;
+  }
+
+  @Test
+  public void train() {
+    byte[] dictionary = trainDictionary(samples(200), 256);
+    soft.assertThat(dictionary).hasSizeBetween(1, 256);
+    soft.assertThat(new String(dictionary, UTF_8)).contains("/metadata/");
+
+    // Samples without common substrings do not yield a dictionary.
+    List<byte[]> unique = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      byte[] sample = new byte[64];
+      ThreadLocalRandom.current().nextBytes(sample);
+      unique.add(sample);
+    }
+    soft.assertThat(trainDictionary(unique, 256)).isEmpty();
+    soft.assertThat(trainDictionary(new ArrayList<>(), 256)).isEmpty();
+  }
+
+  @Test
+  public void compress() throws Exception {
+    ContentDictionaries contentDictionaries = new ContentDictionaries(persist);
+    Dictionary dictionary = new Dictionary(randomObjId(), trainDictionary(samples(200), 1024));
+
+    ByteString data = ByteString.copyFromUtf8(metadataLocation(42));
+    ByteString compressed = ContentDictionaries.compress(data, dictionary);
+    soft.assertThat(ContentDictionaries.isCompressed(compressed)).isTrue();
+    soft.assertThat(compressed.size()).isLessThan(data.size());
+
+    // Values that do not get smaller are not compressed.
+    ByteString small = ByteString.copyFrom(new byte[] {8, 1});
+    soft.assertThat(ContentDictionaries.compress(small, dictionary)).isSameAs(small);
+    soft.assertThat(ContentDictionaries.isCompressed(small)).isFalse();
+
+    // Existing, uncompressed values are returned as is.
+    ContentValueObj value = contentValue("cid", 1, data);
+    soft.assertThat(contentDictionaries.contentData(value)).isSameAs(data);
+  }
+
+  @Test
+  public void decompressFetchesDictionaryOnce() throws Exception {
+    byte[] bytes = trainDictionary(samples(200), 1024);
+    StringObj dictionaryObj =
+        stringLogic(persist).updateString(null, DICTIONARY_CONTENT_TYPE, bytes);
+    persist.storeObj(dictionaryObj);
+    Dictionary dictionary = new Dictionary(dictionaryObj.id(), bytes);
+
+    AtomicInteger fetches = new AtomicInteger();
+    Persist countingPersist =
+        new PersistDelegate(persist) {
+          @Override
+          public <T extends Obj> T fetchTypedObj(ObjId id, ObjType type, Class<T> typeClass)
+              throws ObjNotFoundException {
+            if (id.equals(dictionaryObj.id())) {
+              fetches.incrementAndGet();
+            }
+            return super.fetchTypedObj(id, type, typeClass);
+          }
+        };
+
+    for (int i = 0; i < 10; i++) {
+      ByteString data = ByteString.copyFromUtf8(metadataLocation(i));
+      ContentValueObj value =
+          contentValue("cid", 1, ContentDictionaries.compress(data, dictionary));
+      soft.assertThat(ContentDictionaries.isCompressed(value.data())).isTrue();
+      // A new instance per decompression, like per request
+      soft.assertThat(new ContentDictionaries(countingPersist).contentData(value)).isEqualTo(data);
+    }
+    soft.assertThat(fetches).hasValue(1);
+  }
+
+  @Test
+  public void trainAndStore() throws Exception {
+    ContentDictionaries contentDictionaries = new ContentDictionaries(persist);
+    ContentMapping contentMapping = new ContentMapping(persist);
+
+    List<Content> contents = new ArrayList<>();
+    for (int i = 0; i < 50; i++) {
+      Content content =
+          IcebergTable.of(metadataLocation(i), i, 1, 2, 3, UUID.randomUUID().toString());
+      contents.add(content);
+      persist.storeObj(contentMapping.buildContent(content, payloadForContent(content)));
+    }
+
+    Optional<ObjId> dictionaryId = contentDictionaries.trainAndStore(1000, 4096);
+    soft.assertThat(dictionaryId).isPresent();
+    soft.assertThat(contentDictionaries.currentDictionary())
+        .get()
+        .extracting(d -> d.id)
+        .isEqualTo(dictionaryId.get());
+
+    for (Content content : contents) {
+      ContentValueObj value = contentMapping.buildContent(content, payloadForContent(content));
+      soft.assertThat(ContentDictionaries.isCompressed(value.data())).isTrue();
+      // Stored values, compressed or not, are still readable.
+      soft.assertThat(contentMapping.fetchContent(value.id())).isEqualTo(content);
+      persist.storeObj(value);
+      soft.assertThat(contentMapping.fetchContent(value.id())).isEqualTo(content);
+    }
+  }
+}
@@ -0,0 +1,337 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.versionstore;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static org.projectnessie.model.CommitMeta.fromMessage;
+import static org.projectnessie.versioned.storage.common.config.StoreConfig.CONFIG_PIPELINED_TRANSPLANT;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import javax.annotation.Nonnull;
+import org.assertj.core.api.SoftAssertions;
+import org.assertj.core.api.junit.jupiter.InjectSoftAssertions;
+import org.assertj.core.api.junit.jupiter.SoftAssertionsExtension;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.projectnessie.model.ContentKey;
+import org.projectnessie.model.IcebergTable;
+import org.projectnessie.versioned.BranchName;
+import org.projectnessie.versioned.Commit;
+import org.projectnessie.versioned.Hash;
+import org.projectnessie.versioned.MergeResult;
+import org.projectnessie.versioned.Put;
+import org.projectnessie.versioned.VersionStore;
+import org.projectnessie.versioned.VersionStore.CommitValidator;
+import org.projectnessie.versioned.VersionStore.TransplantOp;
+import org.projectnessie.versioned.storage.common.exceptions.ObjNotFoundException;
+import org.projectnessie.versioned.storage.common.exceptions.ObjTooLargeException;
+import org.projectnessie.versioned.storage.common.persist.AsyncPersist;
+import org.projectnessie.versioned.storage.common.persist.Obj;
+import org.projectnessie.versioned.storage.common.persist.ObjId;
+import org.projectnessie.versioned.storage.common.persist.Persist;
+import org.projectnessie.versioned.storage.common.persist.Reference;
+import org.projectnessie.versioned.storage.testextension.NessiePersist;
+import org.projectnessie.versioned.storage.testextension.NessieStoreConfig;
+import org.projectnessie.versioned.storage.testextension.PersistExtension;
+
+/**
+ * Pipelined transplants against a backend with asynchronous writes. Each asynchronous write is held
+ * until the transplant has started to prepare the next commit, so that writes are deterministically
+ * in flight while the next commit is being prepared.
+ */
+@ExtendWith({PersistExtension.class, SoftAssertionsExtension.class})
+public class TestPipelinedTransplant {
+  @NessiePersist
+  @NessieStoreConfig(name = CONFIG_PIPELINED_TRANSPLANT, value = "true")
+  protected Persist persist;
+
+  @InjectSoftAssertions protected SoftAssertions soft;
+
+  private static final int NUM_COMMITS = 10;
+  private static final BranchName SOURCE = BranchName.of("source");
+  private static final BranchName TARGET = BranchName.of("target");
+
+  /** Number of commits the transplant started to prepare, the validator runs for each of them. */
+  private final AtomicInteger prepared = new AtomicInteger();
+
+  /** Number of asynchronous writes that were in flight while the next commit was prepared. */
+  private final AtomicInteger overlapping = new AtomicInteger();
+
+  private final List<Hash> sourceCommits = new ArrayList<>();
+  private final List<ContentKey> sourceKeys = new ArrayList<>();
+
+  private ExecutorService executor;
+  private DelayedWrites writes;
+  private VersionStore store;
+  private Hash targetHead;
+
+  @BeforeEach
+  void setup() throws Exception {
+    executor = Executors.newCachedThreadPool();
+
+    VersionStore setupStore = new VersionStoreImpl(persist);
+    Hash sourceHead = setupStore.create(SOURCE, Optional.empty()).getHash();
+    setupStore.create(TARGET, Optional.empty());
+    targetHead =
+        setupStore
+            .commit(
+                TARGET,
+                Optional.empty(),
+                fromMessage("target commit"),
+                singletonList(put("target-key")))
+            .getCommitHash();
+    for (int i = 0; i < NUM_COMMITS; i++) {
+      ContentKey key = ContentKey.of("key-" + i);
+      sourceHead =
+          setupStore
+              .commit(
+                  SOURCE,
+                  Optional.of(sourceHead),
+                  fromMessage("source commit " + i),
+                  singletonList(put(key.getName())))
+              .getCommitHash();
+      sourceKeys.add(key);
+      sourceCommits.add(sourceHead);
+    }
+
+    writes = new DelayedWrites(persist);
+    store = new VersionStoreImpl(writes);
+  }
+
+  @AfterEach
+  void shutdown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  public void overlapsWritesWithPreparingNextCommit() throws Exception {
+    MergeResult<Commit> result = transplant(validation -> writes.preparing());
+
+    soft.assertThat(result.wasApplied()).isTrue();
+    soft.assertThat(result.getCreatedCommits()).hasSize(NUM_COMMITS);
+    soft.assertThat(writes.asyncWrites).hasSize(NUM_COMMITS);
+    // Every write but the last one is in flight while the next commit is prepared.
+    soft.assertThat(overlapping).hasValue(NUM_COMMITS - 1);
+    soft.assertThat(store.hashOnReference(TARGET, Optional.empty(), emptyList()))
+        .isEqualTo(result.getResultantTargetHash());
+    soft.assertThat(store.getValues(TARGET, allKeys())).containsOnlyKeys(allKeys());
+  }
+
+  @Test
+  public void failingWrite() {
+    writes.failingWrite = 3;
+
+    soft.assertThatThrownBy(() -> transplant(validation -> writes.preparing()))
+        .hasStackTraceContaining("write failed");
+
+    soft.assertThat(writes.asyncWrites).hasSize(4).allMatch(CompletableFuture::isDone);
+    soft.assertThat(targetHeadAfterTransplant()).isEqualTo(targetHead);
+  }
+
+  @Test
+  public void failureWhilePreparingAwaitsWrite() {
+    soft.assertThatThrownBy(
+            () ->
+                transplant(
+                    validation -> {
+                      writes.preparing();
+                      if (prepared.get() == 5) {
+                        throw new IllegalStateException("denied");
+                      }
+                    }))
+        .hasStackTraceContaining("denied");
+
+    // The write of the previous commit was in flight, when preparing the next commit failed.
+    soft.assertThat(writes.asyncWrites).hasSize(4).allMatch(CompletableFuture::isDone);
+    soft.assertThat(targetHeadAfterTransplant()).isEqualTo(targetHead);
+  }
+
+  @Test
+  public void tooLargeCommitFallsBackToCommitLogic() throws Exception {
+    writes.tooLargeWrite = 3;
+
+    MergeResult<Commit> result = transplant(validation -> writes.preparing());
+
+    soft.assertThat(result.wasApplied()).isTrue();
+    soft.assertThat(result.getCreatedCommits()).hasSize(NUM_COMMITS);
+    // The commit logic stored the rejected commit after spilling its incremental index.
+    soft.assertThat(writes.spilledCommits).hasValue(1);
+    soft.assertThat(store.hashOnReference(TARGET, Optional.empty(), emptyList()))
+        .isEqualTo(result.getResultantTargetHash());
+    soft.assertThat(store.getValues(TARGET, allKeys())).containsOnlyKeys(allKeys());
+  }
+
+  private MergeResult<Commit> transplant(CommitValidator validator) throws Exception {
+    return store.transplant(
+        TransplantOp.builder()
+            .fromRef(SOURCE)
+            .toBranch(TARGET)
+            .expectedHash(Optional.of(targetHead))
+            .sequenceToTransplant(sourceCommits)
+            .validator(validator)
+            .build());
+  }
+
+  private Hash targetHeadAfterTransplant() throws Exception {
+    return store.hashOnReference(TARGET, Optional.empty(), emptyList());
+  }
+
+  private List<ContentKey> allKeys() {
+    List<ContentKey> keys = new ArrayList<>(sourceKeys);
+    keys.add(ContentKey.of("target-key"));
+    return keys;
+  }
+
+  private static Put put(String key) {
+    return Put.of(ContentKey.of(key), IcebergTable.of("meta-" + key, 42, 43, 44, 45));
+  }
+
+  /**
+   * Holds each asynchronous write until the next commit is being prepared, can fail a write or
+   * reject a commit like a backend that enforces object size limits.
+   */
+  private final class DelayedWrites extends PersistDelegate {
+    final List<CompletableFuture<boolean[]>> asyncWrites = new CopyOnWriteArrayList<>();
+    final AtomicInteger spilledCommits = new AtomicInteger();
+    private final AtomicReference<CompletableFuture<Void>> held = new AtomicReference<>();
+    private final Set<ObjId> tooLarge = ConcurrentHashMap.newKeySet();
+    volatile int failingWrite = -1;
+    volatile int tooLargeWrite = -1;
+
+    DelayedWrites(Persist delegate) {
+      super(delegate);
+    }
+
+    /** Called from the commit validator, releases the held write. */
+    void preparing() {
+      prepared.incrementAndGet();
+      CompletableFuture<Void> write = held.getAndSet(null);
+      if (write != null) {
+        overlapping.incrementAndGet();
+        write.complete(null);
+      }
+    }
+
+    @Override
+    public AsyncPersist async() {
+      return new AsyncPersist() {
+        @Nonnull
+        @jakarta.annotation.Nonnull
+        @Override
+        public CompletionStage<Reference[]> fetchReferencesAsync(
+            @Nonnull @jakarta.annotation.Nonnull String[] names) {
+          return CompletableFuture.completedFuture(fetchReferences(names));
+        }
+
+        @Nonnull
+        @jakarta.annotation.Nonnull
+        @Override
+        public CompletionStage<Obj[]> fetchObjsAsync(
+            @Nonnull @jakarta.annotation.Nonnull ObjId[] ids) {
+          try {
+            return CompletableFuture.completedFuture(fetchObjs(ids));
+          } catch (ObjNotFoundException e) {
+            return CompletableFuture.failedFuture(e);
+          }
+        }
+
+        @Nonnull
+        @jakarta.annotation.Nonnull
+        @Override
+        public CompletionStage<boolean[]> storeObjsAsync(
+            @Nonnull @jakarta.annotation.Nonnull Obj[] objs) {
+          return storeAsync(objs);
+        }
+      };
+    }
+
+    private CompletableFuture<boolean[]> storeAsync(Obj[] objs) {
+      int num = asyncWrites.size();
+      CompletableFuture<Void> release = new CompletableFuture<>();
+      if (prepared.get() == NUM_COMMITS) {
+        // No further commit is prepared, which would release the write.
+        release.complete(null);
+      } else {
+        held.set(release);
+      }
+      CompletableFuture<boolean[]> write =
+          release.thenApplyAsync(
+              x -> {
+                if (num == failingWrite) {
+                  throw new IllegalStateException("write failed");
+                }
+                if (num == tooLargeWrite) {
+                  tooLarge.add(objs[objs.length - 1].id());
+                }
+                try {
+                  return storeObjs(objs);
+                } catch (ObjTooLargeException e) {
+                  throw new CompletionException(e);
+                }
+              },
+              executor);
+      asyncWrites.add(write);
+      return write;
+    }
+
+    @Nonnull
+    @jakarta.annotation.Nonnull
+    @Override
+    public boolean[] storeObjs(@Nonnull @jakarta.annotation.Nonnull Obj[] objs)
+        throws ObjTooLargeException {
+      for (Obj obj : objs) {
+        if (obj != null && tooLarge.contains(obj.id())) {
+          throw new ObjTooLargeException();
+        }
+      }
+      return super.storeObjs(objs);
+    }
+
+    @Override
+    public boolean storeObj(@Nonnull @jakarta.annotation.Nonnull Obj obj)
+        throws ObjTooLargeException {
+      return storeObj(obj, false);
+    }
+
+    @Override
+    public boolean storeObj(
+        @Nonnull @jakarta.annotation.Nonnull Obj obj, boolean ignoreSoftSizeRestrictions)
+        throws ObjTooLargeException {
+      if (tooLarge.contains(obj.id())) {
+        if (!ignoreSoftSizeRestrictions) {
+          throw new ObjTooLargeException();
+        }
+        spilledCommits.incrementAndGet();
+      }
+      return super.storeObj(obj, ignoreSoftSizeRestrictions);
+    }
+  }
+}
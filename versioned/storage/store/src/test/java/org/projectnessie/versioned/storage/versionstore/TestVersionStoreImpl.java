@@ -20,8 +20,17 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.projectnessie.model.CommitMeta.fromMessage;
 import static org.projectnessie.versioned.storage.common.config.StoreConfig.CONFIG_COMMIT_RETRIES;
 import static org.projectnessie.versioned.storage.common.config.StoreConfig.CONFIG_COMMIT_TIMEOUT_MILLIS;
+import static org.projectnessie.versioned.storage.common.config.StoreConfig.CONFIG_REFERENCE_CREATION_SEQUENCER_MAX_BATCH_SIZE;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import javax.annotation.Nonnull;
@@ -31,9 +40,13 @@ import org.junit.jupiter.api.Test;
 import org.projectnessie.model.ContentKey;
 import org.projectnessie.model.IcebergTable;
 import org.projectnessie.versioned.BranchName;
+import org.projectnessie.versioned.GetNamedRefsParams;
 import org.projectnessie.versioned.Hash;
 import org.projectnessie.versioned.Put;
+import org.projectnessie.versioned.ReferenceAlreadyExistsException;
 import org.projectnessie.versioned.ReferenceConflictException;
+import org.projectnessie.versioned.ReferenceCreatedResult;
+import org.projectnessie.versioned.ReferenceInfo;
 import org.projectnessie.versioned.ReferenceNotFoundException;
 import org.projectnessie.versioned.ReferenceRetryFailureException;
 import org.projectnessie.versioned.VersionStore;
@@ -160,4 +173,49 @@ public class TestVersionStoreImpl extends AbstractVersionStoreTests {
         fromMessage("commit foo"),
         singletonList(Put.of(ContentKey.of("some-key"), IcebergTable.of("meta", 42, 43, 44, 45))));
   }
+
+  @Test
+  public void concurrentReferenceCreations(
+      @NessieStoreConfig(name = CONFIG_REFERENCE_CREATION_SEQUENCER_MAX_BATCH_SIZE, value = "8")
+          @NessiePersist
+          Persist persist)
+      throws Exception {
+    int numRefs = 20;
+    VersionStore store = new VersionStoreImpl(persist);
+
+    ExecutorService executor = Executors.newFixedThreadPool(numRefs);
+    try {
+      CountDownLatch start = new CountDownLatch(1);
+      List<Future<ReferenceCreatedResult>> results = new ArrayList<>();
+      // One more reference creation than names, the two creations of the same reference conflict,
+      // which must not affect the other reference creations.
+      for (int i = 0; i <= numRefs; i++) {
+        BranchName branch = BranchName.of("concurrent-" + (i % numRefs));
+        results.add(
+            executor.submit(
+                () -> {
+                  start.await();
+                  return store.create(branch, Optional.empty());
+                }));
+      }
+      start.countDown();
+
+      List<Throwable> failures = new ArrayList<>();
+      for (Future<ReferenceCreatedResult> result : results) {
+        try {
+          result.get(30, TimeUnit.SECONDS);
+        } catch (ExecutionException e) {
+          failures.add(e.getCause());
+        }
+      }
+      soft.assertThat(failures).singleElement().isInstanceOf(ReferenceAlreadyExistsException.class);
+      for (int i = 0; i < numRefs; i++) {
+        soft.assertThat(store.getNamedRef("concurrent-" + i, GetNamedRefsParams.DEFAULT))
+            .extracting(ReferenceInfo::getHash)
+            .isEqualTo(store.noAncestorHash());
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
 }
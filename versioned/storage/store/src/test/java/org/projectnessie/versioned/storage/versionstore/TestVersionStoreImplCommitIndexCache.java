@@ -0,0 +1,23 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.versionstore;
+
+import static org.projectnessie.versioned.storage.common.config.StoreConfig.CONFIG_COMMIT_INDEX_CACHE_CAPACITY_MB;
+
+import org.projectnessie.versioned.storage.testextension.NessieStoreConfig;
+
+@NessieStoreConfig(name = CONFIG_COMMIT_INDEX_CACHE_CAPACITY_MB, value = "16")
+public class TestVersionStoreImplCommitIndexCache extends TestVersionStoreImpl {}
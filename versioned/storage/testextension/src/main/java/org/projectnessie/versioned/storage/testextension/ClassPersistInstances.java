@@ -19,12 +19,14 @@ import static org.projectnessie.versioned.storage.common.logic.Logics.repository
 import static org.projectnessie.versioned.storage.testextension.PersistExtension.KEY_REUSABLE_BACKEND;
 import static org.projectnessie.versioned.storage.testextension.PersistExtension.NAMESPACE;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.function.Supplier;
 import org.junit.jupiter.api.extension.ExtensionContext;
 import org.junit.jupiter.api.extension.ExtensionContext.Store;
 import org.projectnessie.versioned.storage.cache.CacheBackend;
+import org.projectnessie.versioned.storage.cache.CacheConfig;
 import org.projectnessie.versioned.storage.cache.PersistCaches;
 import org.projectnessie.versioned.storage.common.config.StoreConfig;
 import org.projectnessie.versioned.storage.common.logic.RepositoryLogic;
@@ -53,7 +55,13 @@ final class ClassPersistInstances {
         PersistExtension.annotationInstance(context, NessiePersistCache.class);
     cacheBackend =
         nessiePersistCache != null && nessiePersistCache.capacityMb() >= 0
-            ? PersistCaches.newBackend(nessiePersistCache.capacityMb(), null)
+            ? PersistCaches.newBackend(
+                CacheConfig.builder()
+                    .capacityMb(nessiePersistCache.capacityMb())
+                    .decodedCapacityMb(nessiePersistCache.decodedCapacityMb())
+                    .referenceTtl(Duration.ofMillis(nessiePersistCache.referenceTtlMillis()))
+                    .negativeTtl(Duration.ofMillis(nessiePersistCache.negativeTtlMillis()))
+                    .build())
             : null;
 
     backendTestFactory = reusableTestBackend.backendTestFactory(context);
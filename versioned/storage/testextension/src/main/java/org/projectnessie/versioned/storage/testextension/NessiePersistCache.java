@@ -33,4 +33,22 @@ public @interface NessiePersistCache {
 
   /** The maximum capacity of the cache in MB. Default is 1 MB. */
   long capacityMb() default 1;
+
+  /**
+   * The maximum capacity of the deserialized objects cache tier in MB. Default is 0 MB, which
+   * disables that tier.
+   */
+  long decodedCapacityMb() default 0;
+
+  /**
+   * The maximum time in milliseconds references are served from the cache. Default is 0, which
+   * disables the reference cache.
+   */
+  long referenceTtlMillis() default 0;
+
+  /**
+   * The maximum time in milliseconds non-existing objects are remembered. Default is 0, which
+   * disables the negative objects cache.
+   */
+  long negativeTtlMillis() default 0;
 }
@@ -22,7 +22,9 @@ import static org.projectnessie.versioned.GetNamedRefsParams.RetrieveOptions.BAS
 import static org.projectnessie.versioned.GetNamedRefsParams.RetrieveOptions.OMIT;
 
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -34,10 +36,12 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.projectnessie.model.CommitMeta;
 import org.projectnessie.versioned.BranchName;
+import org.projectnessie.versioned.BulkReferenceResult;
 import org.projectnessie.versioned.GetNamedRefsParams;
 import org.projectnessie.versioned.Hash;
 import org.projectnessie.versioned.NamedRef;
 import org.projectnessie.versioned.ReferenceAlreadyExistsException;
+import org.projectnessie.versioned.ReferenceConflictException;
 import org.projectnessie.versioned.ReferenceCreatedResult;
 import org.projectnessie.versioned.ReferenceDeletedResult;
 import org.projectnessie.versioned.ReferenceInfo;
@@ -190,6 +194,61 @@ public abstract class AbstractReferences extends AbstractNestedVersionStore {
         .isInstanceOf(ReferenceNotFoundException.class);
   }
 
+  @Test
+  public void createAndDeleteMultiple() throws Exception {
+    BranchName branch = BranchName.of("foo");
+    Hash initialHash = store().create(branch, Optional.empty()).getHash();
+    Hash commitHash = commit("Some commit").toBranch(branch);
+
+    BranchName bulkBranch = BranchName.of("bulk-branch");
+    TagName bulkTag = TagName.of("bulk-tag");
+    BranchName missingHash = BranchName.of("bulk-missing-hash");
+    Map<NamedRef, Optional<Hash>> create = new LinkedHashMap<>();
+    create.put(bulkBranch, Optional.empty());
+    create.put(branch, Optional.of(commitHash));
+    create.put(bulkTag, Optional.of(commitHash));
+    create.put(missingHash, Optional.of(Hash.of("1234567890abcdef")));
+
+    List<BulkReferenceResult<ReferenceCreatedResult>> created = store().createReferences(create);
+    soft.assertThat(created)
+        .extracting(BulkReferenceResult::getNamedRef)
+        .containsExactly(bulkBranch, branch, bulkTag, missingHash);
+    soft.assertThat(created.get(0).getResult())
+        .extracting(ReferenceCreatedResult::getHash)
+        .isEqualTo(initialHash);
+    soft.assertThat(created.get(1).getFailure())
+        .isInstanceOf(ReferenceAlreadyExistsException.class);
+    soft.assertThat(created.get(2).getResult())
+        .extracting(ReferenceCreatedResult::getHash)
+        .isEqualTo(commitHash);
+    soft.assertThat(created.get(3).getFailure()).isInstanceOf(ReferenceNotFoundException.class);
+    soft.assertThat(store().hashOnReference(bulkTag, Optional.empty(), emptyList()))
+        .isEqualTo(commitHash);
+    soft.assertThatThrownBy(
+            () -> store().hashOnReference(missingHash, Optional.empty(), emptyList()))
+        .isInstanceOf(ReferenceNotFoundException.class);
+
+    Map<NamedRef, Hash> delete = new LinkedHashMap<>();
+    delete.put(bulkBranch, initialHash);
+    delete.put(bulkTag, initialHash);
+    delete.put(missingHash, initialHash);
+
+    List<BulkReferenceResult<ReferenceDeletedResult>> deleted = store().deleteReferences(delete);
+    soft.assertThat(deleted)
+        .extracting(BulkReferenceResult::getNamedRef)
+        .containsExactly(bulkBranch, bulkTag, missingHash);
+    soft.assertThat(deleted.get(0).getResult())
+        .extracting(ReferenceDeletedResult::getHash)
+        .isEqualTo(initialHash);
+    soft.assertThat(deleted.get(1).getFailure()).isInstanceOf(ReferenceConflictException.class);
+    soft.assertThat(deleted.get(2).getFailure()).isInstanceOf(ReferenceNotFoundException.class);
+    soft.assertThatThrownBy(
+            () -> store().hashOnReference(bulkBranch, Optional.empty(), emptyList()))
+        .isInstanceOf(ReferenceNotFoundException.class);
+    soft.assertThat(store().hashOnReference(bulkTag, Optional.empty(), emptyList()))
+        .isEqualTo(commitHash);
+  }
+
   /**
    * Rudimentary test for {@link VersionStore#getNamedRef(String, GetNamedRefsParams)}. Better tests
    * in {@code AbstractGetNamedReferences} in {@code :nessie-versioned-persist-tests}.
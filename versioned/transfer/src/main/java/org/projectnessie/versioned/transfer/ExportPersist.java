@@ -59,6 +59,7 @@ import org.projectnessie.versioned.storage.common.persist.Obj;
 import org.projectnessie.versioned.storage.common.persist.ObjId;
 import org.projectnessie.versioned.storage.common.persist.Persist;
 import org.projectnessie.versioned.storage.common.persist.Reference;
+import org.projectnessie.versioned.storage.versionstore.ContentDictionaries;
 import org.projectnessie.versioned.storage.versionstore.RefMapping;
 import org.projectnessie.versioned.storage.versionstore.TypeMapping;
 import org.projectnessie.versioned.transfer.files.ExportFileSupplier;
@@ -271,6 +272,7 @@ final class ExportPersist extends ExportCommon {
         .keySet()
         .forEach(h -> b.addHeadersBuilder().setName(h).addAllValues(c.headers().getAll(h)));
     c.secondaryParents().forEach(p -> b.addAdditionalParents(p.asBytes()));
+    ContentDictionaries contentDictionaries = new ContentDictionaries(persist());
     indexesLogic
         .commitOperations(c)
         .forEach(
@@ -289,13 +291,16 @@ final class ExportPersist extends ExportCommon {
                 try {
                   ContentValueObj value = (ContentValueObj) objs.get(valueId);
                   Content modelContent =
-                      exporter.storeWorker().valueFromStore((byte) content.payload(), value.data());
+                      exporter
+                          .storeWorker()
+                          .valueFromStore(
+                              (byte) content.payload(), contentDictionaries.contentData(value));
                   byte[] modelContentBytes =
                       exporter.objectMapper().writeValueAsBytes(modelContent);
                   opBuilder
                       .setContentId(value.contentId())
                       .setValue(ByteString.copyFrom(modelContentBytes));
-                } catch (JsonProcessingException e) {
+                } catch (JsonProcessingException | ObjNotFoundException e) {
                   throw new RuntimeException(e);
                 }
               }